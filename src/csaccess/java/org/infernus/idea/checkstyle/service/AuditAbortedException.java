@@ -0,0 +1,13 @@
+package org.infernus.idea.checkstyle.service;
+
+/**
+ * Thrown by an audit listener to stop an audit which has been cancelled, as Checkstyle offers no other way to stop
+ * one. Checkstyle wraps the exception, so listeners also record that they aborted the audit.
+ */
+final class AuditAbortedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    AuditAbortedException(final String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,97 @@
+package org.infernus.idea.checkstyle.service;
+
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.infernus.idea.checkstyle.service.cmd.CheckstyleBridge;
+import org.infernus.idea.checkstyle.service.entities.HasChecker;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+
+/**
+ * Persists a checker's cache file a while after it last scanned, so that what was learned by scans of any kind
+ * survives a restart, without writing the file after each inspection of the file being edited.
+ * <p>
+ * Scans within the delay share a single write. If the checker is scanning when the write is due, it is tried again
+ * after another delay. The checker is only held while its cache is copied; the copy is pruned and written after.
+ */
+public final class CacheFilePersister {
+
+    static final long PERSIST_DELAY_MS = 10_000;
+
+    private final HasChecker hasChecker;
+    private final Supplier<ScheduledExecutorService> scheduler;
+    private final long delayMs;
+
+    private ScheduledFuture<?> pending;
+    private boolean cancelled;
+
+    public CacheFilePersister(@NotNull final HasChecker hasChecker) {
+        this(hasChecker, AppExecutorUtil::getAppScheduledExecutorService, PERSIST_DELAY_MS);
+    }
+
+    CacheFilePersister(@NotNull final HasChecker hasChecker,
+                       @NotNull final Supplier<ScheduledExecutorService> scheduler,
+                       final long delayMs) {
+        this.hasChecker = hasChecker;
+        this.scheduler = scheduler;
+        this.delayMs = delayMs;
+    }
+
+    /**
+     * Note that the checker has scanned, and so its cache file should be persisted.
+     */
+    public synchronized void scanned() {
+        if (cancelled || isWaiting()) {
+            return;
+        }
+        schedule();
+    }
+
+    /**
+     * Persist nothing more, as the checker is being destroyed, which persists the cache file itself.
+     */
+    public synchronized void cancel() {
+        cancelled = true;
+        if (pending != null) {
+            pending.cancel(false);
+        }
+    }
+
+    private boolean isWaiting() {
+        // a write which has started may have missed this scan, so another is due
+        return pending != null && !pending.isDone() && pending.getDelay(TimeUnit.MILLISECONDS) > 0;
+    }
+
+    private void schedule() {
+        pending = scheduler.get().schedule(this::persist, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void persist() {
+        if (!hasChecker.getCheckerLock().tryLock()) {
+            synchronized (this) {
+                if (!cancelled) {
+                    schedule();
+                }
+            }
+            return;
+        }
+        final CheckstyleBridge.CacheFileCopy cacheFileCopy;
+        try {
+            synchronized (this) {
+                if (cancelled) {
+                    return;
+                }
+            }
+            cacheFileCopy = CheckstyleBridge.copyCacheFile(hasChecker.getChecker());
+        } finally {
+            hasChecker.getCheckerLock().unlock();
+        }
+        if (cacheFileCopy != null) {
+            cacheFileCopy.persist();
+        }
+    }
+}
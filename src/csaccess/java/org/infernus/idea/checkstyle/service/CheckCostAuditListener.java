@@ -0,0 +1,91 @@
+package org.infernus.idea.checkstyle.service;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.AuditListener;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+
+/**
+ * Records the wall time the Checker spends on each file, from the file being started to it being finished.
+ * <p>
+ * Checkstyle reports no events for individual modules, so the time for a module is found by auditing with a
+ * configuration holding nothing else.
+ */
+public class CheckCostAuditListener implements AuditListener {
+
+    private final ScanCancellation cancellation;
+
+    private final Map<String, Long> nanosByFileName = new LinkedHashMap<>();
+    private String currentFileName;
+    private long currentFileStart;
+    private int issues;
+    private volatile boolean aborted;
+
+    public CheckCostAuditListener(@NotNull final ScanCancellation cancellation) {
+        this.cancellation = cancellation;
+    }
+
+    @Override
+    public void auditStarted(final AuditEvent auditEvent) {
+        nanosByFileName.clear();
+        issues = 0;
+    }
+
+    @Override
+    public void auditFinished(final AuditEvent auditEvent) {
+        // do nothing
+    }
+
+    /**
+     * A cancelled profile is aborted by throwing from here, between files; {@link #wasAborted()} tells the caller
+     * what the exception Checkstyle wraps it in means.
+     */
+    @Override
+    public void fileStarted(final AuditEvent auditEvent) {
+        if (cancellation.isCancelled()) {
+            aborted = true;
+            throw new AuditAbortedException("Profiling cancelled");
+        }
+        currentFileName = auditEvent.getFileName();
+        currentFileStart = System.nanoTime();
+    }
+
+    @Override
+    public void fileFinished(final AuditEvent auditEvent) {
+        final long elapsed = System.nanoTime() - currentFileStart;
+        if (currentFileName != null) {
+            nanosByFileName.merge(currentFileName, elapsed, Long::sum);
+            currentFileName = null;
+        }
+    }
+
+    @Override
+    public void addError(final AuditEvent auditEvent) {
+        issues++;
+    }
+
+    @Override
+    public void addException(final AuditEvent auditEvent, final Throwable throwable) {
+        issues++;
+    }
+
+    /**
+     * @return the wall time spent on each file started, in nanoseconds, in the order they were processed.
+     */
+    @NotNull
+    public Map<String, Long> getNanosByFileName() {
+        return Collections.unmodifiableMap(nanosByFileName);
+    }
+
+    public int getIssues() {
+        return issues;
+    }
+
+    public boolean wasAborted() {
+        return aborted;
+    }
+}
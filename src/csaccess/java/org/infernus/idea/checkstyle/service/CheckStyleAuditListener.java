@@ -2,7 +2,6 @@ package org.infernus.idea.checkstyle.service;
 
 import com.intellij.openapi.application.Application;
 import com.intellij.openapi.application.ApplicationManager;
-import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.psi.PsiFile;
 import com.puppycrawl.tools.checkstyle.api.AuditEvent;
@@ -12,6 +11,7 @@ import org.infernus.idea.checkstyle.checks.Check;
 import org.infernus.idea.checkstyle.csapi.Issue;
 import org.infernus.idea.checkstyle.csapi.ProcessResultsThread;
 import org.infernus.idea.checkstyle.csapi.SeverityLevel;
+import org.infernus.idea.checkstyle.util.ChunkedReadAction;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
@@ -27,16 +27,28 @@ public class CheckStyleAuditListener
     private final int tabWidth;
     private final Optional<String> baseDir;
     private final Map<String, PsiFile> fileNamesToPsiFiles;
+    private final ScanCancellation cancellation;
 
     private final List<Issue> errors = Collections.synchronizedList(new ArrayList<>());
     private Map<PsiFile, List<Problem>> problems = Collections.emptyMap();
+    private volatile boolean aborted;
 
     public CheckStyleAuditListener(@NotNull final Map<String, PsiFile> fileNamesToPsiFiles,
                                    final boolean suppressErrors,
                                    final int tabWidth,
                                    @NotNull final Optional<String> baseDir,
                                    @NotNull final List<Check> checks) {
+        this(fileNamesToPsiFiles, suppressErrors, tabWidth, baseDir, checks, ScanCancellation.NEVER);
+    }
+
+    public CheckStyleAuditListener(@NotNull final Map<String, PsiFile> fileNamesToPsiFiles,
+                                   final boolean suppressErrors,
+                                   final int tabWidth,
+                                   @NotNull final Optional<String> baseDir,
+                                   @NotNull final List<Check> checks,
+                                   @NotNull final ScanCancellation cancellation) {
         this.fileNamesToPsiFiles = new HashMap<>(fileNamesToPsiFiles);
+        this.cancellation = cancellation;
         this.checks = checks;
         this.suppressErrors = suppressErrors;
         this.tabWidth = tabWidth;
@@ -53,18 +65,54 @@ public class CheckStyleAuditListener
         synchronized (errors) {
             errorsCopy = new ArrayList<>(errors);
         }
-        final ProcessResultsThread findThread = new ProcessResultsThread(suppressErrors, checks, tabWidth, baseDir,
-                errorsCopy, fileNamesToPsiFiles);
 
         final Application application = ApplicationManager.getApplication();
         if (application != null) {  // can be null in unit tests
-            ReadAction.run(findThread);
-            problems = findThread.getProblems();
+            problems = mapToProblems(errorsCopy);
         }
     }
 
+    /**
+     * Issues are mapped to PSI elements a few files at a time, each in its own non-blocking read action, so that a
+     * scan with many issues does not block write actions. Each chunk uses a fresh {@link ProcessResultsThread}, as a
+     * chunk is restarted from scratch if a write action interrupts it.
+     */
+    @NotNull
+    private Map<PsiFile, List<Problem>> mapToProblems(@NotNull final List<Issue> issues) {
+        final Map<String, List<Issue>> issuesByFileName = new LinkedHashMap<>();
+        for (final Issue issue : issues) {
+            issuesByFileName.computeIfAbsent(issue.fileName, key -> new ArrayList<>()).add(issue);
+        }
+
+        final Map<PsiFile, List<Problem>> mappedProblems = new HashMap<>();
+        ChunkedReadAction.forEachChunk(new ArrayList<>(issuesByFileName.values()), ChunkedReadAction.DEFAULT_CHUNK_SIZE,
+                issuesOfFiles -> {
+                    final ProcessResultsThread findThread = new ProcessResultsThread(suppressErrors, checks, tabWidth,
+                            baseDir, flatten(issuesOfFiles), fileNamesToPsiFiles);
+                    findThread.run();
+                    return findThread.getProblems();
+                },
+                chunkProblems -> chunkProblems.forEach((psiFile, fileProblems) ->
+                        mappedProblems.computeIfAbsent(psiFile, key -> new ArrayList<>()).addAll(fileProblems)));
+        return mappedProblems;
+    }
+
+    @NotNull
+    private static List<Issue> flatten(@NotNull final List<List<Issue>> issueLists) {
+        final List<Issue> flattened = new ArrayList<>();
+        issueLists.forEach(flattened::addAll);
+        return flattened;
+    }
+
+    /**
+     * Checkstyle offers no way to stop an audit, so a cancelled scan is aborted by throwing from here, between
+     * files. Checkstyle wraps the exception; {@link #wasAborted()} tells the caller what it means.
+     */
     public void fileStarted(final AuditEvent auditEvent) {
-        // do nothing
+        if (cancellation.isCancelled()) {
+            aborted = true;
+            throw new AuditAbortedException("Scan cancelled");
+        }
     }
 
     public void fileFinished(final AuditEvent auditEvent) {
@@ -75,17 +123,40 @@ public class CheckStyleAuditListener
         errors.add(toIssue(auditEvent));
     }
 
+    /**
+     * Record an issue found outside of this listener, such as by a worker process.
+     *
+     * @param issue the issue.
+     */
+    public void addIssue(@NotNull final Issue issue) {
+        errors.add(issue);
+    }
+
     public void addException(final AuditEvent auditEvent, final Throwable throwable) {
         LOG.warn("Exception during CheckStyle execution", throwable);
         errors.add(toIssue(auditEvent));
     }
 
 
+    /**
+     * @return the issues found, before they are mapped to problems.
+     */
+    @NotNull
+    public List<Issue> getIssues() {
+        synchronized (errors) {
+            return new ArrayList<>(errors);
+        }
+    }
+
     @NotNull
     public Map<PsiFile, List<Problem>> getProblems() {
         return problems;
     }
 
+    public boolean wasAborted() {
+        return aborted;
+    }
+
 
     private Issue toIssue(final AuditEvent auditEvent) {
         String msg = auditEvent.getMessage();
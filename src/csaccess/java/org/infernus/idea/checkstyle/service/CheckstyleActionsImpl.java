@@ -5,6 +5,7 @@ import java.util.Map;
 import java.util.Optional;
 
 import com.intellij.openapi.module.Module;
+import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiFile;
@@ -13,6 +14,8 @@ import org.infernus.idea.checkstyle.CheckstyleProjectService;
 import org.infernus.idea.checkstyle.checker.CheckStyleChecker;
 import org.infernus.idea.checkstyle.checker.Problem;
 import org.infernus.idea.checkstyle.checker.ScannableFile;
+import org.infernus.idea.checkstyle.csapi.CheckCost;
+import org.infernus.idea.checkstyle.csapi.CheckTier;
 import org.infernus.idea.checkstyle.csapi.CheckstyleActions;
 import org.infernus.idea.checkstyle.csapi.CheckstyleInternalObject;
 import org.infernus.idea.checkstyle.csapi.ConfigVisitor;
@@ -23,11 +26,14 @@ import org.infernus.idea.checkstyle.exception.CheckstyleServiceException;
 import org.infernus.idea.checkstyle.exception.CheckstyleToolException;
 import org.infernus.idea.checkstyle.model.ConfigurationLocation;
 import org.infernus.idea.checkstyle.service.cmd.CheckstyleCommand;
+import org.infernus.idea.checkstyle.service.cmd.OpCombineCheckers;
 import org.infernus.idea.checkstyle.service.cmd.OpCreateChecker;
 import org.infernus.idea.checkstyle.service.cmd.OpDestroyChecker;
 import org.infernus.idea.checkstyle.service.cmd.OpLoadConfiguration;
 import org.infernus.idea.checkstyle.service.cmd.OpPeruseConfiguration;
+import org.infernus.idea.checkstyle.service.cmd.OpProfile;
 import org.infernus.idea.checkstyle.service.cmd.OpScan;
+import org.infernus.idea.checkstyle.service.cmd.OpScanCombined;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -55,8 +61,17 @@ public class CheckstyleActionsImpl implements CheckstyleActions {
                                            @NotNull final ConfigurationLocation location,
                                            final Map<String, String> properties,
                                            @Nullable final TabWidthAndBaseDirProvider configurations) {
+        return createChecker(module, location, properties, configurations, CheckTier.FULL);
+    }
+
+    @Override
+    public CheckStyleChecker createChecker(@Nullable final Module module,
+                                           @NotNull final ConfigurationLocation location,
+                                           final Map<String, String> properties,
+                                           @Nullable final TabWidthAndBaseDirProvider configurations,
+                                           @NotNull final CheckTier tier) {
         return executeCommand(new OpCreateChecker(
-                module, location, properties, configurations, checkstyleProjectService));
+                module, location, properties, configurations, tier, checkstyleProjectService));
     }
 
     @Override
@@ -76,6 +91,31 @@ public class CheckstyleActionsImpl implements CheckstyleActions {
     }
 
 
+    @Override
+    @Nullable
+    public CheckstyleInternalObject combineCheckers(@NotNull final List<CheckstyleInternalObject> checkersWithConfig) {
+        return executeCommand(new OpCombineCheckers(checkersWithConfig));
+    }
+
+
+    @Override
+    public List<Map<PsiFile, List<Problem>>> scanCombined(@NotNull final CheckstyleInternalObject combinedChecker,
+                                                          @NotNull final List<ScannableFile> scannableFiles,
+                                                          final boolean isSuppressingErrors,
+                                                          final int tabWidth,
+                                                          final Optional<String> baseDir) {
+        return executeCommand(new OpScanCombined(combinedChecker, scannableFiles, isSuppressingErrors, tabWidth,
+                baseDir));
+    }
+
+
+    @Override
+    public List<CheckCost> profile(@NotNull final CheckstyleInternalObject checkerWithConfig,
+                                   @NotNull final List<ScannableFile> scannableFiles) {
+        return executeCommand(new OpProfile(checkerWithConfig, scannableFiles));
+    }
+
+
     @Override
     public CheckstyleInternalObject loadConfiguration(@NotNull final ConfigurationLocation inputFile,
                                                       @Nullable final Map<String, String> variables) {
@@ -112,6 +152,8 @@ public class CheckstyleActionsImpl implements CheckstyleActions {
         R result;
         try {
             result = command.execute(project);
+        } catch (ProcessCanceledException e) {
+            throw e;
         } catch (CheckstyleException e) {
             CheckStylePluginException wrapped = new ExceptionWrapper().wrap(null, e);
             if (wrapped instanceof CheckStylePluginParseException parseException) {
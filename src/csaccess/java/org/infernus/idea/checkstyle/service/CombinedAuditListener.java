@@ -0,0 +1,85 @@
+package org.infernus.idea.checkstyle.service;
+
+import com.intellij.psi.PsiFile;
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.AuditListener;
+import org.infernus.idea.checkstyle.checker.Problem;
+import org.infernus.idea.checkstyle.service.entities.CombinedCheckerWithConfig;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+
+/**
+ * Passes the events of a combined checker to a {@link CheckStyleAuditListener} for each configuration it combines.
+ * Violations go to the listener of the configuration their module came from, and anything raised by a module they
+ * share, such as the TreeWalker failing to parse a file, goes to all of them.
+ */
+public class CombinedAuditListener implements AuditListener {
+
+    private final CombinedCheckerWithConfig combinedChecker;
+    private final List<CheckStyleAuditListener> partListeners;
+
+    public CombinedAuditListener(@NotNull final CombinedCheckerWithConfig combinedChecker,
+                                 @NotNull final List<CheckStyleAuditListener> partListeners) {
+        if (partListeners.size() != combinedChecker.getParts().size()) {
+            throw new IllegalArgumentException("A listener is required for each part of the checker");
+        }
+        this.combinedChecker = combinedChecker;
+        this.partListeners = List.copyOf(partListeners);
+    }
+
+    @Override
+    public void auditStarted(final AuditEvent auditEvent) {
+        partListeners.forEach(listener -> listener.auditStarted(auditEvent));
+    }
+
+    @Override
+    public void auditFinished(final AuditEvent auditEvent) {
+        partListeners.forEach(listener -> listener.auditFinished(auditEvent));
+    }
+
+    @Override
+    public void fileStarted(final AuditEvent auditEvent) {
+        partListeners.forEach(listener -> listener.fileStarted(auditEvent));
+    }
+
+    @Override
+    public void fileFinished(final AuditEvent auditEvent) {
+        partListeners.forEach(listener -> listener.fileFinished(auditEvent));
+    }
+
+    @Override
+    public void addError(final AuditEvent auditEvent) {
+        listenersFor(auditEvent).forEach(listener -> listener.addError(auditEvent));
+    }
+
+    @Override
+    public void addException(final AuditEvent auditEvent, final Throwable throwable) {
+        listenersFor(auditEvent).forEach(listener -> listener.addException(auditEvent, throwable));
+    }
+
+    private List<CheckStyleAuditListener> listenersFor(@NotNull final AuditEvent auditEvent) {
+        final Integer partIndex = combinedChecker.partIndexOf(auditEvent.getModuleId());
+        if (partIndex == null) {
+            return partListeners;
+        }
+        return List.of(partListeners.get(partIndex));
+    }
+
+    /**
+     * @return the problems found for each part of the checker, in the order of the parts.
+     */
+    @NotNull
+    public List<Map<PsiFile, List<Problem>>> getProblems() {
+        return partListeners.stream()
+                .map(CheckStyleAuditListener::getProblems)
+                .collect(Collectors.toList());
+    }
+
+    public boolean wasAborted() {
+        return partListeners.stream().anyMatch(CheckStyleAuditListener::wasAborted);
+    }
+}
@@ -0,0 +1,133 @@
+package org.infernus.idea.checkstyle.service;
+
+import com.intellij.openapi.diagnostic.Logger;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import org.infernus.idea.checkstyle.checker.ScannableFile;
+import org.infernus.idea.checkstyle.csapi.Issue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * The issues a checker found in recently scanned files, keyed by the file and a hash of its content, so that a file
+ * inspected again without having changed is neither parsed nor checked.
+ * <p>
+ * Each checker has its own cache, which therefore belongs to a single configuration and version of Checkstyle, and
+ * is dropped with it. The least recently used entries are evicted once the cache is full. Checks which look beyond
+ * the file itself, such as for a {@code package-info.java} beside it, may find something else when the content has
+ * not changed, so a configuration with any of these is not cached at all.
+ */
+public final class IssueCache {
+
+    private static final Logger LOG = Logger.getInstance(IssueCache.class);
+
+    static final int MAX_ENTRIES = 128;
+
+    private static final Set<String> CROSS_FILE_MODULES = Set.of("JavadocPackage", "Translation");
+    private static final String CHECK_SUFFIX = "Check";
+
+    private final boolean enabled;
+    private final Map<Key, List<Issue>> issuesByKey = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Key, List<Issue>> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private IssueCache(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Create a cache for a checker.
+     *
+     * @param configuration the configuration of the checker, if known.
+     * @return the cache, which caches nothing if the configuration has checks which look beyond the file.
+     */
+    @NotNull
+    public static IssueCache forConfiguration(@Nullable final Configuration configuration) {
+        return new IssueCache(configuration == null || !hasCrossFileModules(configuration));
+    }
+
+    private static boolean hasCrossFileModules(@NotNull final Configuration configuration) {
+        final String moduleName = configuration.getName();
+        String simpleName = moduleName.substring(moduleName.lastIndexOf('.') + 1);
+        if (simpleName.endsWith(CHECK_SUFFIX)) {
+            simpleName = simpleName.substring(0, simpleName.length() - CHECK_SUFFIX.length());
+        }
+        if (CROSS_FILE_MODULES.contains(simpleName)) {
+            return true;
+        }
+        if (configuration.getChildren() != null) {
+            for (Configuration child : configuration.getChildren()) {
+                if (hasCrossFileModules(child)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Find the key of the content a file has now.
+     *
+     * @param scannableFile the file.
+     * @return the key, or null if the file cannot be cached.
+     */
+    @Nullable
+    public Key keyFor(@NotNull final ScannableFile scannableFile) {
+        if (!enabled) {
+            return null;
+        }
+        try {
+            final byte[] content = Files.readAllBytes(scannableFile.getFile().toPath());
+            final String contentHash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+            return new Key(scannableFile.getStablePath(), contentHash);
+        } catch (IOException | NoSuchAlgorithmException | RuntimeException e) {
+            LOG.debug("Scan results will not be cached for " + scannableFile, e);
+            return null;
+        }
+    }
+
+    /**
+     * @param key the key of the file's content.
+     * @return the issues found when the file last had this content, or null if not known.
+     */
+    @Nullable
+    public List<Issue> get(@NotNull final Key key) {
+        synchronized (issuesByKey) {
+            return issuesByKey.get(key);
+        }
+    }
+
+    public void put(@NotNull final Key key, @NotNull final List<Issue> issues) {
+        synchronized (issuesByKey) {
+            issuesByKey.put(key, List.copyOf(issues));
+        }
+    }
+
+    int size() {
+        synchronized (issuesByKey) {
+            return issuesByKey.size();
+        }
+    }
+
+    /**
+     * The identity of a file's content.
+     *
+     * @param path        the stable path of the file, as the issues of a check may depend on where the file is.
+     * @param contentHash the SHA-256 of the file's content.
+     */
+    public record Key(@NotNull String path, @NotNull String contentHash) {
+    }
+}
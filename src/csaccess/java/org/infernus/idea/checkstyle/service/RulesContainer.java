@@ -7,9 +7,12 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
 
 
 /**
@@ -41,9 +44,22 @@ public interface RulesContainer {
         return null;
     }
 
+    /**
+     * The files on disk which have been resolved by {@link #resolveAssociatedFile(String, Module, ClassLoader)}
+     * from this container, such as suppressions, import control and header files. A container is made for each
+     * load of the rules, so these are the files the loaded rules depend on.
+     *
+     * @return the absolute paths of the associated files.
+     */
+    @NotNull
+    default Set<String> associatedFiles() {
+        return Set.of();
+    }
+
 
     class ConfigurationLocationRulesContainer implements RulesContainer {
         private final ConfigurationLocation configurationLocation;
+        private final Set<String> associatedFiles = new HashSet<>();
 
         public ConfigurationLocationRulesContainer(final ConfigurationLocation configurationLocation) {
             this.configurationLocation = configurationLocation;
@@ -59,10 +75,25 @@ public interface RulesContainer {
             return configurationLocation.resolve(checkstyleClassLoader);
         }
 
+        @Override
         public String resolveAssociatedFile(final String fileName,
                                             final Module module,
                                             @NotNull final ClassLoader checkstyleClassLoader) throws IOException {
-            return configurationLocation.resolveAssociatedFile(fileName, module, checkstyleClassLoader);
+            final String resolvedFile =
+                    configurationLocation.resolveAssociatedFile(fileName, module, checkstyleClassLoader);
+            if (resolvedFile != null) {
+                final File file = new File(resolvedFile);
+                if (file.isFile()) {
+                    associatedFiles.add(file.getAbsolutePath());
+                }
+            }
+            return resolvedFile;
+        }
+
+        @Override
+        @NotNull
+        public Set<String> associatedFiles() {
+            return Set.copyOf(associatedFiles);
         }
     }
 
@@ -0,0 +1,50 @@
+package org.infernus.idea.checkstyle.service;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+
+/**
+ * Tells a running scan whether anyone still wants its result.
+ * <p>
+ * Scans are cancelled by cancelling their future, which interrupts the scanning thread, or by cancelling the
+ * progress indicator they run under. Both are captured when the token is created, on the scanning thread.
+ */
+public final class ScanCancellation {
+
+    /**
+     * A token which is never cancelled.
+     */
+    public static final ScanCancellation NEVER = new ScanCancellation(null, null);
+
+    private final Thread scanningThread;
+    private final ProgressIndicator progressIndicator;
+
+    private ScanCancellation(@Nullable final Thread scanningThread,
+                             @Nullable final ProgressIndicator progressIndicator) {
+        this.scanningThread = scanningThread;
+        this.progressIndicator = progressIndicator;
+    }
+
+    /**
+     * Create a token for a scan running on the current thread.
+     *
+     * @return the token.
+     */
+    @NotNull
+    public static ScanCancellation forCurrentThread() {
+        ProgressIndicator progressIndicator = null;
+        if (ApplicationManager.getApplication() != null) {  // can be null in unit tests
+            progressIndicator = ProgressManager.getGlobalProgressIndicator();
+        }
+        return new ScanCancellation(Thread.currentThread(), progressIndicator);
+    }
+
+    public boolean isCancelled() {
+        return scanningThread != null && scanningThread.isInterrupted()
+                || progressIndicator != null && progressIndicator.isCanceled();
+    }
+}
@@ -1,14 +1,38 @@
 package org.infernus.idea.checkstyle.service.cmd;
 
+import com.intellij.openapi.diagnostic.Logger;
+import com.puppycrawl.tools.checkstyle.Checker;
+import com.puppycrawl.tools.checkstyle.PropertyCacheFile;
 import com.puppycrawl.tools.checkstyle.api.Configuration;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
 
 public final class CheckstyleBridge {
 
+    private static final Logger LOG = Logger.getInstance(CheckstyleBridge.class);
+
+    /** The most files a cache file remembers; beyond this, those modified most recently are forgotten. */
+    static final int MAX_CACHED_FILES = 20_000;
+
+    /** The keys of {@link PropertyCacheFile}'s entries which are not files. */
+    private static final String CONFIG_HASH_KEY = "configuration*?";
+    private static final String EXTERNAL_RESOURCE_KEY_PREFIX = "module-resource*?:";
+
     private CheckstyleBridge() {
     }
 
@@ -31,4 +55,187 @@ public final class CheckstyleBridge {
             throw new RuntimeException("Unable to invoke getMessages method on configuration", e);
         }
     }
+
+    /**
+     * Copy the checker's cache file, if it has one, so that it can be persisted without holding up the checker.
+     * Checkstyle itself only persists it when the checker is destroyed. The copy must be taken while the checker is
+     * not scanning, but is pruned and written while it may be.
+     *
+     * @param checker the checker.
+     * @return the copy, or null if the checker has no cache file we can access.
+     */
+    @Nullable
+    public static CacheFileCopy copyCacheFile(@NotNull final Checker checker) {
+        if (cacheFileOf(checker) instanceof PropertyCacheFile propertyCacheFile) {
+            final String fileName = cacheFileNameOf(checker);
+            final Properties details = detailsOf(propertyCacheFile);
+            if (fileName != null && details != null) {
+                final Properties copiedDetails = new Properties();
+                copiedDetails.putAll(details);
+                return new CacheFileCopy(fileName, details, copiedDetails);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param checker the checker.
+     * @return the path of the checker's cache file, or null if it has none.
+     */
+    @Nullable
+    public static String cacheFileNameOf(@NotNull final Checker checker) {
+        final Object cacheFile = cacheFileOf(checker);
+        if (cacheFile == null) {
+            return null;
+        }
+        try {
+            final Field fileNameField = PropertyCacheFile.class.getDeclaredField("fileName");
+            fileNameField.setAccessible(true);
+            return (String) fileNameField.get(cacheFile);
+        } catch (NoSuchFieldException | IllegalAccessException | RuntimeException e) {
+            LOG.debug("Unable to access name of cache file", e);
+            return null;
+        }
+    }
+
+    /**
+     * Prune the checker's cache file, if it has one, before Checkstyle persists it as the checker is destroyed.
+     *
+     * @param checker the checker.
+     */
+    public static void pruneCacheFile(@NotNull final Checker checker) {
+        if (cacheFileOf(checker) instanceof PropertyCacheFile propertyCacheFile) {
+            pruneCacheFile(propertyCacheFile);
+        }
+    }
+
+    private static void pruneCacheFile(@NotNull final PropertyCacheFile cacheFile) {
+        final Properties details = detailsOf(cacheFile);
+        if (details != null) {
+            pruneEntries(details, MAX_CACHED_FILES);
+        }
+    }
+
+    /**
+     * Drop the entries of files which no longer exist and, if more than the given number of files remain, those of
+     * the files modified most recently.
+     * <p>
+     * Checkstyle records the time each file was last modified, not when it was scanned. A file which has not changed
+     * for a long time is the likeliest to be skipped again, while one changed recently is likely to change again and
+     * be scanned regardless, so the latter go first.
+     *
+     * @param details  the entries of a cache file.
+     * @param maxFiles the most files to keep.
+     */
+    static void pruneEntries(@NotNull final Properties details, final int maxFiles) {
+        final List<String> fileKeys = details.stringPropertyNames().stream()
+                .filter(key -> !CONFIG_HASH_KEY.equals(key) && !key.startsWith(EXTERNAL_RESOURCE_KEY_PREFIX))
+                .toList();
+        final List<String> missingFiles = fileKeys.stream()
+                .filter(key -> !exists(key))
+                .toList();
+        missingFiles.forEach(details::remove);
+
+        final int excess = fileKeys.size() - missingFiles.size() - maxFiles;
+        if (excess > 0) {
+            fileKeys.stream()
+                    .filter(details::containsKey)
+                    .sorted(Comparator.comparingLong((String key) -> timestampOf(details.getProperty(key))).reversed())
+                    .limit(excess)
+                    .toList()
+                    .forEach(details::remove);
+        }
+    }
+
+    private static boolean exists(final String fileName) {
+        try {
+            return Files.exists(Path.of(fileName));
+        } catch (InvalidPathException e) {
+            return false;
+        }
+    }
+
+    private static long timestampOf(final String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    @Nullable
+    private static Properties detailsOf(@NotNull final PropertyCacheFile cacheFile) {
+        try {
+            final Field detailsField = PropertyCacheFile.class.getDeclaredField("details");
+            detailsField.setAccessible(true);
+            return (Properties) detailsField.get(cacheFile);
+        } catch (NoSuchFieldException | IllegalAccessException | RuntimeException e) {
+            LOG.debug("Unable to access entries of cache file", e);
+            return null;
+        }
+    }
+
+    /**
+     * A copy of the entries of a checker's cache file.
+     * <p>
+     * Checkstyle never forgets a file, and our temporary copies of unsaved files are each added to the cache, so
+     * entries of files which no longer exist are dropped first, and the most recently modified beyond
+     * {@link #MAX_CACHED_FILES}. Looking for the files takes a while for a large cache, so this is done on the copy,
+     * and what was dropped is then dropped from the checker's entries, which are a synchronised {@code Hashtable}.
+     */
+    public static final class CacheFileCopy {
+        private final String fileName;
+        private final Properties checkerDetails;
+        private final Properties details;
+
+        private CacheFileCopy(@NotNull final String fileName,
+                              @NotNull final Properties checkerDetails,
+                              @NotNull final Properties details) {
+            this.fileName = fileName;
+            this.checkerDetails = checkerDetails;
+            this.details = details;
+        }
+
+        /**
+         * Prune the copy and write it, replacing the cache file at once, as the checker may also write it when it is
+         * destroyed.
+         */
+        public void persist() {
+            final Set<String> copiedKeys = details.stringPropertyNames();
+            pruneEntries(details, MAX_CACHED_FILES);
+            copiedKeys.stream()
+                    .filter(key -> !details.containsKey(key))
+                    .forEach(checkerDetails::remove);
+
+            try {
+                final Path cacheFile = Path.of(fileName);
+                final Path directory = cacheFile.toAbsolutePath().getParent();
+                Files.createDirectories(directory);
+                final Path written = Files.createTempFile(directory, cacheFile.getFileName().toString(), ".tmp");
+                try {
+                    try (OutputStream out = Files.newOutputStream(written)) {
+                        details.store(out, null);
+                    }
+                    Files.move(written, cacheFile, StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    Files.deleteIfExists(written);
+                }
+            } catch (IOException | InvalidPathException e) {
+                LOG.warn("Unable to persist Checkstyle cache file", e);
+            }
+        }
+    }
+
+    @Nullable
+    private static Object cacheFileOf(@NotNull final Checker checker) {
+        try {
+            final Field cacheFileField = Checker.class.getDeclaredField("cacheFile");
+            cacheFileField.setAccessible(true);
+            return cacheFileField.get(checker);
+        } catch (NoSuchFieldException | IllegalAccessException | RuntimeException e) {
+            LOG.debug("Unable to access cache file of checker", e);
+            return null;
+        }
+    }
 }
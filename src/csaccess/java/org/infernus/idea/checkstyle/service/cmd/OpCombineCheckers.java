@@ -0,0 +1,296 @@
+package org.infernus.idea.checkstyle.service.cmd;
+
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.puppycrawl.tools.checkstyle.Checker;
+import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import org.infernus.idea.checkstyle.csapi.CheckstyleInternalObject;
+import org.infernus.idea.checkstyle.exception.CheckstyleToolException;
+import org.infernus.idea.checkstyle.exception.CheckstyleVersionMixException;
+import org.infernus.idea.checkstyle.service.entities.CheckerWithConfig;
+import org.infernus.idea.checkstyle.service.entities.CombinedCheckerWithConfig;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Command which combines the checkers of several configurations into one, whose TreeWalker parses each file once
+ * for the checks of all of them.
+ * <p>
+ * Violations are told apart by the ID each module is given, so a module may not already have an ID. As events
+ * pass through every filter of the Checker and TreeWalker, the configurations must have the same filters, which
+ * are then added once; differing filters would suppress the violations of the others. The same goes for the holder
+ * checks which feed filters, such as SuppressWarningsHolder, or FileContentsHolder in older versions, as a holder in
+ * one configuration would otherwise let the filters of the others suppress violations. The Checker and TreeWalker
+ * pass their properties, such as the charset, severity and tab width, to their modules, so these must be the same
+ * in every configuration. Anything else cannot be combined, and the command returns null.
+ */
+public class OpCombineCheckers implements CheckstyleCommand<CombinedCheckerWithConfig> {
+
+    private static final Logger LOG = Logger.getInstance(OpCombineCheckers.class);
+
+    private static final String TREE_WALKER = "TreeWalker";
+    private static final String FILTER_SUFFIX = "Filter";
+    private static final String HOLDER_SUFFIX = "Holder";
+    private static final String ID_PROPERTY = "id";
+    private static final String CACHE_FILE_PROPERTY = "cacheFile";
+    private static final String MODULE_ID_PREFIX = "checkstyle-idea-";
+
+    private final List<CheckerWithConfig> parts = new ArrayList<>();
+
+    public OpCombineCheckers(@NotNull final List<CheckstyleInternalObject> checkersWithConfig) {
+        for (CheckstyleInternalObject checkerWithConfig : checkersWithConfig) {
+            if (!(checkerWithConfig instanceof CheckerWithConfig)) {
+                throw new CheckstyleVersionMixException(CheckerWithConfig.class, checkerWithConfig);
+            }
+            parts.add((CheckerWithConfig) checkerWithConfig);
+        }
+    }
+
+    @Nullable
+    @Override
+    public CombinedCheckerWithConfig execute(@NotNull final Project project) throws CheckstyleException {
+        if (!canBeCombined()) {
+            return null;
+        }
+
+        final Map<String, Integer> partIndicesByModuleId = new HashMap<>();
+        final DefaultConfiguration combinedRoot = copyOf(rootOf(0), Collections.emptyMap());
+        DefaultConfiguration combinedTreeWalker = null;
+        for (int partIndex = 0; partIndex < parts.size(); ++partIndex) {
+            for (Configuration module : childrenOf(rootOf(partIndex))) {
+                if (isFilterOrHolder(module)) {
+                    if (partIndex == 0) {
+                        combinedRoot.addChild(module);
+                    }
+                    continue;
+                }
+                if (!isTreeWalker(module)) {
+                    combinedRoot.addChild(withId(module, partIndex, partIndicesByModuleId));
+                    continue;
+                }
+                final boolean firstTreeWalker = combinedTreeWalker == null;
+                if (firstTreeWalker) {
+                    combinedTreeWalker = copyOf(module, Collections.emptyMap());
+                    combinedRoot.addChild(combinedTreeWalker);
+                }
+                for (Configuration check : childrenOf(module)) {
+                    if (isFilterOrHolder(check)) {
+                        if (firstTreeWalker) {
+                            combinedTreeWalker.addChild(check);
+                        }
+                        continue;
+                    }
+                    combinedTreeWalker.addChild(withId(check, partIndex, partIndicesByModuleId));
+                }
+            }
+        }
+
+        final Checker checker = new Checker();
+        checker.setModuleClassLoader(getClass().getClassLoader());   // for Checkstyle to load modules (checks)
+        try {
+            checker.configure(combinedRoot);
+        } catch (Error e) {
+            throw new CheckstyleToolException(e);
+        }
+        useCombinedCacheFile(checker);
+        return new CombinedCheckerWithConfig(checker, combinedRoot, parts, partIndicesByModuleId);
+    }
+
+    /**
+     * Where every part has a cache file, so does the combination, beside that of the first part, so that unchanged
+     * files without violations are still skipped.
+     */
+    private void useCombinedCacheFile(@NotNull final Checker checker) {
+        final List<String> partCacheFiles = new ArrayList<>();
+        for (CheckerWithConfig part : parts) {
+            final String partCacheFile = part.getChecker() != null
+                    ? CheckstyleBridge.cacheFileNameOf(part.getChecker())
+                    : null;
+            if (partCacheFile == null) {
+                return;
+            }
+            partCacheFiles.add(partCacheFile);
+        }
+
+        final Path cacheFile = Path.of(partCacheFiles.getFirst()).resolveSibling("combined-"
+                + Integer.toHexString(String.join(File.pathSeparator, partCacheFiles).hashCode()) + ".properties");
+        try {
+            checker.setCacheFile(cacheFile.toString());
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Unable to use Checkstyle cache file " + cacheFile, e);
+        }
+    }
+
+    private boolean canBeCombined() {
+        if (parts.size() < 2) {
+            return false;
+        }
+
+        Map<String, String> rootProperties = null;
+        Map<String, String> treeWalkerProperties = null;
+        List<FilterSignature> rootFilters = null;
+        List<FilterSignature> treeWalkerFilters = null;
+        int partsWithTreeWalkers = 0;
+        for (int partIndex = 0; partIndex < parts.size(); ++partIndex) {
+            final CheckerWithConfig part = parts.get(partIndex);
+            if (part.getWorkerConfiguration() != null || part.getConfiguration() == null) {
+                return false;
+            }
+
+            final Map<String, String> partRootProperties = propertiesOf(rootOf(partIndex));
+            if (rootProperties != null && !rootProperties.equals(partRootProperties)) {
+                LOG.debug("Checkers cannot be combined as their Checker properties differ");
+                return false;
+            }
+            rootProperties = partRootProperties;
+
+            final List<FilterSignature> partRootFilters = filtersOf(rootOf(partIndex));
+            if (rootFilters != null && !rootFilters.equals(partRootFilters)) {
+                LOG.debug("Checkers cannot be combined as their Checker filters or holders differ");
+                return false;
+            }
+            rootFilters = partRootFilters;
+
+            int treeWalkers = 0;
+            for (Configuration module : childrenOf(rootOf(partIndex))) {
+                if (!isCombinable(module)) {
+                    return false;
+                }
+                if (isTreeWalker(module)) {
+                    final Map<String, String> partTreeWalkerProperties = propertiesOf(module);
+                    if (++treeWalkers > 1
+                            || treeWalkerProperties != null && !treeWalkerProperties.equals(partTreeWalkerProperties)) {
+                        LOG.debug("Checkers cannot be combined as their TreeWalkers differ");
+                        return false;
+                    }
+                    treeWalkerProperties = partTreeWalkerProperties;
+
+                    final List<FilterSignature> partTreeWalkerFilters = filtersOf(module);
+                    if (treeWalkerFilters != null && !treeWalkerFilters.equals(partTreeWalkerFilters)) {
+                        LOG.debug("Checkers cannot be combined as their TreeWalker filters or holders differ");
+                        return false;
+                    }
+                    treeWalkerFilters = partTreeWalkerFilters;
+                    for (Configuration check : childrenOf(module)) {
+                        if (!isCombinable(check)) {
+                            return false;
+                        }
+                    }
+                }
+            }
+            partsWithTreeWalkers += treeWalkers;
+        }
+
+        return partsWithTreeWalkers > 1;
+    }
+
+    private boolean isCombinable(@NotNull final Configuration module) {
+        if (Arrays.asList(module.getPropertyNames()).contains(ID_PROPERTY)) {
+            LOG.debug("Checkers cannot be combined as a module has an ID: ", module.getName());
+            return false;
+        }
+        return true;
+    }
+
+    @NotNull
+    private Configuration rootOf(final int partIndex) {
+        return parts.get(partIndex).getConfiguration();
+    }
+
+    @NotNull
+    private static Configuration withId(@NotNull final Configuration module,
+                                        final int partIndex,
+                                        @NotNull final Map<String, Integer> partIndicesByModuleId) {
+        final String moduleId = MODULE_ID_PREFIX + partIndicesByModuleId.size();
+        partIndicesByModuleId.put(moduleId, partIndex);
+
+        final DefaultConfiguration moduleWithId = copyOf(module, Map.of(ID_PROPERTY, moduleId));
+        for (Configuration child : childrenOf(module)) {
+            moduleWithId.addChild(child);
+        }
+        return moduleWithId;
+    }
+
+    /**
+     * Copy a module without its children or any cache file.
+     */
+    @NotNull
+    private static DefaultConfiguration copyOf(@NotNull final Configuration source,
+                                               @NotNull final Map<String, String> extraProperties) {
+        final DefaultConfiguration target = new DefaultConfiguration(source.getName());
+        propertiesOf(source).forEach(target::addProperty);
+        extraProperties.forEach(target::addProperty);
+        final Map<String, String> messages = CheckstyleBridge.messagesFrom(source);
+        if (messages != null) {
+            messages.forEach(target::addMessage);
+        }
+        return target;
+    }
+
+    @NotNull
+    private static Map<String, String> propertiesOf(@NotNull final Configuration module) {
+        final Map<String, String> properties = new HashMap<>();
+        for (String propertyName : module.getPropertyNames()) {
+            if (!CACHE_FILE_PROPERTY.equals(propertyName)) {
+                try {
+                    properties.put(propertyName, module.getProperty(propertyName));
+                } catch (CheckstyleException e) {
+                    properties.put(propertyName, null);
+                }
+            }
+        }
+        return properties;
+    }
+
+    @NotNull
+    private static List<Configuration> childrenOf(@NotNull final Configuration configuration) {
+        if (configuration.getChildren() == null) {
+            return Collections.emptyList();
+        }
+        return Arrays.asList(configuration.getChildren());
+    }
+
+    @NotNull
+    private static List<FilterSignature> filtersOf(@NotNull final Configuration parent) {
+        return childrenOf(parent).stream()
+                .filter(OpCombineCheckers::isFilterOrHolder)
+                .map(FilterSignature::of)
+                .toList();
+    }
+
+    /**
+     * Is the module a filter, or a holder check which records what a filter needs, such as SuppressWarningsHolder?
+     */
+    private static boolean isFilterOrHolder(@NotNull final Configuration module) {
+        final String simpleName = simpleNameOf(module.getName());
+        return simpleName.endsWith(FILTER_SUFFIX) || simpleName.endsWith(HOLDER_SUFFIX);
+    }
+
+    private static boolean isTreeWalker(@NotNull final Configuration module) {
+        return TREE_WALKER.equals(simpleNameOf(module.getName()));
+    }
+
+    @NotNull
+    private static String simpleNameOf(@NotNull final String moduleName) {
+        return moduleName.substring(moduleName.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * What a filter or holder is configured with, so that the filters of configurations can be compared.
+     */
+    private record FilterSignature(@NotNull String name,
+                                   @NotNull Map<String, String> properties,
+                                   @NotNull List<FilterSignature> children) {
+        static FilterSignature of(@NotNull final Configuration filter) {
+            return new FilterSignature(filter.getName(), propertiesOf(filter),
+                    childrenOf(filter).stream().map(FilterSignature::of).toList());
+        }
+    }
+}
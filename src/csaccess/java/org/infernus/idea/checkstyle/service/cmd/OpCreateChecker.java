@@ -1,5 +1,6 @@
 package org.infernus.idea.checkstyle.service.cmd;
 
+import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.project.Project;
 import com.puppycrawl.tools.checkstyle.Checker;
@@ -7,14 +8,25 @@ import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.Configuration;
 import org.infernus.idea.checkstyle.CheckstyleProjectService;
 import org.infernus.idea.checkstyle.checker.CheckStyleChecker;
+import org.infernus.idea.checkstyle.checks.Check;
+import org.infernus.idea.checkstyle.checks.CheckFactory;
+import org.infernus.idea.checkstyle.config.PluginConfigurationManager;
+import org.infernus.idea.checkstyle.csapi.CheckTier;
 import org.infernus.idea.checkstyle.csapi.TabWidthAndBaseDirProvider;
 import org.infernus.idea.checkstyle.exception.CheckstyleToolException;
 import org.infernus.idea.checkstyle.model.ConfigurationLocation;
 import org.infernus.idea.checkstyle.service.Configurations;
 import org.infernus.idea.checkstyle.service.entities.CheckerWithConfig;
+import org.infernus.idea.checkstyle.service.entities.CsConfigObject;
+import org.infernus.idea.checkstyle.service.worker.WorkerConfiguration;
+import org.infernus.idea.checkstyle.service.worker.WorkerPool;
+import org.infernus.idea.checkstyle.util.TempDirProvider;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -23,10 +35,15 @@ import java.util.Map;
 public class OpCreateChecker
         implements CheckstyleCommand<CheckStyleChecker> {
 
+    private static final Logger LOG = Logger.getInstance(OpCreateChecker.class);
+
+    private static final String CACHE_FILE_PROPERTY = "cacheFile";
+
     private final Module module;
     private final ConfigurationLocation location;
     private final Map<String, String> variables;
     private final TabWidthAndBaseDirProvider configurations;
+    private final CheckTier tier;
     private final CheckstyleProjectService checkstyleProjectService;
 
     public OpCreateChecker(@Nullable final Module module,
@@ -34,10 +51,20 @@ public class OpCreateChecker
                            final Map<String, String> variables,
                            @Nullable final TabWidthAndBaseDirProvider configurations,
                            @NotNull final CheckstyleProjectService checkstyleProjectService) {
+        this(module, location, variables, configurations, CheckTier.FULL, checkstyleProjectService);
+    }
+
+    public OpCreateChecker(@Nullable final Module module,
+                           @NotNull final ConfigurationLocation location,
+                           final Map<String, String> variables,
+                           @Nullable final TabWidthAndBaseDirProvider configurations,
+                           @NotNull final CheckTier tier,
+                           @NotNull final CheckstyleProjectService checkstyleProjectService) {
         this.module = module;
         this.location = location;
         this.variables = variables;
         this.configurations = configurations;
+        this.tier = tier;
         this.checkstyleProjectService = checkstyleProjectService;
     }
 
@@ -45,7 +72,8 @@ public class OpCreateChecker
     @NotNull
     public CheckStyleChecker execute(@NotNull final Project project) throws CheckstyleException {
 
-        final Configuration csConfig = loadConfig(project);
+        final CsConfigObject loadedConfig = loadConfig(project);
+        final Configuration csConfig = loadedConfig.getConfiguration();
 
         final Checker checker = new Checker();
         checker.setModuleClassLoader(getClass().getClassLoader());   // for Checkstyle to load modules (checks)
@@ -56,16 +84,62 @@ public class OpCreateChecker
             // e.g. java.lang.NoClassDefFoundError thrown by Checkstyle for pre-8.0 custom checks
             throw new CheckstyleToolException(e);
         }
+        useManagedCacheFile(project, checker, csConfig);
 
-        CheckerWithConfig cwc = new CheckerWithConfig(checker, csConfig);
+        final List<Check> checks = CheckFactory.getChecks(checkstyleProjectService, new CsConfigObject(csConfig));
+        CheckerWithConfig cwc = new CheckerWithConfig(checker, csConfig, checks, workerConfigurationFor(project, csConfig));
         final TabWidthAndBaseDirProvider configs = configurations != null
                 ? configurations
                 : new Configurations(module, csConfig);
         return new CheckStyleChecker(cwc, configs.tabWidth(), configs.baseDir(),
-                checkstyleProjectService.getCheckstyleInstance(), location.getNamedScope());
+                checkstyleProjectService.getCheckstyleInstance(), location.getNamedScope(),
+                loadedConfig.getAssociatedFiles());
+    }
+
+    /**
+     * Unless the configuration names its own cache file, give Checkstyle one managed by the plugin, so that repeated
+     * scans skip files which are unchanged and had no violations. Only the full configuration gets one: the cache
+     * is reset whenever the configuration differs, so tiers sharing it would keep emptying each other's.
+     */
+    private void useManagedCacheFile(@NotNull final Project project,
+                                     @NotNull final Checker checker,
+                                     @NotNull final Configuration csConfig) {
+        if (tier != CheckTier.FULL || Arrays.asList(csConfig.getPropertyNames()).contains(CACHE_FILE_PROPERTY)) {
+            return;
+        }
+
+        new TempDirProvider().forCheckstyleCacheFile(project, module, location).ifPresent(cacheFile -> {
+            try {
+                checker.setCacheFile(cacheFile.toString());
+            } catch (IOException | RuntimeException e) {
+                LOG.warn("Unable to use Checkstyle cache file " + cacheFile, e);
+            }
+        });
+    }
+
+    /**
+     * When enabled, scans run in worker processes rather than in this checker. The checker is still configured here,
+     * so that a broken configuration is reported as it is loaded.
+     */
+    @Nullable
+    private WorkerConfiguration workerConfigurationFor(@NotNull final Project project,
+                                                       @NotNull final Configuration csConfig) {
+        final PluginConfigurationManager configurationManager = project.getService(PluginConfigurationManager.class);
+        if (configurationManager == null  // can be null in unit tests
+                || !configurationManager.getCurrent().isScanInWorkerProcesses()) {
+            return null;
+        }
+
+        final WorkerPool workerPool = WorkerPool.getInstance();
+        if (!workerPool.isAvailable()) {
+            LOG.warn("Checkstyle worker processes are unavailable, scans will run in the IDE");
+            return null;
+        }
+        return workerPool.register(csConfig);
     }
 
-    private Configuration loadConfig(@NotNull final Project project) throws CheckstyleException {
-        return new OpLoadConfiguration(location, variables, module, checkstyleProjectService).execute(project).getConfiguration();
+    private CsConfigObject loadConfig(@NotNull final Project project) throws CheckstyleException {
+        return new OpLoadConfiguration(location, variables, module, tier, checkstyleProjectService)
+                .execute(project);
     }
 }
@@ -4,7 +4,9 @@ import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.project.Project;
 import org.infernus.idea.checkstyle.csapi.CheckstyleInternalObject;
 import org.infernus.idea.checkstyle.exception.CheckstyleVersionMixException;
+import org.infernus.idea.checkstyle.service.entities.CheckerWithConfig;
 import org.infernus.idea.checkstyle.service.entities.HasChecker;
+import org.infernus.idea.checkstyle.service.worker.WorkerPool;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -30,9 +32,17 @@ public class OpDestroyChecker
     @Nullable
     @Override
     public Void execute(@NotNull final Project project) {
+        if (hasChecker instanceof CheckerWithConfig checkerWithConfig) {
+            checkerWithConfig.getCacheFilePersister().cancel();
+            if (checkerWithConfig.getWorkerConfiguration() != null) {
+                WorkerPool.getInstance().release(checkerWithConfig.getWorkerConfiguration());
+            }
+        }
         try {
             if (hasChecker.getCheckerLock().tryLock(1, TimeUnit.SECONDS)) {
                 try {
+                    // Checkstyle persists the cache file as the checker is destroyed
+                    CheckstyleBridge.pruneCacheFile(hasChecker.getChecker());
                     hasChecker.getChecker().destroy();
                 } finally {
                     hasChecker.getCheckerLock().unlock();
@@ -10,6 +10,9 @@ import com.puppycrawl.tools.checkstyle.PropertyResolver;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.Configuration;
 import org.infernus.idea.checkstyle.CheckstyleProjectService;
+import org.infernus.idea.checkstyle.config.PluginConfigurationBuilder;
+import org.infernus.idea.checkstyle.config.PluginConfigurationManager;
+import org.infernus.idea.checkstyle.csapi.CheckTier;
 import org.infernus.idea.checkstyle.exception.CheckstyleServiceException;
 import org.infernus.idea.checkstyle.model.ConfigurationLocation;
 import org.infernus.idea.checkstyle.service.RulesContainer;
@@ -29,6 +32,8 @@ import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNullElseGet;
@@ -48,6 +53,7 @@ public class OpLoadConfiguration
 
     private static final String TREE_WALKER_ELEMENT = "TreeWalker";
     private static final Map<String, String> FILENAME_REPLACEMENTS = buildReplacementsMap();
+    private static final String CACHE_FILE_PROPERTY = "cacheFile";
 
     @FunctionalInterface
     private interface ConfigurationLoaderWrapper {
@@ -63,6 +69,7 @@ public class OpLoadConfiguration
     private final RulesContainer rulesContainer;
     private final PropertyResolver resolver;
     private final Module module;
+    private final CheckTier tier;
     private final CheckstyleProjectService checkstyleProjectService;
 
 
@@ -81,7 +88,16 @@ public class OpLoadConfiguration
                                final Map<String, String> properties,
                                final Module module,
                                @NotNull final CheckstyleProjectService checkstyleProjectService) {
-        this(new ConfigurationLocationRulesContainer(configurationLocation), properties, module, checkstyleProjectService);
+        this(configurationLocation, properties, module, CheckTier.FULL, checkstyleProjectService);
+    }
+
+    public OpLoadConfiguration(final ConfigurationLocation configurationLocation,
+                               final Map<String, String> properties,
+                               final Module module,
+                               @NotNull final CheckTier tier,
+                               @NotNull final CheckstyleProjectService checkstyleProjectService) {
+        this(new ConfigurationLocationRulesContainer(configurationLocation), properties, module, tier,
+                checkstyleProjectService);
     }
 
     public OpLoadConfiguration(@NotNull final VirtualFile rulesFile,
@@ -92,20 +108,22 @@ public class OpLoadConfiguration
     public OpLoadConfiguration(@NotNull final VirtualFile rulesFile,
                                final Map<String, String> properties,
                                @NotNull final CheckstyleProjectService checkstyleProjectService) {
-        this(new VirtualFileRulesContainer(rulesFile), properties, null, checkstyleProjectService);
+        this(new VirtualFileRulesContainer(rulesFile), properties, null, CheckTier.FULL, checkstyleProjectService);
     }
 
     public OpLoadConfiguration(@NotNull final String fileContent,
                                @NotNull final CheckstyleProjectService checkstyleProjectService) {
-        this(new ContentRulesContainer(fileContent), null, null, checkstyleProjectService);
+        this(new ContentRulesContainer(fileContent), null, null, CheckTier.FULL, checkstyleProjectService);
     }
 
     private OpLoadConfiguration(final RulesContainer rulesContainer,
                                 final Map<String, String> properties,
                                 final Module module,
+                                final CheckTier tier,
                                 final CheckstyleProjectService checkstyleProjectService) {
         this.rulesContainer = rulesContainer;
         this.module = module;
+        this.tier = tier;
         this.checkstyleProjectService = checkstyleProjectService;
 
         resolver = new SimpleResolver(requireNonNullElseGet(properties, Map::of));
@@ -126,7 +144,7 @@ public class OpLoadConfiguration
 
 
     @Override
-    public HasCsConfig execute(@NotNull final Project currentProject) throws CheckstyleException {
+    public CsConfigObject execute(@NotNull final Project currentProject) throws CheckstyleException {
         try (InputStream is = rulesContainer.inputStream(checkstyleClassLoader())) {
             Configuration configuration = callLoadConfiguration(is);
             if (configuration == null) {
@@ -135,7 +153,10 @@ public class OpLoadConfiguration
                 throw new CheckstyleException("Couldn't find root module in " + rulesContainer.filePath());
             }
             resolveFilePaths(currentProject, configuration);
-            return new CsConfigObject(configuration);
+            if (tier == CheckTier.FAST) {
+                configuration = withoutExpensiveModules(configuration, expensiveChecksOf(currentProject));
+            }
+            return new CsConfigObject(configuration, rulesContainer.associatedFiles());
 
         } catch (IOException e) {
             throw new CheckstyleException("Error loading file", e);
@@ -199,6 +220,62 @@ public class OpLoadConfiguration
     }
 
 
+    /**
+     * The checks left out of the {@link CheckTier#FAST} tier are chosen by the user, who may find the slow checks of
+     * their rules by profiling a file.
+     */
+    @NotNull
+    private static Set<String> expensiveChecksOf(@NotNull final Project project) {
+        final PluginConfigurationManager configurationManager = project.getService(PluginConfigurationManager.class);
+        if (configurationManager == null) {  // can be null in unit tests
+            return PluginConfigurationBuilder.DEFAULT_EXPENSIVE_CHECKS;
+        }
+        return configurationManager.getCurrent().getExpensiveChecks();
+    }
+
+    /**
+     * Copy a configuration, leaving out the expensive modules, and the cache file, which belongs to the full
+     * configuration.
+     *
+     * @param source          the configuration to copy.
+     * @param expensiveChecks the names of the modules to leave out, with or without their package and "Check"
+     *                        suffix.
+     * @return the copy.
+     */
+    @NotNull
+    Configuration withoutExpensiveModules(@NotNull final Configuration source,
+                                          @NotNull final Set<String> expensiveChecks) {
+        final Set<String> expensiveModules = expensiveChecks.stream()
+                .map(OpLoadConfiguration::shortNameOf)
+                .collect(Collectors.toSet());
+        return withoutModules(source, expensiveModules);
+    }
+
+    @NotNull
+    private Configuration withoutModules(@NotNull final Configuration source,
+                                         @NotNull final Set<String> moduleShortNames) {
+        final DefaultConfiguration target = new DefaultConfiguration(source.getName());
+        copyMessages(source, target);
+        copyAttributes(source, CACHE_FILE_PROPERTY, target);
+        if (source.getChildren() != null) {
+            for (Configuration child : source.getChildren()) {
+                if (child.getName() == null || !moduleShortNames.contains(shortNameOf(child.getName()))) {
+                    target.addChild(withoutModules(child, moduleShortNames));
+                }
+            }
+        }
+        return target;
+    }
+
+    @NotNull
+    private static String shortNameOf(@NotNull final String moduleName) {
+        String shortName = moduleName.substring(moduleName.lastIndexOf('.') + 1);
+        if (shortName.endsWith("Check") && shortName.length() > "Check".length()) {
+            shortName = shortName.substring(0, shortName.length() - "Check".length());
+        }
+        return shortName;
+    }
+
     private void checkFilenameForProperty(final Project project,
                                           final DefaultConfiguration configRoot,
                                           final Configuration configModule,
@@ -40,27 +40,29 @@ public class OpPeruseConfiguration implements CheckstyleCommand<Void> {
 
     @Override
     public Void execute(@NotNull final Project project) throws CheckstyleException {
-        runVisitor(configuration);
+        runVisitor(configuration, null);
         return null;
     }
 
 
-    private void runVisitor(@Nullable final Configuration currentConfig) throws CheckstyleException {
+    private void runVisitor(@Nullable final Configuration currentConfig,
+                            @Nullable final String parentName) throws CheckstyleException {
         if (currentConfig == null) {
             return;
         }
-        final ConfigurationModule moduleInfo = buildModuleInfo(currentConfig);
+        final ConfigurationModule moduleInfo = buildModuleInfo(currentConfig, parentName);
         if (moduleInfo != null) {
             visitor.visit(moduleInfo);
         }
         for (Configuration childConfig : currentConfig.getChildren()) {
-            runVisitor(childConfig);
+            runVisitor(childConfig, currentConfig.getName());
         }
     }
 
 
     @Nullable
-    private ConfigurationModule buildModuleInfo(@NotNull final Configuration currentConfig)
+    private ConfigurationModule buildModuleInfo(@NotNull final Configuration currentConfig,
+                                                @Nullable final String parentName)
             throws CheckstyleException {
         final String name = currentConfig.getName();
 
@@ -81,7 +83,7 @@ public class OpPeruseConfiguration implements CheckstyleCommand<Void> {
 
         ConfigurationModule result = null;
         if (name != null) {
-            result = new ConfigurationModule(name, properties, knownTokenTypes);
+            result = new ConfigurationModule(name, properties, knownTokenTypes, parentName);
         }
         return result;
     }
@@ -0,0 +1,242 @@
+package org.infernus.idea.checkstyle.service.cmd;
+
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.project.Project;
+import com.puppycrawl.tools.checkstyle.Checker;
+import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
+import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import org.infernus.idea.checkstyle.checker.ScannableFile;
+import org.infernus.idea.checkstyle.csapi.CheckCost;
+import org.infernus.idea.checkstyle.csapi.CheckstyleInternalObject;
+import org.infernus.idea.checkstyle.exception.CheckstyleVersionMixException;
+import org.infernus.idea.checkstyle.service.CheckCostAuditListener;
+import org.infernus.idea.checkstyle.service.ScanCancellation;
+import org.infernus.idea.checkstyle.service.entities.CheckerWithConfig;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.util.*;
+
+import static java.util.Comparator.comparingLong;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Measures the cost of each module of a configuration: the FileSetChecks beneath the Checker, and the checks beneath
+ * each TreeWalker.
+ * <p>
+ * Checkstyle offers no hooks around individual modules, so each is audited on its own, with a configuration holding
+ * the Checker, its TreeWalker if it has one, and nothing else. Parsing is measured once per TreeWalker, with a check
+ * which visits no tokens, and is charged to the TreeWalker rather than to each of its checks. Filters are left out,
+ * as they do not change the work done. The costs are wall times, so they are indicative rather than exact.
+ */
+public class OpProfile implements CheckstyleCommand<List<CheckCost>> {
+
+    private static final String TREE_WALKER = "TreeWalker";
+    private static final String FILTER_SUFFIX = "Filter";
+    private static final String CACHE_FILE_PROPERTY = "cacheFile";
+
+    private final CheckerWithConfig checkerWithConfig;
+    private final List<ScannableFile> scannableFiles;
+
+    public OpProfile(@NotNull final CheckstyleInternalObject checkerWithConfig,
+                     @NotNull final List<ScannableFile> scannableFiles) {
+        if (!(checkerWithConfig instanceof CheckerWithConfig)) {
+            throw new CheckstyleVersionMixException(CheckerWithConfig.class, checkerWithConfig);
+        }
+        this.checkerWithConfig = (CheckerWithConfig) checkerWithConfig;
+        this.scannableFiles = scannableFiles;
+    }
+
+    @NotNull
+    @Override
+    public List<CheckCost> execute(@NotNull final Project project) throws CheckstyleException {
+        if (scannableFiles.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final List<File> files = scannableFiles.stream().map(ScannableFile::getFile).collect(toList());
+        final ScanCancellation cancellation = ScanCancellation.forCurrentThread();
+        final Configuration root = checkerWithConfig.getConfiguration();
+
+        final List<CheckCost> costs = new ArrayList<>();
+        for (Configuration module : childrenOf(root)) {
+            checkCancelled(cancellation);
+            if (isFilter(module)) {
+                continue;
+            }
+            if (isTreeWalker(module)) {
+                costs.addAll(profileTreeWalker(root, module, files, cancellation));
+            } else {
+                costs.add(costOf(module.getName(), root.getName(),
+                        audit(isolate(root, module), files, cancellation), Collections.emptyMap()));
+            }
+        }
+        costs.sort(comparingLong(CheckCost::totalNanos).reversed());
+        return costs;
+    }
+
+    private List<CheckCost> profileTreeWalker(@NotNull final Configuration root,
+                                              @NotNull final Configuration treeWalker,
+                                              @NotNull final List<File> files,
+                                              @NotNull final ScanCancellation cancellation)
+            throws CheckstyleException {
+        final Configuration parseOnly = isolate(root,
+                isolate(treeWalker, new DefaultConfiguration(ParseOnlyCheck.class.getName())));
+        audit(parseOnly, files, cancellation);  // so that the first check is not charged for warming up the parser
+        final CheckCostAuditListener parsing = audit(parseOnly, files, cancellation);
+
+        final List<CheckCost> costs = new ArrayList<>();
+        costs.add(costOf(treeWalker.getName(), root.getName(), parsing, Collections.emptyMap()));
+        for (Configuration check : childrenOf(treeWalker)) {
+            checkCancelled(cancellation);
+            if (!isFilter(check)) {
+                costs.add(costOf(check.getName(), treeWalker.getName(),
+                        audit(isolate(root, isolate(treeWalker, check)), files, cancellation),
+                        parsing.getNanosByFileName()));
+            }
+        }
+        return costs;
+    }
+
+    /**
+     * Each module is audited on its own, so a cancelled profile stops before the next module is started as well as
+     * part way through a module.
+     */
+    private static void checkCancelled(@NotNull final ScanCancellation cancellation) {
+        if (cancellation.isCancelled()) {
+            throw new ProcessCanceledException();
+        }
+    }
+
+    private CheckCostAuditListener audit(@NotNull final Configuration configuration,
+                                         @NotNull final List<File> files,
+                                         @NotNull final ScanCancellation cancellation)
+            throws CheckstyleException {
+        final Checker checker = new Checker();
+        checker.setModuleClassLoader(getClass().getClassLoader());   // for Checkstyle to load modules (checks)
+        final CheckCostAuditListener listener = new CheckCostAuditListener(cancellation);
+        try {
+            checker.configure(configuration);
+            checker.addListener(listener);
+            checker.process(files);
+        } catch (CheckstyleException | RuntimeException e) {
+            if (listener.wasAborted()) {
+                throw new ProcessCanceledException();
+            }
+            throw e;
+        } finally {
+            checker.destroy();
+        }
+        return listener;
+    }
+
+    private CheckCost costOf(@NotNull final String moduleName,
+                             @Nullable final String parentName,
+                             @NotNull final CheckCostAuditListener listener,
+                             @NotNull final Map<String, Long> baselineNanosByFileName) {
+        int files = 0;
+        long totalNanos = 0;
+        long maxNanos = 0;
+        String slowestFile = null;
+        for (Map.Entry<String, Long> fileNanos : listener.getNanosByFileName().entrySet()) {
+            final long nanos = Math.max(0,
+                    fileNanos.getValue() - baselineNanosByFileName.getOrDefault(fileNanos.getKey(), 0L));
+            files++;
+            totalNanos += nanos;
+            if (slowestFile == null || nanos > maxNanos) {
+                maxNanos = nanos;
+                slowestFile = displayNameOf(fileNanos.getKey());
+            }
+        }
+        return new CheckCost(moduleName, parentName, files, listener.getIssues(), totalNanos, maxNanos, slowestFile);
+    }
+
+    /**
+     * Files are audited as temporary copies, so they are reported by the name of the file they were copied from.
+     */
+    @NotNull
+    private String displayNameOf(@NotNull final String auditedFileName) {
+        for (ScannableFile scannableFile : scannableFiles) {
+            if (auditedFileName.equals(scannableFile.getAbsolutePath()) && scannableFile.getPsiFile() != null) {
+                return scannableFile.getPsiFile().getName();
+            }
+        }
+        return new File(auditedFileName).getName();
+    }
+
+    /**
+     * Copy a module, without its children or any cache file, and give it a single child.
+     */
+    @NotNull
+    private static Configuration isolate(@NotNull final Configuration parent,
+                                         @NotNull final Configuration child) {
+        final DefaultConfiguration target = new DefaultConfiguration(parent.getName());
+        if (parent.getPropertyNames() != null) {
+            for (String propertyName : parent.getPropertyNames()) {
+                if (!CACHE_FILE_PROPERTY.equals(propertyName)) {
+                    target.addProperty(propertyName, getPropertyOrNull(parent, propertyName));
+                }
+            }
+        }
+        final Map<String, String> messages = CheckstyleBridge.messagesFrom(parent);
+        if (messages != null) {
+            messages.forEach(target::addMessage);
+        }
+        target.addChild(child);
+        return target;
+    }
+
+    @Nullable
+    private static String getPropertyOrNull(@NotNull final Configuration element,
+                                            @NotNull final String propertyName) {
+        try {
+            return element.getProperty(propertyName);
+        } catch (CheckstyleException e) {
+            return null;
+        }
+    }
+
+    @NotNull
+    private static List<Configuration> childrenOf(@NotNull final Configuration configuration) {
+        if (configuration.getChildren() == null) {
+            return Collections.emptyList();
+        }
+        return Arrays.asList(configuration.getChildren());
+    }
+
+    private static boolean isTreeWalker(@NotNull final Configuration module) {
+        return TREE_WALKER.equals(simpleNameOf(module.getName()));
+    }
+
+    private static boolean isFilter(@NotNull final Configuration module) {
+        return simpleNameOf(module.getName()).endsWith(FILTER_SUFFIX);
+    }
+
+    @NotNull
+    private static String simpleNameOf(@NotNull final String moduleName) {
+        return moduleName.substring(moduleName.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * A check which visits no tokens, so that a TreeWalker holding only it does nothing but parse each file.
+     */
+    public static final class ParseOnlyCheck extends AbstractCheck {
+        @Override
+        public int[] getDefaultTokens() {
+            return new int[0];
+        }
+
+        @Override
+        public int[] getAcceptableTokens() {
+            return new int[0];
+        }
+
+        @Override
+        public int[] getRequiredTokens() {
+            return new int[0];
+        }
+    }
+}
@@ -1,25 +1,34 @@
 package org.infernus.idea.checkstyle.service.cmd;
 
+import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiFile;
 import com.puppycrawl.tools.checkstyle.Checker;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import org.infernus.idea.checkstyle.checker.Problem;
 import org.infernus.idea.checkstyle.checker.ScannableFile;
-import org.infernus.idea.checkstyle.checks.CheckFactory;
 import org.infernus.idea.checkstyle.csapi.CheckstyleInternalObject;
+import org.infernus.idea.checkstyle.csapi.Issue;
 import org.infernus.idea.checkstyle.exception.CheckstyleVersionMixException;
 import org.infernus.idea.checkstyle.service.CheckStyleAuditListener;
+import org.infernus.idea.checkstyle.service.IssueCache;
+import org.infernus.idea.checkstyle.service.ScanCancellation;
 import org.infernus.idea.checkstyle.service.entities.CheckerWithConfig;
+import org.infernus.idea.checkstyle.service.entities.HasChecker;
+import org.infernus.idea.checkstyle.service.worker.WorkerPool;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
 
 import static java.util.stream.Collectors.toList;
 
 public class OpScan implements CheckstyleCommand<Map<PsiFile, List<Problem>>> {
 
+    private static final long LOCK_POLL_INTERVAL_MS = 50;
+
     private final CheckerWithConfig checkerWithConfig;
     private final List<ScannableFile> scannableFiles;
     private final boolean suppressErrors;
@@ -47,10 +56,55 @@ public class OpScan implements CheckstyleCommand<Map<PsiFile, List<Problem>>> {
         if (scannableFiles.isEmpty()) {
             return Collections.emptyMap();
         }
-        return processAndAudit(filesOf(scannableFiles), createListener(mapFilesToElements(scannableFiles), project))
+        final ScanCancellation cancellation = ScanCancellation.forCurrentThread();
+        if (checkerWithConfig.getWorkerConfiguration() != null) {
+            return scanInWorkers(filesOf(scannableFiles),
+                    createListener(mapFilesToElements(scannableFiles), cancellation), cancellation)
+                    .getProblems();
+        }
+        if (scannableFiles.size() == 1) {
+            return scanSingleFile(scannableFiles.getFirst(), cancellation);
+        }
+        return processAndAudit(filesOf(scannableFiles),
+                createListener(mapFilesToElements(scannableFiles), cancellation), cancellation)
                 .getProblems();
     }
 
+    /**
+     * Inspections scan a single file, often with the same content as when it was last scanned, in which case the
+     * issues found then are used again.
+     */
+    private Map<PsiFile, List<Problem>> scanSingleFile(final ScannableFile scannableFile,
+                                                      final ScanCancellation cancellation)
+            throws CheckstyleException {
+        final IssueCache issueCache = checkerWithConfig.getIssueCache();
+        final IssueCache.Key cacheKey = issueCache.keyFor(scannableFile);
+        final List<Issue> cachedIssues = cacheKey != null ? issueCache.get(cacheKey) : null;
+
+        final CheckStyleAuditListener auditListener =
+                createListener(mapFilesToElements(List.of(scannableFile)), cancellation);
+        if (cachedIssues != null) {
+            auditListener.auditStarted(null);
+            cachedIssues.forEach(issue -> auditListener.addIssue(inFile(issue, scannableFile.getAbsolutePath())));
+            auditListener.auditFinished(null);
+            return auditListener.getProblems();
+        }
+
+        processAndAudit(filesOf(List.of(scannableFile)), auditListener, cancellation);
+        if (cacheKey != null) {
+            issueCache.put(cacheKey, auditListener.getIssues());
+        }
+        return auditListener.getProblems();
+    }
+
+    /**
+     * A temporary copy of the file is written elsewhere for each scan, so cached issues are moved to the current one.
+     */
+    static Issue inFile(final Issue issue, final String fileName) {
+        return new Issue(fileName, issue.lineNumber, issue.columnNumber, issue.message, issue.severityLevel,
+                issue.sourceName);
+    }
+
     private Map<String, PsiFile> mapFilesToElements(final List<ScannableFile> filesToScan) {
         final Map<String, PsiFile> filePathsToElements = new HashMap<>();
         for (ScannableFile scannableFile : filesToScan) {
@@ -64,13 +118,20 @@ public class OpScan implements CheckstyleCommand<Map<PsiFile, List<Problem>>> {
     }
 
     private CheckStyleAuditListener processAndAudit(final List<File> files,
-                                                    final CheckStyleAuditListener auditListener)
+                                                    final CheckStyleAuditListener auditListener,
+                                                    final ScanCancellation cancellation)
             throws CheckstyleException {
         final Checker checker = checkerWithConfig.getChecker();
-        checkerWithConfig.getCheckerLock().lock();
+        lockChecker(checkerWithConfig, cancellation);
         checker.addListener(auditListener);
         try {
             checker.process(files);
+            checkerWithConfig.getCacheFilePersister().scanned();
+        } catch (CheckstyleException | RuntimeException e) {
+            if (auditListener.wasAborted()) {
+                throw new ProcessCanceledException();
+            }
+            throw e;
         } finally {
             checker.removeListener(auditListener);
             checkerWithConfig.getCheckerLock().unlock();
@@ -78,9 +139,42 @@ public class OpScan implements CheckstyleCommand<Map<PsiFile, List<Problem>>> {
         return auditListener;
     }
 
+    /**
+     * The workers report their issues once the scan is complete, and they are then mapped as if found here.
+     */
+    private CheckStyleAuditListener scanInWorkers(final List<File> files,
+                                                  final CheckStyleAuditListener auditListener,
+                                                  final ScanCancellation cancellation)
+            throws CheckstyleException {
+        final List<Issue> issues = WorkerPool.getInstance()
+                .scan(checkerWithConfig.getWorkerConfiguration(), files, cancellation);
+        auditListener.auditStarted(null);
+        issues.forEach(auditListener::addIssue);
+        auditListener.auditFinished(null);
+        return auditListener;
+    }
+
+    /**
+     * Another scan may hold the checker for some time, so we wait in short steps, giving up if we are cancelled.
+     */
+    static void lockChecker(@NotNull final HasChecker checkerWithConfig,
+                            @NotNull final ScanCancellation cancellation) {
+        final Lock checkerLock = checkerWithConfig.getCheckerLock();
+        try {
+            while (!checkerLock.tryLock(LOCK_POLL_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+                if (cancellation.isCancelled()) {
+                    throw new ProcessCanceledException();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProcessCanceledException(e);
+        }
+    }
+
     private CheckStyleAuditListener createListener(final Map<String, PsiFile> filesToScan,
-                                                   final Project project) {
+                                                   final ScanCancellation cancellation) {
         return new CheckStyleAuditListener(filesToScan, suppressErrors, tabWidth, baseDir,
-                CheckFactory.getChecks(project, checkerWithConfig));
+                checkerWithConfig.getChecks(), cancellation);
     }
 }
@@ -0,0 +1,144 @@
+package org.infernus.idea.checkstyle.service.cmd;
+
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiFile;
+import com.puppycrawl.tools.checkstyle.Checker;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import org.infernus.idea.checkstyle.checker.Problem;
+import org.infernus.idea.checkstyle.checker.ScannableFile;
+import org.infernus.idea.checkstyle.csapi.CheckstyleInternalObject;
+import org.infernus.idea.checkstyle.csapi.Issue;
+import org.infernus.idea.checkstyle.exception.CheckstyleVersionMixException;
+import org.infernus.idea.checkstyle.service.CheckStyleAuditListener;
+import org.infernus.idea.checkstyle.service.CombinedAuditListener;
+import org.infernus.idea.checkstyle.service.IssueCache;
+import org.infernus.idea.checkstyle.service.ScanCancellation;
+import org.infernus.idea.checkstyle.service.entities.CheckerWithConfig;
+import org.infernus.idea.checkstyle.service.entities.CombinedCheckerWithConfig;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.util.*;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Scans files with a combined checker, returning the problems found for each of the configurations it combines.
+ * <p>
+ * As with {@link OpScan}, a single file inspected again with the same content is not scanned again. Each
+ * configuration keeps what it found in the issue cache of its own checker, which is shared with scans by that
+ * checker alone.
+ */
+public class OpScanCombined implements CheckstyleCommand<List<Map<PsiFile, List<Problem>>>> {
+
+    private final CombinedCheckerWithConfig combinedChecker;
+    private final List<ScannableFile> scannableFiles;
+    private final boolean suppressErrors;
+    private final int tabWidth;
+    private final Optional<String> baseDir;
+
+    public OpScanCombined(@NotNull final CheckstyleInternalObject combinedChecker,
+                          @NotNull final List<ScannableFile> scannableFiles,
+                          final boolean suppressErrors,
+                          final int tabWidth,
+                          final Optional<String> baseDir) {
+        if (!(combinedChecker instanceof CombinedCheckerWithConfig)) {
+            throw new CheckstyleVersionMixException(CombinedCheckerWithConfig.class, combinedChecker);
+        }
+        this.combinedChecker = (CombinedCheckerWithConfig) combinedChecker;
+        this.scannableFiles = scannableFiles;
+        this.suppressErrors = suppressErrors;
+        this.tabWidth = tabWidth;
+        this.baseDir = baseDir;
+    }
+
+    @NotNull
+    @Override
+    public List<Map<PsiFile, List<Problem>>> execute(@NotNull final Project project) throws CheckstyleException {
+        if (scannableFiles.isEmpty()) {
+            return combinedChecker.getParts().stream()
+                    .map(part -> Collections.<PsiFile, List<Problem>>emptyMap())
+                    .collect(toList());
+        }
+
+        final ScanCancellation cancellation = ScanCancellation.forCurrentThread();
+        final Map<String, PsiFile> filesToElements = new HashMap<>();
+        for (ScannableFile scannableFile : scannableFiles) {
+            filesToElements.put(scannableFile.getAbsolutePath(), scannableFile.getPsiFile());
+        }
+        final List<CheckStyleAuditListener> partListeners = new ArrayList<>();
+        for (CheckerWithConfig part : combinedChecker.getParts()) {
+            partListeners.add(new CheckStyleAuditListener(filesToElements, suppressErrors, tabWidth, baseDir,
+                    part.getChecks(), cancellation));
+        }
+        final CombinedAuditListener auditListener = new CombinedAuditListener(combinedChecker, partListeners);
+
+        if (scannableFiles.size() == 1) {
+            return scanSingleFile(scannableFiles.getFirst(), partListeners, auditListener, cancellation);
+        }
+        processAndAudit(scannableFiles, auditListener, cancellation);
+        return auditListener.getProblems();
+    }
+
+    /**
+     * The file is only scanned if a configuration does not know what it found when the file last had this content,
+     * and then the issues of every configuration are cached.
+     */
+    private List<Map<PsiFile, List<Problem>>> scanSingleFile(final ScannableFile scannableFile,
+                                                             final List<CheckStyleAuditListener> partListeners,
+                                                             final CombinedAuditListener auditListener,
+                                                             final ScanCancellation cancellation)
+            throws CheckstyleException {
+        final List<CheckerWithConfig> parts = combinedChecker.getParts();
+        final List<IssueCache.Key> cacheKeys = new ArrayList<>();
+        final List<List<Issue>> cachedIssues = new ArrayList<>();
+        for (CheckerWithConfig part : parts) {
+            final IssueCache.Key cacheKey = part.getIssueCache().keyFor(scannableFile);
+            cacheKeys.add(cacheKey);
+            cachedIssues.add(cacheKey != null ? part.getIssueCache().get(cacheKey) : null);
+        }
+
+        if (cachedIssues.stream().allMatch(Objects::nonNull)) {
+            for (int partIndex = 0; partIndex < parts.size(); ++partIndex) {
+                final CheckStyleAuditListener partListener = partListeners.get(partIndex);
+                partListener.auditStarted(null);
+                cachedIssues.get(partIndex).forEach(issue ->
+                        partListener.addIssue(OpScan.inFile(issue, scannableFile.getAbsolutePath())));
+                partListener.auditFinished(null);
+            }
+            return auditListener.getProblems();
+        }
+
+        processAndAudit(List.of(scannableFile), auditListener, cancellation);
+        for (int partIndex = 0; partIndex < parts.size(); ++partIndex) {
+            final IssueCache.Key cacheKey = cacheKeys.get(partIndex);
+            if (cacheKey != null) {
+                parts.get(partIndex).getIssueCache().put(cacheKey, partListeners.get(partIndex).getIssues());
+            }
+        }
+        return auditListener.getProblems();
+    }
+
+    private void processAndAudit(final List<ScannableFile> filesToScan,
+                                 final CombinedAuditListener auditListener,
+                                 final ScanCancellation cancellation)
+            throws CheckstyleException {
+        final List<File> files = filesToScan.stream().map(ScannableFile::getFile).collect(toList());
+        final Checker checker = combinedChecker.getChecker();
+        OpScan.lockChecker(combinedChecker, cancellation);
+        checker.addListener(auditListener);
+        try {
+            checker.process(files);
+            combinedChecker.getCacheFilePersister().scanned();
+        } catch (CheckstyleException | RuntimeException e) {
+            if (auditListener.wasAborted()) {
+                throw new ProcessCanceledException();
+            }
+            throw e;
+        } finally {
+            checker.removeListener(auditListener);
+            combinedChecker.getCheckerLock().unlock();
+        }
+    }
+}
@@ -2,7 +2,14 @@ package org.infernus.idea.checkstyle.service.entities;
 
 import com.puppycrawl.tools.checkstyle.Checker;
 import com.puppycrawl.tools.checkstyle.api.Configuration;
+import org.infernus.idea.checkstyle.checks.Check;
+import org.infernus.idea.checkstyle.service.CacheFilePersister;
+import org.infernus.idea.checkstyle.service.IssueCache;
+import org.infernus.idea.checkstyle.service.worker.WorkerConfiguration;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -12,10 +19,29 @@ public class CheckerWithConfig implements HasChecker, HasCsConfig {
     private final Checker checker;
     private final Lock lock = new ReentrantLock();
     private final Configuration configuration;
+    private final List<Check> checks;
+    private final WorkerConfiguration workerConfiguration;
+    private final IssueCache issueCache;
+    private final CacheFilePersister cacheFilePersister;
 
     public CheckerWithConfig(final Checker checker, final Configuration configuration) {
+        this(checker, configuration, Collections.emptyList());
+    }
+
+    public CheckerWithConfig(final Checker checker, final Configuration configuration, final List<Check> checks) {
+        this(checker, configuration, checks, null);
+    }
+
+    public CheckerWithConfig(final Checker checker,
+                             final Configuration configuration,
+                             final List<Check> checks,
+                             @Nullable final WorkerConfiguration workerConfiguration) {
         this.checker = checker;
         this.configuration = configuration;
+        this.checks = List.copyOf(checks);
+        this.workerConfiguration = workerConfiguration;
+        this.issueCache = IssueCache.forConfiguration(configuration);
+        this.cacheFilePersister = new CacheFilePersister(this);
     }
 
     @Override
@@ -31,4 +57,33 @@ public class CheckerWithConfig implements HasChecker, HasCsConfig {
     public Configuration getConfiguration() {
         return configuration;
     }
+
+    /**
+     * @return the post-processing checks for this configuration, created once with the checker.
+     */
+    public List<Check> getChecks() {
+        return checks;
+    }
+
+    /**
+     * @return the configuration to scan with in worker processes, or null if scans run in the IDE.
+     */
+    @Nullable
+    public WorkerConfiguration getWorkerConfiguration() {
+        return workerConfiguration;
+    }
+
+    /**
+     * @return the issues recently found by this checker.
+     */
+    public IssueCache getIssueCache() {
+        return issueCache;
+    }
+
+    /**
+     * @return the persister of this checker's cache file.
+     */
+    public CacheFilePersister getCacheFilePersister() {
+        return cacheFilePersister;
+    }
 }
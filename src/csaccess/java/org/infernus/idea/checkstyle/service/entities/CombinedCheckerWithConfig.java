@@ -0,0 +1,49 @@
+package org.infernus.idea.checkstyle.service.entities;
+
+import com.puppycrawl.tools.checkstyle.Checker;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * A checker running the modules of several configurations at once, so that their TreeWalkers share a single parse
+ * of each file. Each module is given an ID which tells which of the configurations it came from.
+ */
+public class CombinedCheckerWithConfig extends CheckerWithConfig {
+
+    private final List<CheckerWithConfig> parts;
+    private final Map<String, Integer> partIndicesByModuleId;
+
+    public CombinedCheckerWithConfig(@NotNull final Checker checker,
+                                     @NotNull final Configuration configuration,
+                                     @NotNull final List<CheckerWithConfig> parts,
+                                     @NotNull final Map<String, Integer> partIndicesByModuleId) {
+        super(checker, configuration);
+        this.parts = List.copyOf(parts);
+        this.partIndicesByModuleId = Map.copyOf(partIndicesByModuleId);
+    }
+
+    /**
+     * @return the checkers combined, in the order they were given.
+     */
+    @NotNull
+    public List<CheckerWithConfig> getParts() {
+        return parts;
+    }
+
+    /**
+     * @param moduleId the ID of the module which raised an event.
+     * @return the index of the part the module came from, or null if the module is shared by all of them.
+     */
+    @Nullable
+    public Integer partIndexOf(@Nullable final String moduleId) {
+        if (moduleId == null) {
+            return null;
+        }
+        return partIndicesByModuleId.get(moduleId);
+    }
+}
@@ -2,16 +2,33 @@ package org.infernus.idea.checkstyle.service.entities;
 
 import com.puppycrawl.tools.checkstyle.api.Configuration;
 
+import java.util.Set;
+
 
 public class CsConfigObject implements HasCsConfig {
 
     private final Configuration configuration;
+    private final Set<String> associatedFiles;
 
     public CsConfigObject(final Configuration configuration) {
+        this(configuration, Set.of());
+    }
+
+    public CsConfigObject(final Configuration configuration, final Set<String> associatedFiles) {
         this.configuration = configuration;
+        this.associatedFiles = associatedFiles;
     }
 
     public Configuration getConfiguration() {
         return configuration;
     }
+
+    /**
+     * The files on disk, other than the rules file, which were resolved as the configuration was loaded.
+     *
+     * @return the absolute paths of the files.
+     */
+    public Set<String> getAssociatedFiles() {
+        return associatedFiles;
+    }
 }
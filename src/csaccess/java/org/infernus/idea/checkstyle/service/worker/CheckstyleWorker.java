@@ -0,0 +1,271 @@
+package org.infernus.idea.checkstyle.service.worker;
+
+import com.puppycrawl.tools.checkstyle.Checker;
+import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.AuditListener;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.infernus.idea.checkstyle.service.worker.WorkerProtocol.*;
+
+/**
+ * The entry point of a Checkstyle worker process, which runs scans on behalf of the plugin.
+ * <p>
+ * Requests are read from standard input and answered on standard output, one at a time, as described by
+ * {@link WorkerProtocol}. The worker exits when its input is closed, or when it has been idle for a while with no
+ * request running, so that workers are not left behind by a plugin which has moved on to another Checkstyle version.
+ * An idle worker exits with {@link WorkerProtocol#EXIT_IDLE}, so that the plugin can tell it from one which crashed.
+ * <p>
+ * This class runs without the IDE, so must use nothing but the JDK and Checkstyle.
+ */
+public final class CheckstyleWorker {
+
+    private static final long IDLE_EXIT_MS = TimeUnit.MINUTES.toMillis(5);
+
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    private final Map<Long, Checker> checkers = new HashMap<>();
+
+    private volatile long lastRequestTime = System.currentTimeMillis();
+    private volatile boolean requestRunning;
+
+    CheckstyleWorker(@NotNull final DataInputStream in,
+                     @NotNull final DataOutputStream out) {
+        this.in = in;
+        this.out = out;
+    }
+
+    public static void main(final String[] args) throws IOException {
+        final PrintStream protocolOut = System.out;
+        // anything printed by a check must not end up in the protocol
+        System.setOut(System.err);
+
+        final CheckstyleWorker worker = new CheckstyleWorker(
+                new DataInputStream(new BufferedInputStream(System.in)),
+                new DataOutputStream(new BufferedOutputStream(protocolOut)));
+        worker.exitWhenIdle();
+        worker.run();
+        System.exit(0);
+    }
+
+    private void exitWhenIdle() {
+        final Thread watchdog = new Thread(() -> {
+            try {
+                while (true) {
+                    Thread.sleep(IDLE_EXIT_MS / 10);
+                    if (isIdleAt(System.currentTimeMillis())) {
+                        System.exit(EXIT_IDLE);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "Checkstyle worker idle watchdog");
+        watchdog.setDaemon(true);
+        watchdog.start();
+    }
+
+    /**
+     * Has the worker been idle for long enough to exit? A worker is never idle while a request is running, however
+     * long the request takes.
+     *
+     * @param time the current time, in milliseconds.
+     * @return true if the worker should exit.
+     */
+    boolean isIdleAt(final long time) {
+        return !requestRunning && time - lastRequestTime > IDLE_EXIT_MS;
+    }
+
+    /**
+     * Answer requests until the input is closed.
+     *
+     * @throws IOException if the plugin cannot be talked to.
+     */
+    void run() throws IOException {
+        int requestType;
+        while ((requestType = in.read()) >= 0) {
+            requestRunning = true;
+            try {
+                switch (requestType) {
+                    case CONFIGURE -> configure(in.readLong(), readConfiguration());
+                    case SCAN -> scan(in.readLong(), readFiles());
+                    case RELEASE -> release(in.readLong());
+                    default -> throw new IOException("Unknown request type: " + requestType);
+                }
+                out.flush();
+            } finally {
+                lastRequestTime = System.currentTimeMillis();
+                requestRunning = false;
+            }
+        }
+        checkers.values().forEach(Checker::destroy);
+    }
+
+    @NotNull
+    private Configuration readConfiguration() throws IOException {
+        final DefaultConfiguration configuration = new DefaultConfiguration(readString(in));
+        final int propertyCount = in.readInt();
+        for (int i = 0; i < propertyCount; ++i) {
+            configuration.addProperty(readString(in), readString(in));
+        }
+        final int messageCount = in.readInt();
+        for (int i = 0; i < messageCount; ++i) {
+            configuration.addMessage(readString(in), readString(in));
+        }
+        final int childCount = in.readInt();
+        for (int i = 0; i < childCount; ++i) {
+            configuration.addChild(readConfiguration());
+        }
+        return configuration;
+    }
+
+    @NotNull
+    private List<String> readFiles() throws IOException {
+        final int fileCount = in.readInt();
+        final List<String> files = new ArrayList<>(fileCount);
+        for (int i = 0; i < fileCount; ++i) {
+            files.add(readString(in));
+        }
+        return files;
+    }
+
+    private void configure(final long configurationId,
+                           @NotNull final Configuration configuration) throws IOException {
+        final Checker checker = new Checker();
+        checker.setModuleClassLoader(getClass().getClassLoader());
+        try {
+            checker.configure(configuration);
+        } catch (CheckstyleException | RuntimeException | LinkageError e) {
+            failed(e);
+            return;
+        }
+
+        final Checker previousChecker = checkers.put(configurationId, checker);
+        if (previousChecker != null) {
+            previousChecker.destroy();
+        }
+        out.writeByte(OK);
+    }
+
+    private void scan(final long configurationId,
+                      @NotNull final List<String> filePaths) throws IOException {
+        final Checker checker = checkers.get(configurationId);
+        if (checker == null) {
+            failed(new IllegalStateException("Worker has no configuration " + configurationId));
+            return;
+        }
+
+        final List<File> files = new ArrayList<>(filePaths.size());
+        final Map<String, Integer> fileIndices = new HashMap<>();
+        for (final String filePath : filePaths) {
+            fileIndices.put(filePath, files.size());
+            files.add(new File(filePath));
+        }
+
+        final ViolationCollector collector = new ViolationCollector();
+        checker.addListener(collector);
+        try {
+            checker.process(files);
+        } catch (CheckstyleException | RuntimeException | LinkageError e) {
+            failed(e);
+            return;
+        } finally {
+            checker.removeListener(collector);
+        }
+
+        out.writeByte(OK);
+        out.writeInt(collector.violations.size());
+        for (final AuditEvent violation : collector.violations) {
+            final Integer fileIndex = fileIndices.get(violation.getFileName());
+            if (fileIndex != null) {
+                out.writeInt(fileIndex);
+            } else {
+                out.writeInt(UNKNOWN_FILE);
+                writeString(out, violation.getFileName());
+            }
+            out.writeInt(violation.getLine());
+            out.writeInt(violation.getColumn());
+            out.writeByte(severityOf(violation.getSeverityLevel()));
+            writeString(out, violation.getMessage());
+            writeString(out, violation.getSourceName());
+        }
+    }
+
+    private void release(final long configurationId) throws IOException {
+        final Checker checker = checkers.remove(configurationId);
+        if (checker != null) {
+            checker.destroy();
+        }
+        out.writeByte(OK);
+    }
+
+    private void failed(@NotNull final Throwable error) throws IOException {
+        out.writeByte(FAILED);
+        writeString(out, error.getClass().getName() + ": " + error.getMessage());
+    }
+
+    private static byte severityOf(@Nullable final SeverityLevel severityLevel) {
+        if (severityLevel == null) {
+            return SEVERITY_NONE;
+        }
+        return switch (severityLevel) {
+            case ERROR -> SEVERITY_ERROR;
+            case WARNING -> SEVERITY_WARNING;
+            case INFO -> SEVERITY_INFO;
+            default -> SEVERITY_IGNORE;
+        };
+    }
+
+    private static final class ViolationCollector implements AuditListener {
+
+        private final List<AuditEvent> violations = new ArrayList<>();
+
+        @Override
+        public void auditStarted(final AuditEvent event) {
+            violations.clear();
+        }
+
+        @Override
+        public void auditFinished(final AuditEvent event) {
+            // nothing to do
+        }
+
+        @Override
+        public void fileStarted(final AuditEvent event) {
+            // nothing to do
+        }
+
+        @Override
+        public void fileFinished(final AuditEvent event) {
+            // nothing to do
+        }
+
+        @Override
+        public void addError(final AuditEvent event) {
+            violations.add(event);
+        }
+
+        @Override
+        public void addException(final AuditEvent event, final Throwable throwable) {
+            throwable.printStackTrace(System.err);
+            violations.add(event);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package org.infernus.idea.checkstyle.service.worker;
+
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A Checkstyle configuration registered with the {@link WorkerPool}, which each worker configures a checker from
+ * before its first scan with it.
+ *
+ * @param id            the id of the configuration in the workers.
+ * @param configuration the loaded configuration, with its properties already resolved.
+ */
+public record WorkerConfiguration(long id, @NotNull Configuration configuration) {
+}
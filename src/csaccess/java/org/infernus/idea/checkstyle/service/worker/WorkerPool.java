@@ -0,0 +1,329 @@
+package org.infernus.idea.checkstyle.service.worker;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.util.Disposer;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import org.infernus.idea.checkstyle.CheckstyleClassLoaderRegistry;
+import org.infernus.idea.checkstyle.csapi.Issue;
+import org.infernus.idea.checkstyle.service.ScanCancellation;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs scans in {@link CheckstyleWorker} processes, so that a check which exhausts its heap or never finishes takes
+ * down only its worker, which is replaced on the next scan.
+ * <p>
+ * The workers are started on demand with the classpath of the Checkstyle version they were loaded for, so there is
+ * one pool per Checkstyle class loader. A scan is split across as many workers as the pool allows. The pool size and
+ * worker heap may be overridden with the {@code checkstyle.workers.count} and {@code checkstyle.workers.heap} system
+ * properties.
+ * <p>
+ * The pool is disposed, stopping its workers, once its class loader is dropped from the
+ * {@link CheckstyleClassLoaderRegistry} or the application closes. Workers write their errors to
+ * {@value #ERROR_LOG_NAME} in the IDE's log directory.
+ */
+public final class WorkerPool implements Disposable {
+
+    private static final Logger LOG = Logger.getInstance(WorkerPool.class);
+
+    private static final int WORKER_COUNT = Integer.getInteger("checkstyle.workers.count",
+            Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2)));
+    private static final String WORKER_HEAP = System.getProperty("checkstyle.workers.heap", "512m");
+    private static final long POLL_INTERVAL_MS = 50;
+    private static final String ERROR_LOG_NAME = "checkstyle-workers.log";
+
+    private static WorkerPool instance;
+
+    private final List<String> command;
+    private final Path errorLog;
+    private final int maxWorkers;
+    private final AtomicLong nextConfigurationId = new AtomicLong();
+    private final AtomicInteger startedWorkers = new AtomicInteger();
+    private final BlockingQueue<WorkerProcess> idleWorkers = new LinkedBlockingQueue<>();
+    private final Set<WorkerProcess> liveWorkers = ConcurrentHashMap.newKeySet();
+    private final Set<Long> releasedConfigurationIds = ConcurrentHashMap.newKeySet();
+    private final ExecutorService requestExecutor = Executors.newCachedThreadPool(runnable -> {
+        final Thread thread = new Thread(runnable, "Checkstyle worker requests");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean disposed;
+
+    WorkerPool(@Nullable final List<String> command,
+               @Nullable final Path errorLog,
+               final int maxWorkers) {
+        this.command = command;
+        this.errorLog = errorLog;
+        this.maxWorkers = maxWorkers;
+    }
+
+    /**
+     * @return the pool of this class loader, which is started again if it was disposed while checkers created from
+     * the loader were still in use.
+     */
+    @NotNull
+    public static synchronized WorkerPool getInstance() {
+        if (instance == null || instance.disposed) {
+            instance = new WorkerPool(workerCommand(), Path.of(PathManager.getLogPath(), ERROR_LOG_NAME), WORKER_COUNT);
+            Disposer.register(CheckstyleClassLoaderRegistry.getInstance()
+                    .disposableFor(WorkerPool.class.getClassLoader()), instance);
+        }
+        return instance;
+    }
+
+    /**
+     * Can workers be started? They can't if the Checkstyle classes weren't loaded from local files.
+     *
+     * @return true if workers can be started.
+     */
+    public boolean isAvailable() {
+        return command != null && !disposed;
+    }
+
+    /**
+     * Stop the workers, including any which are scanning, whose scans then fail.
+     */
+    @Override
+    public void dispose() {
+        disposed = true;
+        requestExecutor.shutdownNow();
+        idleWorkers.clear();
+        liveWorkers.forEach(WorkerProcess::destroy);
+        liveWorkers.clear();
+    }
+
+    @NotNull
+    public WorkerConfiguration register(@NotNull final Configuration configuration) {
+        return new WorkerConfiguration(nextConfigurationId.incrementAndGet(), configuration);
+    }
+
+    /**
+     * Let the workers destroy their checkers for a configuration, the next time they are used.
+     *
+     * @param configuration the configuration which will no longer be used.
+     */
+    public void release(@NotNull final WorkerConfiguration configuration) {
+        releasedConfigurationIds.add(configuration.id());
+    }
+
+    /**
+     * Scan files in the workers.
+     *
+     * @param configuration the configuration to scan with.
+     * @param files         the files to scan.
+     * @param cancellation  the cancellation of the scan, which stops the workers it is using.
+     * @return the issues found.
+     * @throws CheckstyleException if Checkstyle failed, or a worker failed twice.
+     */
+    @NotNull
+    public List<Issue> scan(@NotNull final WorkerConfiguration configuration,
+                            @NotNull final List<File> files,
+                            @NotNull final ScanCancellation cancellation) throws CheckstyleException {
+        final Set<WorkerProcess> busyWorkers = ConcurrentHashMap.newKeySet();
+        final List<Future<List<Issue>>> partResults = new ArrayList<>();
+        try {
+            for (final List<File> part : partition(files, Math.min(maxWorkers, files.size()))) {
+                partResults.add(requestExecutor.submit(() -> scanPart(configuration, part, busyWorkers)));
+            }
+        } catch (RejectedExecutionException e) {
+            partResults.forEach(partResult -> partResult.cancel(true));
+            throw new CheckstyleException("Checkstyle workers have been stopped", e);
+        }
+
+        final List<Issue> issues = new ArrayList<>();
+        try {
+            for (final Future<List<Issue>> partResult : partResults) {
+                issues.addAll(waitFor(partResult, cancellation));
+            }
+        } catch (ProcessCanceledException e) {
+            partResults.forEach(partResult -> partResult.cancel(true));
+            busyWorkers.forEach(WorkerProcess::destroy);
+            throw e;
+        }
+        return issues;
+    }
+
+    @NotNull
+    private List<Issue> waitFor(@NotNull final Future<List<Issue>> partResult,
+                                @NotNull final ScanCancellation cancellation) throws CheckstyleException {
+        while (true) {
+            try {
+                return partResult.get(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (cancellation.isCancelled()) {
+                    throw new ProcessCanceledException();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ProcessCanceledException(e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof CheckstyleException checkstyleException) {
+                    throw checkstyleException;
+                }
+                throw new CheckstyleException("Checkstyle worker failed: " + e.getCause().getMessage(), e.getCause());
+            }
+        }
+    }
+
+    /**
+     * A worker which dies is replaced and the part is tried once more, as the worker may have died of something
+     * other than this part, such as an earlier scan.
+     */
+    @NotNull
+    private List<Issue> scanPart(@NotNull final WorkerConfiguration configuration,
+                                 @NotNull final List<File> files,
+                                 @NotNull final Set<WorkerProcess> busyWorkers)
+            throws CheckstyleException, IOException, InterruptedException {
+        IOException workerFailure = null;
+        for (int attempt = 0; attempt < 2; ++attempt) {
+            if (Thread.interrupted()) {
+                // the scan was cancelled, which kills its workers
+                throw new InterruptedException();
+            }
+            final WorkerProcess worker = acquireWorker();
+            busyWorkers.add(worker);
+            boolean healthy = false;
+            try {
+                worker.release(releasedConfigurationIds);
+                final List<Issue> issues = worker.scan(configuration, files);
+                healthy = true;
+                return issues;
+            } catch (CheckstyleException e) {
+                healthy = true;
+                throw e;
+            } catch (IOException e) {
+                LOG.info("Checkstyle worker failed, it will be replaced", e);
+                workerFailure = e;
+            } finally {
+                busyWorkers.remove(worker);
+                if (healthy && worker.isAlive()) {
+                    idleWorkers.add(worker);
+                } else {
+                    discard(worker);
+                }
+            }
+        }
+        throw workerFailure;
+    }
+
+    @NotNull
+    private WorkerProcess acquireWorker() throws IOException, InterruptedException {
+        while (true) {
+            WorkerProcess worker = idleWorkers.poll();
+            if (worker == null) {
+                if (startedWorkers.incrementAndGet() <= maxWorkers) {
+                    return startWorker();
+                }
+                startedWorkers.decrementAndGet();
+                worker = idleWorkers.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            }
+
+            if (worker != null) {
+                if (worker.isAlive()) {
+                    return worker;
+                }
+                // workers exit once they've been idle for a while, anything else is a crash
+                final Integer exitStatus = worker.exitStatus();
+                if (exitStatus != null && exitStatus != WorkerProtocol.EXIT_IDLE) {
+                    LOG.warn("Checkstyle worker exited unexpectedly with status " + exitStatus);
+                }
+                discard(worker);
+            }
+        }
+    }
+
+    @NotNull
+    private WorkerProcess startWorker() throws IOException {
+        final WorkerProcess worker;
+        try {
+            worker = WorkerProcess.start(command, errorLog);
+        } catch (IOException | RuntimeException e) {
+            startedWorkers.decrementAndGet();
+            throw e;
+        }
+        liveWorkers.add(worker);
+        if (disposed) {
+            // the pool was disposed while the worker started, and so missed it
+            discard(worker);
+            throw new IOException("Checkstyle workers have been stopped");
+        }
+        return worker;
+    }
+
+    private void discard(@NotNull final WorkerProcess worker) {
+        worker.destroy();
+        liveWorkers.remove(worker);
+        startedWorkers.decrementAndGet();
+    }
+
+    @NotNull
+    static List<List<File>> partition(@NotNull final List<File> files,
+                                      final int partCount) {
+        final List<List<File>> parts = new ArrayList<>();
+        if (partCount <= 0) {
+            return parts;
+        }
+        // contiguous parts keep the files of a directory together
+        for (int part = 0; part < partCount; ++part) {
+            final int start = (int) ((long) files.size() * part / partCount);
+            final int end = (int) ((long) files.size() * (part + 1) / partCount);
+            parts.add(files.subList(start, end));
+        }
+        return parts;
+    }
+
+    @Nullable
+    private static List<String> workerCommand() {
+        if (!(WorkerPool.class.getClassLoader() instanceof URLClassLoader classLoader)) {
+            return null;
+        }
+
+        final List<String> classPath = new ArrayList<>();
+        for (final URL url : classLoader.getURLs()) {
+            if (!"file".equals(url.getProtocol())) {
+                LOG.info("Checkstyle workers are unavailable, as the classpath holds " + url);
+                return null;
+            }
+            try {
+                classPath.add(Path.of(url.toURI()).toString());
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                LOG.info("Checkstyle workers are unavailable, as the classpath holds " + url, e);
+                return null;
+            }
+        }
+
+        return List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Xmx" + WORKER_HEAP,
+                "-XX:+ExitOnOutOfMemoryError",
+                "-cp", String.join(File.pathSeparator, classPath),
+                CheckstyleWorker.class.getName());
+    }
+}
@@ -0,0 +1,219 @@
+package org.infernus.idea.checkstyle.service.worker;
+
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import org.infernus.idea.checkstyle.csapi.Issue;
+import org.infernus.idea.checkstyle.csapi.SeverityLevel;
+import org.infernus.idea.checkstyle.service.cmd.CheckstyleBridge;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static org.infernus.idea.checkstyle.service.worker.WorkerProtocol.*;
+
+/**
+ * The plugin's end of a single {@link CheckstyleWorker}. Requests are made one at a time, by whoever has taken the
+ * worker from the {@link WorkerPool}.
+ */
+final class WorkerProcess {
+
+    private static final String CACHE_FILE_PROPERTY = "cacheFile";
+
+    private final Process process;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    private final Set<Long> configurationIds = new HashSet<>();
+
+    private WorkerProcess(@Nullable final Process process,
+                          @NotNull final DataInputStream in,
+                          @NotNull final DataOutputStream out) {
+        this.process = process;
+        this.in = in;
+        this.out = out;
+    }
+
+    /**
+     * @param command  the command which starts the worker.
+     * @param errorLog the file the worker's errors are appended to, or null to discard them.
+     */
+    @NotNull
+    static WorkerProcess start(@NotNull final List<String> command,
+                               @Nullable final Path errorLog) throws IOException {
+        final Process process = new ProcessBuilder(command)
+                .redirectError(errorLog != null
+                        ? ProcessBuilder.Redirect.appendTo(errorLog.toFile())
+                        : ProcessBuilder.Redirect.DISCARD)
+                .start();
+        return new WorkerProcess(process,
+                new DataInputStream(new BufferedInputStream(process.getInputStream())),
+                new DataOutputStream(new BufferedOutputStream(process.getOutputStream())));
+    }
+
+    /**
+     * Talk to a worker over the given streams, rather than to a process of its own.
+     */
+    @NotNull
+    static WorkerProcess connectedTo(@NotNull final DataInputStream in,
+                                     @NotNull final DataOutputStream out) {
+        return new WorkerProcess(null, in, out);
+    }
+
+    boolean isAlive() {
+        return process == null || process.isAlive();
+    }
+
+    /**
+     * @return the exit status of the worker's process, or null if it is still running or has no process of its own.
+     */
+    @Nullable
+    Integer exitStatus() {
+        if (process == null || process.isAlive()) {
+            return null;
+        }
+        return process.exitValue();
+    }
+
+    void destroy() {
+        if (process != null) {
+            process.destroyForcibly();
+        }
+    }
+
+    /**
+     * Scan files, configuring the worker first if need be.
+     *
+     * @param configuration the configuration to scan with.
+     * @param files         the files to scan.
+     * @return the issues found.
+     * @throws CheckstyleException if Checkstyle failed in the worker.
+     * @throws IOException         if the worker could not be talked to, and should be discarded.
+     */
+    @NotNull
+    List<Issue> scan(@NotNull final WorkerConfiguration configuration,
+                     @NotNull final List<File> files) throws CheckstyleException, IOException {
+        if (!configurationIds.contains(configuration.id())) {
+            out.writeByte(CONFIGURE);
+            out.writeLong(configuration.id());
+            writeConfiguration(configuration.configuration());
+            out.flush();
+            expectSuccess();
+            configurationIds.add(configuration.id());
+        }
+
+        final List<String> filePaths = new ArrayList<>(files.size());
+        out.writeByte(SCAN);
+        out.writeLong(configuration.id());
+        out.writeInt(files.size());
+        for (final File file : files) {
+            final String filePath = file.getAbsolutePath();
+            filePaths.add(filePath);
+            writeString(out, filePath);
+        }
+        out.flush();
+        expectSuccess();
+
+        final int issueCount = in.readInt();
+        final List<Issue> issues = new ArrayList<>(issueCount);
+        for (int i = 0; i < issueCount; ++i) {
+            final int fileIndex = in.readInt();
+            final String fileName = fileIndex == UNKNOWN_FILE ? readString(in) : filePaths.get(fileIndex);
+            final int line = in.readInt();
+            final int column = in.readInt();
+            final SeverityLevel severityLevel = severityLevelOf(in.readByte());
+            issues.add(new Issue(fileName, line, column, readString(in), severityLevel, readString(in)));
+        }
+        return issues;
+    }
+
+    /**
+     * Destroy the worker's checkers for configurations which are no longer used.
+     *
+     * @param releasedIds the ids of the configurations no longer used.
+     * @throws IOException if the worker could not be talked to, and should be discarded.
+     */
+    void release(@NotNull final Collection<Long> releasedIds) throws IOException {
+        for (final Long releasedId : releasedIds) {
+            if (configurationIds.remove(releasedId)) {
+                out.writeByte(RELEASE);
+                out.writeLong(releasedId);
+                out.flush();
+                try {
+                    expectSuccess();
+                } catch (CheckstyleException e) {
+                    throw new IOException("Worker failed to release configuration " + releasedId, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * The cache file is left out, as the workers would otherwise each write the cache file of the plugin's checker.
+     */
+    private void writeConfiguration(@NotNull final Configuration configuration) throws IOException {
+        writeString(out, configuration.getName());
+
+        final List<String> propertyNames = Arrays.stream(configuration.getPropertyNames())
+                .filter(propertyName -> !CACHE_FILE_PROPERTY.equals(propertyName))
+                .toList();
+        out.writeInt(propertyNames.size());
+        for (final String propertyName : propertyNames) {
+            writeString(out, propertyName);
+            writeString(out, propertyOrNull(configuration, propertyName));
+        }
+
+        final Map<String, String> messages = Objects.requireNonNullElse(CheckstyleBridge.messagesFrom(configuration), Map.of());
+        out.writeInt(messages.size());
+        for (final Map.Entry<String, String> message : messages.entrySet()) {
+            writeString(out, message.getKey());
+            writeString(out, message.getValue());
+        }
+
+        final Configuration[] children = configuration.getChildren();
+        out.writeInt(children.length);
+        for (final Configuration child : children) {
+            writeConfiguration(child);
+        }
+    }
+
+    @Nullable
+    private static String propertyOrNull(@NotNull final Configuration configuration,
+                                         @NotNull final String propertyName) {
+        try {
+            return configuration.getProperty(propertyName);
+        } catch (CheckstyleException e) {
+            return null;
+        }
+    }
+
+    private void expectSuccess() throws IOException, CheckstyleException {
+        if (in.readByte() != OK) {
+            throw new CheckstyleException(readString(in));
+        }
+    }
+
+    @Nullable
+    private static SeverityLevel severityLevelOf(final byte severity) {
+        return switch (severity) {
+            case SEVERITY_NONE -> null;
+            case SEVERITY_ERROR -> SeverityLevel.Error;
+            case SEVERITY_WARNING -> SeverityLevel.Warning;
+            case SEVERITY_INFO -> SeverityLevel.Info;
+            default -> SeverityLevel.Ignore;
+        };
+    }
+}
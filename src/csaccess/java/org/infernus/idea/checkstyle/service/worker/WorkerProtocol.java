@@ -0,0 +1,70 @@
+package org.infernus.idea.checkstyle.service.worker;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The messages between the plugin and a {@link CheckstyleWorker}, over the worker's standard input and output.
+ * <p>
+ * Each request is a type byte followed by its payload, and is answered by a status byte followed by either the
+ * response or an error message. Strings are UTF-8 prefixed by their length, with a length of -1 for null.
+ * <p>
+ * This class is loaded by the worker processes, so must use nothing but the JDK.
+ */
+final class WorkerProtocol {
+
+    /** Configure a checker: an id, then the configuration tree. Answered with no payload. */
+    static final byte CONFIGURE = 1;
+    /** Scan files: a configuration id, then the file paths. Answered with the violations found. */
+    static final byte SCAN = 2;
+    /** Destroy a checker: a configuration id. Answered with no payload. */
+    static final byte RELEASE = 3;
+
+    static final byte OK = 0;
+    static final byte FAILED = 1;
+
+    /**
+     * The exit status of a worker which exits after being idle, so that it may be told apart from one which crashed.
+     * A worker whose input is closed exits with 0.
+     */
+    static final int EXIT_IDLE = 3;
+
+    /** The file index of a violation in a file which was not in the request. */
+    static final int UNKNOWN_FILE = -1;
+
+    static final byte SEVERITY_NONE = -1;
+    static final byte SEVERITY_IGNORE = 0;
+    static final byte SEVERITY_INFO = 1;
+    static final byte SEVERITY_WARNING = 2;
+    static final byte SEVERITY_ERROR = 3;
+
+    private WorkerProtocol() {
+    }
+
+    static void writeString(@NotNull final DataOutput out,
+                            @Nullable final String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    @Nullable
+    static String readString(@NotNull final DataInput in) throws IOException {
+        final int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,85 @@
+package org.infernus.idea.checkstyle.service;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.puppycrawl.tools.checkstyle.Checker;
+import org.infernus.idea.checkstyle.service.entities.HasChecker;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+public class CacheFilePersisterTest {
+
+    private final Lock lock = new ReentrantLock();
+    private final HasChecker hasChecker = mock(HasChecker.class);
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final ScheduledFuture<?> waitingWrite = mock(ScheduledFuture.class);
+
+    private final CacheFilePersister underTest = new CacheFilePersister(hasChecker, () -> scheduler, 1000);
+
+    {
+        when(hasChecker.getCheckerLock()).thenReturn(lock);
+        when(hasChecker.getChecker()).thenReturn(new Checker());
+        when(waitingWrite.getDelay(TimeUnit.MILLISECONDS)).thenReturn(1000L);
+        doReturn(waitingWrite).when(scheduler).schedule(any(Runnable.class), anyLong(), any());
+    }
+
+
+    @Test
+    public void testScansWithinTheDelayShareAWrite() {
+        underTest.scanned();
+        underTest.scanned();
+        underTest.scanned();
+
+        verify(scheduler, times(1)).schedule(any(Runnable.class), eq(1000L), eq(TimeUnit.MILLISECONDS));
+    }
+
+
+    @Test
+    public void testAWriteWhileTheCheckerIsScanningIsTriedAgain() throws InterruptedException {
+        underTest.scanned();
+        final Runnable write = scheduledWrite(1);
+
+        // a scan which holds the lock until the end of the test
+        final Thread scan = new Thread(lock::lock);
+        scan.start();
+        scan.join();
+        write.run();
+
+        scheduledWrite(2);
+    }
+
+
+    @Test
+    public void testNothingIsWrittenOnceCancelled() {
+        underTest.scanned();
+        final Runnable write = scheduledWrite(1);
+
+        underTest.cancel();
+        write.run();
+        underTest.scanned();
+
+        verify(waitingWrite).cancel(false);
+        verify(hasChecker, times(0)).getChecker();
+        scheduledWrite(1);
+    }
+
+    private Runnable scheduledWrite(final int expectedWrites) {
+        final ArgumentCaptor<Runnable> write = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, times(expectedWrites)).schedule(write.capture(), anyLong(), any());
+        return write.getValue();
+    }
+}
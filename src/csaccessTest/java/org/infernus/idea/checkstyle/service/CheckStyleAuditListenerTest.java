@@ -11,7 +11,9 @@ import java.util.Collections;
 import java.util.Optional;
 
 import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 public class CheckStyleAuditListenerTest {
@@ -44,6 +46,32 @@ public class CheckStyleAuditListenerTest {
                 () -> underTest.addError(new AuditEvent("source", "filename.java")));
     }
 
+    @Test
+    public void fileStartedAbortsTheAuditWhenTheScanIsCancelled() {
+        Thread.currentThread().interrupt();
+        try {
+            final CheckStyleAuditListener underTest = new CheckStyleAuditListener(Collections.emptyMap(), false, 2,
+                    Optional.empty(), Collections.emptyList(), ScanCancellation.forCurrentThread());
+
+            assertThrows(RuntimeException.class,
+                    () -> underTest.fileStarted(new AuditEvent("source", "filename.java")));
+            assertTrue(underTest.wasAborted());
+
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    public void fileStartedDoesNotAbortTheAuditOfALiveScan() {
+        final CheckStyleAuditListener underTest = new CheckStyleAuditListener(Collections.emptyMap(), false, 2,
+                Optional.empty(), Collections.emptyList(), ScanCancellation.forCurrentThread());
+
+        underTest.fileStarted(new AuditEvent("source", "filename.java"));
+
+        assertFalse(underTest.wasAborted());
+    }
+
     private AuditEvent createDummyEvent(@Nullable final SeverityLevel severityLevel) {
         try {
             return (AuditEvent) auditEvent().newInstance("source", "filename.java", createMessage(severityLevel));
@@ -0,0 +1,104 @@
+package org.infernus.idea.checkstyle.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.infernus.idea.checkstyle.checker.ScannableFile;
+import org.infernus.idea.checkstyle.csapi.Issue;
+import org.infernus.idea.checkstyle.csapi.SeverityLevel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import static org.infernus.idea.checkstyle.service.ConfigurationBuilder.checker;
+import static org.infernus.idea.checkstyle.service.ConfigurationBuilder.config;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.when;
+
+
+public class IssueCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final IssueCache underTest = IssueCache.forConfiguration(checker()
+            .withChild(config("TreeWalker").withChild(config("EmptyStatement")))
+            .build());
+
+
+    @Test
+    public void testIssuesAreFoundForTheSameContent() throws IOException {
+        final IssueCache.Key key = underTest.keyFor(scannableFile("Example.java", "class Example {}"));
+        assertNotNull(key);
+        final List<Issue> issues = List.of(issue());
+
+        underTest.put(key, issues);
+
+        final IssueCache.Key keyOfSameContent = underTest.keyFor(scannableFile("Example.java", "class Example {}"));
+        assertEquals(key, keyOfSameContent);
+        assertEquals(issues, underTest.get(keyOfSameContent));
+    }
+
+
+    @Test
+    public void testChangedContentHasAnotherKey() throws IOException {
+        final IssueCache.Key key = underTest.keyFor(scannableFile("Example.java", "class Example {}"));
+        underTest.put(key, List.of(issue()));
+
+        final IssueCache.Key keyOfChangedContent = underTest.keyFor(scannableFile("Example.java", "class Example { ; }"));
+
+        assertNotEquals(key, keyOfChangedContent);
+        assertNull(underTest.get(keyOfChangedContent));
+    }
+
+
+    @Test
+    public void testConfigurationsWhichLookBeyondTheFileAreNotCached() throws IOException {
+        final IssueCache cache = IssueCache.forConfiguration(checker()
+                .withChild(config("JavadocPackageCheck"))
+                .withChild(config("TreeWalker").withChild(config("EmptyStatement")))
+                .build());
+
+        assertNull(cache.keyFor(scannableFile("Example.java", "class Example {}")));
+    }
+
+
+    @Test
+    public void testTheLeastRecentlyUsedEntriesAreEvicted() throws IOException {
+        final IssueCache.Key firstKey = underTest.keyFor(scannableFile("First.java", "class First {}"));
+        underTest.put(firstKey, List.of());
+        final IssueCache.Key secondKey = underTest.keyFor(scannableFile("Second.java", "class Second {}"));
+        underTest.put(secondKey, List.of());
+
+        underTest.get(firstKey);
+        for (int i = 0; i < IssueCache.MAX_ENTRIES - 1; ++i) {
+            underTest.put(new IssueCache.Key("Other" + i + ".java", "hash"), List.of());
+        }
+
+        assertEquals(IssueCache.MAX_ENTRIES, underTest.size());
+        assertNotNull(underTest.get(firstKey));
+        assertNull(underTest.get(secondKey));
+    }
+
+
+    private static Issue issue() {
+        return new Issue("Example.java", 1, 1, "message", SeverityLevel.Warning, "EmptyStatementCheck");
+    }
+
+    private ScannableFile scannableFile(final String name, final String content) throws IOException {
+        final File file = tempDir.resolve(name).toFile();
+        Files.writeString(file.toPath(), content, StandardCharsets.UTF_8);
+
+        final ScannableFile scannableFile = Mockito.mock(ScannableFile.class);
+        when(scannableFile.getFile()).thenReturn(file);
+        when(scannableFile.getStablePath()).thenReturn(file.getAbsolutePath());
+        return scannableFile;
+    }
+}
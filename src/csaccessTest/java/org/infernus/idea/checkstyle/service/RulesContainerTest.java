@@ -1,15 +1,26 @@
 package org.infernus.idea.checkstyle.service;
 
+import org.infernus.idea.checkstyle.model.ConfigurationLocation;
+import org.infernus.idea.checkstyle.service.RulesContainer.ConfigurationLocationRulesContainer;
 import org.infernus.idea.checkstyle.service.RulesContainer.ContentRulesContainer;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 class RulesContainerTest {
 
@@ -49,4 +60,58 @@ class RulesContainerTest {
         String result = container.resolveAssociatedFile("some-file.xml", null, getClass().getClassLoader());
         assertThat(result, is(nullValue()));
     }
+
+    @Test
+    void contentContainerHasNoAssociatedFiles() {
+        RulesContainer container = new ContentRulesContainer("content");
+        assertThat(container.associatedFiles(), is(empty()));
+    }
+
+    // --- ConfigurationLocationRulesContainer ---
+
+    @Test
+    void locationContainerRecordsTheAssociatedFilesItResolves(@TempDir final Path tempDir) throws IOException {
+        Path suppressions = Files.createFile(tempDir.resolve("suppressions.xml"));
+        ConfigurationLocation location = locationResolving("suppressions.xml", suppressions.toString());
+        RulesContainer container = new ConfigurationLocationRulesContainer(location);
+
+        container.resolveAssociatedFile("suppressions.xml", null, getClass().getClassLoader());
+
+        assertThat(container.associatedFiles(), contains(suppressions.toAbsolutePath().toString()));
+    }
+
+    @Test
+    void locationContainerDoesNotRecordFilesWhichAreNotOnDisk(@TempDir final Path tempDir) throws IOException {
+        ConfigurationLocation location = locationResolving("suppressions.xml",
+                tempDir.resolve("missing.xml").toString());
+        RulesContainer container = new ConfigurationLocationRulesContainer(location);
+
+        container.resolveAssociatedFile("suppressions.xml", null, getClass().getClassLoader());
+
+        assertThat(container.associatedFiles(), is(empty()));
+    }
+
+    @Test
+    void eachLocationContainerRecordsOnlyTheFilesOfItsOwnLoad(@TempDir final Path tempDir) throws IOException {
+        Path oldSuppressions = Files.createFile(tempDir.resolve("old-suppressions.xml"));
+        Path newSuppressions = Files.createFile(tempDir.resolve("new-suppressions.xml"));
+        ConfigurationLocation location = locationResolving("old.xml", oldSuppressions.toString());
+        when(location.resolveAssociatedFile(eq("new.xml"), any(), any(ClassLoader.class)))
+                .thenReturn(newSuppressions.toString());
+        RulesContainer firstLoad = new ConfigurationLocationRulesContainer(location);
+        RulesContainer secondLoad = new ConfigurationLocationRulesContainer(location);
+
+        firstLoad.resolveAssociatedFile("old.xml", null, getClass().getClassLoader());
+        secondLoad.resolveAssociatedFile("new.xml", null, getClass().getClassLoader());
+
+        assertThat(firstLoad.associatedFiles(), contains(oldSuppressions.toAbsolutePath().toString()));
+        assertThat(secondLoad.associatedFiles(), contains(newSuppressions.toAbsolutePath().toString()));
+    }
+
+    private static ConfigurationLocation locationResolving(final String fileName, final String resolvedFile)
+            throws IOException {
+        ConfigurationLocation location = mock(ConfigurationLocation.class);
+        when(location.resolveAssociatedFile(eq(fileName), any(), any(ClassLoader.class))).thenReturn(resolvedFile);
+        return location;
+    }
 }
@@ -1,11 +1,25 @@
 package org.infernus.idea.checkstyle.service.cmd;
 
+import com.puppycrawl.tools.checkstyle.Checker;
+import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
 import com.puppycrawl.tools.checkstyle.api.Configuration;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
@@ -41,4 +55,64 @@ class CheckstyleBridgeTest {
 
         assertThrows(RuntimeException.class, () -> CheckstyleBridge.messagesFrom(config));
     }
+
+    @Test
+    void pruningDropsFilesWhichNoLongerExist(@TempDir final Path tempDir) throws IOException {
+        Path existing = Files.createFile(tempDir.resolve("Existing.java"));
+        Properties details = new Properties();
+        details.setProperty("configuration*?", "hash");
+        details.setProperty("module-resource*?:suppressions.xml", "hash");
+        details.setProperty(existing.toString(), "1");
+        details.setProperty(tempDir.resolve("Deleted.java").toString(), "2");
+
+        CheckstyleBridge.pruneEntries(details, 10);
+
+        assertThat(details.stringPropertyNames(), containsInAnyOrder(
+                "configuration*?", "module-resource*?:suppressions.xml", existing.toString()));
+    }
+
+    @Test
+    void pruningDropsTheMostRecentlyModifiedFilesBeyondTheLimit(@TempDir final Path tempDir) throws IOException {
+        Path oldest = Files.createFile(tempDir.resolve("Oldest.java"));
+        Path older = Files.createFile(tempDir.resolve("Older.java"));
+        Path newest = Files.createFile(tempDir.resolve("Newest.java"));
+        Properties details = new Properties();
+        details.setProperty("configuration*?", "hash");
+        details.setProperty(newest.toString(), "300");
+        details.setProperty(oldest.toString(), "100");
+        details.setProperty(older.toString(), "200");
+
+        CheckstyleBridge.pruneEntries(details, 2);
+
+        assertThat(details.stringPropertyNames(), containsInAnyOrder(
+                "configuration*?", oldest.toString(), older.toString()));
+    }
+
+    @Test
+    void aCopyOfTheCacheFileIsPrunedAndWritten(@TempDir final Path tempDir) throws Exception {
+        Path scanned = Files.writeString(tempDir.resolve("Scanned.java"), "class Scanned {}");
+        Path cacheFile = tempDir.resolve("cache/checkstyle.properties");
+        Checker checker = new Checker();
+        checker.setModuleClassLoader(getClass().getClassLoader());
+        checker.configure(new DefaultConfiguration("Checker"));
+        checker.setCacheFile(cacheFile.toString());
+        checker.process(List.of(scanned.toFile()));
+
+        CheckstyleBridge.CacheFileCopy copy = CheckstyleBridge.copyCacheFile(checker);
+        assertThat(copy, is(notNullValue()));
+        copy.persist();
+        assertThat(entriesOf(cacheFile), hasItem(scanned.toString()));
+
+        Files.delete(scanned);
+        CheckstyleBridge.copyCacheFile(checker).persist();
+        assertThat(entriesOf(cacheFile), not(hasItem(scanned.toString())));
+    }
+
+    private static Set<String> entriesOf(final Path cacheFile) throws IOException {
+        Properties entries = new Properties();
+        try (Reader reader = Files.newBufferedReader(cacheFile)) {
+            entries.load(reader);
+        }
+        return entries.stringPropertyNames();
+    }
 }
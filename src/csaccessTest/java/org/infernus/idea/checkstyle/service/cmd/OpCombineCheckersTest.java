@@ -0,0 +1,203 @@
+package org.infernus.idea.checkstyle.service.cmd;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.intellij.openapi.project.Project;
+import com.puppycrawl.tools.checkstyle.Checker;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import org.infernus.idea.checkstyle.csapi.CheckstyleInternalObject;
+import org.infernus.idea.checkstyle.exception.CheckstyleVersionMixException;
+import org.infernus.idea.checkstyle.service.ConfigurationBuilder;
+import org.infernus.idea.checkstyle.service.entities.CheckerWithConfig;
+import org.infernus.idea.checkstyle.service.entities.CombinedCheckerWithConfig;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.infernus.idea.checkstyle.service.ConfigurationBuilder.checker;
+import static org.infernus.idea.checkstyle.service.ConfigurationBuilder.config;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+
+public class OpCombineCheckersTest {
+    private static final Project PROJECT = Mockito.mock(Project.class);
+
+    private static final class InvalidObject
+            implements CheckstyleInternalObject {
+        // does not matter
+    }
+
+
+    @Test
+    public void testWrongCheckerClass() {
+        assertThrows(CheckstyleVersionMixException.class,
+                () -> new OpCombineCheckers(List.of(new InvalidObject())));
+    }
+
+
+    @Test
+    public void testASingleCheckerIsNotCombined() throws CheckstyleException {
+        assertNull(combine(treeWalkerWith("EmptyStatement")));
+    }
+
+
+    @Test
+    public void testCheckersWithDifferentFiltersAreNotCombined() throws CheckstyleException {
+        assertNull(combine(
+                treeWalkerWith("EmptyStatement"),
+                checker().withChild(config("TreeWalker")
+                        .withChild(config("EmptyBlock"))
+                        .withChild(config("SuppressionCommentFilter")))));
+        assertNull(combine(
+                treeWalkerWith("EmptyStatement")
+                        .withChild(config("SeverityMatchFilter").withAttribute("severity", "info")),
+                treeWalkerWith("EmptyBlock")
+                        .withChild(config("SeverityMatchFilter").withAttribute("severity", "warning"))));
+    }
+
+
+    @Test
+    public void testCheckersWithTheSameFiltersAreCombinedWithEachFilterOnce() throws CheckstyleException {
+        final CombinedCheckerWithConfig combined = combine(
+                checker().withChild(config("SeverityMatchFilter").withAttribute("severity", "info"))
+                        .withChild(config("TreeWalker")
+                                .withChild(config("EmptyStatement"))
+                                .withChild(config("SuppressionCommentFilter"))),
+                checker().withChild(config("SeverityMatchFilter").withAttribute("severity", "info"))
+                        .withChild(config("TreeWalker")
+                                .withChild(config("EmptyBlock"))
+                                .withChild(config("SuppressionCommentFilter"))));
+
+        assertNotNull(combined);
+        final Configuration[] rootModules = combined.getConfiguration().getChildren();
+        assertEquals(2, rootModules.length);
+        assertEquals("SeverityMatchFilter", rootModules[0].getName());
+        assertFalse(Arrays.asList(rootModules[0].getPropertyNames()).contains("id"));
+
+        final Configuration treeWalker = rootModules[1];
+        assertEquals(3, treeWalker.getChildren().length);
+        assertEquals("EmptyStatement", treeWalker.getChildren()[0].getName());
+        assertEquals("SuppressionCommentFilter", treeWalker.getChildren()[1].getName());
+        assertEquals("EmptyBlock", treeWalker.getChildren()[2].getName());
+        assertEquals(1, (int) combined.partIndexOf(treeWalker.getChildren()[2].getProperty("id")));
+    }
+
+
+    @Test
+    public void testCheckersWithDifferentHolderChecksAreNotCombined() throws CheckstyleException {
+        assertNull(combine(
+                checker().withChild(config("SuppressWarningsFilter"))
+                        .withChild(config("TreeWalker")
+                                .withChild(config("EmptyStatement"))
+                                .withChild(config("SuppressWarningsHolder"))),
+                checker().withChild(config("SuppressWarningsFilter"))
+                        .withChild(config("TreeWalker")
+                                .withChild(config("EmptyBlock")))));
+    }
+
+
+    @Test
+    public void testCheckersWithTheSameHolderChecksAreCombinedWithEachHolderOnce() throws CheckstyleException {
+        final CombinedCheckerWithConfig combined = combine(
+                checker().withChild(config("SuppressWarningsFilter"))
+                        .withChild(config("TreeWalker")
+                                .withChild(config("SuppressWarningsHolder"))
+                                .withChild(config("EmptyStatement"))),
+                checker().withChild(config("SuppressWarningsFilter"))
+                        .withChild(config("TreeWalker")
+                                .withChild(config("SuppressWarningsHolder"))
+                                .withChild(config("EmptyBlock"))));
+
+        assertNotNull(combined);
+        final Configuration treeWalker = combined.getConfiguration().getChildren()[1];
+        assertEquals(3, treeWalker.getChildren().length);
+        assertEquals("SuppressWarningsHolder", treeWalker.getChildren()[0].getName());
+        assertFalse(Arrays.asList(treeWalker.getChildren()[0].getPropertyNames()).contains("id"));
+        assertEquals("EmptyStatement", treeWalker.getChildren()[1].getName());
+        assertEquals("EmptyBlock", treeWalker.getChildren()[2].getName());
+    }
+
+
+    @Test
+    public void testCheckersWithDifferentTreeWalkersAreNotCombined() throws CheckstyleException {
+        assertNull(combine(
+                treeWalkerWith("EmptyStatement"),
+                checker().withChild(config("TreeWalker")
+                        .withAttribute("tabWidth", "2")
+                        .withChild(config("EmptyBlock")))));
+    }
+
+
+    @Test
+    public void testCheckersWithDifferentSeveritiesAreNotCombined() throws CheckstyleException {
+        assertNull(combine(
+                treeWalkerWith("EmptyStatement"),
+                treeWalkerWith("EmptyBlock").withAttribute("severity", "error")));
+    }
+
+
+    @Test
+    public void testCheckersWithModuleIdsAreNotCombined() throws CheckstyleException {
+        assertNull(combine(
+                treeWalkerWith("EmptyStatement"),
+                checker().withChild(config("TreeWalker")
+                        .withChild(config("EmptyBlock").withAttribute("id", "blocks")))));
+    }
+
+
+    @Test
+    public void testCheckersWithoutTreeWalkersAreNotCombined() throws CheckstyleException {
+        assertNull(combine(
+                treeWalkerWith("EmptyStatement"),
+                checker().withChild(config("NewlineAtEndOfFile"))));
+    }
+
+
+    @Test
+    public void testEachModuleIsAttributedToItsConfiguration() throws CheckstyleException {
+        final CombinedCheckerWithConfig combined = combine(
+                treeWalkerWith("EmptyStatement").withChild(config("NewlineAtEndOfFile")),
+                treeWalkerWith("EmptyBlock"));
+
+        assertNotNull(combined);
+        assertEquals(2, combined.getParts().size());
+
+        final Configuration[] rootModules = combined.getConfiguration().getChildren();
+        assertEquals(2, rootModules.length);
+        final Configuration treeWalker = Arrays.stream(rootModules)
+                .filter(module -> "TreeWalker".equals(module.getName()))
+                .findFirst()
+                .orElseThrow();
+        final Configuration newlineAtEndOfFile = Arrays.stream(rootModules)
+                .filter(module -> "NewlineAtEndOfFile".equals(module.getName()))
+                .findFirst()
+                .orElseThrow();
+
+        assertNull(combined.partIndexOf(null));
+        assertEquals(0, (int) combined.partIndexOf(newlineAtEndOfFile.getProperty("id")));
+        assertEquals(2, treeWalker.getChildren().length);
+        assertEquals("EmptyStatement", treeWalker.getChildren()[0].getName());
+        assertEquals(0, (int) combined.partIndexOf(treeWalker.getChildren()[0].getProperty("id")));
+        assertEquals("EmptyBlock", treeWalker.getChildren()[1].getName());
+        assertEquals(1, (int) combined.partIndexOf(treeWalker.getChildren()[1].getProperty("id")));
+    }
+
+
+    private static ConfigurationBuilder treeWalkerWith(final String checkName) {
+        return checker().withChild(config("TreeWalker").withChild(config(checkName)));
+    }
+
+    private static CombinedCheckerWithConfig combine(final ConfigurationBuilder... configurations)
+            throws CheckstyleException {
+        final List<CheckstyleInternalObject> checkers = Arrays.stream(configurations)
+                .map(configuration -> (CheckstyleInternalObject)
+                        new CheckerWithConfig(new Checker(), configuration.build()))
+                .toList();
+        return new OpCombineCheckers(checkers).execute(PROJECT);
+    }
+}
@@ -12,6 +12,7 @@ import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.Configuration;
 import org.infernus.idea.checkstyle.CheckStyleBundle;
 import org.infernus.idea.checkstyle.CheckstyleProjectService;
+import org.infernus.idea.checkstyle.config.PluginConfigurationBuilder;
 import org.infernus.idea.checkstyle.csapi.BundledConfig;
 import org.infernus.idea.checkstyle.csapi.CheckstyleInternalObject;
 import org.infernus.idea.checkstyle.model.ConfigurationLocation;
@@ -32,6 +33,7 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.Map;
+import java.util.Set;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -189,6 +191,45 @@ public class OpLoadConfigurationTest {
                 .build())));
     }
 
+    @Test
+    public void theFastTierLeavesOutExpensiveModulesAndTheCacheFile() {
+        Configuration config = ConfigurationBuilder.checker()
+                .withAttribute("cacheFile", "aCacheFile")
+                .withAttribute("severity", "warning")
+                .withChild(ConfigurationBuilder.config("RegexpMultiline"))
+                .withChild(ConfigurationBuilder.config("TreeWalker")
+                        .withChild(ConfigurationBuilder.config("JavadocStyle"))
+                        .withChild(ConfigurationBuilder.config("com.puppycrawl.tools.checkstyle.checks.javadoc.SummaryJavadocCheck"))
+                        .withChild(ConfigurationBuilder.config("ConstantName")
+                                .withAttribute("format", "^[A-Z]+$")
+                                .withMessage("messageKey", "messageValue")))
+                .build();
+
+        assertThat(underTest.withoutExpensiveModules(config, PluginConfigurationBuilder.DEFAULT_EXPENSIVE_CHECKS), is(configEqualTo(ConfigurationBuilder.checker()
+                .withAttribute("severity", "warning")
+                .withChild(ConfigurationBuilder.config("TreeWalker")
+                        .withChild(ConfigurationBuilder.config("ConstantName")
+                                .withAttribute("format", "^[A-Z]+$")
+                                .withMessage("messageKey", "messageValue")))
+                .build())));
+    }
+
+    @Test
+    public void theFastTierLeavesOutTheChecksTheUserChose() {
+        Configuration config = ConfigurationBuilder.checker()
+                .withChild(ConfigurationBuilder.config("TreeWalker")
+                        .withChild(ConfigurationBuilder.config("JavadocStyle"))
+                        .withChild(ConfigurationBuilder.config("com.puppycrawl.tools.checkstyle.checks.coding.IllegalTypeCheck"))
+                        .withChild(ConfigurationBuilder.config("ConstantName")))
+                .build();
+
+        assertThat(underTest.withoutExpensiveModules(config, Set.of("IllegalTypeCheck", "ConstantName")),
+                is(configEqualTo(ConfigurationBuilder.checker()
+                        .withChild(ConfigurationBuilder.config("TreeWalker")
+                                .withChild(ConfigurationBuilder.config("JavadocStyle")))
+                        .build())));
+    }
+
     @Test
     public void aModuleWithAFilenameThatRaisesAnIOExceptionOnResolutionDoesNotModifyTheConfiguration() {
         Configuration config = ConfigurationBuilder.checker()
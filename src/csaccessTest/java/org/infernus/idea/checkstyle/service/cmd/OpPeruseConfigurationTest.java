@@ -2,6 +2,7 @@ package org.infernus.idea.checkstyle.service.cmd;
 
 
 import com.intellij.openapi.project.Project;
+import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import org.infernus.idea.checkstyle.csapi.CheckstyleInternalObject;
 import org.infernus.idea.checkstyle.csapi.ConfigVisitor;
@@ -12,6 +13,10 @@ import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -34,6 +39,20 @@ public class OpPeruseConfigurationTest {
         assertNull(cmd.execute(PROJECT));
     }
 
+    @Test
+    public void testModulesAreVisitedWithTheNameOfTheirParent() throws CheckstyleException {
+        final DefaultConfiguration treeWalker = new DefaultConfiguration("TreeWalker");
+        treeWalker.addChild(new DefaultConfiguration("ConstantName"));
+        final DefaultConfiguration checker = new DefaultConfiguration("Checker");
+        checker.addChild(treeWalker);
+
+        final List<String> visited = new ArrayList<>();
+        new OpPeruseConfiguration(new CsConfigObject(checker),
+                module -> visited.add(module.getName() + " in " + module.getParentName())).execute(PROJECT);
+
+        assertEquals(List.of("Checker in null", "TreeWalker in Checker", "ConstantName in TreeWalker"), visited);
+    }
+
     private static final class StubVisitor implements ConfigVisitor {
         @Override
         public void visit(@NotNull final ConfigurationModule module) {
@@ -0,0 +1,119 @@
+package org.infernus.idea.checkstyle.service.cmd;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.project.Project;
+import com.puppycrawl.tools.checkstyle.Checker;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import org.infernus.idea.checkstyle.checker.ScannableFile;
+import org.infernus.idea.checkstyle.csapi.CheckCost;
+import org.infernus.idea.checkstyle.csapi.CheckstyleInternalObject;
+import org.infernus.idea.checkstyle.exception.CheckstyleVersionMixException;
+import org.infernus.idea.checkstyle.service.entities.CheckerWithConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import static org.infernus.idea.checkstyle.service.ConfigurationBuilder.checker;
+import static org.infernus.idea.checkstyle.service.ConfigurationBuilder.config;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+
+public class OpProfileTest {
+    private static final Project PROJECT = Mockito.mock(Project.class);
+
+    @TempDir
+    Path tempDir;
+
+    private static final class InvalidObject
+            implements CheckstyleInternalObject {
+        // does not matter
+    }
+
+
+    @Test
+    public void testWrongCheckerClass() {
+        assertThrows(CheckstyleVersionMixException.class,
+                () -> new OpProfile(new InvalidObject(), Collections.emptyList()));
+    }
+
+
+    @Test
+    public void testEmptyListOfFiles() throws CheckstyleException {
+        OpProfile cmd = new OpProfile(new CheckerWithConfig(null, null), Collections.emptyList());
+        assertEquals(Collections.emptyList(), cmd.execute(PROJECT));
+    }
+
+
+    @Test
+    public void testEachCheckIsProfiledWithItsParentAndFiltersAreLeftOut() throws CheckstyleException, IOException {
+        final Configuration configuration = checker()
+                .withChild(config("SeverityMatchFilter"))
+                .withChild(config("NewlineAtEndOfFile"))
+                .withChild(config("TreeWalker")
+                        .withChild(config("EmptyStatement"))
+                        .withChild(config("SuppressionCommentFilter")))
+                .build();
+
+        final Map<String, CheckCost> costs = new OpProfile(
+                new CheckerWithConfig(new Checker(), configuration),
+                List.of(scannableFile("Example.java", "class Example { void method() { ; } }")))
+                .execute(PROJECT).stream()
+                .collect(Collectors.toMap(CheckCost::moduleName, Function.identity()));
+
+        assertEquals(3, costs.size());
+        assertCost(costs.get("TreeWalker"), "Checker", 0);
+        assertCost(costs.get("EmptyStatement"), "TreeWalker", 1);
+        assertCost(costs.get("NewlineAtEndOfFile"), "Checker", 1);
+    }
+
+
+    @Test
+    public void testACancelledProfileStopsBeforeTheNextModule() throws IOException {
+        final Configuration configuration = checker()
+                .withChild(config("NewlineAtEndOfFile"))
+                .build();
+        final OpProfile cmd = new OpProfile(
+                new CheckerWithConfig(new Checker(), configuration),
+                List.of(scannableFile("Example.java", "class Example { }")));
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(ProcessCanceledException.class, () -> cmd.execute(PROJECT));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    private static void assertCost(final CheckCost cost, final String expectedParent, final int expectedIssues) {
+        assertEquals(expectedParent, cost.parentName());
+        assertEquals(1, cost.files());
+        assertEquals(expectedIssues, cost.issues());
+        assertEquals("Example.java", cost.slowestFile());
+        assertTrue(cost.totalNanos() >= 0);
+    }
+
+    private ScannableFile scannableFile(final String name, final String content) throws IOException {
+        final File file = tempDir.resolve(name).toFile();
+        Files.writeString(file.toPath(), content, StandardCharsets.UTF_8);
+
+        final ScannableFile scannableFile = Mockito.mock(ScannableFile.class);
+        when(scannableFile.getFile()).thenReturn(file);
+        when(scannableFile.getAbsolutePath()).thenReturn(file.getAbsolutePath());
+        return scannableFile;
+    }
+}
@@ -0,0 +1,124 @@
+package org.infernus.idea.checkstyle.service.cmd;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import com.intellij.openapi.project.Project;
+import com.puppycrawl.tools.checkstyle.Checker;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import org.infernus.idea.checkstyle.checker.ScannableFile;
+import org.infernus.idea.checkstyle.csapi.CheckstyleInternalObject;
+import org.infernus.idea.checkstyle.csapi.Issue;
+import org.infernus.idea.checkstyle.exception.CheckstyleVersionMixException;
+import org.infernus.idea.checkstyle.service.ConfigurationBuilder;
+import org.infernus.idea.checkstyle.service.IssueCache;
+import org.infernus.idea.checkstyle.service.entities.CheckerWithConfig;
+import org.infernus.idea.checkstyle.service.entities.CombinedCheckerWithConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import static org.infernus.idea.checkstyle.service.ConfigurationBuilder.checker;
+import static org.infernus.idea.checkstyle.service.ConfigurationBuilder.config;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+
+public class OpScanCombinedTest {
+    private static final Project PROJECT = Mockito.mock(Project.class);
+
+    @TempDir
+    Path tempDir;
+
+    private static final class InvalidObject
+            implements CheckstyleInternalObject {
+        // does not matter
+    }
+
+
+    @Test
+    public void testWrongCheckerClass() {
+        assertThrows(CheckstyleVersionMixException.class,
+                () -> new OpScanCombined(new InvalidObject(), Collections.emptyList(), false, 2, Optional.empty()));
+    }
+
+
+    @Test
+    public void testScanningASingleFileCachesTheIssuesOfEachConfiguration() throws CheckstyleException, IOException {
+        final CombinedCheckerWithConfig combined = combine(
+                treeWalkerWith("EmptyStatement"),
+                treeWalkerWith("EmptyBlock"));
+        final ScannableFile file = scannableFile("Example.java", "class Example { void method() { ; } }");
+
+        new OpScanCombined(combined, List.of(file), false, 2, Optional.empty()).execute(PROJECT);
+
+        assertEquals(1, cachedIssues(combined.getParts().get(0), file).size());
+        assertEquals(0, cachedIssues(combined.getParts().get(1), file).size());
+    }
+
+
+    @Test
+    public void testAFileWhoseIssuesAreCachedForEachConfigurationIsNotScanned() throws CheckstyleException, IOException {
+        final CombinedCheckerWithConfig combined = combine(
+                treeWalkerWith("EmptyStatement"),
+                treeWalkerWith("EmptyBlock"));
+        final ScannableFile file = scannableFile("Example.java", "class Example { }");
+        for (CheckerWithConfig part : combined.getParts()) {
+            final IssueCache.Key cacheKey = part.getIssueCache().keyFor(file);
+            assertNotNull(cacheKey);
+            part.getIssueCache().put(cacheKey, List.of());
+        }
+
+        // a scan would fail to take the checker's lock on an interrupted thread
+        Thread.currentThread().interrupt();
+        try {
+            new OpScanCombined(combined, List.of(file), false, 2, Optional.empty()).execute(PROJECT);
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+
+    private static List<Issue> cachedIssues(final CheckerWithConfig part, final ScannableFile file) {
+        final IssueCache.Key cacheKey = part.getIssueCache().keyFor(file);
+        assertNotNull(cacheKey);
+        final List<Issue> issues = part.getIssueCache().get(cacheKey);
+        assertNotNull(issues);
+        return issues;
+    }
+
+    private static ConfigurationBuilder treeWalkerWith(final String checkName) {
+        return checker().withChild(config("TreeWalker").withChild(config(checkName)));
+    }
+
+    private static CombinedCheckerWithConfig combine(final ConfigurationBuilder... configurations)
+            throws CheckstyleException {
+        final List<CheckstyleInternalObject> checkers = Arrays.stream(configurations)
+                .map(configuration -> (CheckstyleInternalObject)
+                        new CheckerWithConfig(new Checker(), configuration.build()))
+                .toList();
+        final CombinedCheckerWithConfig combined = new OpCombineCheckers(checkers).execute(PROJECT);
+        assertNotNull(combined);
+        return combined;
+    }
+
+    private ScannableFile scannableFile(final String name, final String content) throws IOException {
+        final File file = tempDir.resolve(name).toFile();
+        Files.writeString(file.toPath(), content, StandardCharsets.UTF_8);
+
+        final ScannableFile scannableFile = Mockito.mock(ScannableFile.class);
+        when(scannableFile.getFile()).thenReturn(file);
+        when(scannableFile.getAbsolutePath()).thenReturn(file.getAbsolutePath());
+        when(scannableFile.getStablePath()).thenReturn(file.getAbsolutePath());
+        return scannableFile;
+    }
+}
@@ -0,0 +1,150 @@
+package org.infernus.idea.checkstyle.service.worker;
+
+import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import org.infernus.idea.checkstyle.csapi.Issue;
+import org.infernus.idea.checkstyle.csapi.SeverityLevel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+public class CheckstyleWorkerTest {
+
+    private static final long AN_HOUR_LATER = TimeUnit.HOURS.toMillis(1);
+
+    @TempDir
+    private Path tempDir;
+
+    private DataOutputStream toWorker;
+    private CheckstyleWorker worker;
+    private Thread workerThread;
+    private WorkerProcess underTest;
+
+    @BeforeEach
+    public void startWorker() throws IOException {
+        final PipedInputStream workerIn = new PipedInputStream();
+        toWorker = new DataOutputStream(new PipedOutputStream(workerIn));
+        final PipedInputStream pluginIn = new PipedInputStream();
+        final DataOutputStream workerOut = new DataOutputStream(new PipedOutputStream(pluginIn));
+
+        worker = new CheckstyleWorker(new DataInputStream(workerIn), workerOut);
+        workerThread = new Thread(() -> {
+            try {
+                worker.run();
+            } catch (IOException ignored) {
+                // the test has finished with the worker
+            }
+        });
+        workerThread.start();
+
+        underTest = WorkerProcess.connectedTo(new DataInputStream(pluginIn), toWorker);
+    }
+
+    @AfterEach
+    public void stopWorker() throws Exception {
+        toWorker.close();
+        workerThread.join(5_000);
+    }
+
+    @Test
+    public void violationsFoundByTheWorkerAreReturnedAsIssues() throws Exception {
+        final File sourceFile = sourceFile("class Example {\n    // TODO\n}\n");
+
+        final List<Issue> issues = underTest.scan(new WorkerConfiguration(1, todoConfiguration()), List.of(sourceFile));
+
+        assertEquals(1, issues.size());
+        final Issue issue = issues.get(0);
+        assertEquals(sourceFile.getAbsolutePath(), issue.fileName);
+        assertEquals(2, issue.lineNumber);
+        assertEquals(SeverityLevel.Error, issue.severityLevel);
+        assertTrue(issue.sourceName.contains("RegexpSingleline"));
+    }
+
+    @Test
+    public void aConfigurationIsOnlySentToTheWorkerOnce() throws Exception {
+        final WorkerConfiguration configuration = new WorkerConfiguration(1, todoConfiguration());
+
+        underTest.scan(configuration, List.of(sourceFile("class Example {\n}\n")));
+        final List<Issue> issues = underTest.scan(configuration, List.of(sourceFile("// TODO\n")));
+
+        assertEquals(1, issues.size());
+    }
+
+    @Test
+    public void aBrokenConfigurationIsReportedWithoutStoppingTheWorker() throws Exception {
+        final DefaultConfiguration brokenConfiguration = new DefaultConfiguration("Checker");
+        brokenConfiguration.addChild(new DefaultConfiguration("NoSuchCheck"));
+        final File sourceFile = sourceFile("// TODO\n");
+
+        assertThrows(CheckstyleException.class,
+                () -> underTest.scan(new WorkerConfiguration(1, brokenConfiguration), List.of(sourceFile)));
+
+        assertEquals(1, underTest.scan(new WorkerConfiguration(2, todoConfiguration()), List.of(sourceFile)).size());
+    }
+
+    @Test
+    public void theWorkerDoesNotWriteThePluginsCacheFile() throws Exception {
+        final Path cacheFile = tempDir.resolve("checkstyle.cache");
+        final DefaultConfiguration configuration = todoConfiguration();
+        configuration.addProperty("cacheFile", cacheFile.toString());
+
+        assertEquals(1, underTest.scan(new WorkerConfiguration(1, configuration), List.of(sourceFile("// TODO\n"))).size());
+        // a checker persists its cache file as it is destroyed
+        underTest.release(List.of(1L));
+
+        assertFalse(Files.exists(cacheFile));
+    }
+
+    @Test
+    public void aWorkerWithNoRequestsIsIdleOnceTheTimeoutHasPassed() {
+        assertFalse(worker.isIdleAt(System.currentTimeMillis()));
+        assertTrue(worker.isIdleAt(System.currentTimeMillis() + AN_HOUR_LATER));
+    }
+
+    @Test
+    public void aWorkerIsNotIdleWhileARequestIsRunning() throws Exception {
+        // the worker waits for the rest of the request, as it would while scanning
+        toWorker.writeByte(WorkerProtocol.SCAN);
+        toWorker.flush();
+
+        final long deadline = System.currentTimeMillis() + 5_000;
+        while (worker.isIdleAt(System.currentTimeMillis() + AN_HOUR_LATER)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertFalse(worker.isIdleAt(System.currentTimeMillis() + AN_HOUR_LATER));
+    }
+
+    private DefaultConfiguration todoConfiguration() {
+        final DefaultConfiguration todoCheck = new DefaultConfiguration("RegexpSingleline");
+        todoCheck.addProperty("format", "TODO");
+        final DefaultConfiguration configuration = new DefaultConfiguration("Checker");
+        configuration.addChild(todoCheck);
+        return configuration;
+    }
+
+    private File sourceFile(final String content) throws IOException {
+        final Path sourceFile = Files.createTempFile(tempDir, "Example", ".java");
+        Files.writeString(sourceFile, content);
+        return sourceFile.toFile();
+    }
+}
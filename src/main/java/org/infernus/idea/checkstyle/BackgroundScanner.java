@@ -0,0 +1,376 @@
+package org.infernus.idea.checkstyle;
+
+import com.intellij.ide.IdeEventQueue;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.editor.EditorFactory;
+import com.intellij.openapi.editor.event.DocumentEvent;
+import com.intellij.openapi.editor.event.DocumentListener;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileCopyEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileDeleteEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.psi.PsiManager;
+import org.infernus.idea.checkstyle.checker.ProblemIndex;
+import org.infernus.idea.checkstyle.config.ConfigurationListener;
+import org.infernus.idea.checkstyle.config.PluginConfigurationManager;
+import org.infernus.idea.checkstyle.model.ScanResult;
+import org.infernus.idea.checkstyle.toolwindow.CheckStyleToolWindowPanel;
+import org.infernus.idea.checkstyle.util.ChunkedReadAction;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.infernus.idea.checkstyle.util.Async.executeOnPooledThread;
+
+/**
+ * Keeps a project-wide index of problems up to date while the IDE is idle, when enabled in the configuration.
+ * <p>
+ * Every file in the project is scanned once when background scanning is enabled, and files are rescanned after
+ * they change on disk or in the editor. Scans are made in small batches at {@link ScanPriority#BACKGROUND} priority,
+ * so that they give way to scans requested by the user, and only while the IDE has been idle for a while. A batch
+ * is abandoned, after the file being scanned, as soon as the user is active again, and its files are scanned in a
+ * later batch.
+ * <p>
+ * Changes are noted as cheaply as possible, as edits are reported on each keystroke; whether a changed file belongs to
+ * the project is only looked at when it is next due to be scanned.
+ */
+public class BackgroundScanner implements ConfigurationListener, Disposable {
+
+    private static final Logger LOG = Logger.getInstance(BackgroundScanner.class);
+
+    private static final int IDLE_TIMEOUT_MS = 5_000;
+    private static final int BATCH_SIZE = 20;
+    private static final int DIRECTORY_CHUNK_SIZE = 10;
+
+    private final Project project;
+    private final ProblemIndex problemIndex = new ProblemIndex();
+    private final Set<VirtualFile> dirtyFiles = new LinkedHashSet<>();
+    private final Runnable idleListener = this::scanDirtyFiles;
+    private final Runnable activityListener = this::userActive;
+
+    private Disposable activeListeners;
+    private volatile CompletableFuture<List<ScanResult>> runningBatch;
+
+    public BackgroundScanner(@NotNull final Project project) {
+        this.project = project;
+    }
+
+    /**
+     * Start listening for configuration changes, and start scanning if enabled.
+     */
+    public void start() {
+        configurationManager().addConfigurationListener(this);
+        configurationChanged();
+    }
+
+    public boolean isEnabled() {
+        return configurationManager().getCurrent().isBackgroundScan();
+    }
+
+    /**
+     * The latest known problems in the project.
+     *
+     * The PSI file of each file with problems is found in a read action, so this should be called off the event
+     * dispatch thread.
+     *
+     * @return the problems, in the form of the results of a single scan.
+     */
+    @NotNull
+    public List<ScanResult> results() {
+        final PsiManager psiManager = PsiManager.getInstance(project);
+        return problemIndex.results(file -> ReadAction.compute(() ->
+                file.isValid() && !project.isDisposed() ? psiManager.findFile(file) : null));
+    }
+
+    /**
+     * The configuration may have changed in a way that affects every result, so start again from scratch.
+     */
+    @Override
+    public void configurationChanged() {
+        rescan();
+    }
+
+    /**
+     * Discard the known problems and scan the whole project again, if enabled.
+     */
+    public void rescan() {
+        final CompletableFuture<List<ScanResult>> cancelledBatch;
+        synchronized (dirtyFiles) {
+            cancelledBatch = runningBatch;
+            runningBatch = null;
+            dirtyFiles.clear();
+            problemIndex.clear();
+
+            if (isEnabled()) {
+                startListening();
+            } else {
+                stopListening();
+            }
+        }
+
+        if (cancelledBatch != null) {
+            cancelledBatch.cancel(false);
+        }
+        resultsChanged();
+
+        if (isEnabled()) {
+            executeOnPooledThread(() -> {
+                markProjectDirty();
+                return null;
+            });
+        }
+    }
+
+    @Override
+    public void dispose() {
+        final CompletableFuture<List<ScanResult>> cancelledBatch;
+        synchronized (dirtyFiles) {
+            cancelledBatch = runningBatch;
+            runningBatch = null;
+            stopListening();
+        }
+        if (cancelledBatch != null) {
+            cancelledBatch.cancel(false);
+        }
+    }
+
+    /**
+     * Must be called while holding the lock on the dirty files.
+     */
+    private void startListening() {
+        if (activeListeners != null) {
+            return;
+        }
+        activeListeners = Disposer.newDisposable(this, "Checkstyle background scanning");
+
+        project.getMessageBus().connect(activeListeners).subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener() {
+            @Override
+            public void after(@NotNull final List<? extends VFileEvent> events) {
+                events.forEach(BackgroundScanner.this::fileChanged);
+            }
+        });
+        EditorFactory.getInstance().getEventMulticaster().addDocumentListener(new DocumentListener() {
+            @Override
+            public void documentChanged(@NotNull final DocumentEvent event) {
+                markDirty(FileDocumentManager.getInstance().getFile(event.getDocument()));
+            }
+        }, activeListeners);
+
+        final IdeEventQueue eventQueue = IdeEventQueue.getInstance();
+        eventQueue.addIdleListener(idleListener, IDLE_TIMEOUT_MS);
+        Disposer.register(activeListeners, () -> eventQueue.removeIdleListener(idleListener));
+        eventQueue.addActivityListener(activityListener, activeListeners);
+    }
+
+    /**
+     * Called on the event dispatch thread for each input event, so does nothing unless a batch is running.
+     */
+    private void userActive() {
+        final CompletableFuture<List<ScanResult>> batch = runningBatch;
+        if (batch != null && !batch.isDone()) {
+            LOG.debug("User is active, abandoning background scan batch");
+            // the scan stops after its current file, and batchFinished queues the batch's files again
+            batch.cancel(false);
+        }
+    }
+
+    /**
+     * Must be called while holding the lock on the dirty files.
+     */
+    private void stopListening() {
+        if (activeListeners != null) {
+            Disposer.dispose(activeListeners);
+            activeListeners = null;
+        }
+    }
+
+    private void fileChanged(@NotNull final VFileEvent event) {
+        if (event instanceof VFileDeleteEvent) {
+            final VirtualFile deletedFile = event.getFile();
+            if (deletedFile != null) {
+                problemIndex.remove(deletedFile);
+                synchronized (dirtyFiles) {
+                    dirtyFiles.remove(deletedFile);
+                }
+            }
+        } else if (event instanceof VFileCopyEvent copyEvent) {
+            markDirty(copyEvent.findCreatedFile());
+        } else {
+            markDirty(event.getFile());
+        }
+    }
+
+    private void markDirty(@Nullable final VirtualFile file) {
+        if (file == null) {
+            return;
+        }
+        synchronized (dirtyFiles) {
+            if (activeListeners != null) {
+                dirtyFiles.add(file);
+            }
+        }
+    }
+
+    /**
+     * The project is walked a level of directories at a time, a few directories per read action, so that a write
+     * action need only wait for the directories being read, rather than for the whole project.
+     */
+    private void markProjectDirty() {
+        final List<VirtualFile> projectFiles = new ArrayList<>();
+        final Set<VirtualFile> visitedDirectories = new HashSet<>();
+        List<VirtualFile> directories = ReadAction.compute(() -> project.isDisposed()
+                ? List.<VirtualFile>of()
+                : List.of(ProjectRootManager.getInstance(project).getContentRoots()));
+        while (!directories.isEmpty()) {
+            final List<VirtualFile> subdirectories = new ArrayList<>();
+            ChunkedReadAction.forEachChunk(
+                    directories.stream().filter(visitedDirectories::add).toList(),
+                    DIRECTORY_CHUNK_SIZE,
+                    this::contentsOf,
+                    contents -> {
+                        projectFiles.addAll(contents.files());
+                        subdirectories.addAll(contents.directories());
+                    });
+            directories = subdirectories;
+        }
+        LOG.debug("Background scan of " + projectFiles.size() + " files starting");
+
+        synchronized (dirtyFiles) {
+            if (activeListeners != null) {
+                dirtyFiles.addAll(projectFiles);
+            }
+        }
+    }
+
+    @NotNull
+    private DirectoryContents contentsOf(@NotNull final List<VirtualFile> directories) {
+        final List<VirtualFile> files = new ArrayList<>();
+        final List<VirtualFile> subdirectories = new ArrayList<>();
+        if (project.isDisposed()) {
+            return new DirectoryContents(files, subdirectories);
+        }
+        final ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(project);
+        for (final VirtualFile directory : directories) {
+            ProgressManager.checkCanceled();
+            if (!directory.isValid()) {
+                continue;
+            }
+            for (final VirtualFile child : directory.getChildren()) {
+                if (!fileIndex.isInContent(child)) {
+                    continue;
+                }
+                if (child.isDirectory()) {
+                    subdirectories.add(child);
+                } else if (!child.getFileType().isBinary()) {
+                    files.add(child);
+                }
+            }
+        }
+        return new DirectoryContents(files, subdirectories);
+    }
+
+    private record DirectoryContents(@NotNull List<VirtualFile> files,
+                                     @NotNull List<VirtualFile> directories) {
+    }
+
+    /**
+     * Scan the next batch of changed files, unless a batch is already being scanned.
+     */
+    private void scanDirtyFiles() {
+        if (project.isDisposed() || DumbService.isDumb(project)) {
+            return;
+        }
+
+        final List<VirtualFile> batch = new ArrayList<>();
+        final CompletableFuture<List<ScanResult>> batchResult;
+        synchronized (dirtyFiles) {
+            if (runningBatch != null || activeListeners == null) {
+                return;
+            }
+            final ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(project);
+            for (final Iterator<VirtualFile> dirty = dirtyFiles.iterator(); dirty.hasNext() && batch.size() < BATCH_SIZE; ) {
+                final VirtualFile file = dirty.next();
+                dirty.remove();
+                if (file.isValid() && ReadAction.compute(() -> fileIndex.isInContent(file))) {
+                    batch.add(file);
+                }
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            batchResult = staticScanner().backgroundScanFiles(batch);
+            runningBatch = batchResult;
+        }
+
+        batchResult.whenComplete((results, error) -> batchFinished(batchResult, batch, results, error));
+    }
+
+    private void batchFinished(@NotNull final CompletableFuture<List<ScanResult>> batchResult,
+                               @NotNull final List<VirtualFile> batch,
+                               @Nullable final List<ScanResult> results,
+                               @Nullable final Throwable error) {
+        synchronized (dirtyFiles) {
+            if (runningBatch != batchResult) {
+                // stopped because the configuration changed, and the results no longer apply
+                return;
+            }
+            runningBatch = null;
+
+            if (batchResult.isCancelled()) {
+                // try again next time we're idle
+                dirtyFiles.addAll(batch);
+                return;
+            }
+        }
+
+        if (error != null) {
+            LOG.debug("Background scan failed, the batch will not be retried until its files change", error);
+        } else if (results != null) {
+            problemIndex.update(batch, results);
+            resultsChanged();
+        }
+
+        if (IdeEventQueue.getInstance().getIdleTime() >= IDLE_TIMEOUT_MS) {
+            scanDirtyFiles();
+        }
+    }
+
+    private void resultsChanged() {
+        if (ApplicationManager.getApplication() == null) {  // can be null in unit tests
+            return;
+        }
+        ApplicationManager.getApplication().invokeLater(() -> {
+            final CheckStyleToolWindowPanel toolWindowPanel = CheckStyleToolWindowPanel.panelFor(project);
+            if (toolWindowPanel != null) {
+                toolWindowPanel.backgroundResultsChanged();
+            }
+        }, project.getDisposed());
+    }
+
+    private StaticScanner staticScanner() {
+        return project.getService(StaticScanner.class);
+    }
+
+    private PluginConfigurationManager configurationManager() {
+        return project.getService(PluginConfigurationManager.class);
+    }
+}
@@ -0,0 +1,275 @@
+package org.infernus.idea.checkstyle;
+
+import com.intellij.analysis.AnalysisScope;
+import com.intellij.codeInspection.GlobalInspectionContext;
+import com.intellij.codeInspection.GlobalInspectionTool;
+import com.intellij.codeInspection.InspectionManager;
+import com.intellij.codeInspection.LocalInspectionTool;
+import com.intellij.codeInspection.ProblemDescriptionsProcessor;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.codeInspection.reference.RefElement;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleUtil;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.infernus.idea.checkstyle.checker.Problem;
+import org.infernus.idea.checkstyle.checker.ScanFiles;
+import org.infernus.idea.checkstyle.config.ConfigurationLocationSource;
+import org.infernus.idea.checkstyle.model.ConfigurationLocation;
+import org.infernus.idea.checkstyle.model.ScanResult;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.stream.Collectors;
+
+import static org.infernus.idea.checkstyle.util.Async.NO_TIMEOUT;
+import static org.infernus.idea.checkstyle.util.Async.whenFinished;
+
+/**
+ * Batch mode of the Checkstyle inspection, as run by <em>Analyze | Inspect Code</em>.
+ * <p>
+ * Highlighting in the editor still uses {@link CheckStyleInspection}. In batch mode, the inspected files are instead
+ * grouped by the checkers which will scan them - those of their module's configuration locations - and scanned in
+ * large batches through {@link ScanFiles}, rather than one file (and one checker lock) at a time. Batches of
+ * different groups use different checkers, so are scanned in parallel.
+ */
+public class CheckStyleGlobalInspection extends GlobalInspectionTool {
+
+    private static final Logger LOG = Logger.getInstance(CheckStyleGlobalInspection.class);
+
+    static final int BATCH_SIZE = 500;
+
+    private static final int MAX_PARALLEL_BATCHES = 4;
+
+    private final CheckStyleInspection localInspection = new CheckStyleInspection();
+
+    @Override
+    @Nullable
+    public LocalInspectionTool getSharedLocalInspectionTool() {
+        return localInspection;
+    }
+
+    @Override
+    public boolean isGraphNeeded() {
+        return false;
+    }
+
+    @Override
+    public boolean isReadActionNeeded() {
+        return false;
+    }
+
+    @Override
+    public void runInspection(@NotNull final AnalysisScope scope,
+                              @NotNull final InspectionManager manager,
+                              @NotNull final GlobalInspectionContext globalContext,
+                              @NotNull final ProblemDescriptionsProcessor problemDescriptionsProcessor) {
+        final Project project = manager.getProject();
+        final Map<CheckerGroup, List<VirtualFile>> filesByGroup = filesByCheckerGroup(project, scope);
+        final List<List<VirtualFile>> batches = interleavedBatches(filesByGroup, BATCH_SIZE);
+        if (batches.isEmpty()) {
+            return;
+        }
+        LOG.debug("Inspecting scope in " + batches.size() + " batch(es) of " + filesByGroup.size() + " group(s)");
+
+        final Map<VirtualFile, Executor> executorsByFile = executorsByFile(filesByGroup);
+        final ProgressIndicator progressIndicator = ProgressManager.getInstance().getProgressIndicator();
+        if (progressIndicator != null) {
+            progressIndicator.setIndeterminate(false);
+        }
+        final List<Future<List<ScanResult>>> pendingScans = new ArrayList<>();
+        try {
+            for (final List<VirtualFile> batch : batches) {
+                final FutureTask<List<ScanResult>> scan =
+                        new FutureTask<>(() -> new ScanFiles(project, batch, null).call());
+                executorsByFile.get(batch.getFirst()).execute(scan);
+                pendingScans.add(scan);
+            }
+
+            for (int i = 0; i < pendingScans.size(); ++i) {
+                checkCanceled(progressIndicator);
+                report(resultOf(pendingScans.get(i)), manager, globalContext, problemDescriptionsProcessor);
+                if (progressIndicator != null) {
+                    progressIndicator.setFraction((double) (i + 1) / pendingScans.size());
+                }
+            }
+
+        } finally {
+            pendingScans.forEach(pendingScan -> pendingScan.cancel(true));
+        }
+    }
+
+    /**
+     * Batches of the same group share checkers, and so would only wait on each other's locks; each group therefore
+     * scans one batch at a time, with no more than {@link #MAX_PARALLEL_BATCHES} groups at once across inspections.
+     */
+    @NotNull
+    private Map<VirtualFile, Executor> executorsByFile(@NotNull final Map<CheckerGroup, List<VirtualFile>> filesByGroup) {
+        final Map<VirtualFile, Executor> executorsByFile = new IdentityHashMap<>();
+        for (final List<VirtualFile> groupFiles : filesByGroup.values()) {
+            final Executor groupExecutor = AppExecutorUtil.createBoundedApplicationPoolExecutor(
+                    "CheckStyle Batch Inspection Group", BatchExecutor.INSTANCE, 1);
+            groupFiles.forEach(file -> executorsByFile.put(file, groupExecutor));
+        }
+        return executorsByFile;
+    }
+
+    private static void checkCanceled(@Nullable final ProgressIndicator progressIndicator) {
+        if (progressIndicator != null) {
+            progressIndicator.checkCanceled();
+        }
+    }
+
+    /**
+     * Group the files in scope by the checkers which will scan them, which are created for each module and
+     * configuration location. Files of modules with no active configuration are not scanned at all.
+     */
+    @NotNull
+    private Map<CheckerGroup, List<VirtualFile>> filesByCheckerGroup(@NotNull final Project project,
+                                                                     @NotNull final AnalysisScope scope) {
+        final ConfigurationLocationSource locationSource = project.getService(ConfigurationLocationSource.class);
+        final Map<Module, Optional<CheckerGroup>> groupsByModule = new HashMap<>();
+        final Map<CheckerGroup, List<VirtualFile>> filesByGroup = new LinkedHashMap<>();
+        ReadAction.run(() -> scope.accept(virtualFile -> {
+            if (!virtualFile.isDirectory()) {
+                final Module module = ModuleUtil.findModuleForFile(virtualFile, project);
+                if (module != null) {
+                    groupsByModule.computeIfAbsent(module, key -> checkerGroupOf(key, locationSource))
+                            .ifPresent(group -> filesByGroup.computeIfAbsent(group, key -> new ArrayList<>())
+                                    .add(virtualFile));
+                }
+            }
+            return true;
+        }));
+        return filesByGroup;
+    }
+
+    @NotNull
+    static Optional<CheckerGroup> checkerGroupOf(@NotNull final Module module,
+                                                         @NotNull final ConfigurationLocationSource locationSource) {
+        final Set<ConfigurationLocation> locations = locationSource.getConfigurationLocations(module, null).stream()
+                .filter(location -> !location.isBlocked())
+                .collect(Collectors.toCollection(TreeSet::new));
+        if (locations.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(new CheckerGroup(module, locations));
+    }
+
+    /**
+     * Split each group into batches, ordered round-robin between groups so that batches of different groups (and
+     * hence different checkers) are next to each other in the queue.
+     *
+     * @param groups    the groups to split.
+     * @param batchSize the maximum size of a batch.
+     * @param <K>       the type of the group key.
+     * @param <V>       the type of the group members.
+     * @return the batches.
+     */
+    @NotNull
+    static <K, V> List<List<V>> interleavedBatches(@NotNull final Map<K, List<V>> groups, final int batchSize) {
+        final List<Iterator<List<V>>> batchesByGroup = new ArrayList<>();
+        for (final List<V> group : groups.values()) {
+            final List<List<V>> groupBatches = new ArrayList<>();
+            for (int start = 0; start < group.size(); start += batchSize) {
+                groupBatches.add(group.subList(start, Math.min(start + batchSize, group.size())));
+            }
+            batchesByGroup.add(groupBatches.iterator());
+        }
+
+        final List<List<V>> batches = new ArrayList<>();
+        while (batchesByGroup.stream().anyMatch(Iterator::hasNext)) {
+            for (final Iterator<List<V>> groupBatches : batchesByGroup) {
+                if (groupBatches.hasNext()) {
+                    batches.add(groupBatches.next());
+                }
+            }
+        }
+        return batches;
+    }
+
+    @NotNull
+    private List<ScanResult> resultOf(@NotNull final Future<List<ScanResult>> pendingScan) {
+        try {
+            return whenFinished(pendingScan, NO_TIMEOUT).get();
+        } catch (ProcessCanceledException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProcessCanceledException(e);
+        } catch (ExecutionException e) {
+            LOG.warn("CheckStyle threw an exception during batch inspection", e.getCause());
+            return List.of();
+        }
+    }
+
+    /**
+     * The files scanned by the same checkers.
+     *
+     * @param module    the module of the files.
+     * @param locations the active configuration locations of the module.
+     */
+    record CheckerGroup(@NotNull Module module, @NotNull Set<ConfigurationLocation> locations) {
+    }
+
+    /**
+     * The executor shared by all batch inspections, created when first needed.
+     */
+    private static final class BatchExecutor {
+        static final ExecutorService INSTANCE = AppExecutorUtil.createBoundedApplicationPoolExecutor(
+                "CheckStyle Batch Inspection", MAX_PARALLEL_BATCHES);
+    }
+
+    private void report(@NotNull final List<ScanResult> scanResults,
+                        @NotNull final InspectionManager manager,
+                        @NotNull final GlobalInspectionContext globalContext,
+                        @NotNull final ProblemDescriptionsProcessor problemDescriptionsProcessor) {
+        final Map<PsiFile, Set<Problem>> problemsByFile = new HashMap<>();
+        for (final ScanResult scanResult : scanResults) {
+            scanResult.problems().forEach((psiFile, problems) -> problemsByFile
+                    .computeIfAbsent(psiFile, key -> new TreeSet<>())
+                    .addAll(localInspection.dropIgnoredProblems(problems)));
+        }
+
+        ReadAction.run(() -> problemsByFile.forEach((psiFile, problems) -> {
+            if (problems.isEmpty() || !psiFile.isValid()) {
+                return;
+            }
+            final RefElement reference = globalContext.getRefManager().getReference(psiFile);
+            if (reference != null) {
+                problemDescriptionsProcessor.addProblemElement(reference, asProblemDescriptors(problems, manager));
+            }
+        }));
+    }
+
+    @NotNull
+    private ProblemDescriptor[] asProblemDescriptors(@NotNull final Collection<Problem> problems,
+                                                     @NotNull final InspectionManager manager) {
+        return problems.stream()
+                .map(problem -> problem.toProblemDescriptor(manager, false))
+                .toArray(ProblemDescriptor[]::new);
+    }
+}
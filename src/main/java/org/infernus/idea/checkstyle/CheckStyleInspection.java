@@ -10,12 +10,15 @@ import com.intellij.openapi.module.ModuleUtil;
 import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiFile;
+import org.infernus.idea.checkstyle.checker.CheckStyleChecker;
 import org.infernus.idea.checkstyle.checker.CheckerFactory;
+import org.infernus.idea.checkstyle.checker.MultiLocationScan;
 import org.infernus.idea.checkstyle.checker.Problem;
 import org.infernus.idea.checkstyle.checker.ScannableFile;
 import org.infernus.idea.checkstyle.config.ConfigurationLocationSource;
 import org.infernus.idea.checkstyle.config.PluginConfiguration;
 import org.infernus.idea.checkstyle.config.PluginConfigurationManager;
+import org.infernus.idea.checkstyle.csapi.CheckTier;
 import org.infernus.idea.checkstyle.csapi.SeverityLevel;
 import org.infernus.idea.checkstyle.exception.CheckStylePluginParseException;
 import org.infernus.idea.checkstyle.model.ConfigurationLocation;
@@ -28,7 +31,10 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.TreeSet;
 
 import static java.util.Collections.singletonList;
@@ -59,6 +65,14 @@ public class CheckStyleInspection extends LocalInspectionTool {
         }
     }
 
+    /**
+     * Also used on-the-fly by {@link CheckStyleGlobalInspection}, whose registration cannot declare this.
+     */
+    @Override
+    public boolean runForWholeFile() {
+        return true;
+    }
+
     @Override
     public ProblemDescriptor[] checkFile(@NotNull final PsiFile psiFile,
                                          @NotNull final InspectionManager manager,
@@ -70,6 +84,14 @@ public class CheckStyleInspection extends LocalInspectionTool {
 
         final Module module = moduleOf(psiFile);
         final PluginConfiguration pluginConfiguration = configurationManager(manager.getProject()).getCurrent();
+        final CheckTier tier = isOnTheFly && pluginConfiguration.isFastChecksWhileEditing()
+                ? CheckTier.FAST
+                : CheckTier.FULL;
+
+        if (!mayBeProcessed(psiFile, module, tier, manager.getProject())) {
+            LOG.debug("Inspection has been skipped as no configured check processes the file: " + psiFile.getName());
+            return noProblemsFound(manager);
+        }
 
         List<ScannableFile> scannableFiles = ScannableFile.createAndValidate(
                 singletonList(psiFile),
@@ -85,7 +107,7 @@ public class CheckStyleInspection extends LocalInspectionTool {
             return asProblemDescriptors(
                     asyncResultOf(() -> {
                         try {
-                            return inspectFile(psiFile, scannableFiles, module, manager, pluginConfiguration);
+                            return inspectFile(psiFile, scannableFiles, module, tier, manager, pluginConfiguration);
                         } finally {
                             scannableFiles.forEach(ScannableFile::deleteIfRequired);
                         }
@@ -112,6 +134,16 @@ public class CheckStyleInspection extends LocalInspectionTool {
         return asProblemDescriptors(NO_PROBLEMS_FOUND, manager, false);
     }
 
+    private boolean mayBeProcessed(@NotNull final PsiFile psiFile,
+                                   @Nullable final Module module,
+                                   @NotNull final CheckTier tier,
+                                   @NotNull final Project project) {
+        final CheckerFactory checkerFactory = checkerFactory(project);
+        return configurationLocationSource(project).getConfigurationLocations(module, null).stream()
+                .filter(not(ConfigurationLocation::isBlocked))
+                .anyMatch(configurationLocation -> checkerFactory.mayProcess(module, configurationLocation, tier, psiFile));
+    }
+
     @Nullable
     private Module moduleOf(@NotNull final PsiFile psiFile) {
         return ModuleUtil.findModuleForPsiElement(psiFile);
@@ -120,6 +152,7 @@ public class CheckStyleInspection extends LocalInspectionTool {
     private List<Problem> inspectFile(@NotNull final PsiFile psiFile,
                                       @NotNull final List<ScannableFile> scannableFiles,
                                       @Nullable final Module module,
+                                      @NotNull final CheckTier tier,
                                       @NotNull final InspectionManager manager,
                                       @NotNull final PluginConfiguration pluginConfiguration) {
         LOG.debug("Inspection has been invoked for " + psiFile.getName());
@@ -131,15 +164,19 @@ public class CheckStyleInspection extends LocalInspectionTool {
                             .getConfigurationLocations(module, null));
 
             // Check file with every non-blocked location
-            return configurationLocations.stream()
+            final Map<ConfigurationLocation, CheckStyleChecker> checkers = new LinkedHashMap<>();
+            configurationLocations.stream()
                     .filter(not(ConfigurationLocation::isBlocked))
-                    .map(configurationLocation -> checkerFactory(psiFile.getProject())
-                            .checker(module, configurationLocation)
-                            .map(checker -> checker.scan(scannableFiles, pluginConfiguration.isSuppressErrors()))
-                            .map(results -> results.get(psiFile))
-                            .map(this::dropIgnoredProblems)
-                            .orElse(NO_PROBLEMS_FOUND)
-                    )
+                    .forEach(configurationLocation -> checkerFactory(psiFile.getProject())
+                            .checker(module, configurationLocation, tier)
+                            .filter(checker -> checker.processes(psiFile))
+                            .ifPresent(checker -> checkers.put(configurationLocation, checker)));
+
+            return MultiLocationScan.scan(checkers, scannableFiles, pluginConfiguration.isSuppressErrors())
+                    .values().stream()
+                    .map(results -> results.get(psiFile))
+                    .filter(Objects::nonNull)
+                    .map(this::dropIgnoredProblems)
                     .flatMap(List::stream)
                     .distinct()
                     .collect(toList());
@@ -89,17 +89,34 @@ public class CheckstyleClassLoaderContainer {
         classLoader = buildClassLoaderFromPaths(downloadedJars, emptyListIfNull(thirdPartyClassPath));
     }
 
+    /**
+     * Wrap an existing Checkstyle class loader, e.g. one shared via {@link CheckstyleClassLoaderRegistry}.
+     *
+     * @param project                  the current project.
+     * @param checkstyleProjectService the project's Checkstyle service.
+     * @param classLoader              a class loader previously created by this class.
+     */
+    CheckstyleClassLoaderContainer(@NotNull final Project project,
+                                   @NotNull final CheckstyleProjectService checkstyleProjectService,
+                                   @NotNull final ClassLoader classLoader) {
+        this.project = project;
+        this.checkstyleProjectService = checkstyleProjectService;
+        this.classLoader = classLoader;
+    }
+
     @NotNull
     private ClassLoader buildClassLoaderFromPaths(@NotNull final List<Path> jars,
                                                   @NotNull final List<URL> thirdPartyClasspath) {
         try {
             final List<URL> urls = new ArrayList<>();
-            urls.add(getCsaccessClassesUrl());
+            final URL csaccessClassesUrl = getCsaccessClassesUrl();
+            urls.add(csaccessClassesUrl);
             for (final Path jar : jars) {
                 urls.add(jar.toUri().toURL());
             }
             urls.addAll(thirdPartyClasspath);
-            return new ChildFirstURLClassLoader(urls.toArray(new URL[0]), getClass().getClassLoader());
+            return new ChildFirstURLClassLoader(urls.toArray(new URL[0]), getClass().getClassLoader(),
+                    Set.of(csaccessClassesUrl));
         } catch (MalformedURLException e) {
             throw new CheckStylePluginException("Failed to build classloader from downloaded JARs", e);
         }
@@ -144,8 +161,10 @@ public class CheckstyleClassLoaderContainer {
 
         urls.addAll(thirdPartyClasspath);
 
-        // The plugin classloader is the new classloader's parent classloader.
-        final ChildFirstURLClassLoader newClassLoader = new ChildFirstURLClassLoader(urls.toArray(new URL[0]), getClass().getClassLoader());
+        // The plugin classloader is the new classloader's parent classloader. The plugin's own classes come first,
+        // and do not change while it is loaded.
+        final ChildFirstURLClassLoader newClassLoader = new ChildFirstURLClassLoader(urls.toArray(new URL[0]),
+                getClass().getClassLoader(), Set.of(urls.getFirst()));
         if (weAreDebuggingADifferentVersionOfIdea(newClassLoader)) {
             // if we're debugging from another version of IDEA then child-first will do nasty things to the IDEA classpath
             Notifications.showWarning(project, message("plugin.debugging"));
@@ -0,0 +1,210 @@
+package org.infernus.idea.checkstyle;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.Application;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.util.Disposer;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.lang.ref.Cleaner;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+
+/**
+ * Shares Checkstyle class loaders between all open projects. Registered in {@code plugin.xml}.
+ * <p>
+ * Projects using the same Checkstyle version with the same third-party classpath receive the same class loader, so
+ * the Checkstyle class graph is only loaded once per application. Loaders are reference counted: each holder obtains
+ * a {@link Lease}, and the loader is dropped from the registry once the last lease is released. Leases are also
+ * released when their owner is garbage collected, so short-lived owners cannot pin a loader forever.
+ * <p>
+ * Released loaders are not closed, as checkers created from them may still be in use; they are left to the GC. What
+ * was started from a loader, such as worker processes, is tied to {@link #disposableFor(ClassLoader)}, and so is
+ * stopped once the loader is dropped or the application closes.
+ */
+public class CheckstyleClassLoaderRegistry implements Disposable {
+
+    private static final Logger LOG = Logger.getInstance(CheckstyleClassLoaderRegistry.class);
+
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    /**
+     * Used when no application is available, i.e. in unit tests.
+     */
+    private static final CheckstyleClassLoaderRegistry DETACHED_INSTANCE = new CheckstyleClassLoaderRegistry();
+
+    private final Map<Key, SharedClassLoader> classLoaders = new HashMap<>();
+
+    @NotNull
+    public static CheckstyleClassLoaderRegistry getInstance() {
+        final Application application = ApplicationManager.getApplication();
+        if (application != null) {
+            return application.getService(CheckstyleClassLoaderRegistry.class);
+        }
+        return DETACHED_INSTANCE;
+    }
+
+    /**
+     * Obtain a class loader for the given Checkstyle version and third-party classpath, creating it if required.
+     *
+     * @param owner               the object holding the lease; the lease is released if it is garbage collected.
+     * @param checkstyleVersion   the Checkstyle version the loader provides.
+     * @param thirdPartyClasspath the third-party classpath of the loader.
+     * @param classLoaderFactory  creates the loader if no matching loader is registered.
+     * @return a lease on the class loader, which must be released when no longer required.
+     */
+    @NotNull
+    public Lease acquire(@NotNull final Object owner,
+                         @NotNull final String checkstyleVersion,
+                         @NotNull final List<URL> thirdPartyClasspath,
+                         @NotNull final Supplier<ClassLoader> classLoaderFactory) {
+        final Key key = new Key(checkstyleVersion, thirdPartyClasspath.stream()
+                .map(CheckstyleClassLoaderRegistry::normalise)
+                .toList());
+
+        final SharedClassLoader sharedClassLoader;
+        synchronized (classLoaders) {
+            SharedClassLoader existing = classLoaders.get(key);
+            if (existing == null) {
+                LOG.debug("Creating shared class loader for ", key);
+                existing = new SharedClassLoader(classLoaderFactory.get(), Disposer.newDisposable(this, key.toString()));
+                classLoaders.put(key, existing);
+            }
+            existing.references++;
+            sharedClassLoader = existing;
+        }
+
+        return new Lease(sharedClassLoader.classLoader,
+                CLEANER.register(owner, new Release(this, key, sharedClassLoader)));
+    }
+
+    /**
+     * The parent of anything started from a class loader which must be stopped once the loader is no longer used.
+     *
+     * @param classLoader a class loader obtained from this registry.
+     * @return a disposable which is disposed when the loader is dropped, or the registry itself if the loader is not
+     * registered.
+     */
+    @NotNull
+    public Disposable disposableFor(@NotNull final ClassLoader classLoader) {
+        synchronized (classLoaders) {
+            for (final SharedClassLoader sharedClassLoader : classLoaders.values()) {
+                if (sharedClassLoader.classLoader == classLoader) {
+                    return sharedClassLoader.disposable;
+                }
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public void dispose() {
+        // the loaders' disposables are children of the registry, and so are disposed with it
+        synchronized (classLoaders) {
+            classLoaders.clear();
+        }
+    }
+
+    int activeClassLoaderCount() {
+        synchronized (classLoaders) {
+            return classLoaders.size();
+        }
+    }
+
+    private void release(@NotNull final Key key, @NotNull final SharedClassLoader sharedClassLoader) {
+        synchronized (classLoaders) {
+            if (classLoaders.get(key) != sharedClassLoader) {
+                return;
+            }
+            if (--sharedClassLoader.references > 0) {
+                return;
+            }
+            LOG.debug("Last lease released; dropping shared class loader for ", key);
+            classLoaders.remove(key);
+        }
+        Disposer.dispose(sharedClassLoader.disposable);
+    }
+
+    /**
+     * Third-party entries are keyed by normalised path, size and modification time, so that a rebuilt JAR at the
+     * same path is not served from a stale loader.
+     */
+    @NotNull
+    private static String normalise(@NotNull final URL url) {
+        if ("file".equals(url.getProtocol())) {
+            try {
+                final Path path = Paths.get(url.toURI()).toAbsolutePath().normalize();
+                if (Files.isRegularFile(path)) {
+                    return path + "@" + Files.size(path) + ":" + Files.getLastModifiedTime(path).toMillis();
+                }
+                return path.toString();
+            } catch (URISyntaxException | IOException | IllegalArgumentException e) {
+                LOG.debug("Could not normalise classpath entry " + url, e);
+            }
+        }
+        return url.toExternalForm();
+    }
+
+    /**
+     * A claim on a shared class loader.
+     */
+    public static final class Lease {
+        private final ClassLoader classLoader;
+        private final Cleaner.Cleanable cleanable;
+
+        private Lease(@NotNull final ClassLoader classLoader,
+                      @NotNull final Cleaner.Cleanable cleanable) {
+            this.classLoader = classLoader;
+            this.cleanable = cleanable;
+        }
+
+        @NotNull
+        public ClassLoader getClassLoader() {
+            return classLoader;
+        }
+
+        /**
+         * Release the lease. Subsequent calls have no effect.
+         */
+        public void release() {
+            cleanable.clean();
+        }
+    }
+
+    private record Key(@NotNull String checkstyleVersion, @NotNull List<String> thirdPartyClasspath) {
+    }
+
+    private static final class SharedClassLoader {
+        private final ClassLoader classLoader;
+        private final Disposable disposable;
+        private int references;
+
+        SharedClassLoader(@NotNull final ClassLoader classLoader,
+                          @NotNull final Disposable disposable) {
+            this.classLoader = classLoader;
+            this.disposable = disposable;
+        }
+    }
+
+    /**
+     * Must not reference the lease owner, otherwise the owner can never become unreachable.
+     */
+    private record Release(@NotNull CheckstyleClassLoaderRegistry registry,
+                           @NotNull Key key,
+                           @NotNull SharedClassLoader sharedClassLoader) implements Runnable {
+        @Override
+        public void run() {
+            registry.release(key, sharedClassLoader);
+        }
+    }
+}
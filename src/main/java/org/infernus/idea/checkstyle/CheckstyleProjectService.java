@@ -1,5 +1,6 @@
 package org.infernus.idea.checkstyle;
 
+import com.intellij.openapi.Disposable;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.project.Project;
 import org.infernus.idea.checkstyle.checker.ClasspathStabilizer;
@@ -21,13 +22,15 @@ import java.util.List;
 import java.util.Optional;
 import java.util.SortedSet;
 import java.util.concurrent.Callable;
+import java.util.function.Supplier;
 
 
 /**
  * Makes the Checkstyle tool available to the plugin in the correct version. Registered in {@code plugin.xml}.
- * This must be a project-level service because the Checkstyle version is chosen per project.
+ * This must be a project-level service because the Checkstyle version is chosen per project; the underlying class
+ * loaders are shared between projects via {@link CheckstyleClassLoaderRegistry}.
  */
-public class CheckstyleProjectService {
+public class CheckstyleProjectService implements Disposable {
 
     private static final Logger LOG = Logger.getInstance(CheckstyleProjectService.class);
 
@@ -36,6 +39,7 @@ public class CheckstyleProjectService {
 
     private Callable<CheckstyleClassLoaderContainer> checkstyleClassLoaderFactory = null;
     private CheckstyleClassLoaderContainer checkstyleClassLoaderContainer = null;
+    private CheckstyleClassLoaderRegistry.Lease classLoaderLease = null;
 
     private final VersionListReader versionListReader;
     private final SortedSet<String> supportedVersions;
@@ -126,36 +130,77 @@ public class CheckstyleProjectService {
         boolean isBundled = versionListReader.isBundled(checkstyleVersionToLoad);
         boolean copyLibs = pluginConfigurationManager(project).getCurrent().isCopyLibs();
         synchronized (lock) {
-            checkstyleClassLoaderContainer = null;
+            releaseClassLoader();
             checkstyleClassLoaderFactory = () -> {
                 List<URL> thirdPartyUrls = resolveThirdPartyUrls(thirdPartyJars, copyLibs);
+                final ClassLoader classLoader;
                 if (isBundled) {
-                    return new CheckstyleClassLoaderContainer(
-                            project, this, checkstyleVersionToLoad, thirdPartyUrls);
+                    classLoader = sharedClassLoader(checkstyleVersionToLoad, thirdPartyUrls, () ->
+                            new CheckstyleClassLoaderContainer(
+                                    project, this, checkstyleVersionToLoad, thirdPartyUrls).getClassLoader());
                 } else {
                     if (downloader == null) {
                         throw new CheckStylePluginException(
                                 "Checkstyle " + checkstyleVersionToLoad + " is not bundled and has not been downloaded");
                     }
+                    final List<Path> downloadedJars;
                     try {
-                        return new CheckstyleClassLoaderContainer(
-                                project, this, downloader.download(checkstyleVersionToLoad), thirdPartyUrls);
+                        downloadedJars = downloader.download(checkstyleVersionToLoad);
                     } catch (CheckstyleDownloadException e) {
                         throw new CheckStylePluginException(
                                 "Failed to download Checkstyle " + checkstyleVersionToLoad + ": " + e.getMessage(), e);
                     }
+                    classLoader = sharedClassLoader(checkstyleVersionToLoad, thirdPartyUrls, () ->
+                            new CheckstyleClassLoaderContainer(
+                                    project, this, downloadedJars, thirdPartyUrls).getClassLoader());
                 }
+                return new CheckstyleClassLoaderContainer(project, this, classLoader);
             };
         }
     }
 
+    /**
+     * Called from the class loader factory under {@link #lock}. The factory runs again if creating the container
+     * failed after the lease was acquired, so any earlier lease is released once the new one is held, which keeps a
+     * loader shared by both from being dropped in between.
+     */
+    @NotNull
+    private ClassLoader sharedClassLoader(@NotNull final String checkstyleVersion,
+                                          @NotNull final List<URL> thirdPartyUrls,
+                                          @NotNull final Supplier<ClassLoader> classLoaderFactory) {
+        final CheckstyleClassLoaderRegistry.Lease lease = CheckstyleClassLoaderRegistry.getInstance()
+                .acquire(this, checkstyleVersion, thirdPartyUrls, classLoaderFactory);
+        if (classLoaderLease != null) {
+            classLoaderLease.release();
+        }
+        classLoaderLease = lease;
+        return lease.getClassLoader();
+    }
+
+    private void releaseClassLoader() {
+        checkstyleClassLoaderContainer = null;
+        if (classLoaderLease != null) {
+            classLoaderLease.release();
+            classLoaderLease = null;
+        }
+    }
+
+    @Override
+    public void dispose() {
+        synchronized (lock) {
+            releaseClassLoader();
+        }
+    }
+
     @NotNull
     private List<URL> resolveThirdPartyUrls(@Nullable final List<String> jarFilePaths, final boolean copyLibs) {
         List<URL> urls = toListOfUrls(jarFilePaths);
         if (copyLibs && !urls.isEmpty()) {
             Optional<File> copyDir = tempDirProvider.forCopiedLibraries(project);
-            if (copyDir.isPresent()) {
-                return Arrays.asList(new ClasspathStabilizer(project, copyDir.get().toPath()).stabilize(urls));
+            Optional<File> jarStoreDir = tempDirProvider.forSharedJarStore();
+            if (copyDir.isPresent() && jarStoreDir.isPresent()) {
+                return Arrays.asList(new ClasspathStabilizer(project, copyDir.get().toPath(),
+                        jarStoreDir.get().toPath()).stabilize(urls));
             }
         }
         return urls;
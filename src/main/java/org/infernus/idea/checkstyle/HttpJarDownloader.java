@@ -1,8 +1,11 @@
 package org.infernus.idea.checkstyle;
 
+import org.infernus.idea.checkstyle.util.IoExecutor;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
@@ -10,12 +13,36 @@ import java.net.http.HttpResponse;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 
+/**
+ * Downloads JARs over HTTP, hashing the content as it is streamed to disk.
+ * <p>
+ * Content is written to a {@code .part} file beside the target, which is moved into place once complete. If an
+ * earlier download was interrupted, the partial file is resumed with a {@code Range} request.
+ * <p>
+ * Downloads hold one of the {@link IoExecutor} permits for their host, so that parallel downloads do not flood it.
+ */
 public class HttpJarDownloader implements ManifestBasedArtifactResolver.JarDownloader {
 
     private static final Duration TIMEOUT = Duration.ofMinutes(5);
+    private static final String PARTIAL_SUFFIX = ".part";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int HTTP_OK = 200;
+    private static final int HTTP_PARTIAL_CONTENT = 206;
+    private static final int HTTP_RANGE_NOT_SATISFIABLE = 416;
+
+    private static final ConcurrentMap<Path, Lock> DOWNLOAD_LOCKS = new ConcurrentHashMap<>();
 
     private final HttpClient httpClient;
 
@@ -27,24 +54,119 @@ public class HttpJarDownloader implements ManifestBasedArtifactResolver.JarDownl
     }
 
     @Override
-    public void download(@NotNull final String url, @NotNull final Path target) throws IOException {
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .timeout(TIMEOUT)
-                .GET()
-                .build();
-        Path tmp = Files.createTempFile(target.getParent(), ".download-", ".part");
+    @NotNull
+    public String download(@NotNull final String url, @NotNull final Path target) throws IOException {
+        final URI uri = URI.create(url);
+        // a lock rather than a monitor, as a virtual thread blocked in a monitor pins its carrier thread
+        final Lock downloadLock = DOWNLOAD_LOCKS.computeIfAbsent(target.toAbsolutePath(), key -> new ReentrantLock());
+        downloadLock.lock();
+        try {
+            return IoExecutor.fromHost(uri.getHost(), () -> downloadTo(uri, target));
+        } finally {
+            downloadLock.unlock();
+        }
+    }
+
+    @NotNull
+    private String downloadTo(@NotNull final URI uri, @NotNull final Path target) throws IOException {
+        final Path partial = partialFileFor(target);
+        final MessageDigest digest = sha256();
+        final long resumeFrom = primeWithPartialContent(partial, digest);
+
         try {
-            HttpResponse<Path> response = httpClient.send(request, HttpResponse.BodyHandlers.ofFile(tmp));
-            if (response.statusCode() != 200) {
-                throw new IOException("HTTP " + response.statusCode() + " downloading " + url);
+            final HttpResponse<InputStream> response = httpClient.send(
+                    requestFor(uri, resumeFrom), HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                final int status = response.statusCode();
+                if (resumeFrom > 0 && (status == HTTP_RANGE_NOT_SATISFIABLE
+                        || status == HTTP_PARTIAL_CONTENT && !resumesAt(response, resumeFrom))) {
+                    Files.deleteIfExists(partial);
+                    return downloadTo(uri, target);
+                }
+
+                final boolean append = resumeFrom > 0 && status == HTTP_PARTIAL_CONTENT;
+                if (status != HTTP_OK && !append) {
+                    Files.deleteIfExists(partial);
+                    throw new IOException("HTTP " + status + " downloading " + uri);
+                }
+                if (!append) {
+                    digest.reset();
+                }
+                writeTo(partial, body, append, digest);
             }
-            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return HexFormat.of().formatHex(digest.digest());
+
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            throw new IOException("Download interrupted: " + url, e);
-        } finally {
-            Files.deleteIfExists(tmp);
+            throw new IOException("Download interrupted: " + uri, e);
+        }
+    }
+
+    @NotNull
+    static Path partialFileFor(@NotNull final Path target) {
+        return target.resolveSibling(target.getFileName() + PARTIAL_SUFFIX);
+    }
+
+    @NotNull
+    private HttpRequest requestFor(@NotNull final URI uri, final long resumeFrom) {
+        final HttpRequest.Builder request = HttpRequest.newBuilder()
+                .uri(uri)
+                .timeout(TIMEOUT)
+                .GET();
+        if (resumeFrom > 0) {
+            request.header("Range", "bytes=" + resumeFrom + "-");
+        }
+        return request.build();
+    }
+
+    private boolean resumesAt(@NotNull final HttpResponse<?> response, final long resumeFrom) {
+        return response.headers().firstValue("Content-Range")
+                .map(range -> range.startsWith("bytes " + resumeFrom + "-"))
+                .orElse(false);
+    }
+
+    private long primeWithPartialContent(@NotNull final Path partial,
+                                         @NotNull final MessageDigest digest) throws IOException {
+        if (!Files.isRegularFile(partial)) {
+            return 0;
+        }
+
+        long length = 0;
+        try (InputStream in = Files.newInputStream(partial)) {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+                length += read;
+            }
+        }
+        return length;
+    }
+
+    private void writeTo(@NotNull final Path partial,
+                         @NotNull final InputStream body,
+                         final boolean append,
+                         @NotNull final MessageDigest digest) throws IOException {
+        final StandardOpenOption mode = append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING;
+        try (OutputStream out = Files.newOutputStream(partial,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode)) {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    @NotNull
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
         }
     }
 }
@@ -1,22 +1,39 @@
 package org.infernus.idea.checkstyle;
 
 import org.infernus.idea.checkstyle.exception.CheckstyleDownloadException;
+import org.infernus.idea.checkstyle.util.IoExecutor;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.HexFormat;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 
 public class ManifestBasedArtifactResolver implements CheckstyleArtifactDownloader.ArtifactResolver {
 
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+
     public interface JarDownloader {
-        void download(String url, Path target) throws IOException;
+        /**
+         * Download the given URL to the target path. The target must only appear once the download is complete.
+         *
+         * @param url    the URL to fetch.
+         * @param target the final location of the file.
+         * @return the SHA-256 of the downloaded content as hex, if calculated while downloading; otherwise null.
+         * @throws IOException if the download fails.
+         */
+        @Nullable
+        String download(String url, Path target) throws IOException;
     }
 
     private final DownloadManifest manifest;
@@ -41,11 +58,33 @@ public class ManifestBasedArtifactResolver implements CheckstyleArtifactDownload
             throw new CheckstyleDownloadException("No manifest entry found for Checkstyle " + version);
         }
 
-        List<Path> paths = new ArrayList<>();
-        for (ManifestEntry entry : entries) {
-            paths.add(ensureJar(entry));
+        // the downloads run on virtual threads; the downloader limits the connections to each host
+        final List<Future<Path>> pendingJars = new ArrayList<>();
+        try {
+            for (ManifestEntry entry : entries) {
+                pendingJars.add(IoExecutor.supply(() -> ensureJar(entry)));
+            }
+
+            List<Path> paths = new ArrayList<>();
+            for (Future<Path> pendingJar : pendingJars) {
+                paths.add(resultOf(pendingJar));
+            }
+            return paths;
+
+        } finally {
+            pendingJars.forEach(pendingJar -> pendingJar.cancel(true));
+        }
+    }
+
+    private Path resultOf(@NotNull final Future<Path> pendingJar) throws Exception {
+        try {
+            return pendingJar.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
         }
-        return paths;
     }
 
     private Path ensureJar(@NotNull final ManifestEntry entry) throws IOException {
@@ -54,8 +93,10 @@ public class ManifestBasedArtifactResolver implements CheckstyleArtifactDownload
             return target;
         }
         Files.createDirectories(target.getParent());
-        jarDownloader.download(entry.mavenCentralUrl(), target);
-        String actualHex = sha256Hex(target);
+        String actualHex = jarDownloader.download(entry.mavenCentralUrl(), target);
+        if (actualHex == null) {
+            actualHex = sha256Hex(target);
+        }
         if (!entry.sha256hex().equalsIgnoreCase(actualHex)) {
             Files.deleteIfExists(target);
             throw new CheckstyleDownloadException(
@@ -70,11 +111,19 @@ public class ManifestBasedArtifactResolver implements CheckstyleArtifactDownload
     }
 
     private static String sha256Hex(@NotNull final Path file) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            return HexFormat.of().formatHex(digest.digest(Files.readAllBytes(file)));
+        try (DigestInputStream in = new DigestInputStream(Files.newInputStream(file),
+                MessageDigest.getInstance("SHA-256"))) {
+            drain(in);
+            return HexFormat.of().formatHex(in.getMessageDigest().digest());
         } catch (IOException | NoSuchAlgorithmException e) {
             return null;
         }
     }
+
+    private static void drain(@NotNull final InputStream in) throws IOException {
+        final byte[] buffer = new byte[HASH_BUFFER_SIZE];
+        //noinspection StatementWithEmptyBody
+        while (in.read(buffer) != -1) {
+        }
+    }
 }
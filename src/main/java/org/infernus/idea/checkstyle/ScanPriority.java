@@ -0,0 +1,38 @@
+package org.infernus.idea.checkstyle;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The priority of a scan requested from the {@link StaticScanner}, highest first.
+ */
+public enum ScanPriority {
+
+    CURRENT_FILE("plugin.toolwindow.scan-queue.current-file"),
+    CHANGELIST("plugin.toolwindow.scan-queue.changelist"),
+    MODULE("plugin.toolwindow.scan-queue.module"),
+    PROJECT("plugin.toolwindow.scan-queue.project"),
+    /**
+     * Scans made while the IDE is idle, by the {@link BackgroundScanner}. These are not shown to the user as queued
+     * and are not stopped with user scans.
+     */
+    BACKGROUND("plugin.toolwindow.scan-queue.background");
+
+    private final String descriptionKey;
+
+    ScanPriority(@NotNull final String descriptionKey) {
+        this.descriptionKey = descriptionKey;
+    }
+
+    @NotNull
+    public String getDescription() {
+        return CheckStyleBundle.message(descriptionKey);
+    }
+
+    public boolean isBackground() {
+        return this == BACKGROUND;
+    }
+
+    public boolean isHigherThan(@NotNull final ScanPriority other) {
+        return ordinal() < other.ordinal();
+    }
+}
@@ -0,0 +1,119 @@
+package org.infernus.idea.checkstyle;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import org.infernus.idea.checkstyle.checker.ScanProgress;
+import org.infernus.idea.checkstyle.checker.ScannerListener;
+import org.infernus.idea.checkstyle.model.ConfigurationLocation;
+import org.infernus.idea.checkstyle.model.ScanResult;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+
+/**
+ * A scan waiting for, or running in, the {@link StaticScanner}.
+ */
+final class ScanRequest {
+
+    static final Comparator<ScanRequest> BY_PRIORITY = Comparator
+            .comparing(ScanRequest::priority)
+            .thenComparingLong(ScanRequest::sequence);
+
+    private final List<VirtualFile> files;
+    private final ConfigurationLocation overrideConfigLocation;
+    private final ScanPriority priority;
+    private final boolean replaceable;
+    private final long sequence;
+    private final List<ScannerListener> listeners;
+    private final CompletableFuture<List<ScanResult>> result = new CompletableFuture<>();
+    private final ScanProgress progress = new ScanProgress();
+
+    /**
+     * Create a request.
+     *
+     * @param files                  the files, or directories of files, to scan.
+     * @param overrideConfigLocation the configuration to scan with, if not the default.
+     * @param priority               the priority of the scan.
+     * @param replaceable            whether the scan may be dropped in favour of another which covers it. This is
+     *                               only true when nothing but the tool window will see the result.
+     * @param sequence               the order the request was made in.
+     * @param listeners              listeners for the scan's progress.
+     */
+    ScanRequest(@NotNull final List<VirtualFile> files,
+                @Nullable final ConfigurationLocation overrideConfigLocation,
+                @NotNull final ScanPriority priority,
+                final boolean replaceable,
+                final long sequence,
+                @NotNull final List<ScannerListener> listeners) {
+        this.files = List.copyOf(files);
+        this.overrideConfigLocation = overrideConfigLocation;
+        this.priority = priority;
+        this.replaceable = replaceable;
+        this.sequence = sequence;
+        this.listeners = List.copyOf(listeners);
+    }
+
+    @NotNull
+    List<VirtualFile> files() {
+        return files;
+    }
+
+    @Nullable
+    ConfigurationLocation overrideConfigLocation() {
+        return overrideConfigLocation;
+    }
+
+    @NotNull
+    ScanPriority priority() {
+        return priority;
+    }
+
+    long sequence() {
+        return sequence;
+    }
+
+    @NotNull
+    List<ScannerListener> listeners() {
+        return listeners;
+    }
+
+    @NotNull
+    CompletableFuture<List<ScanResult>> result() {
+        return result;
+    }
+
+    /**
+     * @return the progress of the request's runs, so that a run which follows a pre-empted one carries on from it.
+     */
+    @NotNull
+    ScanProgress progress() {
+        return progress;
+    }
+
+    /**
+     * Would running this request make the other one pointless?
+     *
+     * @param other another request.
+     * @return true if both are replaceable, use the same configuration, and this scans every file the other does.
+     */
+    boolean canReplace(@NotNull final ScanRequest other) {
+        return replaceable && other.replaceable
+                && Objects.equals(overrideConfigLocation, other.overrideConfigLocation)
+                && other.files.stream().allMatch(this::covers);
+    }
+
+    private boolean covers(@NotNull final VirtualFile file) {
+        for (final VirtualFile root : files) {
+            for (VirtualFile current = file; current != null; current = current.getParent()) {
+                if (current.equals(root)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -1,5 +1,7 @@
 package org.infernus.idea.checkstyle;
 
+import com.intellij.openapi.application.Application;
+import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
@@ -8,79 +10,70 @@ import org.infernus.idea.checkstyle.checker.*;
 import org.infernus.idea.checkstyle.exception.CheckStylePluginException;
 import org.infernus.idea.checkstyle.model.ConfigurationLocation;
 import org.infernus.idea.checkstyle.model.ScanResult;
+import org.infernus.idea.checkstyle.toolwindow.CheckStyleToolWindowPanel;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-import java.util.concurrent.Future;
+import java.util.concurrent.CompletableFuture;
 
 import static org.infernus.idea.checkstyle.util.Async.NO_TIMEOUT;
-import static org.infernus.idea.checkstyle.util.Async.executeOnPooledThread;
+import static org.infernus.idea.checkstyle.util.Async.supplyOnPooledThread;
 import static org.infernus.idea.checkstyle.util.Async.whenFinished;
 
+/**
+ * Runs scans requested by the user, one at a time, in order of {@link ScanPriority}.
+ * <p>
+ * A new request pre-empts a running scan of lower priority, which is queued again, and carries on from the files it
+ * had finished when it runs again. A request whose files are all
+ * covered by a queued request of at least the same priority is dropped, and queued or running requests whose files
+ * are all covered by a new request are cancelled.
+ */
 public class StaticScanner {
     private static final Logger LOG = com.intellij.openapi.diagnostic.Logger.getInstance(StaticScanner.class);
 
-    private final Set<Future<?>> checksInProgress = new HashSet<>();
+    private final Object lock = new Object();
+    private final PriorityQueue<ScanRequest> pendingScans = new PriorityQueue<>(ScanRequest.BY_PRIORITY);
     private final Project project;
 
+    private RunningScan runningScan;
+    private long nextSequence;
+
     public StaticScanner(@NotNull final Project project) {
         this.project = project;
     }
 
     /**
-     * Is a scan in progress?
-     * <p>
-     * This is only expected to be called from the event thread.
+     * Is a scan requested by the user running or queued? Background scans are not counted.
      *
      * @return true if a scan is in progress.
      */
     public boolean isScanInProgress() {
-        synchronized (checksInProgress) {
-            return !checksInProgress.isEmpty();
-        }
-    }
-
-    private <T> Future<T> checkInProgress(final Future<T> checkFuture) {
-        synchronized (checksInProgress) {
-            if (!checkFuture.isDone()) {
-                checksInProgress.add(checkFuture);
-            }
-        }
-        return checkFuture;
-    }
-
-    private Future<List<ScanResult>> addToProgressAndRegisterListener(final Future<List<ScanResult>> checkFuture,
-                                                                       final ScanFiles checker) {
-        // Both operations share the same lock: checkComplete() (called by ScanCompletionTracker) also
-        // synchronizes on checksInProgress, so it cannot execute between our isDone() check and the
-        // listener registration, eliminating the race where the future could be stranded in the set.
-        synchronized (checksInProgress) {
-            checker.addListener(new ScanCompletionTracker(checkFuture));
-            if (!checkFuture.isDone()) {
-                checksInProgress.add(checkFuture);
-            }
+        synchronized (lock) {
+            return runningScan != null && !runningScan.request.priority().isBackground()
+                    || pendingScans.stream().anyMatch(request -> !request.priority().isBackground());
         }
-        return checkFuture;
     }
 
+    /**
+     * Stop the scans requested by the user. Background scans carry on.
+     */
     public void stopChecks() {
-        synchronized (checksInProgress) {
-            checksInProgress.forEach(task -> task.cancel(true));
-            checksInProgress.clear();
-        }
-    }
-
-    private <T> void checkComplete(final Future<T> task) {
-        if (task == null) {
-            return;
-        }
-
-        synchronized (checksInProgress) {
-            checksInProgress.remove(task);
+        final List<ScanRequest> stoppedScans = new ArrayList<>();
+        synchronized (lock) {
+            stoppedScans.addAll(pendingScans);
+            if (runningScan != null) {
+                stoppedScans.add(runningScan.request);
+            }
         }
+        stoppedScans.stream()
+                .filter(request -> !request.priority().isBackground())
+                .forEach(request -> request.result().cancel(false));
     }
 
-    public void asyncScanFiles(final List<VirtualFile> files, final ConfigurationLocation overrideConfigLocation) {
+    public void asyncScanFiles(final List<VirtualFile> files,
+                               final ConfigurationLocation overrideConfigLocation,
+                               @NotNull final ScanPriority priority) {
         LOG.debug("Scanning current file(s).");
 
         if (files == null || files.isEmpty()) {
@@ -88,9 +81,7 @@ public class StaticScanner {
             return;
         }
 
-        final ScanFiles checkFiles = new ScanFiles(project, files, overrideConfigLocation);
-        checkFiles.addListener(new UiFeedbackScannerListener(project));
-        runAsyncCheck(checkFiles);
+        schedule(files, overrideConfigLocation, priority, true, List.of(new UiFeedbackScannerListener(project)));
     }
 
     public List<ScanResult> scanFiles(@NotNull final List<VirtualFile> files) {
@@ -99,41 +90,249 @@ public class StaticScanner {
         }
 
         try {
-            return whenFinished(runAsyncCheck(new ScanFiles(project, files, null)), NO_TIMEOUT).get();
+            return whenFinished(schedule(files, null, ScanPriority.CHANGELIST, false, List.of()), NO_TIMEOUT).get();
         } catch (final Throwable e) {
             LOG.warn("Error scanning files", e);
             return List.of(ScanResult.EMPTY);
         }
     }
 
-    private Future<List<ScanResult>> runAsyncCheck(final ScanFiles checker) {
-        return addToProgressAndRegisterListener(executeOnPooledThread(checker), checker);
+    /**
+     * Scan files once nothing else is waiting, without reporting to the tool window.
+     *
+     * @param files the files to scan.
+     * @return the future results of the scan, which is cancelled if the scan is withdrawn.
+     */
+    @NotNull
+    public CompletableFuture<List<ScanResult>> backgroundScanFiles(@NotNull final List<VirtualFile> files) {
+        return schedule(files, null, ScanPriority.BACKGROUND, false, List.of());
+    }
+
+    /**
+     * The priorities of the queued user scans, in the order they will run.
+     *
+     * @return the priorities of the queued scans.
+     */
+    @NotNull
+    public List<ScanPriority> queuedScans() {
+        synchronized (lock) {
+            return pendingScans.stream()
+                    .sorted(ScanRequest.BY_PRIORITY)
+                    .map(ScanRequest::priority)
+                    .filter(priority -> !priority.isBackground())
+                    .toList();
+        }
     }
 
-    private class ScanCompletionTracker implements ScannerListener {
+    private CompletableFuture<List<ScanResult>> schedule(@NotNull final List<VirtualFile> files,
+                                                         @Nullable final ConfigurationLocation overrideConfigLocation,
+                                                         @NotNull final ScanPriority priority,
+                                                         final boolean replaceable,
+                                                         @NotNull final List<ScannerListener> listeners) {
+        final List<ScanRequest> replacedScans = new ArrayList<>();
+        final ScanRequest request;
+        synchronized (lock) {
+            request = new ScanRequest(files, overrideConfigLocation, priority, replaceable, nextSequence++, listeners);
+
+            for (final ScanRequest pendingScan : pendingScans) {
+                if (pendingScan.canReplace(request) && !priority.isHigherThan(pendingScan.priority())) {
+                    LOG.debug("Scan is covered by a queued scan, skipping: " + files);
+                    return pendingScan.result();
+                }
+            }
+
+            for (final Iterator<ScanRequest> pending = pendingScans.iterator(); pending.hasNext(); ) {
+                final ScanRequest pendingScan = pending.next();
+                if (request.canReplace(pendingScan)) {
+                    replacedScans.add(pendingScan);
+                    pending.remove();
+                }
+            }
 
-        private final Future<List<ScanResult>> future;
+            if (runningScan != null) {
+                if (request.canReplace(runningScan.request)) {
+                    replacedScans.add(runningScan.request);
+                    stopRunningScan();
+                } else if (priority.isHigherThan(runningScan.request.priority())) {
+                    LOG.debug("Pre-empting running scan of priority " + runningScan.request.priority());
+                    pendingScans.add(runningScan.request);
+                    stopRunningScan();
+                }
+            }
 
-        ScanCompletionTracker(final Future<List<ScanResult>> future) {
-            this.future = future;
+            pendingScans.add(request);
+            startNextScan();
+        }
+
+        replacedScans.forEach(replacedScan -> replacedScan.result().cancel(false));
+        request.result().whenComplete((results, error) -> {
+            if (request.result().isCancelled()) {
+                withdraw(request);
+            }
+        });
+        scanQueueChanged();
+        return request.result();
+    }
+
+    private void withdraw(@NotNull final ScanRequest request) {
+        boolean reportsCancellation = false;
+        synchronized (lock) {
+            pendingScans.remove(request);
+            if (runningScan != null && runningScan.request == request) {
+                final RunningScan withdrawnScan = runningScan;
+                runningScan = null;
+                // still reporting, so the scan's listeners learn that it was cancelled
+                withdrawnScan.future.cancel(true);
+                reportsCancellation = true;
+                startNextScan();
+            }
+        }
+
+        if (!reportsCancellation) {
+            // a queued or replaced scan may still hold the parts found by an earlier attempt
+            request.listeners().forEach(ScannerListener::resultsDiscarded);
+        }
+        scanQueueChanged();
+    }
+
+    /**
+     * Must be called while holding the lock.
+     */
+    private void stopRunningScan() {
+        final RunningScan stoppedScan = runningScan;
+        runningScan = null;
+        stoppedScan.reporting = false;
+        stoppedScan.future.cancel(true);
+    }
+
+    /**
+     * Must be called while holding the lock.
+     */
+    private void startNextScan() {
+        if (runningScan != null) {
+            return;
+        }
+        final ScanRequest nextScan = pendingScans.poll();
+        if (nextScan != null) {
+            runningScan = new RunningScan(nextScan);
+            runningScan.start();
+        }
+    }
+
+    private void scanFinished(@NotNull final RunningScan scan,
+                              @Nullable final List<ScanResult> results,
+                              @Nullable final Throwable error) {
+        synchronized (lock) {
+            // otherwise the scan was stopped, and whoever stopped it has moved the queue on
+            if (runningScan == scan) {
+                runningScan = null;
+                startNextScan();
+            }
+        }
+
+        if (!scan.future.isCancelled()) {
+            if (error != null) {
+                scan.request.result().completeExceptionally(error);
+            } else {
+                scan.request.result().complete(results);
+            }
+        }
+        scanQueueChanged();
+    }
+
+    private void scanQueueChanged() {
+        final Application application = ApplicationManager.getApplication();
+        if (application == null) {  // can be null in unit tests
+            return;
+        }
+        application.invokeLater(() -> {
+            final CheckStyleToolWindowPanel toolWindowPanel = CheckStyleToolWindowPanel.panelFor(project);
+            if (toolWindowPanel != null) {
+                toolWindowPanel.displayScanQueue(queuedScans());
+            }
+        }, project.getDisposed());
+    }
+
+    /**
+     * One attempt at running a request. A pre-empted request is run again in a new attempt, which skips the files
+     * earlier attempts finished.
+     */
+    private final class RunningScan {
+
+        private final ScanRequest request;
+
+        private volatile CompletableFuture<List<ScanResult>> future;
+        private volatile boolean reporting = true;
+
+        RunningScan(@NotNull final ScanRequest request) {
+            this.request = request;
+        }
+
+        void start() {
+            future = supplyOnPooledThread(() -> {
+                final ScanFiles scanFiles = new ScanFiles(project, request.files(), request.overrideConfigLocation(),
+                        request.progress());
+                request.listeners().forEach(listener -> scanFiles.addListener(new ReportingListener(this, listener)));
+                return scanFiles.call();
+            });
+            future.whenComplete((results, error) -> scanFinished(this, results, error));
+        }
+    }
+
+    /**
+     * Passes on events while the scan is still wanted, so that a scan being replaced does not overwrite the tool
+     * window after its replacement has started.
+     */
+    private static final class ReportingListener implements ScannerListener {
+
+        private final RunningScan scan;
+        private final ScannerListener delegate;
+
+        ReportingListener(@NotNull final RunningScan scan,
+                          @NotNull final ScannerListener delegate) {
+            this.scan = scan;
+            this.delegate = delegate;
         }
 
         @Override
         public void scanStarting(final List<PsiFile> filesToScan) {
+            if (scan.reporting) {
+                delegate.scanStarting(filesToScan);
+            }
         }
 
         @Override
         public void filesScanned(final int count) {
+            if (scan.reporting) {
+                delegate.filesScanned(count);
+            }
+        }
+
+        @Override
+        public void resultsFound(final List<ScanResult> partResults) {
+            // parts found while pre-empted are still part of the results reported on completion
+            delegate.resultsFound(partResults);
         }
 
         @Override
         public void scanCompletedSuccessfully(final List<ScanResult> scanResults) {
-            checkComplete(future);
+            if (scan.reporting) {
+                delegate.scanCompletedSuccessfully(scanResults);
+            }
         }
 
         @Override
         public void scanFailedWithError(final CheckStylePluginException error) {
-            checkComplete(future);
+            if (scan.reporting) {
+                delegate.scanFailedWithError(error);
+            }
+        }
+
+        @Override
+        public void scanCancelled() {
+            if (scan.reporting) {
+                delegate.scanCancelled();
+            }
         }
     }
 
@@ -0,0 +1,131 @@
+package org.infernus.idea.checkstyle.actions;
+
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.search.scope.packageSet.NamedScope;
+import org.infernus.idea.checkstyle.config.PluginConfiguration;
+import org.infernus.idea.checkstyle.config.PluginConfigurationManager;
+import org.infernus.idea.checkstyle.model.ConfigurationLocation;
+import org.infernus.idea.checkstyle.model.NamedScopeHelper;
+import org.infernus.idea.checkstyle.model.ScanScope;
+import org.infernus.idea.checkstyle.util.FileTypes;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * The file in the editor, and whether it is in the scope of the rules, for the actions on the current file.
+ */
+final class CurrentFile {
+    private CurrentFile() {
+    }
+
+    @Nullable
+    static VirtualFile selectedIn(@NotNull final Project project) {
+        VirtualFile selectedFile = null;
+
+        final Editor selectedTextEditor = FileEditorManager.getInstance(project).getSelectedTextEditor();
+        if (selectedTextEditor != null) {
+            selectedFile = FileDocumentManager.getInstance().getFile(selectedTextEditor.getDocument());
+        }
+
+        if (selectedFile == null) {
+            // this is the preferred solution, but it doesn't respect the focus of split editors at present
+            final VirtualFile[] selectedFiles = FileEditorManager.getInstance(project).getSelectedFiles();
+            if (selectedFiles.length > 0) {
+                selectedFile = selectedFiles[0];
+            }
+        }
+        return selectedFile;
+    }
+
+    static boolean validForScanning(final VirtualFile selectedFile,
+                                    final @NotNull Project project,
+                                    final @Nullable ConfigurationLocation overrideIfExists) {
+        if (selectedFile == null) {
+            return false;
+        }
+
+        final PluginConfiguration pluginConfiguration =
+                project.getService(PluginConfigurationManager.class).getCurrent();
+        if (!isFileValidAgainstScanScope(project, selectedFile, pluginConfiguration.getScanScope())) {
+            return false;
+        }
+
+        final List<NamedScope> namedScopes = getNamedScopesToCheck(pluginConfiguration, overrideIfExists);
+        if (!namedScopes.isEmpty() && namedScopes.stream().map(NamedScope::getValue).allMatch(Objects::isNull)) {
+            return true;
+        }
+
+        return namedScopes.stream()
+                .anyMatch((NamedScope namedScope) -> NamedScopeHelper.isFileInScope(psiFileFor(project, selectedFile), namedScope));
+    }
+
+    @NotNull
+    private static PsiFile psiFileFor(@NotNull final Project project,
+                                      @NotNull final VirtualFile selectedFile) {
+        return ReadAction.compute(() -> {
+            final PsiFile psiFile = PsiManager.getInstance(project).findFile(selectedFile);
+            if (psiFile == null) {
+                throw new UnsupportedOperationException("PsiFile of " + selectedFile + " is null!");
+            }
+            return psiFile;
+        });
+    }
+
+    private static boolean isFileValidAgainstScanScope(@NotNull final Project project,
+                                                       @NotNull final VirtualFile selectedFile,
+                                                       @NotNull ScanScope scanScope) {
+        if (scanScope != ScanScope.Everything) {
+            return ReadAction.compute(() -> {
+                final ProjectFileIndex projectFileIndex = ProjectFileIndex.getInstance(project);
+                if (!projectFileIndex.isInSourceContent(selectedFile)) {
+                    return false;
+                }
+                if (!scanScope.includeNonJavaSources() && !FileTypes.isJava(selectedFile.getFileType())) {
+                    return false;
+                }
+                if (!scanScope.includeTestClasses()) {
+                    return !projectFileIndex.isInTestSourceContent(selectedFile);
+                }
+                return true;
+            });
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the NamedScopes that are to be checked. If overrideIfExists is provided, only its Scope is returned.
+     * Otherwise, all {@link PluginConfiguration#getActiveLocationIds() activeLocations} of the provided pluginConfiguration
+     * are returned.
+     */
+    @NotNull
+    private static List<NamedScope> getNamedScopesToCheck(final PluginConfiguration pluginConfiguration,
+                                                          final @Nullable ConfigurationLocation overrideIfExists) {
+        final Collection<ConfigurationLocation> getLocationsToCheck;
+        if (overrideIfExists != null) {
+            getLocationsToCheck = singletonList(overrideIfExists);
+        } else {
+            getLocationsToCheck = pluginConfiguration.getActiveLocations();
+        }
+        return getLocationsToCheck.stream()
+                .map(ConfigurationLocation::getNamedScope)
+                .flatMap(Optional::stream)
+                .collect(Collectors.toList());
+    }
+}
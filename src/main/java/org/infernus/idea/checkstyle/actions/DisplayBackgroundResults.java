@@ -0,0 +1,56 @@
+package org.infernus.idea.checkstyle.actions;
+
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.project.DumbAwareToggleAction;
+import com.intellij.openapi.project.Project;
+import org.infernus.idea.checkstyle.BackgroundScanner;
+import org.infernus.idea.checkstyle.toolwindow.CheckStyleToolWindowPanel;
+import org.jetbrains.annotations.NotNull;
+
+import static org.infernus.idea.checkstyle.actions.ToolWindowAccess.*;
+
+/**
+ * Toggle between the results of background scanning and those of the last scan.
+ */
+public final class DisplayBackgroundResults extends DumbAwareToggleAction {
+
+    @Override
+    public boolean isSelected(final @NotNull AnActionEvent event) {
+        final Project project = getEventProject(event);
+        if (project == null) {
+            return false;
+        }
+
+        Boolean displayingBackgroundResults = getFromToolWindowPanel(toolWindow(project),
+                CheckStyleToolWindowPanel::isDisplayingBackgroundResults);
+        if (displayingBackgroundResults != null) {
+            return displayingBackgroundResults;
+        }
+        return false;
+    }
+
+    @Override
+    public void setSelected(final @NotNull AnActionEvent event, final boolean selected) {
+        final Project project = getEventProject(event);
+        if (project == null) {
+            return;
+        }
+
+        actOnToolWindowPanel(toolWindow(project), panel -> panel.setDisplayingBackgroundResults(selected));
+    }
+
+    @Override
+    public void update(final @NotNull AnActionEvent event) {
+        super.update(event);
+
+        final Project project = getEventProject(event);
+        event.getPresentation().setEnabled(project != null
+                && project.getService(BackgroundScanner.class).isEnabled());
+    }
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.EDT;
+    }
+}
@@ -0,0 +1,112 @@
+package org.infernus.idea.checkstyle.actions;
+
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.Presentation;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleUtil;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.wm.ToolWindow;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import org.infernus.idea.checkstyle.checker.ProfileFiles;
+import org.infernus.idea.checkstyle.csapi.CheckCost;
+import org.infernus.idea.checkstyle.model.ConfigurationLocation;
+import org.infernus.idea.checkstyle.toolwindow.CheckCostPanel;
+import org.infernus.idea.checkstyle.util.Notifications;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Collections.singletonList;
+import static org.infernus.idea.checkstyle.CheckStyleBundle.message;
+import static org.infernus.idea.checkstyle.actions.ToolWindowAccess.toolWindow;
+
+/**
+ * Action to measure the cost of each check on the current editor file.
+ * <p>
+ * Profiling runs every check over the file, so it runs as a background task which the user may cancel.
+ */
+public class ProfileCurrentFile extends BaseAction {
+    private static final Logger LOG = Logger.getInstance(ProfileCurrentFile.class);
+
+    @Override
+    public void actionPerformed(final @NotNull AnActionEvent event) {
+        project(event).ifPresent(project -> {
+            try {
+                final ToolWindow toolWindow = toolWindow(project);
+                final VirtualFile selectedFile = CurrentFile.selectedIn(project);
+                final ConfigurationLocation overrideIfExists = getSelectedOverride(toolWindow);
+
+                setProgressText(toolWindow, "plugin.status.in-progress.profile");
+
+                ProgressManager.getInstance().run(
+                        new Task.Backgroundable(project, message("plugin.status.in-progress.profile"), true) {
+                            @Override
+                            public void run(@NotNull final ProgressIndicator indicator) {
+                                indicator.setIndeterminate(true);
+                                if (!CurrentFile.validForScanning(selectedFile, project, overrideIfExists)) {
+                                    ApplicationManager.getApplication().invokeLater(() ->
+                                            setProgressText(toolWindow, "plugin.status.in-progress.out-of-scope"));
+                                    return;
+                                }
+                                profile(project, toolWindow, selectedFile, overrideIfExists);
+                            }
+                        });
+
+            } catch (Throwable e) {
+                LOG.warn("Current File profiling failed", e);
+            }
+        });
+    }
+
+    private void profile(@NotNull final Project project,
+                         @NotNull final ToolWindow toolWindow,
+                         @NotNull final VirtualFile selectedFile,
+                         final ConfigurationLocation overrideIfExists) {
+        try {
+            final PsiFile psiFile = ReadAction.compute(() -> PsiManager.getInstance(project).findFile(selectedFile));
+            final Module module = psiFile != null
+                    ? ReadAction.compute(() -> ModuleUtil.findModuleForPsiElement(psiFile))
+                    : null;
+            if (module == null) {
+                ApplicationManager.getApplication().invokeLater(() ->
+                        setProgressText(toolWindow, "plugin.status.in-progress.no-module"));
+                return;
+            }
+
+            final Map<ConfigurationLocation, List<CheckCost>> costs =
+                    new ProfileFiles(project, module, singletonList(psiFile), overrideIfExists).call();
+            ApplicationManager.getApplication().invokeLater(() -> {
+                setProgressText(toolWindow, "plugin.status.complete.profile");
+                CheckCostPanel.display(toolWindow, costs);
+            });
+
+        } catch (ProcessCanceledException e) {
+            ApplicationManager.getApplication().invokeLater(() ->
+                    setProgressText(toolWindow, "plugin.status.aborted"));
+        } catch (Throwable e) {
+            LOG.warn("Current File profiling failed", e);
+            Notifications.showException(project, e);
+            ApplicationManager.getApplication().invokeLater(() ->
+                    setProgressText(toolWindow, "plugin.status.aborted"));
+        }
+    }
+
+    @Override
+    public void update(final @NotNull AnActionEvent event) {
+        final Presentation presentation = event.getPresentation();
+
+        project(event).ifPresentOrElse(
+                project -> presentation.setEnabled(CurrentFile.selectedIn(project) != null),
+                () -> presentation.setEnabled(false));
+    }
+}
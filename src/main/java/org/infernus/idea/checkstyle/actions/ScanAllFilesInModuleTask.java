@@ -3,6 +3,7 @@ package org.infernus.idea.checkstyle.actions;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.roots.ModuleRootManager;
 import com.intellij.openapi.vfs.VirtualFile;
+import org.infernus.idea.checkstyle.ScanPriority;
 import org.infernus.idea.checkstyle.model.ConfigurationLocation;
 import org.jetbrains.annotations.NotNull;
 
@@ -12,7 +13,7 @@ public class ScanAllFilesInModuleTask extends ScanAllFilesTask {
 
     ScanAllFilesInModuleTask(@NotNull final Module module,
                              final ConfigurationLocation selectedOverride) {
-        super(module.getProject(), selectedOverride);
+        super(module.getProject(), selectedOverride, ScanPriority.MODULE);
         this.module = module;
     }
 
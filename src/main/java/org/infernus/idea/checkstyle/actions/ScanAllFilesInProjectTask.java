@@ -3,6 +3,7 @@ package org.infernus.idea.checkstyle.actions;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.roots.ProjectRootManager;
 import com.intellij.openapi.vfs.VirtualFile;
+import org.infernus.idea.checkstyle.ScanPriority;
 import org.infernus.idea.checkstyle.model.ConfigurationLocation;
 import org.jetbrains.annotations.NotNull;
 
@@ -12,7 +13,7 @@ public class ScanAllFilesInProjectTask extends ScanAllFilesTask {
 
     ScanAllFilesInProjectTask(@NotNull final Project project,
                               final ConfigurationLocation selectedOverride) {
-        super(project, selectedOverride);
+        super(project, selectedOverride, ScanPriority.PROJECT);
         this.project = project;
     }
     @Override
@@ -2,6 +2,7 @@ package org.infernus.idea.checkstyle.actions;
 
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
+import org.infernus.idea.checkstyle.ScanPriority;
 import org.infernus.idea.checkstyle.StaticScanner;
 import org.infernus.idea.checkstyle.model.ConfigurationLocation;
 import org.jetbrains.annotations.NotNull;
@@ -16,17 +17,20 @@ abstract class ScanAllFilesTask implements Callable<Void> {
 
     private final Project project;
     private final ConfigurationLocation selectedOverride;
+    private final ScanPriority priority;
 
     ScanAllFilesTask(@NotNull final Project project,
-                     final ConfigurationLocation selectedOverride) {
+                     final ConfigurationLocation selectedOverride,
+                     @NotNull final ScanPriority priority) {
         this.project = project;
         this.selectedOverride = selectedOverride;
+        this.priority = priority;
     }
 
     @Override
     public Void call() {
         project.getService(StaticScanner.class)
-                .asyncScanFiles(rootFiles(), selectedOverride);
+                .asyncScanFiles(rootFiles(), selectedOverride, priority);
         return null;
     }
 
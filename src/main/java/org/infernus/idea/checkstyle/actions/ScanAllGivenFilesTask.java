@@ -2,6 +2,7 @@ package org.infernus.idea.checkstyle.actions;
 
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
+import org.infernus.idea.checkstyle.ScanPriority;
 import org.infernus.idea.checkstyle.model.ConfigurationLocation;
 import org.jetbrains.annotations.NotNull;
 
@@ -10,8 +11,9 @@ class ScanAllGivenFilesTask extends ScanAllFilesTask {
 
     ScanAllGivenFilesTask(@NotNull final Project project,
                           @NotNull final VirtualFile[] filesToScan,
-                          final ConfigurationLocation selectedOverride) {
-        super(project, selectedOverride);
+                          final ConfigurationLocation selectedOverride,
+                          @NotNull final ScanPriority priority) {
+        super(project, selectedOverride, priority);
         this.filesToScan = filesToScan;
     }
 
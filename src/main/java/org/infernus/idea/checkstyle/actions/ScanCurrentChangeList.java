@@ -7,6 +7,7 @@ import com.intellij.openapi.vcs.changes.Change;
 import com.intellij.openapi.vcs.changes.ChangeListManager;
 import com.intellij.openapi.vcs.changes.LocalChangeList;
 import com.intellij.openapi.vfs.VirtualFile;
+import org.infernus.idea.checkstyle.ScanPriority;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
@@ -25,7 +26,8 @@ public class ScanCurrentChangeList extends BaseAction {
         project(event).ifPresent(project -> {
             try {
                 final ChangeListManager changeListManager = ChangeListManager.getInstance(project);
-                staticScanner(project).asyncScanFiles(filesFor(changeListManager.getDefaultChangeList()), getSelectedOverride(toolWindow(project)));
+                staticScanner(project).asyncScanFiles(filesFor(changeListManager.getDefaultChangeList()),
+                        getSelectedOverride(toolWindow(project)), ScanPriority.CHANGELIST);
             } catch (Throwable e) {
                 LOG.warn("Modified files scan failed", e);
             }
@@ -57,7 +59,7 @@ public class ScanCurrentChangeList extends BaseAction {
                 if (changeList.getChanges() == null || changeList.getChanges().isEmpty()) {
                     presentation.setEnabled(false);
                 } else {
-                    presentation.setEnabled(!staticScanner(project).isScanInProgress());
+                    presentation.setEnabled(true);
                 }
 
             } catch (Throwable e) {
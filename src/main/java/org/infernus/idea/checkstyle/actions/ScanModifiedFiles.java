@@ -5,6 +5,7 @@ import com.intellij.openapi.actionSystem.Presentation;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.vcs.changes.ChangeListManager;
 import com.intellij.openapi.vfs.VirtualFile;
+import org.infernus.idea.checkstyle.ScanPriority;
 import org.infernus.idea.checkstyle.toolwindow.CheckStyleToolWindowPanel;
 import org.jetbrains.annotations.NotNull;
 
@@ -34,7 +35,8 @@ public class ScanModifiedFiles extends BaseAction {
                 } else {
                     staticScanner(project).asyncScanFiles(
                             affectedFiles,
-                            getSelectedOverride(toolWindow(project)));
+                            getSelectedOverride(toolWindow(project)),
+                            ScanPriority.CHANGELIST);
                 }
             } catch (Throwable e) {
                 LOG.warn("Modified files scan failed", e);
@@ -47,7 +49,7 @@ public class ScanModifiedFiles extends BaseAction {
         final Presentation presentation = event.getPresentation();
 
         project(event).ifPresentOrElse(
-                project -> presentation.setEnabled(!staticScanner(project).isScanInProgress()),
+                project -> presentation.setEnabled(true),
                 () -> presentation.setEnabled(false));
     }
 }
@@ -9,6 +9,7 @@ import com.intellij.openapi.module.ModuleUtil;
 import com.intellij.openapi.roots.ModuleRootManager;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.openapi.wm.ToolWindow;
+import org.infernus.idea.checkstyle.ScanPriority;
 import org.infernus.idea.checkstyle.model.ScanScope;
 import org.infernus.idea.checkstyle.toolwindow.CheckStyleToolWindowPanel;
 import org.infernus.idea.checkstyle.util.Async;
@@ -59,7 +60,7 @@ public class ScanModule extends BaseAction {
                                     ModuleRootManager.getInstance(module).getSourceRoots(scope.includeTestClasses());
                             if (moduleSourceRoots.length > 0) {
                                 scanAction = new ScanAllGivenFilesTask(project, moduleSourceRoots,
-                                        getSelectedOverride(toolWindow));
+                                        getSelectedOverride(toolWindow), ScanPriority.MODULE);
                             } else if (checkStyleToolWindowPanel != null) {
                                 checkStyleToolWindowPanel.displayWarningResult("plugin.status.in-progress.no-module-source-roots");
                                 scanAction = null;
@@ -87,7 +88,7 @@ public class ScanModule extends BaseAction {
         final Presentation presentation = event.getPresentation();
 
         project(event).ifPresentOrElse(
-                project -> presentation.setEnabled(!staticScanner(project).isScanInProgress()),
+                project -> presentation.setEnabled(true),
                 () -> presentation.setEnabled(false));
     }
 }
@@ -7,6 +7,7 @@ import com.intellij.openapi.project.Project;
 import com.intellij.openapi.roots.ProjectRootManager;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.openapi.wm.ToolWindow;
+import org.infernus.idea.checkstyle.ScanPriority;
 import org.infernus.idea.checkstyle.model.ScanScope;
 import org.infernus.idea.checkstyle.util.Async;
 import org.jetbrains.annotations.NotNull;
@@ -46,7 +47,8 @@ public class ScanProject extends BaseAction {
                 final ProjectRootManager projectRootManager = ProjectRootManager.getInstance(project);
                 final VirtualFile[] sourceRoots = projectRootManager.getContentSourceRoots();
                 if (sourceRoots.length > 0) {
-                    scanAction = new ScanAllGivenFilesTask(project, sourceRoots, getSelectedOverride(toolWindow));
+                    scanAction = new ScanAllGivenFilesTask(project, sourceRoots, getSelectedOverride(toolWindow),
+                            ScanPriority.PROJECT);
                 } else {
                     scanAction = null;
                 }
@@ -64,7 +66,7 @@ public class ScanProject extends BaseAction {
         final Presentation presentation = event.getPresentation();
 
         project(event).ifPresentOrElse(
-                project -> presentation.setEnabled(!staticScanner(project).isScanInProgress()),
+                project -> presentation.setEnabled(true),
                 () -> presentation.setEnabled(false));
     }
 
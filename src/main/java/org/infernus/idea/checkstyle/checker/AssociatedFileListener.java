@@ -0,0 +1,47 @@
+package org.infernus.idea.checkstyle.checker;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileMoveEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFilePropertyChangeEvent;
+import org.infernus.idea.checkstyle.BackgroundScanner;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Discards checkers when the files they were built from change, such as the rules file itself or the suppressions,
+ * import control and header files it refers to. Registered in {@code plugin.xml} as a project listener.
+ */
+public class AssociatedFileListener implements BulkFileListener {
+
+    private final Project project;
+
+    public AssociatedFileListener(@NotNull final Project project) {
+        this.project = project;
+    }
+
+    @Override
+    public void after(@NotNull final List<? extends VFileEvent> events) {
+        if (project.isDisposed()) {
+            return;
+        }
+
+        final Set<String> changedFilePaths = new HashSet<>();
+        for (final VFileEvent event : events) {
+            changedFilePaths.add(event.getPath());
+            if (event instanceof VFileMoveEvent moveEvent) {
+                changedFilePaths.add(moveEvent.getOldPath());
+            } else if (event instanceof VFilePropertyChangeEvent propertyChangeEvent && propertyChangeEvent.isRename()) {
+                changedFilePaths.add(propertyChangeEvent.getOldPath());
+            }
+        }
+
+        if (project.getService(CheckerFactoryCache.class).invalidateDependentsOf(changedFilePaths)) {
+            project.getService(BackgroundScanner.class).rescan();
+        }
+    }
+}
@@ -2,7 +2,11 @@ package org.infernus.idea.checkstyle.checker;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.io.File;
+import java.util.Collection;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 /**
  * Value for checker cache.
@@ -19,6 +23,7 @@ class CachedChecker {
     private final AtomicBoolean destroyed = new AtomicBoolean(false);
 
     private long timeStamp;
+    private volatile Set<String> dependencies = Set.of();
 
     CachedChecker(@NotNull final CheckStyleChecker checkStyleChecker) {
         this.checkStyleChecker = checkStyleChecker;
@@ -38,6 +43,26 @@ class CachedChecker {
         return (getTimeStamp() + CACHE_VALID_TIME) >= System.currentTimeMillis();
     }
 
+    /**
+     * Record the files the checker was created from. A change to any of them makes the checker stale.
+     *
+     * @param filePaths the paths of the files.
+     */
+    public void dependsOn(@NotNull final Collection<String> filePaths) {
+        this.dependencies = filePaths.stream()
+                .map(CachedChecker::normalise)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public boolean isAffectedBy(@NotNull final String filePath) {
+        final Set<String> currentDependencies = dependencies;
+        return !currentDependencies.isEmpty() && currentDependencies.contains(normalise(filePath));
+    }
+
+    private static String normalise(@NotNull final String filePath) {
+        return new File(filePath).getAbsolutePath();
+    }
+
     public void destroy() {
         if (destroyed.compareAndSet(false, true)) {
             checkStyleChecker.destroy();
@@ -3,16 +3,20 @@ package org.infernus.idea.checkstyle.checker;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.search.scope.packageSet.NamedScope;
+import org.infernus.idea.checkstyle.csapi.CheckCost;
 import org.infernus.idea.checkstyle.csapi.CheckstyleActions;
 import org.infernus.idea.checkstyle.csapi.CheckstyleInternalObject;
 import org.infernus.idea.checkstyle.model.NamedScopeHelper;
 import org.infernus.idea.checkstyle.util.ClassLoaderDumper;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 
@@ -26,17 +30,34 @@ public class CheckStyleChecker {
     private final int tabWidth;
     private final Optional<String> baseDir;
     private final Optional<NamedScope> namedScope;
+    private final Set<String> associatedFiles;
+
+    private final Object combinationsLock = new Object();
+    private final Map<List<CheckStyleChecker>, Optional<CheckstyleInternalObject>> combinations = new HashMap<>();
+
+    private volatile ProcessedFileExtensions processedFileExtensions;
+    private volatile boolean destroyed;
 
     public CheckStyleChecker(@NotNull final CheckstyleInternalObject checkerWithConfig,
                              final int tabWidth,
                              @NotNull final Optional<String> baseDir,
                              @NotNull final CheckstyleActions csServiceInstance,
                              final Optional<NamedScope> namedScope) {
+        this(checkerWithConfig, tabWidth, baseDir, csServiceInstance, namedScope, Set.of());
+    }
+
+    public CheckStyleChecker(@NotNull final CheckstyleInternalObject checkerWithConfig,
+                             final int tabWidth,
+                             @NotNull final Optional<String> baseDir,
+                             @NotNull final CheckstyleActions csServiceInstance,
+                             final Optional<NamedScope> namedScope,
+                             @NotNull final Set<String> associatedFiles) {
         this.checkerWithConfig = checkerWithConfig;
         this.tabWidth = tabWidth;
         this.baseDir = baseDir;
         this.csServiceInstance = csServiceInstance;
         this.namedScope = namedScope;
+        this.associatedFiles = associatedFiles;
 
         if (LOG.isDebugEnabled()) {
             LOG.debug("Creating Checkstyle instances with CheckStyle classpath:\n"
@@ -48,7 +69,7 @@ public class CheckStyleChecker {
     public Map<PsiFile, List<Problem>> scan(@NotNull final List<ScannableFile> scannableFiles,
                                             final boolean suppressErrors) {
         final List<ScannableFile> filteredFiles = this.namedScope.map(scope -> scannableFiles.stream()
-                        .filter(scannableFile -> NamedScopeHelper.isFileInScope(scannableFile.getPsiFile(), scope))
+                        .filter(scannableFile -> isInScope(scannableFile.getPsiFile()))
                         .collect(Collectors.toList()))
                 .orElse(scannableFiles);
 
@@ -59,7 +80,117 @@ public class CheckStyleChecker {
         return csServiceInstance.scan(checkerWithConfig, filteredFiles, suppressErrors, tabWidth, baseDir);
     }
 
+    /**
+     * Scan files with this checker and others at once, so that each file is parsed once for all of them. The files
+     * should be in scope of, and processed by, all of the checkers.
+     *
+     * @param others         the other checkers.
+     * @param scannableFiles the files to scan.
+     * @param suppressErrors whether errors should be suppressed.
+     * @return the problems found by this checker and then by each of the others, or empty if their configurations
+     * cannot be combined.
+     */
+    @NotNull
+    public Optional<List<Map<PsiFile, List<Problem>>>> scanWith(@NotNull final List<CheckStyleChecker> others,
+                                                               @NotNull final List<ScannableFile> scannableFiles,
+                                                               final boolean suppressErrors) {
+        if (others.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final Optional<CheckstyleInternalObject> combination;
+        synchronized (combinationsLock) {
+            // a combination made once this checker is destroyed would never be destroyed itself
+            if (destroyed || others.stream().anyMatch(other -> other.destroyed)) {
+                return Optional.empty();
+            }
+            dropCombinationsOfDestroyedCheckers();
+            combination = combinations.computeIfAbsent(List.copyOf(others), this::combineWith);
+        }
+        return combination.map(combinedChecker -> csServiceInstance.scanCombined(
+                combinedChecker, scannableFiles, suppressErrors, tabWidth, baseDir));
+    }
+
+    private Optional<CheckstyleInternalObject> combineWith(@NotNull final List<CheckStyleChecker> others) {
+        final List<CheckstyleInternalObject> checkersToCombine = new ArrayList<>();
+        checkersToCombine.add(checkerWithConfig);
+        others.forEach(other -> checkersToCombine.add(other.checkerWithConfig));
+
+        final Optional<CheckstyleInternalObject> combinedChecker =
+                Optional.ofNullable(csServiceInstance.combineCheckers(checkersToCombine));
+        if (combinedChecker.isEmpty()) {
+            LOG.debug("Configurations cannot be combined, each will parse files separately");
+        }
+        return combinedChecker;
+    }
+
+    private void dropCombinationsOfDestroyedCheckers() {
+        combinations.entrySet().removeIf(combination -> {
+            if (combination.getKey().stream().noneMatch(other -> other.destroyed)) {
+                return false;
+            }
+            combination.getValue().ifPresent(csServiceInstance::destroyChecker);
+            return true;
+        });
+    }
+
+    /**
+     * Measure how long each module of the configuration takes to process the given files.
+     *
+     * @param scannableFiles the files to process.
+     * @return the cost of each module, most expensive first.
+     */
+    @NotNull
+    public List<CheckCost> profile(@NotNull final List<ScannableFile> scannableFiles) {
+        if (scannableFiles.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return csServiceInstance.profile(checkerWithConfig, scannableFiles);
+    }
+
+    /**
+     * Whether any check in the configuration would process the file, judged by the file's extension.
+     *
+     * @param psiFile the file.
+     * @return true if the file would be processed.
+     */
+    public boolean processes(@NotNull final PsiFile psiFile) {
+        ProcessedFileExtensions extensions = processedFileExtensions;
+        if (extensions == null) {
+            extensions = ProcessedFileExtensions.of(csServiceInstance, checkerWithConfig);
+            processedFileExtensions = extensions;
+        }
+        return extensions.accepts(psiFile.getName());
+    }
+
+    /**
+     * Whether the file is in the scope the configuration is restricted to, if any.
+     *
+     * @param psiFile the file.
+     * @return true if the file is in scope.
+     */
+    public boolean isInScope(@NotNull final PsiFile psiFile) {
+        return namedScope.map(scope -> NamedScopeHelper.isFileInScope(psiFile, scope)).orElse(true);
+    }
+
+    /**
+     * The files on disk, other than the rules file, which the configuration referred to when this checker was
+     * created, such as suppressions, import control and header files.
+     *
+     * @return the absolute paths of the files.
+     */
+    @NotNull
+    public Set<String> getAssociatedFiles() {
+        return associatedFiles;
+    }
+
     public void destroy() {
+        synchronized (combinationsLock) {
+            destroyed = true;
+            combinations.values().forEach(
+                    combinedChecker -> combinedChecker.ifPresent(csServiceInstance::destroyChecker));
+            combinations.clear();
+        }
         csServiceInstance.destroyChecker(checkerWithConfig);
     }
 
@@ -5,10 +5,14 @@ import com.intellij.openapi.module.Module;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.project.ProjectUtil;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import org.infernus.idea.checkstyle.CheckstyleProjectService;
+import org.infernus.idea.checkstyle.csapi.CheckTier;
 import org.infernus.idea.checkstyle.exception.CheckStylePluginException;
 import org.infernus.idea.checkstyle.exception.CheckstyleToolException;
 import org.infernus.idea.checkstyle.model.ConfigurationLocation;
+import org.infernus.idea.checkstyle.model.FileConfigurationLocation;
 import org.infernus.idea.checkstyle.util.Notifications;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -16,11 +20,13 @@ import org.jetbrains.annotations.Nullable;
 import java.io.File;
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.infernus.idea.checkstyle.CheckStyleBundle.message;
 import static org.infernus.idea.checkstyle.util.Exceptions.rootCauseOf;
@@ -59,10 +65,16 @@ public class CheckerFactory {
 
     public Optional<CheckStyleChecker> checker(@Nullable final Module module,
                                                @NotNull final ConfigurationLocation location) {
-        LOG.debug("Getting CheckStyle checker with location ", location);
+        return checker(module, location, CheckTier.FULL);
+    }
+
+    public Optional<CheckStyleChecker> checker(@Nullable final Module module,
+                                               @NotNull final ConfigurationLocation location,
+                                               @NotNull final CheckTier tier) {
+        LOG.debug("Getting CheckStyle checker with location ", location, " for tier ", tier);
 
         try {
-            final CachedChecker cachedChecker = getOrCreateCachedChecker(location, module);
+            final CachedChecker cachedChecker = getOrCreateCachedChecker(location, module, tier);
             if (cachedChecker != null) {
                 return Optional.of(cachedChecker.getCheckStyleChecker());
             }
@@ -72,24 +84,59 @@ public class CheckerFactory {
         }
     }
 
+    /**
+     * Whether the checker for a location may process a file, without creating the checker if it has not already been
+     * loaded. A location whose checker has not been loaded may process any file.
+     *
+     * @param module   the module the file belongs to, if any.
+     * @param location the configuration location.
+     * @param tier     the checks to be run.
+     * @param psiFile  the file.
+     * @return false only if the loaded checker will not process the file.
+     */
+    public boolean mayProcess(@Nullable final Module module,
+                              @NotNull final ConfigurationLocation location,
+                              @NotNull final CheckTier tier,
+                              @NotNull final PsiFile psiFile) {
+        return cache.get(location, module, tier)
+                .map(cachedChecker -> cachedChecker.getCheckStyleChecker().processes(psiFile))
+                .orElse(true);
+    }
 
     private CachedChecker getOrCreateCachedChecker(@NotNull final ConfigurationLocation location,
-                                                   @Nullable final Module module) {
-        final Optional<CachedChecker> cachedChecker = cache.get(location, module);
+                                                   @Nullable final Module module,
+                                                   @NotNull final CheckTier tier) {
+        final Optional<CachedChecker> cachedChecker = cache.get(location, module, tier);
         if (cachedChecker.isPresent()) {
             return cachedChecker.get();
         }
 
         LOG.debug("No cached checker found, creating a new one for ", location);
-        final CachedChecker checker = createChecker(location, module);
+        final CachedChecker checker = createChecker(location, module, tier);
         if (checker != null) {
-            cache.put(location, module, checker);
+            checker.dependsOn(dependenciesOf(location, checker));
+            cache.put(location, module, tier, checker);
             return checker;
         }
 
         return null;
     }
 
+    /**
+     * The files on disk a checker for the location is built from, so that it can be replaced when they change.
+     */
+    private Set<String> dependenciesOf(@NotNull final ConfigurationLocation location,
+                                       @NotNull final CachedChecker checker) {
+        final Set<String> dependencies = new HashSet<>(checker.getCheckStyleChecker().getAssociatedFiles());
+        if (location instanceof FileConfigurationLocation) {
+            final File rulesFile = new File(location.getLocation());
+            if (rulesFile.isFile()) {
+                dependencies.add(rulesFile.getAbsolutePath());
+            }
+        }
+        return dependencies;
+    }
+
     private Map<String, String> addEclipseCsProperties(final ConfigurationLocation location,
                                                        final Module module,
                                                        final Map<String, String> properties) {
@@ -127,7 +174,8 @@ public class CheckerFactory {
     }
 
     private CachedChecker createChecker(@NotNull final ConfigurationLocation location,
-                                        @Nullable final Module module) {
+                                        @Nullable final Module module,
+                                        @NotNull final CheckTier tier) {
         final ListPropertyResolver propertyResolver;
         try {
             location.ensurePropertiesAreUpToDate(checkstyleProjectService.underlyingClassLoader());
@@ -138,7 +186,7 @@ public class CheckerFactory {
             return blockAndShowMessage(location, module, e, "checkstyle.file-io-failed", location.getLocation());
         }
 
-        final Object workerResult = executeWorker(location, module, propertyResolver);
+        final Object workerResult = executeWorker(location, module, tier, propertyResolver);
 
         if (workerResult instanceof CheckstyleToolException csToolException) {
             return blockAndShowMessageFromException(location, module, csToolException);
@@ -165,13 +213,15 @@ public class CheckerFactory {
 
     private Object executeWorker(@NotNull final ConfigurationLocation location,
                                  @Nullable final Module module,
+                                 @NotNull final CheckTier tier,
                                  final ListPropertyResolver resolver) {
         final CheckerFactoryWorker worker = new CheckerFactoryWorker(location,
-                resolver.getPropertyNamesToValues(), module, checkstyleProjectService);
-        final ExecutorService executor = Executors.newSingleThreadExecutor();
+                resolver.getPropertyNamesToValues(), module, tier, checkstyleProjectService);
+        final Future<CachedChecker> pendingChecker = CreationExecutor.INSTANCE.submit(worker);
         try {
-            return executor.submit(worker).get();
+            return pendingChecker.get();
         } catch (InterruptedException e) {
+            pendingChecker.cancel(true);
             Thread.currentThread().interrupt();
             return e;
         } catch (ExecutionException e) {
@@ -179,8 +229,6 @@ public class CheckerFactory {
                 return re;
             }
             return e.getCause() != null ? e.getCause() : e;
-        } finally {
-            executor.shutdown();
         }
     }
 
@@ -239,4 +287,13 @@ public class CheckerFactory {
                 "checkstyle.parse-failed", checkstyleException.getMessage());
     }
 
+    /**
+     * The executor shared by all checker factories, created when first needed. Creating a checker is mostly parsing
+     * and configuring, and resolving its location may wait on the network while holding the location's monitor, so
+     * checkers are created on a bounded number of platform threads rather than on virtual threads.
+     */
+    private static final class CreationExecutor {
+        static final ExecutorService INSTANCE = AppExecutorUtil.createBoundedApplicationPoolExecutor(
+                "CheckStyle Checker Creation", Runtime.getRuntime().availableProcessors());
+    }
 }
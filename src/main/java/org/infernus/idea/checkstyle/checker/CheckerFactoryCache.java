@@ -3,7 +3,10 @@ package org.infernus.idea.checkstyle.checker;
 import com.intellij.openapi.Disposable;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.Project;
+import org.infernus.idea.checkstyle.csapi.CheckTier;
 import org.infernus.idea.checkstyle.model.ConfigurationLocation;
+import org.infernus.idea.checkstyle.util.TempDirProvider;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -16,11 +19,33 @@ public class CheckerFactoryCache implements Disposable {
 
     private final Map<CheckerFactoryCacheKey, CachedChecker> cache = new ConcurrentHashMap<>();
 
+    private final Project project;
+
+    public CheckerFactoryCache() {
+        this(null);
+    }
+
+    /**
+     * Constructor used by IDEA's DI. Caches with a project also discard the project's Checkstyle cache files when
+     * invalidated, as these may hold results from a previous Checkstyle version or classpath.
+     *
+     * @param project the project the cache belongs to.
+     */
+    public CheckerFactoryCache(@Nullable final Project project) {
+        this.project = project;
+    }
+
     public Optional<CachedChecker> get(@NotNull final ConfigurationLocation location,
                                        @Nullable final Module module) {
+        return get(location, module, CheckTier.FULL);
+    }
+
+    public Optional<CachedChecker> get(@NotNull final ConfigurationLocation location,
+                                       @Nullable final Module module,
+                                       @NotNull final CheckTier tier) {
         cleanUpExpiredCachedCheckers();
 
-        final CheckerFactoryCacheKey key = new CheckerFactoryCacheKey(location, module);
+        final CheckerFactoryCacheKey key = new CheckerFactoryCacheKey(location, module, tier);
 
         final CachedChecker cachedChecker = cache.get(key);
         if (cachedChecker != null && cachedChecker.isValid()) {
@@ -44,7 +69,14 @@ public class CheckerFactoryCache implements Disposable {
     public void put(@NotNull final ConfigurationLocation location,
                     @Nullable final Module module,
                     @NotNull final CachedChecker checker) {
-        cache.put(new CheckerFactoryCacheKey(location, module), checker);
+        put(location, module, CheckTier.FULL, checker);
+    }
+
+    public void put(@NotNull final ConfigurationLocation location,
+                    @Nullable final Module module,
+                    @NotNull final CheckTier tier,
+                    @NotNull final CachedChecker checker) {
+        cache.put(new CheckerFactoryCacheKey(location, module, tier), checker);
     }
 
     public void invalidate() {
@@ -54,6 +86,42 @@ public class CheckerFactoryCache implements Disposable {
         cache.clear();
 
         existingCheckers.forEach(this::destroyChecker);
+
+        if (project != null) {
+            new TempDirProvider().deleteCheckstyleCacheFiles(project);
+        }
+    }
+
+    /**
+     * Discard the checkers built from any of the given files, along with their Checkstyle cache files, as the
+     * results these hold may no longer be correct.
+     *
+     * @param changedFilePaths the paths of files which have changed.
+     * @return true if any checker was discarded.
+     */
+    public boolean invalidateDependentsOf(@NotNull final Collection<String> changedFilePaths) {
+        if (cache.isEmpty() || changedFilePaths.isEmpty()) {
+            return false;
+        }
+
+        final Map<CheckerFactoryCacheKey, CachedChecker> checkersToDestroy = new HashMap<>();
+        cache.entrySet().removeIf(entry -> {
+            if (changedFilePaths.stream().anyMatch(entry.getValue()::isAffectedBy)) {
+                checkersToDestroy.put(entry.getKey(), entry.getValue());
+                return true;
+            }
+            return false;
+        });
+
+        checkersToDestroy.forEach((key, checker) -> {
+            LOG.debug("Associated file changed; discarding checker for ", key.location());
+            key.location().reset();
+            destroyChecker(checker);
+            if (project != null) {
+                new TempDirProvider().deleteCheckstyleCacheFile(project, key.module(), key.location());
+            }
+        });
+        return !checkersToDestroy.isEmpty();
     }
 
     private void destroyChecker(final CachedChecker cachedChecker) {
@@ -3,6 +3,7 @@ package org.infernus.idea.checkstyle.checker;
 import java.util.Objects;
 
 import com.intellij.openapi.module.Module;
+import org.infernus.idea.checkstyle.csapi.CheckTier;
 import org.infernus.idea.checkstyle.model.ConfigurationLocation;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -13,15 +14,36 @@ class CheckerFactoryCacheKey {
     private final String projectName;
     private final String moduleName;
     private final ConfigurationLocation location;
+    private final CheckTier tier;
+    // not part of the key, as modules are compared by name
+    private final Module module;
 
     // We can disregard Checkstyle version and third party jars as elements of the cache key, because the cache
     // must be invalidated when any of these properties change anyway.
 
 
     CheckerFactoryCacheKey(@NotNull final ConfigurationLocation location, @Nullable final Module module) {
+        this(location, module, CheckTier.FULL);
+    }
+
+    CheckerFactoryCacheKey(@NotNull final ConfigurationLocation location,
+                           @Nullable final Module module,
+                           @NotNull final CheckTier tier) {
         this.projectName = module != null ? module.getProject().getName() : "noProject";
         this.moduleName = module != null ? module.getName() : "noModule";
         this.location = location;
+        this.tier = tier;
+        this.module = module;
+    }
+
+    @NotNull
+    ConfigurationLocation location() {
+        return location;
+    }
+
+    @Nullable
+    Module module() {
+        return module;
     }
 
 
@@ -36,12 +58,13 @@ class CheckerFactoryCacheKey {
         final CheckerFactoryCacheKey other = (CheckerFactoryCacheKey) pOther;
         return Objects.equals(projectName, other.projectName)
                 && Objects.equals(moduleName, other.moduleName)
-                && Objects.equals(location, other.location);
+                && Objects.equals(location, other.location)
+                && tier == other.tier;
     }
 
 
     @Override
     public int hashCode() {
-        return Objects.hash(projectName, moduleName, location);
+        return Objects.hash(projectName, moduleName, location, tier);
     }
 }
@@ -2,6 +2,7 @@ package org.infernus.idea.checkstyle.checker;
 
 import com.intellij.openapi.module.Module;
 import org.infernus.idea.checkstyle.CheckstyleProjectService;
+import org.infernus.idea.checkstyle.csapi.CheckTier;
 import org.infernus.idea.checkstyle.model.ConfigurationLocation;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -14,15 +15,25 @@ class CheckerFactoryWorker implements Callable<CachedChecker> {
     private final ConfigurationLocation location;
     private final Map<String, String> properties;
     private final Module module;
+    private final CheckTier tier;
     private final CheckstyleProjectService checkstyleProjectService;
 
     CheckerFactoryWorker(@NotNull final ConfigurationLocation location,
                          @Nullable final Map<String, String> properties,
                          @Nullable final Module module,
                          @NotNull final CheckstyleProjectService checkstyleProjectService) {
+        this(location, properties, module, CheckTier.FULL, checkstyleProjectService);
+    }
+
+    CheckerFactoryWorker(@NotNull final ConfigurationLocation location,
+                         @Nullable final Map<String, String> properties,
+                         @Nullable final Module module,
+                         @NotNull final CheckTier tier,
+                         @NotNull final CheckstyleProjectService checkstyleProjectService) {
         this.location = location;
         this.properties = properties;
         this.module = module;
+        this.tier = tier;
         this.checkstyleProjectService = checkstyleProjectService;
     }
 
@@ -30,7 +41,7 @@ class CheckerFactoryWorker implements Callable<CachedChecker> {
     public CachedChecker call() {
         final CheckStyleChecker checker = checkstyleProjectService
                 .getCheckstyleInstance()
-                .createChecker(module, location, properties);
+                .createChecker(module, location, properties, null, tier);
         return new CachedChecker(checker);
     }
 }
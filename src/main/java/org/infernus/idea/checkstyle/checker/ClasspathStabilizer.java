@@ -13,18 +13,19 @@ import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 
 /**
  * Replaces URLs pointing to files inside the project directory with URLs pointing to copies of these files stored in a
  * temporary directory. This prevents them from getting locked by our classloaders.
+ * <p>
+ * The copies are linked from a {@link ContentAddressedJarStore} shared by all projects, so each distinct library is
+ * only copied once, however many projects and restarts use it.
  */
 public class ClasspathStabilizer {
 
@@ -42,16 +43,22 @@ public class ClasspathStabilizer {
 
     private final Path copyDir;
 
+    private final ContentAddressedJarStore jarStore;
+
 
     /**
      * Constructor.
      *
-     * @param pProject the current IDEA project
-     * @param pTempDir project-specific directory to keep copied libs in, retained after IDEA is closed
+     * @param pProject     the current IDEA project
+     * @param pTempDir     project-specific directory to keep copied libs in, retained after IDEA is closed
+     * @param pJarStoreDir directory of the JAR store shared by all projects, retained after IDEA is closed
      */
-    public ClasspathStabilizer(@NotNull final Project pProject, @NotNull final Path pTempDir) {
+    public ClasspathStabilizer(@NotNull final Project pProject,
+                               @NotNull final Path pTempDir,
+                               @NotNull final Path pJarStoreDir) {
         project = pProject;
         copyDir = pTempDir;
+        jarStore = ContentAddressedJarStore.at(pJarStoreDir);
     }
 
 
@@ -70,6 +77,7 @@ public class ClasspathStabilizer {
                     stabilizedList.add(stabilizedUrl);
                 }
                 result = stabilizedList.toArray(new URL[0]);
+                jarStore.persist();
             }
         } catch (IOException | URISyntaxException | RuntimeException e) {
             LOG.warn("Failed to stabilize the classpath. Using original classpath. Some files may become locked.", e);
@@ -88,29 +96,11 @@ public class ClasspathStabilizer {
         final Path relativePathSrc = pProjectDir.relativize(urlPath);
         final Path relativePathTarget = buildTargetRelativePath(relativePathSrc);
         final Path targetPath = copyDir.resolve(relativePathTarget);
-        if (needsUpdate(targetPath, urlPath)) {
-            if (targetPath.getParent() != null) {
-                Files.createDirectories(targetPath.getParent());
-            }
-            Files.copy(urlPath, targetPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
-        }
+        jarStore.materialise(jarStore.store(urlPath), targetPath);
         return targetPath.toUri().toURL();
     }
 
 
-    private boolean needsUpdate(@NotNull final Path pTargetPath, @NotNull final Path pSourcePath) throws IOException {
-        boolean result = true;
-        if (Files.exists(pTargetPath)) {
-            final long sizeSource = Files.size(pSourcePath);
-            final long sizeTarget = Files.size(pTargetPath);
-            final long modTimeSecsSource = Files.getLastModifiedTime(pSourcePath).to(TimeUnit.SECONDS);
-            final long modTimeSecsTarget = Files.getLastModifiedTime(pTargetPath).to(TimeUnit.SECONDS);
-            result = sizeSource != sizeTarget || modTimeSecsSource != modTimeSecsTarget;
-        }
-        return result;
-    }
-
-
     @NotNull
     private Path buildTargetRelativePath(@NotNull final Path pRelativePathSrc) {
         Path result = pRelativePathSrc;
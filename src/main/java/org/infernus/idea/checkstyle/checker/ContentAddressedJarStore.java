@@ -0,0 +1,297 @@
+package org.infernus.idea.checkstyle.checker;
+
+import com.intellij.openapi.diagnostic.Logger;
+import org.apache.commons.io.FileUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+
+/**
+ * A store of JARs shared between all projects, keyed by the SHA-256 of their content.
+ * <p>
+ * Each distinct JAR is held once, as {@code <sha256>/<file name>}, and projects receive a hard link to the stored
+ * file where the file system permits, or a copy otherwise. An index maps each source file's path, size and
+ * modification time to its hash, so unchanged JARs are neither re-read nor re-copied, even across restarts.
+ * <p>
+ * Entries which have not been used for {@link #RETENTION} are deleted. Links made from them remain valid, as the
+ * file system keeps the content alive until the last link is removed.
+ */
+final class ContentAddressedJarStore {
+
+    private static final Logger LOG = Logger.getInstance(ContentAddressedJarStore.class);
+
+    static final Duration RETENTION = Duration.ofDays(30);
+
+    private static final Duration COLLECTION_INTERVAL = Duration.ofHours(1);
+
+    static final String INDEX_FILE = "index.properties";
+    private static final String SOURCE_PREFIX = "source.";
+    private static final String USED_PREFIX = "used.";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final Map<Path, ContentAddressedJarStore> STORES = new HashMap<>();
+
+    private final Path root;
+    private final Clock clock;
+
+    private Properties index;
+    private boolean indexChanged;
+    private Instant lastCollection = Instant.MIN;
+
+
+    ContentAddressedJarStore(@NotNull final Path root, @NotNull final Clock clock) {
+        this.root = root;
+        this.clock = clock;
+    }
+
+    /**
+     * Get the store at the given location. All callers share one instance per location, so that they share one
+     * in-memory index.
+     *
+     * @param root the directory holding the store.
+     * @return the store.
+     */
+    @NotNull
+    static ContentAddressedJarStore at(@NotNull final Path root) {
+        synchronized (STORES) {
+            return STORES.computeIfAbsent(root.toAbsolutePath().normalize(),
+                    location -> new ContentAddressedJarStore(location, Clock.systemUTC()));
+        }
+    }
+
+    /**
+     * Ensure the content of the given file is held by the store.
+     *
+     * @param source the file to store.
+     * @return the stored file, which must not be modified.
+     * @throws IOException if the file cannot be read or stored.
+     */
+    @NotNull
+    synchronized Path store(@NotNull final Path source) throws IOException {
+        final String sourceKey = SOURCE_PREFIX + source.toAbsolutePath().normalize();
+        final String fingerprint = fingerprintOf(source);
+
+        String sha = knownHash(index().getProperty(sourceKey), fingerprint);
+        if (sha == null || !Files.isRegularFile(storedFile(sha, source))) {
+            sha = add(source);
+            index().setProperty(sourceKey, fingerprint + ":" + sha);
+        }
+
+        index().setProperty(USED_PREFIX + sha, Long.toString(clock.millis()));
+        indexChanged = true;
+        return storedFile(sha, source);
+    }
+
+    /**
+     * Make a stored file available at the target location, unless it already is.
+     *
+     * @param storedFile a file returned by {@link #store(Path)}.
+     * @param target     the location to make it available at.
+     * @throws IOException if the target cannot be created.
+     */
+    void materialise(@NotNull final Path storedFile, @NotNull final Path target) throws IOException {
+        if (isCurrent(storedFile, target)) {
+            return;
+        }
+        if (target.getParent() != null) {
+            Files.createDirectories(target.getParent());
+        }
+
+        Files.deleteIfExists(target);
+        try {
+            Files.createLink(target, storedFile);
+        } catch (IOException | UnsupportedOperationException | SecurityException e) {
+            LOG.debug("Cannot link " + target + " to " + storedFile + "; copying instead", e);
+            Files.copy(storedFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+        }
+    }
+
+    /**
+     * Write the index, deleting unused entries first if a collection is due.
+     */
+    synchronized void persist() {
+        collectGarbageIfDue();
+        if (!indexChanged) {
+            return;
+        }
+
+        final Path indexFile = root.resolve(INDEX_FILE);
+        try {
+            Files.createDirectories(root);
+            final Path tempFile = Files.createTempFile(root, INDEX_FILE, TEMP_SUFFIX);
+            try (OutputStream out = Files.newOutputStream(tempFile)) {
+                index().store(out, "CheckStyle-IDEA JAR store");
+            }
+            Files.move(tempFile, indexFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            indexChanged = false;
+        } catch (IOException e) {
+            LOG.warn("Failed to write JAR store index " + indexFile, e);
+        }
+    }
+
+    private boolean isCurrent(@NotNull final Path storedFile, @NotNull final Path target) throws IOException {
+        if (!Files.exists(target)) {
+            return false;
+        }
+        if (Files.isSameFile(storedFile, target)) {
+            return true;
+        }
+        return Files.size(storedFile) == Files.size(target)
+                && Files.getLastModifiedTime(storedFile).to(TimeUnit.SECONDS)
+                == Files.getLastModifiedTime(target).to(TimeUnit.SECONDS);
+    }
+
+    /**
+     * The file is copied and hashed in one pass, and named by the hash of what was actually copied, so a source
+     * modified mid-copy cannot leave content under the wrong hash.
+     */
+    @NotNull
+    private String add(@NotNull final Path source) throws IOException {
+        Files.createDirectories(root);
+        final Path tempFile = Files.createTempFile(root, "add", TEMP_SUFFIX);
+        try {
+            final MessageDigest digest = sha256();
+            try (InputStream in = Files.newInputStream(source);
+                 OutputStream out = Files.newOutputStream(tempFile)) {
+                final byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                }
+            }
+            Files.setLastModifiedTime(tempFile, Files.getLastModifiedTime(source));
+
+            final String sha = HexFormat.of().formatHex(digest.digest());
+            final Path storedFile = storedFile(sha, source);
+            if (!Files.isRegularFile(storedFile)) {
+                Files.createDirectories(storedFile.getParent());
+                try {
+                    Files.move(tempFile, storedFile, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    LOG.debug("Concurrently added to the JAR store: ", storedFile);
+                }
+            }
+            return sha;
+
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private void collectGarbageIfDue() {
+        final Instant now = clock.instant();
+        if (now.isBefore(lastCollection.plus(COLLECTION_INTERVAL)) || !Files.isDirectory(root)) {
+            return;
+        }
+        lastCollection = now;
+
+        final long cutOff = now.minus(RETENTION).toEpochMilli();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(root)) {
+            for (final Path entry : entries) {
+                final String name = entry.getFileName().toString();
+                if (SHA256_HEX.matcher(name).matches() && lastUsed(name, entry) < cutOff) {
+                    LOG.debug("Removing unused JAR store entry ", name);
+                    FileUtils.deleteQuietly(entry.toFile());
+                    forget(name);
+                } else if (name.endsWith(TEMP_SUFFIX) && Files.getLastModifiedTime(entry).toMillis() < cutOff) {
+                    Files.deleteIfExists(entry);
+                }
+            }
+        } catch (IOException e) {
+            LOG.debug("Failed to collect unused JAR store entries in " + root, e);
+        }
+    }
+
+    /**
+     * Entries may have been added by another IDE instance sharing the store, in which case they are absent from our
+     * index; their modification time is then the best available estimate of their last use.
+     */
+    private long lastUsed(@NotNull final String sha, @NotNull final Path entry) throws IOException {
+        final String used = index().getProperty(USED_PREFIX + sha);
+        if (used != null) {
+            try {
+                return Long.parseLong(used);
+            } catch (NumberFormatException ignored) {
+                // fall through
+            }
+        }
+        return Files.getLastModifiedTime(entry).toMillis();
+    }
+
+    private void forget(@NotNull final String sha) {
+        final Properties currentIndex = index();
+        currentIndex.remove(USED_PREFIX + sha);
+        currentIndex.stringPropertyNames().stream()
+                .filter(key -> key.startsWith(SOURCE_PREFIX) && currentIndex.getProperty(key).endsWith(":" + sha))
+                .forEach(currentIndex::remove);
+        indexChanged = true;
+    }
+
+    @NotNull
+    private Path storedFile(@NotNull final String sha, @NotNull final Path source) {
+        return root.resolve(sha).resolve(source.getFileName().toString());
+    }
+
+    @NotNull
+    private Properties index() {
+        if (index == null) {
+            index = new Properties();
+            final Path indexFile = root.resolve(INDEX_FILE);
+            if (Files.isRegularFile(indexFile)) {
+                try (InputStream in = Files.newInputStream(indexFile)) {
+                    index.load(in);
+                } catch (IOException | IllegalArgumentException e) {
+                    LOG.warn("Failed to read JAR store index " + indexFile + "; JARs will be hashed again", e);
+                    index.clear();
+                }
+            }
+        }
+        return index;
+    }
+
+    @NotNull
+    private static String fingerprintOf(@NotNull final Path source) throws IOException {
+        return Files.size(source) + ":" + Files.getLastModifiedTime(source).toMillis();
+    }
+
+    @Nullable
+    private static String knownHash(@Nullable final String indexEntry, @NotNull final String fingerprint) {
+        if (indexEntry == null || !indexEntry.startsWith(fingerprint + ":")) {
+            return null;
+        }
+        final String sha = indexEntry.substring(fingerprint.length() + 1);
+        return SHA256_HEX.matcher(sha).matches() ? sha : null;
+    }
+
+    @NotNull
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
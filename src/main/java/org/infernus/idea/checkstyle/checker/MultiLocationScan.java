@@ -0,0 +1,82 @@
+package org.infernus.idea.checkstyle.checker;
+
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.psi.PsiFile;
+import org.infernus.idea.checkstyle.model.ConfigurationLocation;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.util.Collections.emptyMap;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Scans files with the checkers of several configuration locations.
+ * <p>
+ * Where every checker would scan the same files, they are first asked to scan them at once, which parses each file
+ * once for all of them. Checks which look across files, such as Translation, would see a different set of files were
+ * only some of them scanned at once, so otherwise, or where the configurations cannot be combined, each checker scans
+ * its files as before.
+ */
+public final class MultiLocationScan {
+
+    private static final Logger LOG = Logger.getInstance(MultiLocationScan.class);
+
+    private MultiLocationScan() {
+    }
+
+    /**
+     * @param checkers       the checker for each location, in the order their results should be returned.
+     * @param scannableFiles the files to scan; each checker scans those it processes and has in scope.
+     * @param suppressErrors whether errors should be suppressed.
+     * @return the problems found by each location.
+     */
+    @NotNull
+    public static Map<ConfigurationLocation, Map<PsiFile, List<Problem>>> scan(
+            @NotNull final Map<ConfigurationLocation, CheckStyleChecker> checkers,
+            @NotNull final List<ScannableFile> scannableFiles,
+            final boolean suppressErrors) {
+        final Map<ConfigurationLocation, Map<PsiFile, List<Problem>>> results = new LinkedHashMap<>();
+        if (checkers.size() > 1) {
+            final Optional<List<Map<PsiFile, List<Problem>>>> combinedResults =
+                    scanAtOnce(List.copyOf(checkers.values()), scannableFiles, suppressErrors);
+            if (combinedResults.isPresent()) {
+                final Iterator<Map<PsiFile, List<Problem>>> checkerResults = combinedResults.get().iterator();
+                checkers.keySet().forEach(location -> results.put(location, checkerResults.next()));
+                return results;
+            }
+        }
+
+        checkers.forEach((location, checker) -> {
+            final List<ScannableFile> filesForChecker = scannableFiles.stream()
+                    .filter(scannableFile -> checker.processes(scannableFile.getPsiFile()))
+                    .collect(toList());
+            results.put(location, filesForChecker.isEmpty()
+                    ? emptyMap()
+                    : checker.scan(filesForChecker, suppressErrors));
+        });
+        return results;
+    }
+
+    private static Optional<List<Map<PsiFile, List<Problem>>>> scanAtOnce(
+            @NotNull final List<CheckStyleChecker> checkers,
+            @NotNull final List<ScannableFile> scannableFiles,
+            final boolean suppressErrors) {
+        if (scannableFiles.isEmpty()) {
+            return Optional.empty();
+        }
+        for (ScannableFile scannableFile : scannableFiles) {
+            final PsiFile psiFile = scannableFile.getPsiFile();
+            if (!checkers.stream().allMatch(checker -> checker.processes(psiFile) && checker.isInScope(psiFile))) {
+                LOG.debug("Configurations will scan files separately as they do not all scan ", psiFile.getName());
+                return Optional.empty();
+            }
+        }
+
+        return checkers.getFirst().scanWith(checkers.subList(1, checkers.size()), scannableFiles, suppressErrors);
+    }
+}
@@ -0,0 +1,151 @@
+package org.infernus.idea.checkstyle.checker;
+
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import org.infernus.idea.checkstyle.csapi.SeverityLevel;
+import org.infernus.idea.checkstyle.model.ScanResult;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The latest known problems of each file in a project, kept up to date one file at a time.
+ * <p>
+ * Scan results are split by file as they are added, so that rescanning a file replaces only its own problems. Only
+ * what is needed to display a problem is kept, and never its PSI element, so that the index does not keep the syntax
+ * trees of the files with problems in memory for as long as background scanning is enabled.
+ */
+public class ProblemIndex {
+
+    private final Map<VirtualFile, List<FileProblems>> problemsByFile = new HashMap<>();
+
+    private record FileProblems(ConfigurationLocationResult configurationLocationResult,
+                                Module module,
+                                List<IndexedProblem> problems) {
+    }
+
+    private record IndexedProblem(@NotNull String message,
+                                  @NotNull SeverityLevel severityLevel,
+                                  int line,
+                                  int column,
+                                  String sourceName,
+                                  boolean afterEndOfLine,
+                                  boolean suppressErrors) {
+
+        static IndexedProblem of(@NotNull final Problem problem) {
+            return new IndexedProblem(problem.message(), problem.severityLevel(), problem.line(), problem.column(),
+                    problem.sourceName(), problem.afterEndOfLine(), problem.suppressErrors());
+        }
+
+        Problem targeting(@NotNull final PsiFile psiFile) {
+            return new Problem(psiFile, message, severityLevel, line, column, sourceName, afterEndOfLine,
+                    suppressErrors);
+        }
+    }
+
+    /**
+     * Record the results of a scan.
+     *
+     * @param scannedFiles the files, or directories of files, which were scanned. Any problems previously recorded
+     *                     for them are discarded.
+     * @param scanResults  the results of the scan.
+     */
+    public synchronized void update(@NotNull final Collection<VirtualFile> scannedFiles,
+                                    @NotNull final List<ScanResult> scanResults) {
+        scannedFiles.forEach(this::removeUnchecked);
+
+        for (final ScanResult scanResult : scanResults) {
+            scanResult.problems().forEach((psiFile, problems) -> {
+                final VirtualFile file = virtualFileOf(psiFile);
+                if (file != null && !problems.isEmpty()) {
+                    problemsByFile.computeIfAbsent(file, key -> new ArrayList<>())
+                            .add(new FileProblems(scanResult.configurationLocationResult(), scanResult.module(),
+                                    problems.stream().map(IndexedProblem::of).toList()));
+                }
+            });
+        }
+    }
+
+    /**
+     * Forget the problems of a file.
+     *
+     * @param file the file, or a directory, whose problems should be forgotten.
+     */
+    public synchronized void remove(@NotNull final VirtualFile file) {
+        removeUnchecked(file);
+    }
+
+    public synchronized void clear() {
+        problemsByFile.clear();
+    }
+
+    /**
+     * The recorded problems, in the form of the results of a single scan. As the index does not keep the elements
+     * the problems were found on, each problem targets its file.
+     *
+     * @param psiFileOf finds the PSI file of a file, or null if it no longer has one. This is called without holding
+     *                  the index, so may take a read action.
+     * @return the recorded problems of the files which still have a PSI file.
+     */
+    @NotNull
+    public List<ScanResult> results(@NotNull final Function<VirtualFile, PsiFile> psiFileOf) {
+        final Map<VirtualFile, List<FileProblems>> snapshot;
+        synchronized (this) {
+            snapshot = new HashMap<>(problemsByFile);
+        }
+
+        final List<ScanResult> results = new ArrayList<>();
+        snapshot.forEach((file, fileProblems) -> {
+            final PsiFile psiFile = psiFileOf.apply(file);
+            if (psiFile != null) {
+                fileProblems.forEach(problems -> results.add(new ScanResult(
+                        problems.configurationLocationResult(), problems.module(),
+                        Map.of(psiFile, problems.problems().stream()
+                                .map(problem -> problem.targeting(psiFile))
+                                .toList()))));
+            }
+        });
+        return results;
+    }
+
+    public synchronized int problemCount() {
+        return problemsByFile.values().stream()
+                .flatMap(List::stream)
+                .mapToInt(fileProblems -> fileProblems.problems().size())
+                .sum();
+    }
+
+    private void removeUnchecked(@NotNull final VirtualFile file) {
+        if (file.isDirectory()) {
+            problemsByFile.keySet().removeIf(indexedFile -> isAncestorOrSelf(file, indexedFile));
+        } else {
+            problemsByFile.remove(file);
+        }
+    }
+
+    private static boolean isAncestorOrSelf(@NotNull final VirtualFile ancestor,
+                                            @NotNull final VirtualFile file) {
+        for (VirtualFile current = file; current != null; current = current.getParent()) {
+            if (current.equals(ancestor)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Nullable
+    private static VirtualFile virtualFileOf(@NotNull final PsiFile psiFile) {
+        final VirtualFile file = psiFile.getVirtualFile();
+        if (file != null) {
+            return file;
+        }
+        return psiFile.getOriginalFile().getVirtualFile();
+    }
+}
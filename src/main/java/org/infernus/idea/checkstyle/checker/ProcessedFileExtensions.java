@@ -0,0 +1,148 @@
+package org.infernus.idea.checkstyle.checker;
+
+import org.infernus.idea.checkstyle.csapi.CheckstyleActions;
+import org.infernus.idea.checkstyle.csapi.CheckstyleInternalObject;
+import org.infernus.idea.checkstyle.csapi.ConfigVisitor;
+import org.infernus.idea.checkstyle.csapi.ConfigurationModule;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The extensions of the files a loaded configuration will process.
+ * <p>
+ * Checkstyle hands each file to every FileSetCheck configured directly beneath the Checker, and each of them skips the
+ * files whose extensions it was not configured for. Only the configured properties of the checks can be seen, so the
+ * defaults of the standard checks which are limited to some extensions are filled in by name. Any other check is
+ * assumed to process every file. The Checker's own {@code fileExtensions} applies before any of its checks.
+ */
+final class ProcessedFileExtensions {
+
+    static final ProcessedFileExtensions ALL = new ProcessedFileExtensions(null, null);
+
+    private static final String FILE_EXTENSIONS = "fileExtensions";
+    private static final String CHECK_SUFFIX = "Check";
+    private static final String FILTER_SUFFIX = "Filter";
+    private static final Map<String, Set<String>> DEFAULT_EXTENSIONS = Map.of(
+            "TreeWalker", Set.of(".java"),
+            "JavadocPackage", Set.of(".java"),
+            "Translation", Set.of(".properties"),
+            "UniqueProperties", Set.of(".properties"),
+            "OrderedProperties", Set.of(".properties"));
+
+    private final Set<String> checkerExtensions;
+    private final Set<String> checkExtensions;
+
+    private ProcessedFileExtensions(@Nullable final Set<String> checkerExtensions,
+                                    @Nullable final Set<String> checkExtensions) {
+        this.checkerExtensions = checkerExtensions;
+        this.checkExtensions = checkExtensions;
+    }
+
+    /**
+     * Derive the processed extensions from a configuration.
+     *
+     * @param checkstyleActions the Checkstyle instance the configuration was loaded by.
+     * @param configuration     the loaded configuration.
+     * @return the extensions processed; {@link #ALL} if the configuration could not be read.
+     */
+    @NotNull
+    static ProcessedFileExtensions of(@NotNull final CheckstyleActions checkstyleActions,
+                                      @NotNull final CheckstyleInternalObject configuration) {
+        final ExtensionCollector collector = new ExtensionCollector();
+        checkstyleActions.peruseConfiguration(configuration, collector);
+        return collector.result();
+    }
+
+    boolean accepts(@NotNull final String fileName) {
+        return matches(checkerExtensions, fileName) && matches(checkExtensions, fileName);
+    }
+
+    private static boolean matches(@Nullable final Set<String> extensions,
+                                   @NotNull final String fileName) {
+        if (extensions == null) {
+            return true;
+        }
+        for (final String extension : extensions) {
+            if (fileName.endsWith(extension)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param value the value of a {@code fileExtensions} property.
+     * @return the extensions, each with a leading dot; or {@code null} if every file is accepted.
+     */
+    @Nullable
+    private static Set<String> extensionsOf(@Nullable final String value) {
+        if (value == null) {
+            return null;
+        }
+        final Set<String> extensions = new HashSet<>();
+        for (final String extension : value.split(",")) {
+            final String trimmedExtension = extension.trim();
+            if (!trimmedExtension.isEmpty()) {
+                extensions.add(trimmedExtension.startsWith(".") ? trimmedExtension : "." + trimmedExtension);
+            }
+        }
+        return extensions.isEmpty() ? null : extensions;
+    }
+
+    @NotNull
+    private static String shortNameOf(@NotNull final String moduleName) {
+        final String simpleName = moduleName.substring(moduleName.lastIndexOf('.') + 1);
+        if (simpleName.endsWith(CHECK_SUFFIX) && simpleName.length() > CHECK_SUFFIX.length()) {
+            return simpleName.substring(0, simpleName.length() - CHECK_SUFFIX.length());
+        }
+        return simpleName;
+    }
+
+    private static final class ExtensionCollector implements ConfigVisitor {
+        private String rootName;
+        private Set<String> checkerExtensions;
+        private final Set<String> checkExtensions = new HashSet<>();
+        private boolean checkAcceptingAll;
+
+        @Override
+        public void visit(@NotNull final ConfigurationModule module) {
+            if (module.getParentName() == null) {
+                rootName = module.getName();
+                checkerExtensions = extensionsOf(module.getProperties().get(FILE_EXTENSIONS));
+                return;
+            }
+            if (!module.getParentName().equals(rootName)) {
+                return;  // checks beneath a TreeWalker, which are covered by its extensions
+            }
+
+            final String shortName = shortNameOf(module.getName());
+            if (shortName.endsWith(FILTER_SUFFIX)) {
+                return;
+            }
+
+            final Set<String> extensions;
+            if (module.getProperties().containsKey(FILE_EXTENSIONS)) {
+                extensions = extensionsOf(module.getProperties().get(FILE_EXTENSIONS));
+            } else {
+                extensions = DEFAULT_EXTENSIONS.get(shortName);
+            }
+            if (extensions == null) {
+                checkAcceptingAll = true;
+            } else {
+                checkExtensions.addAll(extensions);
+            }
+        }
+
+        @NotNull
+        ProcessedFileExtensions result() {
+            if (rootName == null) {
+                return ALL;
+            }
+            return new ProcessedFileExtensions(checkerExtensions, checkAcceptingAll ? null : Set.copyOf(checkExtensions));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.infernus.idea.checkstyle.checker;
+
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiFile;
+import org.infernus.idea.checkstyle.config.ConfigurationLocationSource;
+import org.infernus.idea.checkstyle.config.PluginConfigurationManager;
+import org.infernus.idea.checkstyle.csapi.CheckCost;
+import org.infernus.idea.checkstyle.exception.CheckStylePluginException;
+import org.infernus.idea.checkstyle.model.ConfigurationLocation;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the cost of each check of the rules files which apply to some files of a module.
+ */
+public class ProfileFiles implements Callable<Map<ConfigurationLocation, List<CheckCost>>> {
+
+    private static final Logger LOG = Logger.getInstance(ProfileFiles.class);
+
+    private final Project project;
+    private final Module module;
+    private final List<PsiFile> files;
+    @Nullable
+    private final ConfigurationLocation overrideConfigLocation;
+
+    public ProfileFiles(@NotNull final Project project,
+                        @NotNull final Module module,
+                        @NotNull final List<PsiFile> files,
+                        @Nullable final ConfigurationLocation overrideConfigLocation) {
+        this.project = project;
+        this.module = module;
+        this.files = files;
+        this.overrideConfigLocation = overrideConfigLocation;
+    }
+
+    /**
+     * @return the cost of each check, by the rules file it was configured in.
+     */
+    @Override
+    public Map<ConfigurationLocation, List<CheckCost>> call() {
+        final Map<ConfigurationLocation, List<CheckCost>> costs = new LinkedHashMap<>();
+        final List<ScannableFile> scannableFiles = new ArrayList<>();
+        try {
+            scannableFiles.addAll(ScannableFile.createAndValidate(files, module, overrideConfigLocation,
+                    configurationManager().getCurrent()));
+
+            for (ConfigurationLocation location
+                    : configurationLocationSource().getConfigurationLocations(module, overrideConfigLocation)) {
+                ProgressManager.checkCanceled();
+                if (location.isBlocked()) {
+                    LOG.debug("Skipping blocked location ", location);
+                    continue;
+                }
+                final CheckStyleChecker checker = checkerFactory().checker(module, location)
+                        .orElseThrow(() -> new CheckStylePluginException("Could not create checker for location "
+                                + location + ", see logs for details."));
+                costs.put(location, checker.profile(scannableFiles.stream()
+                        .filter(scannableFile -> checker.processes(scannableFile.getPsiFile()))
+                        .collect(Collectors.toList())));
+            }
+            return costs;
+
+        } finally {
+            scannableFiles.forEach(ScannableFile::deleteIfRequired);
+        }
+    }
+
+    private CheckerFactory checkerFactory() {
+        return project.getService(CheckerFactory.class);
+    }
+
+    private PluginConfigurationManager configurationManager() {
+        return project.getService(PluginConfigurationManager.class);
+    }
+
+    private ConfigurationLocationSource configurationLocationSource() {
+        return project.getService(ConfigurationLocationSource.class);
+    }
+}
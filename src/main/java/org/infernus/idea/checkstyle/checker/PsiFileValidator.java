@@ -2,12 +2,8 @@ package org.infernus.idea.checkstyle.checker;
 
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.module.ModuleUtil;
-import com.intellij.openapi.roots.JavaProjectRootsUtil;
 import com.intellij.openapi.roots.ModuleRootManager;
-import com.intellij.openapi.roots.ProjectFileIndex;
 import com.intellij.openapi.vfs.VirtualFile;
-import com.intellij.psi.PsiDocumentManager;
-import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.search.scope.packageSet.NamedScope;
 import org.infernus.idea.checkstyle.config.PluginConfiguration;
@@ -18,11 +14,9 @@ import org.infernus.idea.checkstyle.util.FileTypes;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
 final class PsiFileValidator {
 
@@ -33,90 +27,126 @@ final class PsiFileValidator {
                                       @Nullable final Module module,
                                       @NotNull final PluginConfiguration pluginConfig,
                                       @Nullable final ConfigurationLocation overrideConfigLocation) {
+        return isLive(psiFile)
+                && isScannable(psiFile, ScanContext.of(psiFile.getProject(), module, pluginConfig, overrideConfigLocation));
+    }
+
+    /**
+     * Select the files which should be scanned.
+     * <p>
+     * This must be called with read access.
+     *
+     * @param psiFiles the files to consider.
+     * @param context  the context of the scan.
+     * @return the files which should be scanned, in their original order.
+     */
+    @NotNull
+    static List<PsiFile> scannableFilesOf(@NotNull final Collection<PsiFile> psiFiles,
+                                          @NotNull final ScanContext context) {
+        final List<PsiFile> scannableFiles = new ArrayList<>(psiFiles.size());
+        for (final PsiFile psiFile : psiFiles) {
+            if (isScannable(psiFile, context)) {
+                scannableFiles.add(psiFile);
+            }
+        }
+        return scannableFiles;
+    }
+
+    /**
+     * The cheap checks come first, so that most of the files which are rejected never reach the indices.
+     */
+    static boolean isScannable(@Nullable final PsiFile psiFile,
+                               @NotNull final ScanContext context) {
+        if (!isLive(psiFile) || !isValidFileType(psiFile, context)) {
+            return false;
+        }
+
+        final VirtualFile virtualFile = psiFile.getVirtualFile();
+        return hasDocument(psiFile, context)
+                && isInSource(virtualFile, context)
+                && isInNamedScopeIfPresent(psiFile, context)
+                && modulesMatchAndScannableIfTest(psiFile, virtualFile, context)
+                && !isGenerated(virtualFile, context);
+    }
+
+    private static boolean isLive(@Nullable final PsiFile psiFile) {
         return psiFile != null
                 && psiFile.isValid()
-                && psiFile.isPhysical()
-                && hasDocument(psiFile)
-                && isInSource(psiFile, pluginConfig, overrideConfigLocation)
-                && isValidFileType(psiFile, pluginConfig)
-                && isScannableIfTest(psiFile, pluginConfig)
-                && modulesMatch(psiFile, module)
-                && !isGenerated(psiFile);
+                && psiFile.isPhysical();
     }
 
-    private static boolean hasDocument(final PsiFile psiFile) {
-        return PsiDocumentManager.getInstance(psiFile.getProject()).getDocument(psiFile) != null;
+    private static boolean hasDocument(@NotNull final PsiFile psiFile,
+                                       @NotNull final ScanContext context) {
+        return context.psiDocumentManager().getDocument(psiFile) != null;
     }
 
-    private static boolean isValidFileType(final PsiFile psiFile,
-                                           final PluginConfiguration pluginConfig) {
-        return pluginConfig.getScanScope().includeNonJavaSources()
+    private static boolean isValidFileType(@NotNull final PsiFile psiFile,
+                                           @NotNull final ScanContext context) {
+        return context.scanScope().includeNonJavaSources()
                 || FileTypes.isJava(psiFile.getFileType());
     }
 
-    private static boolean isScannableIfTest(final PsiFile psiFile,
-                                             final PluginConfiguration pluginConfig) {
-        return pluginConfig.getScanScope().includeTestClasses()
-                || !isTestClass(psiFile);
-    }
-
-    private static boolean isGenerated(final PsiFile psiFile) {
-        return JavaProjectRootsUtil.isInGeneratedCode(psiFile.getVirtualFile(), psiFile.getProject());
+    private static boolean isGenerated(@Nullable final VirtualFile virtualFile,
+                                       @NotNull final ScanContext context) {
+        if (virtualFile == null) {
+            return false;
+        }
+        final VirtualFile sourceRoot = context.projectFileIndex().getSourceRootForFile(virtualFile);
+        return sourceRoot != null && context.isInGeneratedSourceRoot(virtualFile, sourceRoot);
     }
 
-    private static boolean isInSource(
-            @NotNull final PsiFile psiFile,
-            @NotNull final PluginConfiguration pluginConfig,
-            @Nullable final ConfigurationLocation overrideConfigLocation) {
-        final boolean shouldBeScanned = pluginConfig.getScanScope() == ScanScope.Everything
-                || (psiFile.getVirtualFile() != null
-                        && ProjectFileIndex.getInstance(psiFile.getProject()).isInSourceContent(psiFile.getVirtualFile()));
-        return shouldBeScanned && isInNamedScopeIfPresent(
-                psiFile,
-                overrideConfigLocation != null
-                        ? Collections.singletonList(overrideConfigLocation)
-                        : pluginConfig.getActiveLocations());
+    private static boolean isInSource(@Nullable final VirtualFile virtualFile,
+                                      @NotNull final ScanContext context) {
+        return context.scanScope() == ScanScope.Everything
+                || (virtualFile != null && context.projectFileIndex().isInSourceContent(virtualFile));
     }
 
     /**
-     * Returns true, if the given psiFile is contained in any named scope of the given pluginConfig.
+     * Returns true, if the given psiFile is contained in any named scope of the locations in use.
      * If no NamedScope is provided, true will be returned.
      */
     private static boolean isInNamedScopeIfPresent(@NotNull final PsiFile psiFile,
-                                                   final Collection<ConfigurationLocation> activeLocations) {
-        final List<NamedScope> namedScopes = activeLocations.stream()
-                .map(ConfigurationLocation::getNamedScope)
-                .flatMap(Optional::stream)
-                .collect(Collectors.toList());
+                                                   @NotNull final ScanContext context) {
+        final List<NamedScope> namedScopes = context.namedScopes();
         if (namedScopes.isEmpty()) {
             return true;
         }
-        return namedScopes.stream().anyMatch(scope -> NamedScopeHelper.isFileInScope(psiFile, scope));
+        for (final NamedScope namedScope : namedScopes) {
+            if (NamedScopeHelper.isFileInScope(psiFile, namedScope)) {
+                return true;
+            }
+        }
+        return false;
     }
 
-    private static boolean isTestClass(final PsiElement element) {
-        final VirtualFile elementFile = element.getContainingFile().getVirtualFile();
-        if (elementFile == null) {
+    /**
+     * The file's module is needed both to match it against the module being scanned and to decide whether it is a
+     * test, so it is looked up at most once.
+     */
+    private static boolean modulesMatchAndScannableIfTest(@NotNull final PsiFile psiFile,
+                                                          @Nullable final VirtualFile virtualFile,
+                                                          @NotNull final ScanContext context) {
+        final boolean includeTests = context.scanScope().includeTestClasses();
+        if (context.module() == null && includeTests) {
+            return true;
+        }
+
+        final Module elementModule = ModuleUtil.findModuleForPsiElement(psiFile);
+        if (context.module() != null && (elementModule == null || !elementModule.equals(context.module()))) {
             return false;
         }
+        return includeTests || !isTestClass(virtualFile, elementModule);
+    }
 
-        final Module module = ModuleUtil.findModuleForPsiElement(element);
-        if (module == null) {
+    private static boolean isTestClass(@Nullable final VirtualFile virtualFile,
+                                       @Nullable final Module module) {
+        if (virtualFile == null || module == null) {
             return false;
         }
 
         final ModuleRootManager moduleRootManager = ModuleRootManager.getInstance(module);
         return moduleRootManager != null
-                && moduleRootManager.getFileIndex().isInTestSourceContent(elementFile);
-    }
-
-    private static boolean modulesMatch(final PsiFile psiFile,
-                                        final Module module) {
-        if (module == null) {
-            return true;
-        }
-        final Module elementModule = ModuleUtil.findModuleForPsiElement(psiFile);
-        return elementModule != null && elementModule.equals(module);
+                && moduleRootManager.getFileIndex().isInTestSourceContent(virtualFile);
     }
 
 }
@@ -0,0 +1,114 @@
+package org.infernus.idea.checkstyle.checker;
+
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.JavaProjectRootsUtil;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.search.scope.packageSet.NamedScope;
+import org.infernus.idea.checkstyle.config.PluginConfiguration;
+import org.infernus.idea.checkstyle.model.ConfigurationLocation;
+import org.infernus.idea.checkstyle.model.ScanScope;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * What {@link PsiFileValidator} needs to know about a scan, resolved once rather than for every file: the scan scope,
+ * the named scopes of the locations in use, and the project's indices.
+ * <p>
+ * The context is fixed once created. The only state it gathers is whether each source root it meets holds generated
+ * code, which is the same for every file beneath the root.
+ */
+final class ScanContext {
+
+    private final Project project;
+    private final Module module;
+    private final ScanScope scanScope;
+    private final List<NamedScope> namedScopes;
+    private final ProjectFileIndex projectFileIndex;
+    private final PsiDocumentManager psiDocumentManager;
+    private final Map<VirtualFile, Boolean> generatedSourceRoots = new ConcurrentHashMap<>();
+
+    private ScanContext(@NotNull final Project project,
+                        @Nullable final Module module,
+                        @NotNull final ScanScope scanScope,
+                        @NotNull final List<NamedScope> namedScopes) {
+        this.project = project;
+        this.module = module;
+        this.scanScope = scanScope;
+        this.namedScopes = namedScopes;
+        this.projectFileIndex = ProjectFileIndex.getInstance(project);
+        this.psiDocumentManager = PsiDocumentManager.getInstance(project);
+    }
+
+    /**
+     * Resolve the context of a scan.
+     *
+     * @param project                the project being scanned.
+     * @param module                 the module being scanned, if the scan is limited to one.
+     * @param pluginConfig           the current plugin configuration.
+     * @param overrideConfigLocation the configuration location to scan with, if not the active ones.
+     * @return the context.
+     */
+    @NotNull
+    static ScanContext of(@NotNull final Project project,
+                          @Nullable final Module module,
+                          @NotNull final PluginConfiguration pluginConfig,
+                          @Nullable final ConfigurationLocation overrideConfigLocation) {
+        final Collection<ConfigurationLocation> locations = overrideConfigLocation != null
+                ? Collections.singletonList(overrideConfigLocation)
+                : pluginConfig.getActiveLocations();
+        final List<NamedScope> namedScopes = locations.stream()
+                .map(ConfigurationLocation::getNamedScope)
+                .flatMap(Optional::stream)
+                .toList();
+        return new ScanContext(project, module, pluginConfig.getScanScope(), namedScopes);
+    }
+
+    @NotNull
+    Project project() {
+        return project;
+    }
+
+    @Nullable
+    Module module() {
+        return module;
+    }
+
+    @NotNull
+    ScanScope scanScope() {
+        return scanScope;
+    }
+
+    /**
+     * @return the named scopes of the locations in use; if empty, every file is in scope.
+     */
+    @NotNull
+    List<NamedScope> namedScopes() {
+        return namedScopes;
+    }
+
+    @NotNull
+    ProjectFileIndex projectFileIndex() {
+        return projectFileIndex;
+    }
+
+    @NotNull
+    PsiDocumentManager psiDocumentManager() {
+        return psiDocumentManager;
+    }
+
+    boolean isInGeneratedSourceRoot(@NotNull final VirtualFile file,
+                                    @NotNull final VirtualFile sourceRoot) {
+        return generatedSourceRoots.computeIfAbsent(sourceRoot,
+                root -> JavaProjectRootsUtil.isInGeneratedCode(file, project));
+    }
+}
@@ -4,6 +4,8 @@ import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.module.ModuleUtil;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VfsUtilCore;
 import com.intellij.openapi.vfs.VirtualFile;
@@ -36,18 +38,39 @@ public class ScanFiles implements Callable<List<ScanResult>> {
 
     private static final Logger LOG = Logger.getInstance(ScanFiles.class);
 
+    /** The most files of a module scanned before the results so far are recorded in the scan's progress. */
+    static final int PART_SIZE = 250;
+
     private final List<PsiFile> files;
     private final Map<Module, Set<PsiFile>> moduleToFiles;
     private final Set<ScannerListener> listeners = new CopyOnWriteArraySet<>();
     private final Project project;
     @Nullable
     private final ConfigurationLocation overrideConfigLocation;
+    private final ScanProgress progress;
 
     public ScanFiles(@NotNull final Project project,
                      @NotNull final List<VirtualFile> virtualFiles,
                      @Nullable final ConfigurationLocation overrideConfigLocation) {
+        this(project, virtualFiles, overrideConfigLocation, new ScanProgress());
+    }
+
+    /**
+     * Create a scan which carries on from an earlier, stopped, run of the same scan.
+     *
+     * @param project                the project.
+     * @param virtualFiles           the files, or directories of files, to scan.
+     * @param overrideConfigLocation the configuration to scan with, if not the default.
+     * @param progress               the progress of earlier runs, which this run records its progress in. Files
+     *                               already scanned are not scanned again, and their results are returned again.
+     */
+    public ScanFiles(@NotNull final Project project,
+                     @NotNull final List<VirtualFile> virtualFiles,
+                     @Nullable final ConfigurationLocation overrideConfigLocation,
+                     @NotNull final ScanProgress progress) {
         this.project = project;
         this.overrideConfigLocation = overrideConfigLocation;
+        this.progress = progress;
 
         files = findAllFilesFor(virtualFiles);
         moduleToFiles = mapsModulesToFiles();
@@ -81,6 +104,10 @@ public class ScanFiles implements Callable<List<ScanResult>> {
             final List<ScanResult> scanResults = processFilesForModuleInfoAndScan();
             return scanCompletedSuccessfully(scanResults);
 
+        } catch (ProcessCanceledException e) {
+            LOG.debug("Scan cancelled");
+            fireScanCancelled();
+            return List.of(ScanResult.EMPTY);
         } catch (CheckStylePluginParseException e) {
             LOG.debug("Parse exception caught during scan", e);
             return scanFailedWithError(e, false);
@@ -125,10 +152,18 @@ public class ScanFiles implements Callable<List<ScanResult>> {
         listeners.forEach(listener -> listener.scanFailedWithError(error));
     }
 
+    private void fireScanCancelled() {
+        listeners.forEach(ScannerListener::scanCancelled);
+    }
+
     private void fireFilesScanned(final int count) {
         listeners.forEach(listener -> listener.filesScanned(count));
     }
 
+    private void fireResultsFound(final List<ScanResult> partResults) {
+        listeners.forEach(listener -> listener.resultsFound(partResults));
+    }
+
     private List<PsiFile> buildFilesList(final PsiManager psiManager, final VirtualFile virtualFile) {
         return ReadAction.compute(() -> {
             final FindChildFiles visitor = new FindChildFiles(psiManager);
@@ -138,9 +173,8 @@ public class ScanFiles implements Callable<List<ScanResult>> {
     }
 
     private List<ScanResult> processFilesForModuleInfoAndScan() {
-        final List<ScanResult> scanResults = new ArrayList<>();
-
         for (final Module module : moduleToFiles.keySet()) {
+            checkCancelled();
             if (module == null) {
                 if (LOG.isDebugEnabled()) {
                     final Set<PsiFile> nullModuleFiles = moduleToFiles.get(null);
@@ -165,12 +199,30 @@ public class ScanFiles implements Callable<List<ScanResult>> {
                     .map(ConfigurationLocationResult::location)
                     .collect(Collectors.toList());
 
-            scanResults.addAll(checkFiles(module, filesForModule, locationsToCheck));
-
-            fireFilesScanned(filesForModule.size());
+            final List<PsiFile> remainingFiles = progress.remaining(filesForModule);
+            if (remainingFiles.size() < filesForModule.size()) {
+                fireFilesScanned(filesForModule.size() - remainingFiles.size());
+            }
+            for (int start = 0; start < remainingFiles.size(); start += PART_SIZE) {
+                checkCancelled();
+                final List<PsiFile> part = remainingFiles.subList(start,
+                        Math.min(start + PART_SIZE, remainingFiles.size()));
+                final List<ScanResult> partResults = checkFiles(module, new HashSet<>(part), locationsToCheck);
+                if (progress.scanned(part, partResults)) {
+                    fireResultsFound(partResults);
+                }
+                fireFilesScanned(part.size());
+            }
         }
 
-        return scanResults;
+        return progress.results();
+    }
+
+    private void checkCancelled() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new ProcessCanceledException();
+        }
+        ProgressManager.checkCanceled();
     }
 
     @NotNull
@@ -192,18 +244,22 @@ public class ScanFiles implements Callable<List<ScanResult>> {
         final List<ScannableFile> scannableFiles = new ArrayList<>();
         try {
             PluginConfiguration pluginConfiguration = configurationManager().getCurrent();
-            scannableFiles.addAll(ScannableFile.createAndValidate(filesToScan, module, this.overrideConfigLocation, pluginConfiguration));
+            final Map<ConfigurationLocation, CheckStyleChecker> checkers = checkersFor(module, configurationLocations);
+            final List<PsiFile> processedFiles = filesToScan.stream()
+                    .filter(file -> checkers.values().stream().anyMatch(checker -> checker.processes(file)))
+                    .collect(Collectors.toList());
+            if (processedFiles.size() < filesToScan.size()) {
+                LOG.debug("Skipping " + (filesToScan.size() - processedFiles.size())
+                        + " file(s) which no configured check will process");
+            }
+            if (!processedFiles.isEmpty()) {
+                scannableFiles.addAll(ScannableFile.createAndValidate(processedFiles, module, this.overrideConfigLocation, pluginConfiguration));
+            }
 
             final List<ScanResult> scanResults = new ArrayList<>();
-            for (ConfigurationLocation configurationLocation : configurationLocations) {
-                var checker = checkerFactory().checker(module, configurationLocation);
-                if (checker.isPresent()) {
-                    var problems = checker.get().scan(scannableFiles, pluginConfiguration.isSuppressErrors());
-                    scanResults.add(new ScanResult(ConfigurationLocationResult.of(configurationLocation, PRESENT), module, problems));
-                } else {
-                    throw new CheckStylePluginException("Could not create checker for location " + configurationLocation + ", see logs for details.");
-                }
-            }
+            MultiLocationScan.scan(checkers, scannableFiles, pluginConfiguration.isSuppressErrors())
+                    .forEach((location, problems) -> scanResults.add(
+                            new ScanResult(ConfigurationLocationResult.of(location, PRESENT), module, problems)));
             return scanResults;
 
         } finally {
@@ -211,6 +267,20 @@ public class ScanFiles implements Callable<List<ScanResult>> {
         }
     }
 
+    private Map<ConfigurationLocation, CheckStyleChecker> checkersFor(final Module module,
+                                                                      final List<ConfigurationLocation> configurationLocations) {
+        final Map<ConfigurationLocation, CheckStyleChecker> checkers = new LinkedHashMap<>();
+        for (ConfigurationLocation configurationLocation : configurationLocations) {
+            var checker = checkerFactory().checker(module, configurationLocation);
+            if (checker.isPresent()) {
+                checkers.put(configurationLocation, checker.get());
+            } else {
+                throw new CheckStylePluginException("Could not create checker for location " + configurationLocation + ", see logs for details.");
+            }
+        }
+        return checkers;
+    }
+
     private CheckerFactory checkerFactory() {
         return project.getService(CheckerFactory.class);
     }
@@ -0,0 +1,74 @@
+package org.infernus.idea.checkstyle.checker;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import org.infernus.idea.checkstyle.model.ScanResult;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The files a scan has finished with, and what was found in them, so that a scan which is stopped part way through
+ * carries on from where it stopped when it is run again.
+ * <p>
+ * Files are recorded by their virtual file, as the PSI of a file may be recreated between runs.
+ */
+public class ScanProgress {
+
+    private final Set<VirtualFile> scannedFiles = new HashSet<>();
+    private final List<ScanResult> results = new ArrayList<>();
+
+    /**
+     * @param files the files of a scan.
+     * @return those of the files which have not yet been scanned.
+     */
+    @NotNull
+    public synchronized List<PsiFile> remaining(@NotNull final Collection<PsiFile> files) {
+        return files.stream()
+                .filter(file -> !scannedFiles.contains(virtualFileOf(file)))
+                .toList();
+    }
+
+    /**
+     * Record a part of the scan as finished.
+     * <p>
+     * A run which was stopped may still finish the part it was scanning; if that part has since been scanned again,
+     * the later results are ignored.
+     *
+     * @param files       the files of the part.
+     * @param partResults what was found in them.
+     * @return true if the part was recorded, false if its results were ignored.
+     */
+    public synchronized boolean scanned(@NotNull final Collection<PsiFile> files,
+                                     @NotNull final List<ScanResult> partResults) {
+        final List<VirtualFile> virtualFiles = files.stream()
+                .map(ScanProgress::virtualFileOf)
+                .filter(Objects::nonNull)
+                .toList();
+        if (virtualFiles.stream().anyMatch(scannedFiles::contains)) {
+            return false;
+        }
+        scannedFiles.addAll(virtualFiles);
+        results.addAll(partResults);
+        return true;
+    }
+
+    /**
+     * @return the results of all the parts scanned so far.
+     */
+    @NotNull
+    public synchronized List<ScanResult> results() {
+        return List.copyOf(results);
+    }
+
+    @Nullable
+    private static VirtualFile virtualFileOf(@NotNull final PsiFile file) {
+        return file.getVirtualFile();
+    }
+}
@@ -5,15 +5,17 @@ import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.fileEditor.FileDocumentManager;
 import com.intellij.openapi.module.Module;
-import com.intellij.openapi.project.ProjectUtil;
-import com.intellij.openapi.roots.ModuleRootManager;
-import com.intellij.openapi.util.ThrowableComputable;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.LocalFileSystem;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiJavaFile;
 import org.infernus.idea.checkstyle.config.PluginConfiguration;
 import org.infernus.idea.checkstyle.model.ConfigurationLocation;
+import org.infernus.idea.checkstyle.util.ChunkedReadAction;
+import org.infernus.idea.checkstyle.util.IoExecutor;
 import org.infernus.idea.checkstyle.util.TempDirProvider;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -21,16 +23,17 @@ import org.jetbrains.annotations.Nullable;
 import java.io.*;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.IntUnaryOperator;
 import java.util.regex.Matcher;
-import java.util.stream.Collectors;
 
 import static java.util.Optional.ofNullable;
 
@@ -38,7 +41,7 @@ import static java.util.Optional.ofNullable;
 /**
  * A representation of a file able to be scanned.
  */
- public class ScannableFile {
+public class ScannableFile {
     private static final Logger LOG = Logger.getInstance(ScannableFile.class);
 
     private static final String TEMPFILE_DIR_PREFIX = "csi-";
@@ -46,58 +49,141 @@ import static java.util.Optional.ofNullable;
     private static final AtomicInteger TEMP_FILE_SOURCE = new AtomicInteger();
     private static final int MAX_TEMP_FILE_SUFFIX = 999;
 
+    /**
+     * The most files whose text has been read but not yet written to their temporary copies.
+     */
+    static final int MAX_PENDING_WRITES = 4 * ChunkedReadAction.DEFAULT_CHUNK_SIZE;
+
     private final File realFile;
     private final File baseTempDir;
     private final PsiFile psiFile;
+    private final CompletableFuture<Void> pendingWrite;
 
     /**
-     * Create a new scannable file from a PSI file.
+     * Create a new scannable file from a PSI file, under the caller's read access.
      * <p>
-     * If required this will create a temporary copy of the file.
+     * If required this will create a temporary copy of the file. The copy is written on the {@link IoExecutor}, so
+     * the file must not be handed out until {@link #awaitContents()} has returned.
      *
-     * @param psiFile the psiFile to create the file from.
-     * @param module  the module the file belongs to.
+     * @param psiFile       the psiFile to create the file from.
+     * @param tempDirLayout the layout of temporary copies for the scan.
      * @throws IOException if file creation is required and fails.
      */
-    public ScannableFile(@NotNull final PsiFile psiFile, @Nullable final Module module) throws IOException {
+    private ScannableFile(@NotNull final PsiFile psiFile,
+                          @NotNull final TempDirLayout tempDirLayout) throws IOException {
         this.psiFile = psiFile;
 
         if (!existsOnFilesystem(psiFile) || documentIsModifiedAndUnsaved(psiFile)) {
             baseTempDir = prepareBaseTmpDirFor(psiFile);
-            realFile = createTemporaryFileFor(psiFile, module, baseTempDir);
+            realFile = temporaryFileFor(psiFile, tempDirLayout, baseTempDir);
+            pendingWrite = writeContentsToFile(psiFile, realFile);
         } else {
             baseTempDir = null;
             realFile = new File(pathOf(psiFile));
+            pendingWrite = CompletableFuture.completedFuture(null);
         }
     }
 
+    /**
+     * Create scannable files for those of the given files which should be scanned.
+     * <p>
+     * The files are validated and created in chunks, each in its own non-blocking read action, so that a large
+     * module does not block write actions until all of its files have been prepared. Temporary copies are written
+     * concurrently, outside of the read actions, and are complete when this returns. Reading pauses while more than
+     * {@link #MAX_PENDING_WRITES} copies are waiting to be written, so that the text held for them stays bounded.
+     *
+     * @param psiFiles               the files to consider.
+     * @param module                 the module the files belong to.
+     * @param overrideConfigLocation the configuration location to scan with, if not the module's own.
+     * @param pluginConfiguration    the current plugin configuration.
+     * @return the scannable files.
+     */
     public static List<ScannableFile> createAndValidate(@NotNull final Collection<PsiFile> psiFiles,
                                                         @Nullable final Module module,
                                                         @Nullable final ConfigurationLocation overrideConfigLocation,
                                                         @NotNull final PluginConfiguration pluginConfiguration) {
-        ThrowableComputable<List<ScannableFile>, RuntimeException> action = () -> psiFiles.stream()
-                .filter(currentFile -> PsiFileValidator.isScannable(
-                        currentFile,
-                        module,
-                        pluginConfiguration,
-                        overrideConfigLocation))
-                .map(currentFile -> ScannableFile.create(currentFile, module))
+        final Optional<Project> project = projectOf(psiFiles, module);
+        if (project.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        final List<ScannableFile> writtenFiles = new ArrayList<>();
+        final Deque<ScannableFile> unwrittenFiles = new ArrayDeque<>();
+        final ScanContext scanContext = ScanContext.of(project.get(), module, pluginConfiguration, overrideConfigLocation);
+        final TempDirLayout tempDirLayout = new TempDirLayout(module);
+        try {
+            ChunkedReadAction.forEachChunk(new ArrayList<>(psiFiles), ChunkedReadAction.DEFAULT_CHUNK_SIZE,
+                    chunk -> createAndValidateChunk(chunk, scanContext, tempDirLayout),
+                    createdFiles -> {
+                        // outside the read action, so waiting for the disk does not hold up write actions
+                        unwrittenFiles.addAll(createdFiles);
+                        while (unwrittenFiles.size() > MAX_PENDING_WRITES) {
+                            withContents(unwrittenFiles.removeFirst()).ifPresent(writtenFiles::add);
+                        }
+                    });
+            while (!unwrittenFiles.isEmpty()) {
+                withContents(unwrittenFiles.removeFirst()).ifPresent(writtenFiles::add);
+            }
+            return writtenFiles;
+
+        } catch (ProcessCanceledException e) {
+            writtenFiles.forEach(ScannableFile::deleteIfRequired);
+            unwrittenFiles.forEach(ScannableFile::deleteIfRequired);
+            throw e;
+        }
+    }
+
+    @NotNull
+    private static Optional<Project> projectOf(@NotNull final Collection<PsiFile> psiFiles,
+                                               @Nullable final Module module) {
+        if (module != null) {
+            return Optional.of(module.getProject());
+        }
+        return psiFiles.stream()
                 .filter(Objects::nonNull)
-                .collect(Collectors.toCollection(CopyOnWriteArrayList::new));
-        return ReadAction.compute(action);
+                .map(PsiFile::getProject)
+                .findFirst();
     }
 
-    @Nullable
-    private static ScannableFile create(@NotNull final PsiFile psiFile, @Nullable final Module module) {
+    @NotNull
+    private static Optional<ScannableFile> withContents(@NotNull final ScannableFile scannableFile) {
         try {
-            final CreateScannableFileAction fileAction = new CreateScannableFileAction(psiFile, module);
-            ReadAction.run(fileAction);
+            scannableFile.awaitContents();
+            return Optional.of(scannableFile);
+        } catch (IOException e) {
+            LOG.warn("Failure when creating temporary file", e);
+            scannableFile.deleteIfRequired();
+            return Optional.empty();
+        }
+    }
 
-            if (fileAction.getFailure() != null) {
-                throw fileAction.getFailure();
+    @NotNull
+    private static List<ScannableFile> createAndValidateChunk(@NotNull final List<PsiFile> psiFiles,
+                                                              @NotNull final ScanContext scanContext,
+                                                              @NotNull final TempDirLayout tempDirLayout) {
+        final List<ScannableFile> scannableFiles = new ArrayList<>();
+        try {
+            for (final PsiFile psiFile : PsiFileValidator.scannableFilesOf(psiFiles, scanContext)) {
+                ProgressManager.checkCanceled();
+                final ScannableFile scannableFile = create(psiFile, tempDirLayout);
+                if (scannableFile != null) {
+                    scannableFiles.add(scannableFile);
+                }
             }
+            return scannableFiles;
+
+        } catch (ProcessCanceledException e) {
+            // the chunk will be restarted from scratch, so its temporary files are no longer needed
+            scannableFiles.forEach(ScannableFile::deleteIfRequired);
+            throw e;
+        }
+    }
 
-            return fileAction.getFile();
+    @Nullable
+    private static ScannableFile create(@NotNull final PsiFile psiFile,
+                                        @NotNull final TempDirLayout tempDirLayout) {
+        try {
+            return ReadAction.compute(() -> new ScannableFile(psiFile, tempDirLayout));
         } catch (IOException e) {
             LOG.warn("Failure when creating temporary file", e);
             return null;
@@ -110,24 +196,23 @@ import static java.util.Optional.ofNullable;
                 .orElseThrow(() -> new IllegalStateException("PSIFile " + "does not have associated virtual file: " + file));
     }
 
-    private File createTemporaryFileFor(@NotNull final PsiFile file,
-                                        @Nullable final Module module,
-                                        @NotNull final File tempDir) throws IOException {
-        final File temporaryFile = new File(parentDirFor(file, module, tempDir), file.getName());
+    private File temporaryFileFor(@NotNull final PsiFile file,
+                                  @NotNull final TempDirLayout tempDirLayout,
+                                  @NotNull final File tempDir) {
+        final File temporaryFile = new File(parentDirFor(file, tempDirLayout, tempDir), file.getName());
         temporaryFile.deleteOnExit();
-
-        writeContentsToFile(file, temporaryFile);
-
         return temporaryFile;
     }
 
     private File parentDirFor(@NotNull final PsiFile file,
-                              @Nullable final Module module,
+                              @NotNull final TempDirLayout tempDirLayout,
                               @NotNull final File baseTmpDir) {
-        File tmpDirForFile = relativePathToProjectRoot(file, baseTmpDir);
+        File tmpDirForFile = null;
 
-        if (tmpDirForFile == null && module != null) {
-            tmpDirForFile = relativePathToModuleContentRoots(file, module, baseTmpDir);
+        final String relativePath = tempDirLayout.relativePathOf(file);
+        if (relativePath != null) {
+            tmpDirForFile = new File(baseTmpDir.getAbsolutePath() + relativePath);
+            tmpDirForFile.deleteOnExit();
         }
 
         if (tmpDirForFile == null && file instanceof PsiJavaFile) {
@@ -138,10 +223,6 @@ import static java.util.Optional.ofNullable;
             tmpDirForFile = baseTmpDir;
         }
 
-        if (!tmpDirForFile.exists() && !tmpDirForFile.mkdirs()) {
-            LOG.debug("Failed to create temporary directory: " + tmpDirForFile.getAbsolutePath());
-        }
-
         return tmpDirForFile;
     }
 
@@ -154,38 +235,6 @@ import static java.util.Optional.ofNullable;
         return tempFile;
     }
 
-    private File relativePathToProjectRoot(final @NotNull PsiFile file, final @NotNull File baseTmpDir) {
-        if (file.getParent() != null) {
-            final VirtualFile projectDir = ProjectUtil.guessProjectDir(file.getProject());
-            if (projectDir != null) {
-                final String baseDirUrl = projectDir.getUrl();
-
-                final String parentUrl = file.getParent().getVirtualFile().getUrl();
-                if (parentUrl.startsWith(baseDirUrl)) {
-                    File tempFile = new File(baseTmpDir.getAbsolutePath() + parentUrl.substring(baseDirUrl.length()));
-                    tempFile.deleteOnExit();
-                    return tempFile;
-                }
-            }
-        }
-        return null;
-    }
-
-    private File relativePathToModuleContentRoots(final @NotNull PsiFile file, final @NotNull Module module, final
-    @NotNull File baseTmpDir) {
-        if (file.getParent() != null) {
-            final String parentUrl = file.getParent().getVirtualFile().getUrl();
-            for (String moduleSourceRoot : ModuleRootManager.getInstance(module).getContentRootUrls()) {
-                if (parentUrl.startsWith(moduleSourceRoot)) {
-                    File tempFile = new File(baseTmpDir.getAbsolutePath() + parentUrl.substring(moduleSourceRoot.length()));
-                    tempFile.deleteOnExit();
-                    return tempFile;
-                }
-            }
-        }
-        return null;
-    }
-
     private File prepareBaseTmpDirFor(final PsiFile tempPsiFile) {
         final File baseTmpDir = new File(new TempDirProvider().forPersistedPsiFile(tempPsiFile), tempFileDirectoryName());
         baseTmpDir.deleteOnExit();
@@ -216,14 +265,35 @@ import static java.util.Optional.ofNullable;
                 .map(fileDocumentManager::isDocumentUnsaved).orElse(false);
     }
 
-    private void writeContentsToFile(final PsiFile file, final File outFile) throws IOException {
+    /**
+     * The file's contents are read here, under the caller's read access; the write itself is left to the I/O
+     * executor, so that many files may be written at once without holding the read lock.
+     */
+    @NotNull
+    private CompletableFuture<Void> writeContentsToFile(final PsiFile file, final File outFile) {
         final String lineSeparator = CodeStyle.getSettings(file.getProject()).getLineSeparator();
-        final String content = file.getText().replace("\n", lineSeparator); // IDEA uses \n internally
+        final String text = file.getText();
+        final Charset charset = charSetOf(file);
 
-        try (BufferedWriter tempFileOut = new BufferedWriter(
-                new OutputStreamWriter(Files.newOutputStream(outFile.toPath()), charSetOf(file)))) {
-            tempFileOut.write(content);
-        }
+        return IoExecutor.supplyOnDisk(() -> {
+            final File parentDir = outFile.getParentFile();
+            if (!parentDir.exists() && !parentDir.mkdirs()) {
+                LOG.debug("Failed to create temporary directory: " + parentDir.getAbsolutePath());
+            }
+
+            // IDEA uses \n internally, which the writer replaces with the project's separator
+            TempFileWriter.write(text, lineSeparator, charset, outFile);
+            return null;
+        });
+    }
+
+    /**
+     * Wait for the temporary copy of the file, if any, to be written.
+     *
+     * @throws IOException if the copy could not be written.
+     */
+    private void awaitContents() throws IOException {
+        IoExecutor.await(pendingWrite);
     }
 
     @NotNull
@@ -247,6 +317,8 @@ import static java.util.Optional.ofNullable;
 
     private void deleteIfRequired() {
         if (baseTempDir != null && baseTempDir.getName().startsWith(TEMPFILE_DIR_PREFIX)) {
+            // a write still in flight would otherwise recreate what we delete
+            pendingWrite.exceptionally(error -> null).join();
             delete(baseTempDir);
         }
     }
@@ -278,6 +350,19 @@ import static java.util.Optional.ofNullable;
         return psiFile;
     }
 
+    /**
+     * A path which identifies the file from one scan to the next. Temporary copies are written beneath a directory
+     * which changes between scans, so their path is taken relative to it.
+     *
+     * @return the path.
+     */
+    public String getStablePath() {
+        if (baseTempDir == null) {
+            return getAbsolutePath();
+        }
+        return TEMPFILE_DIR_PREFIX + ":" + baseTempDir.toPath().relativize(realFile.toPath());
+    }
+
     @Override
     public String toString() {
         return String.format("[ScannableFile: file=%s; temporary=%s]", realFile.toString(), baseTempDir != null);
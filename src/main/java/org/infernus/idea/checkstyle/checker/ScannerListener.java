@@ -12,8 +12,27 @@ public interface ScannerListener {
 
     void filesScanned(int count);
 
+    /**
+     * Called on the scanning thread as each part of a scan is finished, before the scan completes. The results
+     * passed to {@link #scanCompletedSuccessfully(List)} include every part passed here.
+     *
+     * @param partResults what was found in the part.
+     */
+    default void resultsFound(final List<ScanResult> partResults) {
+    }
+
     void scanCompletedSuccessfully(List<ScanResult> scanResults);
 
     void scanFailedWithError(CheckStylePluginException error);
 
+    void scanCancelled();
+
+    /**
+     * Called when a scan is withdrawn without {@link #scanCancelled()} being reported, such as when it is replaced
+     * by a later scan of the same files. Anything kept from {@link #resultsFound(List)} should be released, and
+     * nothing displayed.
+     */
+    default void resultsDiscarded() {
+    }
+
 }
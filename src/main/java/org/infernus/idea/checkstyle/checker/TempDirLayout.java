@@ -0,0 +1,87 @@
+package org.infernus.idea.checkstyle.checker;
+
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectUtil;
+import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiDirectory;
+import com.intellij.psi.PsiFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Where the temporary copies of files go, relative to their temporary directory.
+ * <p>
+ * A copy keeps its path relative to the project directory or, failing that, to the content root of its module, so
+ * that checks which look at paths still see the same ones. The roots are looked up once, and each directory is
+ * matched against them once, so one layout should be shared by all the files of a scan.
+ */
+final class TempDirLayout {
+
+    private final Module module;
+    private final Map<String, Optional<String>> relativePaths = new ConcurrentHashMap<>();
+
+    private volatile List<String> rootUrls;
+
+    TempDirLayout(@Nullable final Module module) {
+        this.module = module;
+    }
+
+    /**
+     * Find the path of a file's directory relative to the project or module content root it is in.
+     * <p>
+     * This must be called with read access.
+     *
+     * @param file the file.
+     * @return the relative path, starting with a separator, or null if the file is outside the project and module.
+     */
+    @Nullable
+    String relativePathOf(@NotNull final PsiFile file) {
+        final PsiDirectory parent = file.getParent();
+        if (parent == null) {
+            return null;
+        }
+
+        final String parentUrl = parent.getVirtualFile().getUrl();
+        return relativePaths.computeIfAbsent(parentUrl, url -> relativePathOf(url, rootUrls(file.getProject())))
+                .orElse(null);
+    }
+
+    @NotNull
+    private static Optional<String> relativePathOf(@NotNull final String directoryUrl,
+                                                   @NotNull final List<String> rootUrls) {
+        for (final String rootUrl : rootUrls) {
+            if (directoryUrl.startsWith(rootUrl)) {
+                return Optional.of(directoryUrl.substring(rootUrl.length()));
+            }
+        }
+        return Optional.empty();
+    }
+
+    @NotNull
+    private List<String> rootUrls(@NotNull final Project project) {
+        List<String> currentRootUrls = rootUrls;
+        if (currentRootUrls == null) {
+            // the project directory takes precedence over the module's content roots
+            final List<String> newRootUrls = new ArrayList<>();
+            final VirtualFile projectDir = ProjectUtil.guessProjectDir(project);
+            if (projectDir != null) {
+                newRootUrls.add(projectDir.getUrl());
+            }
+            if (module != null) {
+                Collections.addAll(newRootUrls, ModuleRootManager.getInstance(module).getContentRootUrls());
+            }
+            currentRootUrls = List.copyOf(newRootUrls);
+            rootUrls = currentRootUrls;
+        }
+        return currentRootUrls;
+    }
+}
@@ -0,0 +1,125 @@
+package org.infernus.idea.checkstyle.checker;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Writes the temporary copies of files straight to a {@link FileChannel}.
+ * <p>
+ * The text is encoded into a pooled direct buffer with a pooled encoder, and IDEA's {@code \n} line endings are
+ * replaced as it is encoded, so a copy costs neither a second string nor fresh buffers. Writers are pooled rather
+ * than thread-local, as the writes run on short-lived virtual threads; their number is bounded by the disk limit of
+ * the {@link org.infernus.idea.checkstyle.util.IoExecutor}.
+ */
+final class TempFileWriter {
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final Queue<TempFileWriter> POOL = new ConcurrentLinkedQueue<>();
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final Map<Charset, CharsetEncoder> encoders = new HashMap<>();
+
+    private TempFileWriter() {
+    }
+
+    /**
+     * Write text to a file, replacing any existing content.
+     *
+     * @param text          the text to write, with {@code \n} line endings.
+     * @param lineSeparator the line separator to write in place of {@code \n}.
+     * @param charset       the charset to encode the text with.
+     * @param outFile       the file to write.
+     * @throws IOException if the file cannot be written.
+     */
+    static void write(@NotNull final String text,
+                      @NotNull final String lineSeparator,
+                      @NotNull final Charset charset,
+                      @NotNull final File outFile) throws IOException {
+        TempFileWriter writer = POOL.poll();
+        if (writer == null) {
+            writer = new TempFileWriter();
+        }
+        try {
+            writer.writeTo(text, lineSeparator, charset, outFile);
+        } finally {
+            writer.buffer.clear();
+            POOL.offer(writer);
+        }
+    }
+
+    private void writeTo(@NotNull final String text,
+                         @NotNull final String lineSeparator,
+                         @NotNull final Charset charset,
+                         @NotNull final File outFile) throws IOException {
+        final CharsetEncoder encoder = encoderFor(charset);
+        final CharBuffer separator = "\n".equals(lineSeparator) ? null : CharBuffer.wrap(lineSeparator);
+
+        try (FileChannel channel = FileChannel.open(outFile.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            int lineStart = 0;
+            int lineEnd = separator != null ? text.indexOf('\n', lineStart) : -1;
+            while (lineEnd >= 0) {
+                encode(encoder, CharBuffer.wrap(text, lineStart, lineEnd), channel);
+                encode(encoder, separator.rewind(), channel);
+                lineStart = lineEnd + 1;
+                lineEnd = text.indexOf('\n', lineStart);
+            }
+
+            final CharBuffer remainder = CharBuffer.wrap(text, lineStart, text.length());
+            while (encoder.encode(remainder, buffer, true).isOverflow()) {
+                drainTo(channel);
+            }
+            while (encoder.flush(buffer).isOverflow()) {
+                drainTo(channel);
+            }
+            drainTo(channel);
+        }
+    }
+
+    private void encode(@NotNull final CharsetEncoder encoder,
+                        @NotNull final CharBuffer chars,
+                        @NotNull final FileChannel channel) throws IOException {
+        while (encoder.encode(chars, buffer, false).isOverflow()) {
+            drainTo(channel);
+        }
+        if (chars.hasRemaining()) {
+            // a surrogate left unpaired by the end of the line, which the encoder would have replaced at the end
+            // of the input
+            if (buffer.remaining() < encoder.replacement().length) {
+                drainTo(channel);
+            }
+            buffer.put(encoder.replacement());
+        }
+    }
+
+    private void drainTo(@NotNull final FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @NotNull
+    private CharsetEncoder encoderFor(@NotNull final Charset charset) {
+        final CharsetEncoder encoder = encoders.computeIfAbsent(charset, key -> key.newEncoder()
+                // as OutputStreamWriter does
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE));
+        return encoder.reset();
+    }
+}
@@ -8,6 +8,7 @@ import org.infernus.idea.checkstyle.exception.CheckStylePluginException;
 import org.infernus.idea.checkstyle.model.ConfigurationLocation;
 import org.infernus.idea.checkstyle.model.ScanResult;
 import org.infernus.idea.checkstyle.toolwindow.CheckStyleToolWindowPanel;
+import org.infernus.idea.checkstyle.toolwindow.ResultStore;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
@@ -16,6 +17,10 @@ import java.util.List;
 public class UiFeedbackScannerListener implements ScannerListener {
     private final Project project;
 
+    private final Object lock = new Object();
+    private ResultStore store;
+    private boolean finished;
+
     public UiFeedbackScannerListener(final Project project) {
         this.project = project;
     }
@@ -42,39 +47,96 @@ public class UiFeedbackScannerListener implements ScannerListener {
     }
 
     @Override
-    public void scanCompletedSuccessfully(final List<ScanResult> scanResults) {
-        ApplicationManager.getApplication().invokeLater(() -> {
-            final CheckStyleToolWindowPanel toolWindowPanel = toolWindowPanel();
-            if (toolWindowPanel != null) {
-                var notPresent = new ArrayList<ConfigurationLocation>();
-                var blocked = new ArrayList<ConfigurationLocation>();
-                var validResults = new ArrayList<ScanResult>();
-
-                for (ScanResult scanResult : scanResults) {
-                    switch (scanResult.configurationLocationResult().status()) {
-                        case NOT_PRESENT -> notPresent.add(scanResult.configurationLocationResult().location());
-                        case BLOCKED -> blocked.add(scanResult.configurationLocationResult().location());
-                        default -> validResults.add(scanResult);
+    public void resultsFound(final List<ScanResult> partResults) {
+        synchronized (lock) {
+            if (finished) {
+                return;
+            }
+            for (ScanResult partResult : partResults) {
+                if (isValid(partResult)) {
+                    if (store == null) {
+                        store = new ResultStore();
                     }
+                    store.add(partResult);
                 }
+            }
+        }
+    }
 
-                var warningMessages = new ArrayList<String>();
-                if (!notPresent.isEmpty()) {
-                    warningMessages.add(CheckStyleBundle.message("plugin.results.no-rules-file"));
-                }
-                if (!blocked.isEmpty()) {
-                    var maxTimeBlocked = blocked.stream().map(ConfigurationLocation::blockedForSeconds).reduce(Long::max).get();
-                    var blockedLocations = String.join(", ", blocked.stream().map(ConfigurationLocation::getDescription).toList());
-                    warningMessages.add(CheckStyleBundle.message("plugin.results.rules-blocked", maxTimeBlocked, blockedLocations));
+    @Override
+    public void scanCompletedSuccessfully(final List<ScanResult> scanResults) {
+        var notPresent = new ArrayList<ConfigurationLocation>();
+        var blocked = new ArrayList<ConfigurationLocation>();
+
+        for (ScanResult scanResult : scanResults) {
+            switch (scanResult.configurationLocationResult().status()) {
+                case NOT_PRESENT -> notPresent.add(scanResult.configurationLocationResult().location());
+                case BLOCKED -> blocked.add(scanResult.configurationLocationResult().location());
+                default -> {
                 }
+            }
+        }
 
-                toolWindowPanel.displayResults(validResults, String.join("; ", warningMessages));
+        var warningMessages = new ArrayList<String>();
+        if (!notPresent.isEmpty()) {
+            warningMessages.add(CheckStyleBundle.message("plugin.results.no-rules-file"));
+        }
+        if (!blocked.isEmpty()) {
+            var maxTimeBlocked = blocked.stream().map(ConfigurationLocation::blockedForSeconds).reduce(Long::max).get();
+            var blockedLocations = String.join(", ", blocked.stream().map(ConfigurationLocation::getDescription).toList());
+            warningMessages.add(CheckStyleBundle.message("plugin.results.rules-blocked", maxTimeBlocked, blockedLocations));
+        }
+        final String warningMessage = String.join("; ", warningMessages);
+
+        // the store was filled as the problems were found, so only the finished store is handed to the EDT
+        final ResultStore results = finish();
+        if (results == null) {
+            // a scan without parts, such as one with no rules
+            handOver(ResultStore.of(scanResults.stream().filter(UiFeedbackScannerListener::isValid).toList()),
+                    warningMessage);
+        } else {
+            handOver(results.finish(), warningMessage);
+        }
+    }
+
+    private void handOver(final ResultStore results, final String warningMessage) {
+        ApplicationManager.getApplication().invokeLater(() -> {
+            final CheckStyleToolWindowPanel toolWindowPanel = toolWindowPanel();
+            if (toolWindowPanel != null) {
+                toolWindowPanel.displayResults(results, warningMessage);
+            } else {
+                results.close();
             }
         });
     }
 
+    private static boolean isValid(final ScanResult scanResult) {
+        return switch (scanResult.configurationLocationResult().status()) {
+            case NOT_PRESENT, BLOCKED -> false;
+            default -> true;
+        };
+    }
+
+    @Nullable
+    private ResultStore finish() {
+        synchronized (lock) {
+            finished = true;
+            final ResultStore results = store;
+            store = null;
+            return results;
+        }
+    }
+
+    private void discardResults() {
+        final ResultStore results = finish();
+        if (results != null) {
+            results.close();
+        }
+    }
+
     @Override
     public void scanFailedWithError(final CheckStylePluginException error) {
+        discardResults();
         ApplicationManager.getApplication().invokeLater(() -> {
             final CheckStyleToolWindowPanel toolWindowPanel = toolWindowPanel();
             if (toolWindowPanel != null) {
@@ -83,6 +145,22 @@ public class UiFeedbackScannerListener implements ScannerListener {
         });
     }
 
+    @Override
+    public void resultsDiscarded() {
+        discardResults();
+    }
+
+    @Override
+    public void scanCancelled() {
+        discardResults();
+        ApplicationManager.getApplication().invokeLater(() -> {
+            final CheckStyleToolWindowPanel toolWindowPanel = toolWindowPanel();
+            if (toolWindowPanel != null) {
+                toolWindowPanel.displayWarningResult("plugin.status.aborted");
+            }
+        });
+    }
+
     @Nullable
     private CheckStyleToolWindowPanel toolWindowPanel() {
         return CheckStyleToolWindowPanel.panelFor(project);
@@ -1,15 +1,16 @@
 package org.infernus.idea.checkstyle.checks;
 
 import com.intellij.openapi.diagnostic.Logger;
-import com.intellij.openapi.project.Project;
 import org.infernus.idea.checkstyle.CheckstyleProjectService;
 import org.infernus.idea.checkstyle.csapi.CheckstyleInternalObject;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
-import java.util.function.Function;
+import java.util.Set;
+import java.util.function.BiFunction;
 
 
 /**
@@ -19,22 +20,41 @@ public final class CheckFactory {
 
     private static final Logger LOG = Logger.getInstance(CheckFactory.class);
 
-    private static final List<Function<Project, Check>> CHECKS = Arrays.asList(
-            (project) -> new JavadocPackageCheck(project.getService(CheckstyleProjectService.class)),
-            (project) -> new PackageHtmlCheck());
+    private static final String CHECK_SUFFIX = "Check";
+
+    private static final List<BiFunction<CheckstyleProjectService, PackageDocumentationIndex, Check>> CHECKS =
+            Arrays.asList(
+                    JavadocPackageCheck::new,
+                    (checkstyleProjectService, index) -> new PackageHtmlCheck(index));
 
     private CheckFactory() {
     }
 
+    /**
+     * Create the checks which apply to a configuration. Checks for modules absent from the configuration are
+     * omitted, as they would never see an event.
+     *
+     * @param checkstyleProjectService the project's Checkstyle service.
+     * @param config                   the configuration the checks apply to.
+     * @return the configured checks.
+     */
     @NotNull
-    public static List<Check> getChecks(final Project project, final CheckstyleInternalObject config) {
+    public static List<Check> getChecks(@NotNull final CheckstyleProjectService checkstyleProjectService,
+                                        @NotNull final CheckstyleInternalObject config) {
+        final Set<String> configuredModules = new HashSet<>();
+        checkstyleProjectService.getCheckstyleInstance().peruseConfiguration(config,
+                module -> configuredModules.add(module.getName()));
+
         final List<Check> checks = new ArrayList<>();
+        final PackageDocumentationIndex packageDocumentationIndex = new PackageDocumentationIndex();
 
-        for (final Function<Project, Check> checkFactory : CHECKS) {
+        for (final BiFunction<CheckstyleProjectService, PackageDocumentationIndex, Check> checkFactory : CHECKS) {
             try {
-                final Check check = checkFactory.apply(project);
-                check.configure(config);
-                checks.add(check);
+                final Check check = checkFactory.apply(checkstyleProjectService, packageDocumentationIndex);
+                if (isConfigured(check, configuredModules)) {
+                    check.configure(config);
+                    checks.add(check);
+                }
             } catch (Exception e) {
                 LOG.warn("Couldn't instantiate check", e);
             }
@@ -42,4 +62,13 @@ public final class CheckFactory {
 
         return checks;
     }
+
+    private static boolean isConfigured(@NotNull final Check check, @NotNull final Set<String> configuredModules) {
+        final String fullyQualifiedName = check.getFullyQualifiedName();
+        return configuredModules.contains(check.getShortName())
+                || configuredModules.contains(check.getShortName() + CHECK_SUFFIX)
+                || configuredModules.contains(fullyQualifiedName)
+                || fullyQualifiedName.endsWith(CHECK_SUFFIX) && configuredModules.contains(
+                        fullyQualifiedName.substring(0, fullyQualifiedName.length() - CHECK_SUFFIX.length()));
+    }
 }
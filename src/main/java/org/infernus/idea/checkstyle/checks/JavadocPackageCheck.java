@@ -1,6 +1,5 @@
 package org.infernus.idea.checkstyle.checks;
 
-import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import org.infernus.idea.checkstyle.CheckstyleProjectService;
 import org.infernus.idea.checkstyle.csapi.CheckstyleInternalObject;
@@ -17,15 +16,16 @@ public final class JavadocPackageCheck implements Check {
     private static final String CHECK_PACKAGE_INFO =
             "com.puppycrawl.tools.checkstyle.checks.javadoc.JavadocPackageCheck";
     private static final String MODULE_NAME = "JavadocPackage";
-    private static final String PACKAGE_HTML_FILE = "package.html";
-    private static final String PACKAGE_INFO_FILE = "package-info.java";
 
     private boolean usingLegacyPackage;
 
     private final CheckstyleProjectService checkstyleProjectService;
+    private final PackageDocumentationIndex packageDocumentationIndex;
 
-    public JavadocPackageCheck(@NotNull final CheckstyleProjectService checkstyleProjectService) {
+    JavadocPackageCheck(@NotNull final CheckstyleProjectService checkstyleProjectService,
+                        @NotNull final PackageDocumentationIndex packageDocumentationIndex) {
         this.checkstyleProjectService = checkstyleProjectService;
+        this.packageDocumentationIndex = packageDocumentationIndex;
     }
 
     @Override
@@ -51,30 +51,8 @@ public final class JavadocPackageCheck implements Check {
             return true;
         }
 
-        PsiElement currentSibling = findFirstSibling(file);
-
-        while (currentSibling != null) {
-            if (currentSibling.isPhysical() && currentSibling.isValid() && currentSibling instanceof PsiFile) {
-                final String siblingName = ((PsiFile) currentSibling).getName();
-                if (PACKAGE_INFO_FILE.equals(siblingName)
-                        || (usingLegacyPackage && PACKAGE_HTML_FILE.equals(siblingName))) {
-                    return false;
-                }
-            }
-
-            currentSibling = currentSibling.getNextSibling();
-        }
-
-        return true;
-    }
-
-
-    private PsiElement findFirstSibling(@NotNull final PsiFile psiFile) {
-        PsiElement currentSibling = psiFile;
-        while (currentSibling.getPrevSibling() != null) {
-            currentSibling = currentSibling.getPrevSibling();
-        }
-        return currentSibling;
+        return !packageDocumentationIndex.hasPackageInfo(file)
+                && !(usingLegacyPackage && packageDocumentationIndex.hasPackageHtml(file));
     }
 
     /**
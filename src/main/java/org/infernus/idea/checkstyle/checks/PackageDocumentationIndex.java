@@ -0,0 +1,68 @@
+package org.infernus.idea.checkstyle.checks;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.psi.PsiDirectory;
+import com.intellij.psi.PsiFile;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Records which directories hold package documentation, so checks need not walk every sibling of a file.
+ * <p>
+ * Each directory's children are read once; the index is discarded whenever the VFS structure changes.
+ */
+final class PackageDocumentationIndex {
+
+    static final String PACKAGE_HTML_FILE = "package.html";
+    static final String PACKAGE_INFO_FILE = "package-info.java";
+
+    private static final int HAS_PACKAGE_INFO = 1;
+    private static final int HAS_PACKAGE_HTML = 2;
+
+    private final Map<VirtualFile, Integer> documentationByDirectory = new ConcurrentHashMap<>();
+    private volatile long structureModificationCount = -1;
+
+    boolean hasPackageInfo(@NotNull final PsiFile file) {
+        return (documentationBeside(file) & HAS_PACKAGE_INFO) != 0;
+    }
+
+    boolean hasPackageHtml(@NotNull final PsiFile file) {
+        return (documentationBeside(file) & HAS_PACKAGE_HTML) != 0;
+    }
+
+    private int documentationBeside(@NotNull final PsiFile file) {
+        final PsiDirectory directory = file.getContainingDirectory();
+        if (directory == null) {
+            return documentationFlagFor(file.getName());
+        }
+
+        final long currentModificationCount = VirtualFileManager.VFS_STRUCTURE_MODIFICATIONS.getModificationCount();
+        if (currentModificationCount != structureModificationCount) {
+            documentationByDirectory.clear();
+            structureModificationCount = currentModificationCount;
+        }
+        return documentationByDirectory.computeIfAbsent(directory.getVirtualFile(), this::documentationIn);
+    }
+
+    private int documentationIn(@NotNull final VirtualFile directory) {
+        int flags = 0;
+        for (final VirtualFile child : directory.getChildren()) {
+            if (!child.isDirectory()) {
+                flags |= documentationFlagFor(child.getName());
+            }
+        }
+        return flags;
+    }
+
+    private int documentationFlagFor(@NotNull final String fileName) {
+        return switch (fileName) {
+            case PACKAGE_INFO_FILE -> HAS_PACKAGE_INFO;
+            case PACKAGE_HTML_FILE -> HAS_PACKAGE_HTML;
+            default -> 0;
+        };
+    }
+}
@@ -1,6 +1,5 @@
 package org.infernus.idea.checkstyle.checks;
 
-import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import org.infernus.idea.checkstyle.csapi.CheckstyleInternalObject;
 import org.jetbrains.annotations.NotNull;
@@ -12,7 +11,12 @@ import org.jetbrains.annotations.NotNull;
 public class PackageHtmlCheck implements Check {
 
     private static final String CHECK_PACKAGE_HTML = "com.puppycrawl.tools.checkstyle.checks.javadoc.PackageHtmlCheck";
-    private static final String PACKAGE_HTML_FILE = "package.html";
+
+    private final PackageDocumentationIndex packageDocumentationIndex;
+
+    PackageHtmlCheck(@NotNull final PackageDocumentationIndex packageDocumentationIndex) {
+        this.packageDocumentationIndex = packageDocumentationIndex;
+    }
 
     @Override
     public String getShortName() {
@@ -34,27 +38,6 @@ public class PackageHtmlCheck implements Check {
             return true;
         }
 
-        PsiElement currentSibling = findFirstSibling(file);
-
-        while (currentSibling != null) {
-            if (currentSibling.isPhysical() && currentSibling.isValid()
-                    && currentSibling instanceof PsiFile
-                    && PACKAGE_HTML_FILE.equals(((PsiFile) currentSibling).getName())) {
-                return false;
-            }
-
-            currentSibling = currentSibling.getNextSibling();
-        }
-
-        return true;
-    }
-
-
-    private PsiElement findFirstSibling(@NotNull final PsiFile psiFile) {
-        PsiElement currentSibling = psiFile;
-        while (currentSibling.getPrevSibling() != null) {
-            currentSibling = currentSibling.getPrevSibling();
-        }
-        return currentSibling;
+        return !packageDocumentationIndex.hasPackageHtml(file);
     }
 }
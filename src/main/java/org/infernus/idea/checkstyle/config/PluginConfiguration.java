@@ -25,6 +25,10 @@ public class PluginConfiguration {
     private final SortedSet<String> activeLocationIds;
     private final boolean scanBeforeCheckin;
     private final boolean importSettingsFromMaven;
+    private final boolean backgroundScan;
+    private final boolean scanInWorkerProcesses;
+    private final boolean fastChecksWhileEditing;
+    private final SortedSet<String> expensiveChecks;
 
     PluginConfiguration(@NotNull final String checkstyleVersion,
                         @NotNull final ScanScope scanScope,
@@ -35,7 +39,11 @@ public class PluginConfiguration {
                         @NotNull final List<String> thirdPartyClasspath,
                         @NotNull final SortedSet<String> activeLocationIds,
                         final boolean scanBeforeCheckin,
-                        final boolean importSettingsFromMaven) {
+                        final boolean importSettingsFromMaven,
+                        final boolean backgroundScan,
+                        final boolean scanInWorkerProcesses,
+                        final boolean fastChecksWhileEditing,
+                        @NotNull final SortedSet<String> expensiveChecks) {
         this.checkstyleVersion = checkstyleVersion;
         this.scanScope = scanScope;
         this.suppressErrors = suppressErrors;
@@ -48,6 +56,10 @@ public class PluginConfiguration {
                 .collect(Collectors.toCollection(TreeSet::new));
         this.scanBeforeCheckin = scanBeforeCheckin;
         this.importSettingsFromMaven = importSettingsFromMaven;
+        this.backgroundScan = backgroundScan;
+        this.scanInWorkerProcesses = scanInWorkerProcesses;
+        this.fastChecksWhileEditing = fastChecksWhileEditing;
+        this.expensiveChecks = Collections.unmodifiableSortedSet(new TreeSet<>(expensiveChecks));
     }
 
     @NotNull
@@ -110,6 +122,26 @@ public class PluginConfiguration {
         return importSettingsFromMaven;
     }
 
+    public boolean isBackgroundScan() {
+        return backgroundScan;
+    }
+
+    public boolean isScanInWorkerProcesses() {
+        return scanInWorkerProcesses;
+    }
+
+    public boolean isFastChecksWhileEditing() {
+        return fastChecksWhileEditing;
+    }
+
+    /**
+     * @return the names of the checks left out while editing, if {@link #isFastChecksWhileEditing()}.
+     */
+    @NotNull
+    public SortedSet<String> getExpensiveChecks() {
+        return expensiveChecks;
+    }
+
     public boolean hasChangedFrom(final Object other) {
         return !this.equals(other) || !locationsAreEqual((PluginConfiguration) other);
     }
@@ -145,13 +177,18 @@ public class PluginConfiguration {
                 && Objects.equals(thirdPartyClasspath, otherDto.thirdPartyClasspath)
                 && Objects.equals(activeLocationIds, otherDto.activeLocationIds)
                 && Objects.equals(scanBeforeCheckin, otherDto.scanBeforeCheckin)
-                && Objects.equals(importSettingsFromMaven, otherDto.importSettingsFromMaven);
+                && Objects.equals(importSettingsFromMaven, otherDto.importSettingsFromMaven)
+                && Objects.equals(backgroundScan, otherDto.backgroundScan)
+                && Objects.equals(scanInWorkerProcesses, otherDto.scanInWorkerProcesses)
+                && Objects.equals(fastChecksWhileEditing, otherDto.fastChecksWhileEditing)
+                && Objects.equals(expensiveChecks, otherDto.expensiveChecks);
     }
 
     @Override
     public int hashCode() {
         return Objects.hash(checkstyleVersion, scanScope, suppressErrors, copyLibs, scrollToSource,
-                locations, thirdPartyClasspath, activeLocationIds, scanBeforeCheckin, importSettingsFromMaven);
+                locations, thirdPartyClasspath, activeLocationIds, scanBeforeCheckin, importSettingsFromMaven, backgroundScan,
+                scanInWorkerProcesses, fastChecksWhileEditing, expensiveChecks);
     }
 
 }
@@ -12,6 +12,33 @@ import org.jetbrains.annotations.NotNull;
 import java.util.*;
 
 public final class PluginConfigurationBuilder {
+
+    /**
+     * The checks left out while editing unless the user chooses otherwise: those which parse every Javadoc comment,
+     * match patterns across whole files, or read other files than the one being checked.
+     */
+    public static final SortedSet<String> DEFAULT_EXPENSIVE_CHECKS = Collections.unmodifiableSortedSet(new TreeSet<>(List.of(
+            "AtclauseOrder",
+            "JavadocBlockTagLocation",
+            "JavadocContentLocation",
+            "JavadocLeadingAsteriskAlign",
+            "JavadocMethod",
+            "JavadocMissingLeadingAsterisk",
+            "JavadocMissingWhitespaceAfterAsterisk",
+            "JavadocPackage",
+            "JavadocParagraph",
+            "JavadocStyle",
+            "JavadocTagContinuationIndentation",
+            "JavadocType",
+            "JavadocVariable",
+            "NonEmptyAtclauseDescription",
+            "Regexp",
+            "RegexpMultiline",
+            "RequireEmptyLineBeforeBlockTagGroup",
+            "SingleLineJavadoc",
+            "SummaryJavadoc",
+            "Translation")));
+
     private String checkstyleVersion;
     private ScanScope scanScope;
     private boolean suppressErrors;
@@ -22,6 +49,10 @@ public final class PluginConfigurationBuilder {
     private SortedSet<String> activeLocationIds;
     private boolean scanBeforeCheckin;
     private boolean importSettingsFromMaven;
+    private boolean backgroundScan;
+    private boolean scanInWorkerProcesses;
+    private boolean fastChecksWhileEditing;
+    private SortedSet<String> expensiveChecks;
 
     private PluginConfigurationBuilder(@NotNull final String checkstyleVersion,
                                        @NotNull final ScanScope scanScope,
@@ -32,7 +63,11 @@ public final class PluginConfigurationBuilder {
                                        @NotNull final List<String> thirdPartyClasspath,
                                        @NotNull final SortedSet<String> activeLocationIds,
                                        final boolean scanBeforeCheckin,
-                                       final boolean importSettingsFromMaven) {
+                                       final boolean importSettingsFromMaven,
+                                       final boolean backgroundScan,
+                                       final boolean scanInWorkerProcesses,
+                                       final boolean fastChecksWhileEditing,
+                                       @NotNull final SortedSet<String> expensiveChecks) {
         this.checkstyleVersion = checkstyleVersion;
         this.scanScope = scanScope;
         this.suppressErrors = suppressErrors;
@@ -43,6 +78,10 @@ public final class PluginConfigurationBuilder {
         this.activeLocationIds = activeLocationIds;
         this.scanBeforeCheckin = scanBeforeCheckin;
         this.importSettingsFromMaven = importSettingsFromMaven;
+        this.backgroundScan = backgroundScan;
+        this.scanInWorkerProcesses = scanInWorkerProcesses;
+        this.fastChecksWhileEditing = fastChecksWhileEditing;
+        this.expensiveChecks = expensiveChecks;
     }
 
     public static PluginConfigurationBuilder defaultConfiguration(@NotNull final Project project) {
@@ -64,7 +103,11 @@ public final class PluginConfigurationBuilder {
                 Collections.emptyList(),
                 Collections.emptySortedSet(),
                 false,
-                false);
+                false,
+                false,
+                false,
+                false,
+                DEFAULT_EXPENSIVE_CHECKS);
     }
 
     public static PluginConfigurationBuilder testInstance(@NotNull final String checkstyleVersion) {
@@ -78,7 +121,11 @@ public final class PluginConfigurationBuilder {
                 Collections.emptyList(),
                 Collections.emptySortedSet(),
                 false,
-                false);
+                false,
+                false,
+                false,
+                false,
+                DEFAULT_EXPENSIVE_CHECKS);
     }
 
     public static PluginConfigurationBuilder from(@NotNull final PluginConfiguration source) {
@@ -91,7 +138,11 @@ public final class PluginConfigurationBuilder {
                 source.getThirdPartyClasspath(),
                 source.getActiveLocationIds(),
                 source.isScanBeforeCheckin(),
-                source.isImportSettingsFromMaven());
+                source.isImportSettingsFromMaven(),
+                source.isBackgroundScan(),
+                source.isScanInWorkerProcesses(),
+                source.isFastChecksWhileEditing(),
+                source.getExpensiveChecks());
     }
 
     public PluginConfigurationBuilder withCheckstyleVersion(@NotNull final String newCheckstyleVersion) {
@@ -144,6 +195,26 @@ public final class PluginConfigurationBuilder {
         return this;
     }
 
+    public PluginConfigurationBuilder withBackgroundScan(final boolean newBackgroundScan) {
+        this.backgroundScan = newBackgroundScan;
+        return this;
+    }
+
+    public PluginConfigurationBuilder withScanInWorkerProcesses(final boolean newScanInWorkerProcesses) {
+        this.scanInWorkerProcesses = newScanInWorkerProcesses;
+        return this;
+    }
+
+    public PluginConfigurationBuilder withFastChecksWhileEditing(final boolean newFastChecksWhileEditing) {
+        this.fastChecksWhileEditing = newFastChecksWhileEditing;
+        return this;
+    }
+
+    public PluginConfigurationBuilder withExpensiveChecks(@NotNull final SortedSet<String> newExpensiveChecks) {
+        this.expensiveChecks = newExpensiveChecks;
+        return this;
+    }
+
     public PluginConfiguration build() {
         return new PluginConfiguration(
                 checkstyleVersion,
@@ -155,7 +226,11 @@ public final class PluginConfigurationBuilder {
                 Objects.requireNonNullElseGet(thirdPartyClasspath, ArrayList::new),
                 Objects.requireNonNullElseGet(activeLocationIds, TreeSet::new),
                 scanBeforeCheckin,
-                importSettingsFromMaven);
+                importSettingsFromMaven,
+                backgroundScan,
+                scanInWorkerProcesses,
+                fastChecksWhileEditing,
+                Objects.requireNonNullElse(expensiveChecks, DEFAULT_EXPENSIVE_CHECKS));
     }
 
     private static ConfigurationLocationFactory configurationLocationFactory(final Project project) {
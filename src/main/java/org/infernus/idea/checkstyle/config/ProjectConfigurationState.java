@@ -86,6 +86,14 @@ public class ProjectConfigurationState implements PersistentStateComponent<Proje
         private boolean scanBeforeCheckin;
         @Tag
         private boolean importSettingsFromMaven;
+        @Tag
+        private boolean backgroundScan;
+        @Tag
+        private boolean scanInWorkerProcesses;
+        @Tag
+        private boolean fastChecksWhileEditing;
+        @XCollection
+        private List<String> expensiveChecks;
         @XCollection
         private List<String> thirdPartyClasspath;
         @XCollection
@@ -108,6 +116,10 @@ public class ProjectConfigurationState implements PersistentStateComponent<Proje
             projectSettings.scrollToSource = currentPluginConfig.isScrollToSource();
             projectSettings.scanBeforeCheckin = currentPluginConfig.isScanBeforeCheckin();
             projectSettings.importSettingsFromMaven = currentPluginConfig.isImportSettingsFromMaven();
+            projectSettings.backgroundScan = currentPluginConfig.isBackgroundScan();
+            projectSettings.scanInWorkerProcesses = currentPluginConfig.isScanInWorkerProcesses();
+            projectSettings.fastChecksWhileEditing = currentPluginConfig.isFastChecksWhileEditing();
+            projectSettings.expensiveChecks = new ArrayList<>(currentPluginConfig.getExpensiveChecks());
 
             projectSettings.thirdPartyClasspath = new ArrayList<>(currentPluginConfig.getThirdPartyClasspath());
             projectSettings.activeLocationIds = new ArrayList<>(currentPluginConfig.getActiveLocationIds());
@@ -155,7 +167,13 @@ public class ProjectConfigurationState implements PersistentStateComponent<Proje
                         .withThirdPartyClassPath(requireNonNullElseGet(thirdPartyClasspath, ArrayList::new))
                         .withLocations(deserialiseLocations(project))
                         .withActiveLocationIds(new TreeSet<>(requireNonNullElseGet(activeLocationIds, ArrayList::new)))
-                        .withImportSettingsFromMaven(importSettingsFromMaven);
+                        .withImportSettingsFromMaven(importSettingsFromMaven)
+                        .withBackgroundScan(backgroundScan)
+                        .withScanInWorkerProcesses(scanInWorkerProcesses)
+                        .withFastChecksWhileEditing(fastChecksWhileEditing)
+                        .withExpensiveChecks(expensiveChecks != null
+                                ? new TreeSet<>(expensiveChecks)
+                                : PluginConfigurationBuilder.DEFAULT_EXPENSIVE_CHECKS);
             }
 
             return new LegacyProjectConfigurationStateDeserialiser(project)
@@ -0,0 +1,29 @@
+package org.infernus.idea.checkstyle.csapi;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+
+/**
+ * The time a single module of a configuration took to process a set of files.
+ *
+ * @param moduleName   the name of the module, as given in the configuration.
+ * @param parentName   the name of the module's parent, e.g. {@code TreeWalker}.
+ * @param files        the number of files the module was run on.
+ * @param issues       the number of issues the module reported.
+ * @param totalNanos   the wall time spent on all files, in nanoseconds.
+ * @param maxNanos     the wall time spent on the slowest file, in nanoseconds.
+ * @param slowestFile  the path of the slowest file, or null if no file was processed.
+ */
+public record CheckCost(@NotNull String moduleName,
+                        @Nullable String parentName,
+                        int files,
+                        int issues,
+                        long totalNanos,
+                        long maxNanos,
+                        @Nullable String slowestFile) {
+
+    public long averageNanos() {
+        return files > 0 ? totalNanos / files : 0;
+    }
+}
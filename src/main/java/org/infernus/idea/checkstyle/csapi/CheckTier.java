@@ -0,0 +1,16 @@
+package org.infernus.idea.checkstyle.csapi;
+
+/**
+ * Which of the checks of a configuration a checker runs.
+ */
+public enum CheckTier {
+    /**
+     * Every check in the configuration.
+     */
+    FULL,
+
+    /**
+     * The configuration without the checks the user has marked as expensive, for highlighting while editing.
+     */
+    FAST
+}
@@ -43,6 +43,22 @@ public interface CheckstyleActions {
                                     @Nullable Map<String, String> properties,
                                     @Nullable TabWidthAndBaseDirProvider configurations);
 
+    /**
+     * Create a new Checkstyle checker which runs some of the checks of its configuration.
+     *
+     * @param module              IntelliJ module
+     * @param location            configuration location
+     * @param properties          property values needed in the configuration file
+     * @param configurations      an internal object, intended for mocking in unit tests
+     * @param tier                the checks to run
+     * @return the new checker
+     */
+    CheckStyleChecker createChecker(@Nullable Module module,
+                                    @NotNull ConfigurationLocation location,
+                                    @Nullable Map<String, String> properties,
+                                    @Nullable TabWidthAndBaseDirProvider configurations,
+                                    @NotNull CheckTier tier);
+
 
     /**
      * Destroy a checker.
@@ -69,6 +85,44 @@ public interface CheckstyleActions {
                                      Optional<String> baseDir);
 
 
+    /**
+     * Combine the checkers of several configurations into one, which parses each file once for all of them.
+     *
+     * @param checkersWithConfig the checkers along with their configurations
+     * @return the combined checker, or null if the configurations cannot be combined
+     */
+    @Nullable
+    CheckstyleInternalObject combineCheckers(@NotNull List<CheckstyleInternalObject> checkersWithConfig);
+
+
+    /**
+     * Run a Checkstyle scan with a combined checker on the given files.
+     *
+     * @param combinedChecker     the checker, as created by {@link #combineCheckers(List)}
+     * @param scannableFiles      the list of files to scan
+     * @param isSuppressingErrors flag indicating whether errors should be suppressed (from plugin config)
+     * @param tabWidth            number of characters per tab
+     * @param baseDir             the base dir
+     * @return for each of the combined checkers, in the order they were combined, a map of files to problems
+     */
+    List<Map<PsiFile, List<Problem>>> scanCombined(@NotNull CheckstyleInternalObject combinedChecker,
+                                                   @NotNull List<ScannableFile> scannableFiles,
+                                                   boolean isSuppressingErrors,
+                                                   int tabWidth,
+                                                   Optional<String> baseDir);
+
+
+    /**
+     * Measure how long each module of a checker's configuration takes to process the given files.
+     *
+     * @param checkerWithConfig the checker along with its configuration
+     * @param scannableFiles    the list of files to process
+     * @return the cost of each module, most expensive first
+     */
+    List<CheckCost> profile(@NotNull CheckstyleInternalObject checkerWithConfig,
+                            @NotNull List<ScannableFile> scannableFiles);
+
+
     /**
      * Load a Checkstyle configuration file.
      *
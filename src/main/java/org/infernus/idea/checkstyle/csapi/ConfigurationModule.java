@@ -17,10 +17,20 @@ public class ConfigurationModule {
 
     private final Set<KnownTokenTypes> knownTokenTypes;
 
+    private final String parentName;
+
     public ConfigurationModule(@NotNull final String name,
                                @Nullable final Map<String, String> properties,
                                @Nullable final Set<KnownTokenTypes> knownTokenTypes) {
+        this(name, properties, knownTokenTypes, null);
+    }
+
+    public ConfigurationModule(@NotNull final String name,
+                               @Nullable final Map<String, String> properties,
+                               @Nullable final Set<KnownTokenTypes> knownTokenTypes,
+                               @Nullable final String parentName) {
         this.name = name;
+        this.parentName = parentName;
 
         if (properties != null) {
             this.properties = Collections.unmodifiableMap(properties);
@@ -50,4 +60,12 @@ public class ConfigurationModule {
     public Set<KnownTokenTypes> getKnownTokenTypes() {
         return knownTokenTypes;
     }
+
+    /**
+     * @return the name of the module this one is configured within, or {@code null} for the root module.
+     */
+    @Nullable
+    public String getParentName() {
+        return parentName;
+    }
 }
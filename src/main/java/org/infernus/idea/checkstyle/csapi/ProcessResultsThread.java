@@ -1,6 +1,7 @@
 package org.infernus.idea.checkstyle.csapi;
 
 import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiInvalidElementAccessException;
@@ -72,6 +73,7 @@ public class ProcessResultsThread implements ThrowableRunnable<RuntimeException>
         final Map<PsiFile, List<Integer>> lineLengthCachesByFile = new HashMap<>();
 
         for (final Issue event : errors) {
+            ProgressManager.checkCanceled();
             final PsiFile psiFile = fileNamesToPsiFiles.get(filenameFrom(event));
             if (psiFile == null) {
                 LOG.info("Could not find mapping for file: " + event.fileName + " in " + fileNamesToPsiFiles);
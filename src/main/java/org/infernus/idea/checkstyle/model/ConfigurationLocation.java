@@ -80,6 +80,11 @@ public abstract class ConfigurationLocation implements Cloneable, Comparable<Con
                 namedScope = NamedScopeHelper.getScopeByIdWithDefaultFallback(project, namedScope.getScopeId());
             }
         }
+
+        final NamedScopeMembershipCache membershipCache = project.getService(NamedScopeMembershipCache.class);
+        if (membershipCache != null) {  // can be null in unit tests
+            membershipCache.invalidate();
+        }
     }
 
     public boolean canBeResolvedInDefaultProject() {
@@ -2,7 +2,9 @@ package org.infernus.idea.checkstyle.model;
 
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.project.Project;
+import org.infernus.idea.checkstyle.util.IoExecutor;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
@@ -52,7 +54,9 @@ public class HTTPURLConfigurationLocation extends ConfigurationLocation {
         }
 
         try {
-            cachedContent = readContentOf(streamFrom(connectionTo(getLocation())));
+            final String location = getLocation();
+            cachedContent = IoExecutor.await(IoExecutor.supplyFromHost(hostOf(location),
+                    () -> readContentOf(streamFrom(connectionTo(location)))));
             cacheExpiry = System.currentTimeMillis() + (CONTENT_CACHE_SECONDS * ONE_SECOND);
             failureExpiry = 0;
             return new ByteArrayInputStream(cachedContent);
@@ -66,6 +70,18 @@ public class HTTPURLConfigurationLocation extends ConfigurationLocation {
         }
     }
 
+    @Nullable
+    private static String hostOf(@Nullable final String location) {
+        if (location == null) {
+            return null;
+        }
+        try {
+            return URI.create(location).getHost();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     @NotNull
     URLConnection connectionTo(final String location) throws IOException {
         final URL url = URI.create(location).toURL();
@@ -49,6 +49,14 @@ public final class NamedScopeHelper {
     }
 
     public static boolean isFileInScope(final PsiFile psiFile, @NotNull final NamedScope namedScope) {
+        final NamedScopeMembershipCache membershipCache = psiFile.getProject().getService(NamedScopeMembershipCache.class);
+        if (membershipCache == null) {  // can be null in unit tests
+            return matches(psiFile, namedScope);
+        }
+        return membershipCache.isFileInScope(psiFile, namedScope);
+    }
+
+    static boolean matches(final PsiFile psiFile, @NotNull final NamedScope namedScope) {
         return ReadAction.compute(() -> {
             final PackageSet packageSet = namedScope.getValue();
             if (packageSet == null) {
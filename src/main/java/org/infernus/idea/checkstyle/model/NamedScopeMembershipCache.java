@@ -0,0 +1,183 @@
+package org.infernus.idea.checkstyle.model;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootEvent;
+import com.intellij.openapi.roots.ModuleRootListener;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.scope.packageSet.NamedScope;
+import com.intellij.psi.search.scope.packageSet.PackageSet;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiPredicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Remembers which files are in which named scopes.
+ * <p>
+ * Matching a file against a pattern-based scope is expensive, yet most scopes are built from patterns which give the
+ * same answer for every file in a directory, such as {@code file:src/main//*} or {@code src:com.example..*}. For
+ * these the answer is kept per directory. Scopes whose patterns name files are answered per file, and scopes which
+ * depend on more than a file's path, such as references to other scopes, are not cached at all.
+ * <p>
+ * The cache is cleared when the scopes change, through the listener each {@link ConfigurationLocation} registers, and
+ * when the project's roots change, as those decide which package a directory holds.
+ */
+public class NamedScopeMembershipCache {
+
+    static final int MAX_ENTRIES_PER_SCOPE = 50_000;
+
+    private static final Pattern OPERATORS = Pattern.compile("\\|\\||&&|[!()]");
+    private static final Pattern ATOM = Pattern.compile("^(?:([a-z]+)(?:\\[[^\\]]*\\])?:)?(.+)$");
+    private static final Set<String> PACKAGE_PATTERN_TYPES = Set.of("src", "lib", "test");
+    private static final String FILE_PATTERN_TYPE = "file";
+    private static final String ANY_NAME = "*";
+
+    enum Granularity {
+        DIRECTORY,
+        FILE,
+        NONE
+    }
+
+    private final Map<NamedScope, ScopeMembership> memberships = new ConcurrentHashMap<>();
+    private final BiPredicate<PsiFile, NamedScope> matcher;
+
+    public NamedScopeMembershipCache() {
+        this(NamedScopeHelper::matches);
+    }
+
+    NamedScopeMembershipCache(@NotNull final BiPredicate<PsiFile, NamedScope> matcher) {
+        this.matcher = matcher;
+    }
+
+    public boolean isFileInScope(@NotNull final PsiFile psiFile,
+                                 @NotNull final NamedScope namedScope) {
+        final ScopeMembership membership = memberships.computeIfAbsent(namedScope,
+                scope -> new ScopeMembership(granularityOf(scope.getValue())));
+        final String key = membership.keyFor(psiFile);
+        if (key == null) {
+            return matcher.test(psiFile, namedScope);
+        }
+
+        final Boolean cachedAnswer = membership.answers.get(key);
+        if (cachedAnswer != null) {
+            return cachedAnswer;
+        }
+
+        final boolean answer = matcher.test(psiFile, namedScope);
+        if (membership.answers.size() >= MAX_ENTRIES_PER_SCOPE) {
+            membership.answers.clear();
+        }
+        membership.answers.put(key, answer);
+        return answer;
+    }
+
+    public void invalidate() {
+        memberships.clear();
+    }
+
+    @NotNull
+    static Granularity granularityOf(@Nullable final PackageSet packageSet) {
+        if (packageSet == null) {
+            return Granularity.DIRECTORY;  // an empty scope holds everything
+        }
+        return granularityOf(packageSet.getText());
+    }
+
+    /**
+     * Decide how finely the answers for a scope may be cached, from the text of its patterns.
+     *
+     * @param scopeText the text of the scope, as shown in the scope editor.
+     * @return the granularity of the scope.
+     */
+    @NotNull
+    static Granularity granularityOf(@NotNull final String scopeText) {
+        Granularity granularity = null;
+        for (final String atom : OPERATORS.split(scopeText)) {
+            if (atom.isBlank()) {
+                continue;
+            }
+            final Granularity atomGranularity = granularityOfAtom(atom.trim());
+            if (atomGranularity == Granularity.NONE) {
+                return Granularity.NONE;
+            }
+            if (granularity == null || atomGranularity == Granularity.FILE) {
+                granularity = atomGranularity;
+            }
+        }
+        return granularity != null ? granularity : Granularity.NONE;
+    }
+
+    @NotNull
+    private static Granularity granularityOfAtom(@NotNull final String atom) {
+        final Matcher atomMatcher = ATOM.matcher(atom);
+        if (!atomMatcher.matches()) {
+            return Granularity.NONE;
+        }
+
+        final String type = atomMatcher.group(1);
+        final String pattern = atomMatcher.group(2);
+        final char separator;
+        if (FILE_PATTERN_TYPE.equals(type)) {
+            separator = '/';
+        } else if (type == null || PACKAGE_PATTERN_TYPES.contains(type)) {
+            separator = '.';
+        } else {
+            return Granularity.NONE;
+        }
+
+        if (pattern.startsWith("$")) {
+            return Granularity.NONE;  // a reference to another scope
+        }
+        final String lastSegment = pattern.substring(pattern.lastIndexOf(separator) + 1);
+        return ANY_NAME.equals(lastSegment) ? Granularity.DIRECTORY : Granularity.FILE;
+    }
+
+    private static final class ScopeMembership {
+        private final Granularity granularity;
+        private final Map<String, Boolean> answers = new ConcurrentHashMap<>();
+
+        ScopeMembership(@NotNull final Granularity granularity) {
+            this.granularity = granularity;
+        }
+
+        @Nullable
+        String keyFor(@NotNull final PsiFile psiFile) {
+            if (granularity == Granularity.NONE) {
+                return null;
+            }
+            final VirtualFile virtualFile = psiFile.getVirtualFile();
+            if (virtualFile == null) {
+                return null;
+            }
+            if (granularity == Granularity.DIRECTORY && virtualFile.getParent() != null) {
+                return virtualFile.getParent().getPath();
+            }
+            return virtualFile.getPath();
+        }
+    }
+
+    /**
+     * Clears the cache when the project's roots change.
+     */
+    public static class RootsListener implements ModuleRootListener {
+        private final Project project;
+
+        public RootsListener(@NotNull final Project project) {
+            this.project = project;
+        }
+
+        @Override
+        public void rootsChanged(@NotNull final ModuleRootEvent event) {
+            final NamedScopeMembershipCache cache = project.getService(NamedScopeMembershipCache.class);
+            if (cache != null) {
+                cache.invalidate();
+            }
+        }
+    }
+}
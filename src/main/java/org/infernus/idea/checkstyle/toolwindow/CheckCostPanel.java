@@ -0,0 +1,70 @@
+package org.infernus.idea.checkstyle.toolwindow;
+
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.wm.ToolWindow;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.content.Content;
+import com.intellij.ui.content.ContentManager;
+import com.intellij.ui.table.JBTable;
+import org.infernus.idea.checkstyle.csapi.CheckCost;
+import org.infernus.idea.checkstyle.model.ConfigurationLocation;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.List;
+import java.util.Map;
+
+import static org.infernus.idea.checkstyle.CheckStyleBundle.message;
+
+/**
+ * A tab of the tool window showing the cost of each check, as measured by profiling. The table may be sorted by any
+ * column, and starts sorted by the total time taken, most expensive first.
+ */
+public class CheckCostPanel extends JPanel implements DumbAware {
+
+    private final CheckCostTableModel costModel = new CheckCostTableModel();
+
+    public CheckCostPanel() {
+        super(new BorderLayout());
+
+        final JBTable costTable = new JBTable(costModel);
+        costTable.setAutoCreateRowSorter(true);
+        costTable.setStriped(true);
+        costTable.getTableHeader().setReorderingAllowed(false);
+        costTable.getRowSorter().setSortKeys(List.of(
+                new RowSorter.SortKey(CheckCostTableModel.COLUMN_TOTAL_MILLIS, SortOrder.DESCENDING)));
+
+        add(new JBScrollPane(costTable), BorderLayout.CENTER);
+    }
+
+    public void displayCosts(@NotNull final Map<ConfigurationLocation, List<CheckCost>> costsByLocation) {
+        costModel.setCosts(costsByLocation);
+    }
+
+    /**
+     * Show the costs in the tool window, adding the tab for them if it is not already present.
+     *
+     * @param toolWindow      the CheckStyle tool window.
+     * @param costsByLocation the cost of each check, by the rules file it was configured in.
+     */
+    public static void display(@NotNull final ToolWindow toolWindow,
+                               @NotNull final Map<ConfigurationLocation, List<CheckCost>> costsByLocation) {
+        final ContentManager contentManager = toolWindow.getContentManager();
+        Content costContent = null;
+        for (Content content : contentManager.getContents()) {
+            if (content.getComponent() instanceof CheckCostPanel) {
+                costContent = content;
+            }
+        }
+        if (costContent == null) {
+            costContent = contentManager.getFactory().createContent(
+                    new CheckCostPanel(), message("plugin.toolwindow.check-cost"), false);
+            contentManager.addContent(costContent);
+        }
+
+        ((CheckCostPanel) costContent.getComponent()).displayCosts(costsByLocation);
+        contentManager.setSelectedContent(costContent);
+        toolWindow.show(null);
+    }
+}
@@ -0,0 +1,95 @@
+package org.infernus.idea.checkstyle.toolwindow;
+
+import org.infernus.idea.checkstyle.CheckStyleBundle;
+import org.infernus.idea.checkstyle.csapi.CheckCost;
+import org.infernus.idea.checkstyle.model.ConfigurationLocation;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.table.AbstractTableModel;
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A table model for the cost of each check, as measured by profiling.
+ */
+public class CheckCostTableModel extends AbstractTableModel {
+    @Serial
+    private static final long serialVersionUID = 4127369018822170545L;
+
+    static final int COLUMN_CHECK = 0;
+    static final int COLUMN_PARENT = 1;
+    static final int COLUMN_RULES_FILE = 2;
+    static final int COLUMN_FILES = 3;
+    static final int COLUMN_ISSUES = 4;
+    static final int COLUMN_TOTAL_MILLIS = 5;
+    static final int COLUMN_AVERAGE_MILLIS = 6;
+    static final int COLUMN_SLOWEST_MILLIS = 7;
+    static final int COLUMN_SLOWEST_FILE = 8;
+    private static final int NUMBER_OF_COLUMNS = 9;
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final List<String> rulesFiles = new ArrayList<>();
+    private final List<CheckCost> costs = new ArrayList<>();
+
+    public void setCosts(@NotNull final Map<ConfigurationLocation, List<CheckCost>> costsByLocation) {
+        rulesFiles.clear();
+        costs.clear();
+
+        costsByLocation.forEach((location, locationCosts) -> {
+            for (CheckCost cost : locationCosts) {
+                rulesFiles.add(location.getDescription());
+                costs.add(cost);
+            }
+        });
+
+        fireTableDataChanged();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return NUMBER_OF_COLUMNS;
+    }
+
+    @Override
+    public Class<?> getColumnClass(final int columnIndex) {
+        return switch (columnIndex) {
+            case COLUMN_FILES, COLUMN_ISSUES -> Integer.class;
+            case COLUMN_TOTAL_MILLIS, COLUMN_AVERAGE_MILLIS, COLUMN_SLOWEST_MILLIS -> Double.class;
+            default -> String.class;
+        };
+    }
+
+    @Override
+    public String getColumnName(final int column) {
+        return CheckStyleBundle.message("plugin.toolwindow.check-cost.table." + column);
+    }
+
+    @Override
+    public int getRowCount() {
+        return costs.size();
+    }
+
+    @Override
+    public Object getValueAt(final int rowIndex, final int columnIndex) {
+        final CheckCost cost = costs.get(rowIndex);
+        return switch (columnIndex) {
+            case COLUMN_CHECK -> cost.moduleName();
+            case COLUMN_PARENT -> cost.parentName();
+            case COLUMN_RULES_FILE -> rulesFiles.get(rowIndex);
+            case COLUMN_FILES -> cost.files();
+            case COLUMN_ISSUES -> cost.issues();
+            case COLUMN_TOTAL_MILLIS -> millis(cost.totalNanos());
+            case COLUMN_AVERAGE_MILLIS -> millis(cost.averageNanos());
+            case COLUMN_SLOWEST_MILLIS -> millis(cost.maxNanos());
+            case COLUMN_SLOWEST_FILE -> cost.slowestFile();
+            default -> throw new IllegalArgumentException("Invalid column: " + columnIndex);
+        };
+    }
+
+    private static double millis(final long nanos) {
+        return Math.round(nanos / NANOS_PER_MILLI * 100) / 100.0;
+    }
+}
@@ -3,6 +3,8 @@ package org.infernus.idea.checkstyle.toolwindow;
 import com.intellij.openapi.actionSystem.ActionGroup;
 import com.intellij.openapi.actionSystem.ActionManager;
 import com.intellij.openapi.actionSystem.ActionToolbar;
+import com.intellij.openapi.application.Application;
+import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.project.DumbAware;
 import com.intellij.openapi.project.Project;
@@ -13,6 +15,8 @@ import com.intellij.ui.components.JBScrollPane;
 import com.intellij.ui.content.Content;
 import com.intellij.ui.treeStructure.Tree;
 import com.intellij.util.ui.JBUI;
+import org.infernus.idea.checkstyle.BackgroundScanner;
+import org.infernus.idea.checkstyle.ScanPriority;
 import org.infernus.idea.checkstyle.config.ConfigurationListener;
 import org.infernus.idea.checkstyle.config.PluginConfigurationBuilder;
 import org.infernus.idea.checkstyle.config.PluginConfigurationManager;
@@ -30,6 +34,9 @@ import java.awt.*;
 import java.awt.event.*;
 import java.io.InputStream;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import static org.infernus.idea.checkstyle.CheckStyleBundle.message;
 
@@ -59,6 +66,9 @@ public class CheckStyleToolWindowPanel extends JPanel implements ConfigurationLi
     private ScanProgressManager progressManager;
     private ResultTreeBuilder treeBuilder;
 
+    private boolean displayingBackgroundResults;
+    private long displaySequence;
+
     /**
      * Create a tool window for the given project.
      *
@@ -96,6 +106,9 @@ public class CheckStyleToolWindowPanel extends JPanel implements ConfigurationLi
         add(createToolPanel(), BorderLayout.CENTER);
 
         treeNavigator.expandTree(treeModel, 3);
+        if (backgroundScanner().isEnabled()) {
+            setDisplayingBackgroundResults(true);
+        }
 
         mainToolbar.getComponent().setVisible(true);
     }
@@ -142,6 +155,8 @@ public class CheckStyleToolWindowPanel extends JPanel implements ConfigurationLi
 
         // Build progress panel
         final JLabel progressLabel = new JLabel(" ");
+        final JLabel queueLabel = new JLabel();
+        queueLabel.setVisible(false);
         final JProgressBar progressBar = new JProgressBar(SwingConstants.HORIZONTAL);
         progressBar.setMinimum(0);
         final Dimension progressBarSize = new Dimension(100, progressBar.getPreferredSize().height);
@@ -158,6 +173,8 @@ public class CheckStyleToolWindowPanel extends JPanel implements ConfigurationLi
         progressPanel.addSeparator();
         progressPanel.add(Box.createHorizontalStrut(4));
         progressPanel.add(progressLabel);
+        progressPanel.add(Box.createHorizontalStrut(8));
+        progressPanel.add(queueLabel);
         progressPanel.add(Box.createHorizontalGlue());
         progressPanel.setFloatable(false);
         progressPanel.setOpaque(false);
@@ -165,7 +182,7 @@ public class CheckStyleToolWindowPanel extends JPanel implements ConfigurationLi
 
         // Wire up collaborators
         treeNavigator = new ResultTreeNavigator(project, resultsTree);
-        progressManager = new ScanProgressManager(progressPanel, progressBar, progressLabel);
+        progressManager = new ScanProgressManager(progressPanel, progressBar, progressLabel, queueLabel);
         treeBuilder = new ResultTreeBuilder(treeModel, progressManager, treeNavigator);
 
         final JPanel toolPanel = new JPanel(new BorderLayout());
@@ -215,6 +232,21 @@ public class CheckStyleToolWindowPanel extends JPanel implements ConfigurationLi
         progressManager.setProgressText(text);
     }
 
+    /**
+     * Show the scans waiting to run.
+     *
+     * @param queuedScans the priorities of the waiting scans, in the order they will run.
+     */
+    public void displayScanQueue(@NotNull final List<ScanPriority> queuedScans) {
+        if (queuedScans.isEmpty()) {
+            progressManager.setQueueText(null);
+        } else {
+            progressManager.setQueueText(message("plugin.toolwindow.scan-queue", queuedScans.stream()
+                    .map(ScanPriority::getDescription)
+                    .collect(Collectors.joining(", "))));
+        }
+    }
+
     /**
      * Increment the progress of the progress bar by a given number.
      *
@@ -277,10 +309,14 @@ public class CheckStyleToolWindowPanel extends JPanel implements ConfigurationLi
      * @param size the number of files being scanned.
      */
     public void displayInProgress(final int size) {
+        displayingBackgroundResults = false;
+        ++displaySequence;
         treeBuilder.displayInProgress(size);
     }
 
     public void displayWarningResult(final String messageKey, final Object... messageArgs) {
+        displayingBackgroundResults = false;
+        ++displaySequence;
         treeBuilder.displayWarningResult(messageKey, messageArgs);
     }
 
@@ -290,6 +326,8 @@ public class CheckStyleToolWindowPanel extends JPanel implements ConfigurationLi
      * @param error the error that occurred.
      */
     public void displayErrorResult(final Throwable error) {
+        displayingBackgroundResults = false;
+        ++displaySequence;
         treeBuilder.displayErrorResult(error);
     }
 
@@ -303,15 +341,88 @@ public class CheckStyleToolWindowPanel extends JPanel implements ConfigurationLi
     /**
      * Display the passed results.
      *
-     * @param scanResults    the results of the scan.
+     * @param results        the finished store of the results of the scan, which the tool window takes ownership of.
      * @param warningMessage a warning message to display about the results, if appropriate.
      */
-    public void displayResults(final List<ScanResult> scanResults, final String warningMessage) {
-        treeBuilder.displayResults(scanResults, warningMessage);
+    public void displayResults(@NotNull final ResultStore results, final String warningMessage) {
+        displayingBackgroundResults = false;
+        ++displaySequence;
+        treeBuilder.displayResults(results, warningMessage);
         invalidate();
         repaint();
     }
 
+    /**
+     * Display the passed results, once they have been stored on a pooled thread, unless something else has been
+     * displayed by then.
+     *
+     * @param scanResults    the results of the scan.
+     * @param warningMessage a warning message to display about the results, if appropriate.
+     */
+    public void displayResults(@NotNull final List<ScanResult> scanResults, final String warningMessage) {
+        final long sequence = ++displaySequence;
+        storeThenDisplay(() -> scanResults, results -> {
+            if (sequence == displaySequence) {
+                displayResults(results, warningMessage);
+            } else {
+                results.close();
+            }
+        });
+    }
+
+    private void storeThenDisplay(@NotNull final Supplier<List<ScanResult>> scanResults,
+                                  @NotNull final Consumer<ResultStore> display) {
+        final Application application = ApplicationManager.getApplication();
+        application.executeOnPooledThread(() -> {
+            final ResultStore results = ResultStore.of(scanResults.get());
+            application.invokeLater(() -> display.accept(results), project.getDisposed());
+        });
+    }
+
+    /**
+     * Are the results of background scanning being displayed, rather than those of the last scan?
+     *
+     * @return true if the background results are displayed.
+     */
+    public boolean isDisplayingBackgroundResults() {
+        return displayingBackgroundResults;
+    }
+
+    /**
+     * Display the results of background scanning, which are then kept up to date until another scan is displayed.
+     *
+     * @param displayBackgroundResults true to display the background results, false to clear them.
+     */
+    public void setDisplayingBackgroundResults(final boolean displayBackgroundResults) {
+        this.displayingBackgroundResults = displayBackgroundResults;
+        if (displayBackgroundResults) {
+            backgroundResultsChanged();
+        } else {
+            treeModel.clear();
+            treeModel.setRootMessage(null);
+        }
+    }
+
+    /**
+     * The results of background scanning have changed.
+     */
+    public void backgroundResultsChanged() {
+        if (displayingBackgroundResults && !backgroundScanner().isEnabled()) {
+            setDisplayingBackgroundResults(false);
+        } else if (displayingBackgroundResults) {
+            final long sequence = ++displaySequence;
+            storeThenDisplay(backgroundScanner()::results, results -> {
+                if (sequence == displaySequence && displayingBackgroundResults) {
+                    treeBuilder.displayBackgroundResults(results);
+                    invalidate();
+                    repaint();
+                } else {
+                    results.close();
+                }
+            });
+        }
+    }
+
     public boolean isDisplayingErrors() {
         return treeBuilder.isDisplayingErrors();
     }
@@ -348,6 +459,10 @@ public class CheckStyleToolWindowPanel extends JPanel implements ConfigurationLi
         return project.getService(PluginConfigurationManager.class);
     }
 
+    private BackgroundScanner backgroundScanner() {
+        return project.getService(BackgroundScanner.class);
+    }
+
     /**
      * Listen for clicks and scroll to the error's source as necessary.
      */
@@ -0,0 +1,152 @@
+package org.infernus.idea.checkstyle.toolwindow;
+
+import com.intellij.openapi.diagnostic.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fixed-width rows of ints, held on the heap or in a memory-mapped file.
+ */
+abstract class IntTable implements AutoCloseable {
+
+    private final int columns;
+
+    IntTable(final int columns) {
+        this.columns = columns;
+    }
+
+    final int columns() {
+        return columns;
+    }
+
+    abstract int size();
+
+    abstract int get(int row, int column);
+
+    abstract void append(@NotNull int[] row);
+
+    boolean isMapped() {
+        return false;
+    }
+
+    @Override
+    public void close() {
+        // nothing to release by default
+    }
+
+    /**
+     * One array per column.
+     */
+    static final class Heap extends IntTable {
+        private static final int INITIAL_CAPACITY = 64;
+
+        private final int[][] values;
+        private int size;
+
+        Heap(final int columns) {
+            super(columns);
+            values = new int[columns][INITIAL_CAPACITY];
+        }
+
+        @Override
+        int size() {
+            return size;
+        }
+
+        @Override
+        int get(final int row, final int column) {
+            return values[column][row];
+        }
+
+        @Override
+        void append(@NotNull final int[] row) {
+            if (size == values[0].length) {
+                for (int column = 0; column < columns(); ++column) {
+                    values[column] = Arrays.copyOf(values[column], size * 2);
+                }
+            }
+            for (int column = 0; column < columns(); ++column) {
+                values[column][size] = row[column];
+            }
+            ++size;
+        }
+    }
+
+    /**
+     * Rows in a temporary file, mapped a segment at a time. The file is deleted when the table is closed.
+     */
+    static final class Mapped extends IntTable {
+        private static final Logger LOG = Logger.getInstance(Mapped.class);
+
+        private static final int SEGMENT_SHIFT = 16;
+        private static final int ROWS_PER_SEGMENT = 1 << SEGMENT_SHIFT;
+        private static final int SEGMENT_MASK = ROWS_PER_SEGMENT - 1;
+
+        private final Path file;
+        private final FileChannel channel;
+        private final List<IntBuffer> segments = new ArrayList<>();
+        private int size;
+
+        Mapped(final int columns, @NotNull final Path directory) throws IOException {
+            super(columns);
+            file = Files.createTempFile(directory, "csidea-results-", ".bin");
+            file.toFile().deleteOnExit();
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+
+        @Override
+        int size() {
+            return size;
+        }
+
+        @Override
+        int get(final int row, final int column) {
+            return segments.get(row >>> SEGMENT_SHIFT).get((row & SEGMENT_MASK) * columns() + column);
+        }
+
+        @Override
+        void append(@NotNull final int[] row) {
+            final int segment = size >>> SEGMENT_SHIFT;
+            if (segment == segments.size()) {
+                segments.add(mapSegment(segment));
+            }
+            segments.get(segment).put((size & SEGMENT_MASK) * columns(), row, 0, columns());
+            ++size;
+        }
+
+        private IntBuffer mapSegment(final int segment) {
+            final long segmentBytes = (long) ROWS_PER_SEGMENT * columns() * Integer.BYTES;
+            try {
+                return channel.map(FileChannel.MapMode.READ_WRITE, segment * segmentBytes, segmentBytes).asIntBuffer();
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to map result store segment " + segment + " of " + file, e);
+            }
+        }
+
+        @Override
+        boolean isMapped() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+            segments.clear();
+            try {
+                channel.close();
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // still mapped on some platforms; it will be removed on exit
+                LOG.debug("Unable to delete result store " + file, e);
+            }
+        }
+    }
+}
@@ -8,34 +8,37 @@ import org.jetbrains.annotations.NotNull;
 
 public class ProblemResultTreeInfo extends ResultTreeNode {
 
-    private final PsiFile file;
-    private final ResultProblem problem;
+    private final ResultStore store;
+    private final int row;
     private final SeverityLevel severity;
 
     /**
-     * Construct a node for a given problem.
+     * Construct a node for a given problem. The node's text is built from the store when needed.
      *
-     * @param file    the file the problem exists in.
-     * @param problem the problem.
+     * @param store the results the problem belongs to.
+     * @param row   the row of the problem in the store.
      */
-    ProblemResultTreeInfo(@NotNull final PsiFile file,
-                          @NotNull final ResultProblem problem) {
-        super(CheckStyleBundle.message("plugin.results.file-result",
-                file.getName(),
-                problem.message(),
-                problem.line(),
-                Integer.toString(problem.column()),
-                problem.sourceCheck(),
-                problem.locationDescription()));
+    ProblemResultTreeInfo(@NotNull final ResultStore store,
+                          final int row) {
+        this.store = store;
+        this.row = row;
 
-        this.file = file;
-        this.problem = problem;
-
-        severity = problem.severityLevel();
+        severity = store.severityLevel(row);
 
         updateIconsForProblem();
     }
 
+    @Override
+    public String getText() {
+        return CheckStyleBundle.message("plugin.results.file-result",
+                store.file(row).getName(),
+                store.message(row),
+                store.line(row),
+                Integer.toString(store.column(row)),
+                store.sourceCheck(row),
+                store.locationDescription(row));
+    }
+
     private void updateIconsForProblem() {
         if (SeverityLevel.Ignore.equals(severity)) {
             setIcon(AllIcons.General.Note);
@@ -54,7 +57,7 @@ public class ProblemResultTreeInfo extends ResultTreeNode {
      * @return the file associated with this node.
      */
     public PsiFile getFile() {
-        return file;
+        return store.file(row);
     }
 
     /**
@@ -63,7 +66,7 @@ public class ProblemResultTreeInfo extends ResultTreeNode {
      * @return the problem associated with this node.
      */
     ResultProblem getProblem() {
-        return problem;
+        return store.problem(row);
     }
 
     /**
@@ -0,0 +1,286 @@
+package org.infernus.idea.checkstyle.toolwindow;
+
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.module.Module;
+import com.intellij.psi.PsiFile;
+import org.infernus.idea.checkstyle.CheckStyleBundle;
+import org.infernus.idea.checkstyle.checker.ConfigurationLocationResult;
+import org.infernus.idea.checkstyle.checker.Problem;
+import org.infernus.idea.checkstyle.csapi.SeverityLevel;
+import org.infernus.idea.checkstyle.model.ScanResult;
+import org.infernus.idea.checkstyle.util.DisplayFormats;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * The problems of a scan, held as rows of ints for display in the tool window.
+ * <p>
+ * Files, messages, check names and configuration locations are each stored once and referred to by index, so a
+ * scan with many repeated violations costs a few ints per problem rather than a copy of each problem. Once a scan
+ * has more problems than the spill threshold, the rows are moved to a memory-mapped temporary file, which is deleted
+ * when the store is closed.
+ * <p>
+ * A store is filled on the thread which finds the problems, as it finds them, so that neither the copying nor the
+ * move to disk happen on the event dispatch thread. Only the finished store is handed to the tool window.
+ */
+public final class ResultStore implements AutoCloseable {
+
+    private static final Logger LOG = Logger.getInstance(ResultStore.class);
+
+    /**
+     * The number of problems held on the heap before the rows are moved to disk, which may be overridden with the
+     * {@code checkstyle.results.spill-threshold} system property.
+     */
+    static final int DEFAULT_SPILL_THRESHOLD = Integer.getInteger("checkstyle.results.spill-threshold", 250_000);
+
+    private static final int FILE = 0;
+    private static final int LINE = 1;
+    private static final int COLUMN = 2;
+    private static final int SEVERITY = 3;
+    private static final int MESSAGE = 4;
+    private static final int SOURCE = 5;
+    private static final int ORIGIN = 6;
+    private static final int FLAGS = 7;
+    private static final int COLUMNS = 8;
+
+    private static final int AFTER_END_OF_LINE = 1;
+    private static final int SUPPRESS_ERRORS = 1 << 1;
+
+    private static final SeverityLevel[] SEVERITIES = SeverityLevel.values();
+
+    private final int spillThreshold;
+    private final SymbolTable symbols = new SymbolTable();
+    private final List<PsiFile> files = new ArrayList<>();
+    private final Map<PsiFile, Integer> fileIds = new HashMap<>();
+    private final List<Origin> origins = new ArrayList<>();
+    private final Map<Origin, Integer> originIds = new HashMap<>();
+    private final int[] row = new int[COLUMNS];
+
+    private IntTable rows = new IntTable.Heap(COLUMNS);
+    private Map<PsiFile, int[]> rowsByFile;
+
+    private record Origin(ConfigurationLocationResult configurationLocationResult, Module module) {
+    }
+
+    public ResultStore() {
+        this(DEFAULT_SPILL_THRESHOLD);
+    }
+
+    ResultStore(final int spillThreshold) {
+        this.spillThreshold = spillThreshold;
+    }
+
+    /**
+     * Create a finished store of the given results. This copies every problem, so should be called off the event
+     * dispatch thread.
+     *
+     * @param scanResults the results.
+     * @return the store.
+     */
+    @NotNull
+    public static ResultStore of(@NotNull final List<ScanResult> scanResults) {
+        final ResultStore store = new ResultStore();
+        scanResults.forEach(store::add);
+        return store.finish();
+    }
+
+    public void add(@NotNull final ScanResult scanResult) {
+        rowsByFile = null;
+        final int origin = originIdOf(new Origin(scanResult.configurationLocationResult(), scanResult.module()));
+        scanResult.problems().forEach((file, problems) -> {
+            final int fileId = fileIdOf(file);
+            for (final Problem problem : problems) {
+                add(fileId, origin, problem);
+            }
+        });
+    }
+
+    private void add(final int fileId, final int origin, @NotNull final Problem problem) {
+        row[FILE] = fileId;
+        row[LINE] = problem.line();
+        row[COLUMN] = problem.column();
+        row[SEVERITY] = problem.severityLevel().ordinal();
+        row[MESSAGE] = symbols.intern(problem.message());
+        row[SOURCE] = symbols.intern(problem.sourceName());
+        row[ORIGIN] = origin;
+        row[FLAGS] = (problem.afterEndOfLine() ? AFTER_END_OF_LINE : 0)
+                | (problem.suppressErrors() ? SUPPRESS_ERRORS : 0);
+
+        if (!rows.isMapped() && rows.size() >= spillThreshold) {
+            spill();
+        }
+        rows.append(row);
+    }
+
+    private void spill() {
+        final IntTable mapped;
+        try {
+            mapped = new IntTable.Mapped(COLUMNS, Path.of(System.getProperty("java.io.tmpdir")));
+        } catch (IOException e) {
+            LOG.warn("Unable to move scan results to disk, they will be kept in memory", e);
+            return;
+        }
+
+        final int[] copy = new int[COLUMNS];
+        for (int index = 0; index < rows.size(); ++index) {
+            for (int column = 0; column < COLUMNS; ++column) {
+                copy[column] = rows.get(index, column);
+            }
+            mapped.append(copy);
+        }
+        rows = mapped;
+    }
+
+    private int fileIdOf(@NotNull final PsiFile file) {
+        return fileIds.computeIfAbsent(file, key -> {
+            files.add(key);
+            return files.size() - 1;
+        });
+    }
+
+    private int originIdOf(@NotNull final Origin origin) {
+        return originIds.computeIfAbsent(origin, key -> {
+            origins.add(key);
+            return origins.size() - 1;
+        });
+    }
+
+    int size() {
+        return rows.size();
+    }
+
+    int fileCount() {
+        return files.size();
+    }
+
+    boolean isSpilled() {
+        return rows.isMapped();
+    }
+
+    /**
+     * The rows of each file, in the order they were added. These are found once, when first asked for after the last
+     * addition, so a store to be displayed should be asked before it is handed to the event dispatch thread.
+     *
+     * @return the row indices of the problems of each file.
+     */
+    @NotNull
+    Map<PsiFile, int[]> rowsByFile() {
+        if (rowsByFile == null) {
+            rowsByFile = findRowsByFile();
+        }
+        return rowsByFile;
+    }
+
+    @NotNull
+    private Map<PsiFile, int[]> findRowsByFile() {
+        final List<IntStream.Builder> builders = new ArrayList<>(files.size());
+        files.forEach(file -> builders.add(IntStream.builder()));
+        for (int index = 0; index < rows.size(); ++index) {
+            builders.get(rows.get(index, FILE)).add(index);
+        }
+
+        final Map<PsiFile, int[]> rowsByFile = new LinkedHashMap<>();
+        for (int fileId = 0; fileId < files.size(); ++fileId) {
+            rowsByFile.put(files.get(fileId), builders.get(fileId).build().toArray());
+        }
+        return rowsByFile;
+    }
+
+    @NotNull
+    PsiFile file(final int index) {
+        return files.get(rows.get(index, FILE));
+    }
+
+    int line(final int index) {
+        return rows.get(index, LINE);
+    }
+
+    int column(final int index) {
+        return rows.get(index, COLUMN);
+    }
+
+    @NotNull
+    SeverityLevel severityLevel(final int index) {
+        return SEVERITIES[rows.get(index, SEVERITY)];
+    }
+
+    String message(final int index) {
+        return symbols.lookup(rows.get(index, MESSAGE));
+    }
+
+    @Nullable
+    String sourceName(final int index) {
+        return symbols.lookup(rows.get(index, SOURCE));
+    }
+
+    ConfigurationLocationResult configurationLocationResult(final int index) {
+        return origins.get(rows.get(index, ORIGIN)).configurationLocationResult();
+    }
+
+    Module module(final int index) {
+        return origins.get(rows.get(index, ORIGIN)).module();
+    }
+
+    boolean afterEndOfLine(final int index) {
+        return (rows.get(index, FLAGS) & AFTER_END_OF_LINE) != 0;
+    }
+
+    boolean suppressErrors(final int index) {
+        return (rows.get(index, FLAGS) & SUPPRESS_ERRORS) != 0;
+    }
+
+    @NotNull
+    String sourceCheck(final int index) {
+        final String sourceName = sourceName(index);
+        if (sourceName != null) {
+            return DisplayFormats.shortenClassName(sourceName);
+        }
+        return CheckStyleBundle.message("plugin.results.unknown-source");
+    }
+
+    String locationDescription(final int index) {
+        final ConfigurationLocationResult locationResult = configurationLocationResult(index);
+        if (locationResult != null && locationResult.location() != null) {
+            return locationResult.location().getDescription();
+        }
+        return CheckStyleBundle.message("plugin.results.unknown-location");
+    }
+
+    /**
+     * A problem built from a row. The store does not keep the PSI elements of problems, so the target is the file.
+     *
+     * @param index the row.
+     * @return the problem in the row.
+     */
+    @NotNull
+    ResultProblem problem(final int index) {
+        return new ResultProblem(configurationLocationResult(index), module(index), file(index), severityLevel(index),
+                line(index), column(index), sourceName(index), message(index), afterEndOfLine(index),
+                suppressErrors(index));
+    }
+
+    /**
+     * Prepare the store for display, once all problems have been added.
+     *
+     * @return this store.
+     */
+    @NotNull
+    public ResultStore finish() {
+        rowsByFile();
+        return this;
+    }
+
+    @Override
+    public void close() {
+        rows.close();
+    }
+}
@@ -4,7 +4,6 @@ import com.intellij.openapi.diagnostic.Logger;
 import org.infernus.idea.checkstyle.csapi.SeverityLevel;
 import org.infernus.idea.checkstyle.exception.CheckStylePluginParseException;
 import org.infernus.idea.checkstyle.exception.CheckstyleToolException;
-import org.infernus.idea.checkstyle.model.ScanResult;
 
 import java.util.*;
 import java.util.regex.Matcher;
@@ -84,11 +83,11 @@ public class ResultTreeBuilder {
     /**
      * Display the passed results.
      *
-     * @param scanResults    the results of the scan.
+     * @param results        the finished store of the results of the scan, which the tree model takes ownership of.
      * @param warningMessage a warning message to display about the results, if appropriate.
      */
-    public void displayResults(final List<ScanResult> scanResults, final String warningMessage) {
-        treeModel.setModel(scanResults, getDisplayedSeverities());
+    public void displayResults(final ResultStore results, final String warningMessage) {
+        treeModel.setModel(results, getDisplayedSeverities());
         progressManager.clearProgress();
         if (warningMessage != null) {
             progressManager.setProgressText(warningMessage);
@@ -96,6 +95,17 @@ public class ResultTreeBuilder {
         navigator.expandTree(treeModel, 3);
     }
 
+    /**
+     * Display the latest results of background scanning. Unlike {@link #displayResults(ResultStore, String)}, this
+     * leaves the progress of any running scan alone.
+     *
+     * @param results the finished store of the known problems in the project.
+     */
+    public void displayBackgroundResults(final ResultStore results) {
+        treeModel.setModel(results, getDisplayedSeverities());
+        navigator.expandTree(treeModel, 3);
+    }
+
     /**
      * Clear the results and display notice to say an error occurred.
      *
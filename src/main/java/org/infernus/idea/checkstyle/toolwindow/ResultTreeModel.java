@@ -2,7 +2,8 @@ package org.infernus.idea.checkstyle.toolwindow;
 
 import java.io.Serial;
 import java.util.*;
-import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
 import javax.swing.tree.DefaultMutableTreeNode;
 import javax.swing.tree.DefaultTreeModel;
 import javax.swing.tree.TreeNode;
@@ -12,7 +13,6 @@ import com.intellij.psi.PsiFileSystemItem;
 import com.intellij.psi.PsiJavaFile;
 import org.infernus.idea.checkstyle.CheckStyleBundle;
 import org.infernus.idea.checkstyle.csapi.SeverityLevel;
-import org.infernus.idea.checkstyle.model.ScanResult;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -24,13 +24,16 @@ public class ResultTreeModel extends DefaultTreeModel {
     @Serial
     private static final long serialVersionUID = 2161855162879365203L;
 
+    private static final int[] NO_ROWS = new int[0];
+
     private static final Set<SeverityLevel> DEFAULT_SEVERITIES = Set.of(SeverityLevel.Error, SeverityLevel.Warning, SeverityLevel.Info);
 
     private final ToggleableTreeNode visibleRootNode;
 
     private Set<SeverityLevel> displayedSeverities = DEFAULT_SEVERITIES;
     private ResultGrouping grouping = ResultGrouping.BY_FILE;
-    private Map<PsiFile, List<ResultProblem>> lastResults;
+    private ResultStore lastResults;
+    private Map<PsiFile, int[]> lastRowsByFile;
 
     public ResultTreeModel() {
         super(new DefaultMutableTreeNode());
@@ -88,8 +91,8 @@ public class ResultTreeModel extends DefaultTreeModel {
         switch (grouping) {
             case BY_PACKAGE -> groupResultsByPackage();
             case BY_SEVERITY -> groupResultsBySeverity();
-            case BY_CONFIGURATION_LOCATION -> groupResultsBy(ResultProblem::locationDescription);
-            case BY_SOURCE_CHECK -> groupResultsBy(ResultProblem::sourceCheck);
+            case BY_CONFIGURATION_LOCATION -> groupResultsBy(row -> lastResults.locationDescription(row));
+            case BY_SOURCE_CHECK -> groupResultsBy(row -> lastResults.sourceCheck(row));
             default -> groupResultsByFile();
         }
 
@@ -146,51 +149,40 @@ public class ResultTreeModel extends DefaultTreeModel {
     }
 
     /**
-     * Set the displayed model.
+     * Set the displayed model. The model takes ownership of the store, and closes it when replaced.
      *
-     * @param scanResults the model.
+     * @param results the finished store of the results to display.
      * @param levels  the levels to display.
      */
-    public void setModel(@NotNull final List<ScanResult> scanResults,
+    public void setModel(@NotNull final ResultStore results,
                          @NotNull final Set<SeverityLevel> levels) {
-        this.lastResults = flattenResults(scanResults);
+        if (this.lastResults != null && this.lastResults != results) {
+            this.lastResults.close();
+        }
+        this.lastResults = results;
+        this.lastRowsByFile = results.rowsByFile();
         this.displayedSeverities = levels;
 
         rebuildTree();
     }
 
-    private Map<PsiFile, List<ResultProblem>> flattenResults(final List<ScanResult> scanResult) {
-        final var flattened = new HashMap<PsiFile, List<ResultProblem>>();
-
-        for (ScanResult result : scanResult) {
-            result.problems().forEach((file, problems) -> {
-                flattened.computeIfAbsent(file, psiFile -> new ArrayList<>())
-                        .addAll(problems.stream()
-                                .map(csProblem -> new ResultProblem(result.configurationLocationResult(), result.module(), csProblem))
-                                .toList());
-            });
-        }
-
-        return flattened;
-    }
-
     private void groupResultsByFile() {
-        int problemCount = createFileNodes(sortByFileName(lastResults), lastResults, visibleRootNode);
+        int problemCount = createFileNodes(sortByFileName(lastRowsByFile), lastRowsByFile, visibleRootNode);
         setRootMessage(problemCount);
     }
 
     private int createFileNodes(final List<PsiFile> sortedFiles,
-                                final Map<PsiFile, List<ResultProblem>> problemsForAllFiles,
+                                final Map<PsiFile, int[]> rowsForAllFiles,
                                 final ToggleableTreeNode parentNode) {
         int problemCount = 0;
         for (final PsiFile file : sortedFiles) {
             final var fileNode = new ToggleableTreeNode();
-            final var problems = problemsForAllFiles.getOrDefault(file, emptyList());
+            final var rows = rowsForAllFiles.getOrDefault(file, NO_ROWS);
 
             int childProblemCount = 0;
-            for (final ResultProblem problem : problems) {
-                if (problem.severityLevel() != SeverityLevel.Ignore) {
-                    final var problemInfo = new ProblemResultTreeInfo(file, problem);
+            for (final int row : rows) {
+                if (lastResults.severityLevel(row) != SeverityLevel.Ignore) {
+                    final var problemInfo = new ProblemResultTreeInfo(lastResults, row);
                     fileNode.add(new ToggleableTreeNode(problemInfo));
 
                     ++childProblemCount;
@@ -209,7 +201,7 @@ public class ResultTreeModel extends DefaultTreeModel {
         return problemCount;
     }
 
-    private List<PsiFile> sortByFileName(final Map<PsiFile, List<ResultProblem>> results) {
+    private List<PsiFile> sortByFileName(final Map<PsiFile, int[]> results) {
         if (results == null || results.isEmpty()) {
             return emptyList();
         }
@@ -221,11 +213,11 @@ public class ResultTreeModel extends DefaultTreeModel {
     private void groupResultsByPackage() {
         int problemCount = 0;
 
-        var groupedByPackage = groupByPackageName(lastResults);
+        var groupedByPackage = groupByPackageName(lastRowsByFile);
         for (String packageName : groupedByPackage.keySet()) {
             final var packageNode = new ToggleableTreeNode();
 
-            var childProblemCount = createFileNodes(groupedByPackage.getOrDefault(packageName, emptyList()), lastResults, packageNode);
+            var childProblemCount = createFileNodes(groupedByPackage.getOrDefault(packageName, emptyList()), lastRowsByFile, packageNode);
             if (childProblemCount > 0) {
                 final var packageInfo = new PackageGroupTreeInfo(packageName, childProblemCount);
                 packageNode.setUserObject(packageInfo);
@@ -238,7 +230,7 @@ public class ResultTreeModel extends DefaultTreeModel {
         setRootMessage(problemCount);
     }
 
-    private SortedMap<String, List<PsiFile>> groupByPackageName(final Map<PsiFile, List<ResultProblem>> results) {
+    private SortedMap<String, List<PsiFile>> groupByPackageName(final Map<PsiFile, int[]> results) {
         if (results == null || results.isEmpty()) {
             return Collections.emptySortedMap();
         }
@@ -260,12 +252,12 @@ public class ResultTreeModel extends DefaultTreeModel {
     private void groupResultsBySeverity() {
         int problemCount = 0;
 
-        var groupedBySeverity = groupBySeverity(lastResults);
+        var groupedBySeverity = groupBySeverity(lastRowsByFile);
         for (SeverityLevel severityLevel : groupedBySeverity.keySet()) {
             final var severityNode = new ToggleableTreeNode();
 
-            var fileToProblems = groupedBySeverity.get(severityLevel);
-            var childProblemCount = createFileNodes(sortByFileName(fileToProblems), fileToProblems, severityNode);
+            var fileToRows = groupedBySeverity.get(severityLevel);
+            var childProblemCount = createFileNodes(sortByFileName(fileToRows), fileToRows, severityNode);
             if (childProblemCount > 0) {
                 final var packageInfo = new SeverityGroupTreeInfo(severityLevel, childProblemCount);
                 severityNode.setUserObject(packageInfo);
@@ -278,36 +270,36 @@ public class ResultTreeModel extends DefaultTreeModel {
         setRootMessage(problemCount);
     }
 
-    private SortedMap<SeverityLevel, Map<PsiFile, List<ResultProblem>>> groupBySeverity(final Map<PsiFile, List<ResultProblem>> results) {
+    private SortedMap<SeverityLevel, Map<PsiFile, int[]>> groupBySeverity(final Map<PsiFile, int[]> results) {
         if (results == null || results.isEmpty()) {
             return Collections.emptySortedMap();
         }
         var severities = List.of(SeverityLevel.Error, SeverityLevel.Warning, SeverityLevel.Info);
 
-        var groupedBySeverity = new TreeMap<SeverityLevel, Map<PsiFile, List<ResultProblem>>>();
+        var groupedBySeverity = new TreeMap<SeverityLevel, Map<PsiFile, int[]>>();
         severities.forEach(severityLevel -> groupedBySeverity.put(severityLevel, new HashMap<>()));
 
         for (var resultFile : results.keySet()) {
-            var problems = results.get(resultFile);
+            var rows = results.get(resultFile);
 
             for (SeverityLevel severityLevel : severities) {
                 groupedBySeverity.get(severityLevel).put(
                         resultFile,
-                        problems.stream().filter(item -> item.severityLevel() == severityLevel).toList());
+                        Arrays.stream(rows).filter(row -> lastResults.severityLevel(row) == severityLevel).toArray());
             }
         }
         return groupedBySeverity;
     }
 
-    private void groupResultsBy(final Function<ResultProblem, String> groupingKeyFunction) {
+    private void groupResultsBy(final IntFunction<String> groupingKeyFunction) {
         int problemCount = 0;
 
-        var groupsResults = groupBy(lastResults, groupingKeyFunction);
+        var groupsResults = groupBy(lastRowsByFile, groupingKeyFunction);
         for (String locationDescription : groupsResults.keySet()) {
             final var locationNode = new ToggleableTreeNode();
 
-            final var fileToProblems = groupsResults.get(locationDescription);
-            final var childProblemCount = createFileNodes(sortByFileName(fileToProblems), fileToProblems, locationNode);
+            final var fileToRows = groupsResults.get(locationDescription);
+            final var childProblemCount = createFileNodes(sortByFileName(fileToRows), fileToRows, locationNode);
             if (childProblemCount > 0) {
                 final var packageInfo = new ConfigurationLocationGroupTreeInfo(locationDescription, childProblemCount);
                 locationNode.setUserObject(packageInfo);
@@ -320,19 +312,26 @@ public class ResultTreeModel extends DefaultTreeModel {
         setRootMessage(problemCount);
     }
 
-    private SortedMap<String, Map<PsiFile, List<ResultProblem>>> groupBy(final Map<PsiFile, List<ResultProblem>> results,
-                                                                         final Function<ResultProblem, String> groupingKeyFunction) {
+    private SortedMap<String, Map<PsiFile, int[]>> groupBy(final Map<PsiFile, int[]> results,
+                                                           final IntFunction<String> groupingKeyFunction) {
         if (results == null || results.isEmpty()) {
             return Collections.emptySortedMap();
         }
-        final var groupedProblems = new TreeMap<String, Map<PsiFile, List<ResultProblem>>>();
-        results.forEach((file, problems) -> {
-            for (ResultProblem problem : problems) {
-                groupedProblems
-                        .computeIfAbsent(groupingKeyFunction.apply(problem), key -> new HashMap<>())
-                        .computeIfAbsent(file, keyFile -> new ArrayList<>()).add(problem);
+        final var groupedRows = new TreeMap<String, Map<PsiFile, IntStream.Builder>>();
+        results.forEach((file, rows) -> {
+            for (final int row : rows) {
+                groupedRows
+                        .computeIfAbsent(groupingKeyFunction.apply(row), key -> new HashMap<>())
+                        .computeIfAbsent(file, keyFile -> IntStream.builder()).add(row);
             }
         });
+
+        final var groupedProblems = new TreeMap<String, Map<PsiFile, int[]>>();
+        groupedRows.forEach((key, rowsByFile) -> {
+            final var fileToRows = new HashMap<PsiFile, int[]>();
+            rowsByFile.forEach((file, rows) -> fileToRows.put(file, rows.build().toArray()));
+            groupedProblems.put(key, fileToRows);
+        });
         return groupedProblems;
     }
 
@@ -340,7 +339,7 @@ public class ResultTreeModel extends DefaultTreeModel {
         if (problemCount == 0) {
             setRootMessage("plugin.results.scan-no-results");
         } else {
-            setRootText(CheckStyleBundle.message("plugin.results.scan-results", problemCount, lastResults.size()));
+            setRootText(CheckStyleBundle.message("plugin.results.scan-results", problemCount, lastResults.fileCount()));
         }
     }
 }
@@ -28,6 +28,12 @@ public class ResultTreeNode {
         this.text = text;
     }
 
+    /**
+     * Construct a node which builds its text on demand, by overriding {@link #getText()}.
+     */
+    protected ResultTreeNode() {
+    }
+
     /**
      * Get the node's icon when in an expanded state.
      *
@@ -73,6 +79,6 @@ public class ResultTreeNode {
 
     @Override
     public String toString() {
-        return text;
+        return getText();
     }
 }
@@ -15,13 +15,16 @@ public class ScanProgressManager {
     private final JToolBar progressPanel;
     private final JProgressBar progressBar;
     private final JLabel progressLabel;
+    private final JLabel queueLabel;
 
     public ScanProgressManager(@NotNull final JToolBar progressPanel,
                                @NotNull final JProgressBar progressBar,
-                               @NotNull final JLabel progressLabel) {
+                               @NotNull final JLabel progressLabel,
+                               @NotNull final JLabel queueLabel) {
         this.progressPanel = progressPanel;
         this.progressBar = progressBar;
         this.progressLabel = progressLabel;
+        this.queueLabel = queueLabel;
     }
 
     /**
@@ -38,6 +41,17 @@ public class ScanProgressManager {
         progressLabel.validate();
     }
 
+    /**
+     * Update the description of the scans waiting to run.
+     *
+     * @param queueText the description, or null if no scans are waiting.
+     */
+    public void setQueueText(@Nullable final String queueText) {
+        queueLabel.setText(isBlank(queueText) ? "" : queueText);
+        queueLabel.setVisible(!isBlank(queueText));
+        progressPanel.revalidate();
+    }
+
     /**
      * Show and reset the progress bar.
      */
@@ -0,0 +1,41 @@
+package org.infernus.idea.checkstyle.toolwindow;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interns strings as ints, so that repeated messages and check names are held once.
+ */
+final class SymbolTable {
+
+    static final int NO_SYMBOL = -1;
+
+    private final Map<String, Integer> symbols = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    int intern(@Nullable final String value) {
+        if (value == null) {
+            return NO_SYMBOL;
+        }
+        return symbols.computeIfAbsent(value, key -> {
+            values.add(key);
+            return values.size() - 1;
+        });
+    }
+
+    @Nullable
+    String lookup(final int symbol) {
+        if (symbol == NO_SYMBOL) {
+            return null;
+        }
+        return values.get(symbol);
+    }
+
+    int size() {
+        return values.size();
+    }
+}
@@ -13,6 +13,7 @@ import com.intellij.openapi.vfs.VfsUtilCore;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.ui.*;
 import com.intellij.ui.components.JBList;
+import com.intellij.ui.components.JBTextField;
 import com.intellij.ui.table.JBTable;
 import com.intellij.util.ui.JBUI;
 import org.infernus.idea.checkstyle.CheckStyleBundle;
@@ -60,6 +61,11 @@ public class CheckStyleConfigPanel extends JPanel {
     private final JCheckBox suppressErrorsCheckbox = new JCheckBox();
     private final JCheckBox copyLibsCheckbox = new JCheckBox();
     private final JCheckBox importSettingsFromMavenCheckbox = new JCheckBox();
+    private final JCheckBox backgroundScanCheckbox = new JCheckBox();
+    private final JCheckBox scanInWorkerProcessesCheckbox = new JCheckBox();
+    private final JCheckBox fastChecksWhileEditingCheckbox = new JCheckBox();
+    private final JLabel expensiveChecksLabel = new JLabel(CheckStyleBundle.message("config.expensive-checks.labelText") + ":");
+    private final JBTextField expensiveChecksField = new JBTextField();
 
     private final LocationTableModel locationModel = new LocationTableModel();
     private final JBTable locationTable = new JBTable(locationModel);
@@ -177,6 +183,20 @@ public class CheckStyleConfigPanel extends JPanel {
         importSettingsFromMavenCheckbox.setText(CheckStyleBundle.message("config.import-maven-settings.text"));
         importSettingsFromMavenCheckbox.setToolTipText(CheckStyleBundle.message("config.import-maven-settings.tooltip"));
 
+        backgroundScanCheckbox.setText(CheckStyleBundle.message("config.background-scan.text"));
+        backgroundScanCheckbox.setToolTipText(CheckStyleBundle.message("config.background-scan.tooltip"));
+
+        scanInWorkerProcessesCheckbox.setText(CheckStyleBundle.message("config.worker-processes.text"));
+        scanInWorkerProcessesCheckbox.setToolTipText(CheckStyleBundle.message("config.worker-processes.tooltip"));
+
+        fastChecksWhileEditingCheckbox.setText(CheckStyleBundle.message("config.fast-checks-while-editing.text"));
+        fastChecksWhileEditingCheckbox.setToolTipText(CheckStyleBundle.message("config.fast-checks-while-editing.tooltip"));
+        fastChecksWhileEditingCheckbox.addItemListener(event ->
+                expensiveChecksField.setEnabled(fastChecksWhileEditingCheckbox.isSelected()));
+
+        expensiveChecksLabel.setToolTipText(CheckStyleBundle.message("config.expensive-checks.tooltip"));
+        expensiveChecksField.setToolTipText(CheckStyleBundle.message("config.expensive-checks.tooltip"));
+
         final JPanel configFilePanel = new JPanel(new GridBagLayout());
         configFilePanel.setOpaque(false);
 
@@ -199,13 +219,28 @@ public class CheckStyleConfigPanel extends JPanel {
                 2, 2, 2, 1, 1.0, 0.0, GridBagConstraints.WEST,
                 GridBagConstraints.HORIZONTAL, COMPONENT_INSETS, 0, 0));
         configFilePanel.add(copyLibsCheckbox, new GridBagConstraints(
-                0, 3, 4, 1, 1.0, 0.0, GridBagConstraints.WEST,
+                0, 3, 2, 1, 1.0, 0.0, GridBagConstraints.WEST,
+                GridBagConstraints.HORIZONTAL, COMPONENT_INSETS, 0, 0));
+        configFilePanel.add(backgroundScanCheckbox, new GridBagConstraints(
+                2, 3, 2, 1, 1.0, 0.0, GridBagConstraints.WEST,
+                GridBagConstraints.HORIZONTAL, COMPONENT_INSETS, 0, 0));
+        configFilePanel.add(scanInWorkerProcessesCheckbox, new GridBagConstraints(
+                0, 4, 2, 1, 1.0, 0.0, GridBagConstraints.WEST,
+                GridBagConstraints.HORIZONTAL, COMPONENT_INSETS, 0, 0));
+        configFilePanel.add(fastChecksWhileEditingCheckbox, new GridBagConstraints(
+                2, 4, 2, 1, 1.0, 0.0, GridBagConstraints.WEST,
+                GridBagConstraints.HORIZONTAL, COMPONENT_INSETS, 0, 0));
+        configFilePanel.add(expensiveChecksLabel, new GridBagConstraints(
+                0, 5, 1, 1, 0.0, 0.0, GridBagConstraints.WEST,
+                GridBagConstraints.NONE, COMPONENT_INSETS, 0, 0));
+        configFilePanel.add(expensiveChecksField, new GridBagConstraints(
+                1, 5, 3, 1, 1.0, 0.0, GridBagConstraints.WEST,
                 GridBagConstraints.HORIZONTAL, COMPONENT_INSETS, 0, 0));
         configFilePanel.add(buildRuleFilePanel(), new GridBagConstraints(
-                0, 4, 4, 1, 1.0, 1.0, GridBagConstraints.WEST,
+                0, 6, 4, 1, 1.0, 1.0, GridBagConstraints.WEST,
                 GridBagConstraints.BOTH, COMPONENT_INSETS, 0, 0));
         configFilePanel.add(buildClassPathPanel(), new GridBagConstraints(
-                0, 5, 4, 1, 1.0, 1.0, GridBagConstraints.WEST,
+                0, 7, 4, 1, 1.0, 1.0, GridBagConstraints.WEST,
                 GridBagConstraints.BOTH, COMPONENT_INSETS, 0, 0));
 
         return configFilePanel;
@@ -303,12 +338,24 @@ public class CheckStyleConfigPanel extends JPanel {
     }
 
 
+    @NotNull
+    private SortedSet<String> getExpensiveChecks() {
+        return Arrays.stream(expensiveChecksField.getText().split("[,\\s]+"))
+                .filter(checkName -> !checkName.isEmpty())
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
     public void showPluginConfiguration(@NotNull final PluginConfiguration pluginConfig) {
         csVersionDropdown.setSelectedItem(pluginConfig.getCheckstyleVersion());
         scopeDropdown.setSelectedItem(pluginConfig.getScanScope());
         suppressErrorsCheckbox.setSelected(pluginConfig.isSuppressErrors());
         copyLibsCheckbox.setSelected(pluginConfig.isCopyLibs());
         importSettingsFromMavenCheckbox.setSelected(pluginConfig.isImportSettingsFromMaven());
+        backgroundScanCheckbox.setSelected(pluginConfig.isBackgroundScan());
+        scanInWorkerProcessesCheckbox.setSelected(pluginConfig.isScanInWorkerProcesses());
+        fastChecksWhileEditingCheckbox.setSelected(pluginConfig.isFastChecksWhileEditing());
+        expensiveChecksField.setText(String.join(", ", pluginConfig.getExpensiveChecks()));
+        expensiveChecksField.setEnabled(pluginConfig.isFastChecksWhileEditing());
         locationModel.setLocations(new ArrayList<>(pluginConfig.getLocations()));
         setThirdPartyClasspath(pluginConfig.getThirdPartyClasspath());
         locationModel.setActiveLocations(pluginConfig.getActiveLocations());
@@ -330,6 +377,10 @@ public class CheckStyleConfigPanel extends JPanel {
                 .withSuppressErrors(suppressErrorsCheckbox.isSelected())
                 .withCopyLibraries(copyLibsCheckbox.isSelected())
                 .withImportSettingsFromMaven(importSettingsFromMavenCheckbox.isSelected())
+                .withBackgroundScan(backgroundScanCheckbox.isSelected())
+                .withScanInWorkerProcesses(scanInWorkerProcessesCheckbox.isSelected())
+                .withFastChecksWhileEditing(fastChecksWhileEditingCheckbox.isSelected())
+                .withExpensiveChecks(getExpensiveChecks())
                 .withLocations(new TreeSet<>(locationModel.getLocations()))
                 .withThirdPartyClassPath(getThirdPartyClasspath())
                 .withActiveLocationIds(locationModel.getActiveLocations().stream()
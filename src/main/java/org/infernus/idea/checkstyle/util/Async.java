@@ -1,6 +1,8 @@
 package org.infernus.idea.checkstyle.util;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -9,7 +11,10 @@ import java.util.concurrent.TimeoutException;
 import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.util.AbstractProgressIndicatorExBase;
+import com.intellij.openapi.wm.ex.ProgressIndicatorEx;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -35,7 +40,7 @@ public final class Async {
                                       @Nullable final T defaultValue,
                                       final long timeoutInMs) {
         try {
-            return whenFinished(executeOnPooledThread(callable), timeoutInMs).get();
+            return whenFinished(supplyOnPooledThread(callable), timeoutInMs).get();
         } catch (Exception e) {
             return defaultValue;
         }
@@ -45,12 +50,101 @@ public final class Async {
         return ApplicationManager.getApplication().executeOnPooledThread(callable);
     }
 
+    /**
+     * Run a task on a pooled thread, as {@link #executeOnPooledThread(Callable)}, but with a future which completes
+     * as soon as the task does, and can be composed.
+     * <p>
+     * Cancelling the returned future interrupts the task, so that it may stop early.
+     *
+     * @param callable the task to run.
+     * @param <T>      the type of the task's result.
+     * @return the future result of the task.
+     */
+    @NotNull
+    public static <T> CompletableFuture<T> supplyOnPooledThread(@NotNull final Callable<T> callable) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final Future<?> task = ApplicationManager.getApplication().executeOnPooledThread(() -> {
+            try {
+                result.complete(callable.call());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Wait for a future to finish.
+     * <p>
+     * The wait ends as soon as the future completes. If the current progress indicator is cancelled, or the timeout
+     * expires, the future is cancelled and a {@link ProcessCanceledException} is thrown; if the current thread is
+     * interrupted, the future is cancelled and the thread's interrupt status kept. Where the indicator can tell us
+     * when it is cancelled, it cancels the future, which ends the wait; otherwise the wait polls for cancellation.
+     *
+     * @param future      the future to wait for.
+     * @param timeoutInMs the maximum time to wait, or {@link #NO_TIMEOUT}.
+     * @param <T>         the type of the future's result.
+     * @return the future, which will be done.
+     */
     public static <T> Future<T> whenFinished(final Future<T> future,
                                              final long timeoutInMs) {
+        final ProgressIndicator progressIndicator = currentProgressIndicator();
+        final ProgressIndicatorEx cancellationListener = cancelOnIndicatorCancellation(progressIndicator, future);
+        try {
+            return waitUntilFinished(future, timeoutInMs, cancellationListener != null);
+        } finally {
+            if (cancellationListener != null) {
+                ((ProgressIndicatorEx) progressIndicator).removeStateDelegate(cancellationListener);
+            }
+        }
+    }
+
+    @Nullable
+    private static ProgressIndicator currentProgressIndicator() {
+        if (ApplicationManager.getApplication() == null) {  // can be null in unit tests
+            return null;
+        }
+        return ProgressManager.getGlobalProgressIndicator();
+    }
+
+    @Nullable
+    private static ProgressIndicatorEx cancelOnIndicatorCancellation(@Nullable final ProgressIndicator progressIndicator,
+                                                                     @NotNull final Future<?> future) {
+        if (!(progressIndicator instanceof ProgressIndicatorEx progressIndicatorEx)) {
+            return null;
+        }
+        final ProgressIndicatorEx cancellationListener = new AbstractProgressIndicatorExBase() {
+            @Override
+            public void cancel() {
+                super.cancel();
+                future.cancel(true);
+            }
+        };
+        progressIndicatorEx.addStateDelegate(cancellationListener);
+        return cancellationListener;
+    }
+
+    /**
+     * @param future               the future to wait for.
+     * @param timeoutInMs          the maximum time to wait, or {@link #NO_TIMEOUT}.
+     * @param cancelledByIndicator whether cancelling the progress indicator cancels the future, in which case we
+     *                             need not wake to check the indicator.
+     */
+    static <T> Future<T> waitUntilFinished(final Future<T> future,
+                                           final long timeoutInMs,
+                                           final boolean cancelledByIndicator) {
         final boolean hasTimeout = timeoutInMs > 0;
         final long deadline = hasTimeout ? System.currentTimeMillis() + timeoutInMs : Long.MAX_VALUE;
-        while (!future.isCancelled()) {
-            ProgressManager.checkCanceled();
+        while (true) {
+            checkCanceled(future);
+            if (future.isCancelled()) {
+                return future;
+            }
             if (hasTimeout) {
                 final long remaining = deadline - System.currentTimeMillis();
                 if (remaining <= 0) {
@@ -60,18 +154,34 @@ public final class Async {
                 }
             }
             try {
-                final long pollMs = hasTimeout
-                        ? Math.min(deadline - System.currentTimeMillis(), POLL_INTERVAL_MS)
-                        : POLL_INTERVAL_MS;
-                future.get(Math.max(pollMs, 1), TimeUnit.MILLISECONDS);
+                if (cancelledByIndicator && !hasTimeout) {
+                    future.get();
+                    return future;
+                }
+                final long waitMs = cancelledByIndicator
+                        ? deadline - System.currentTimeMillis()
+                        : Math.min(deadline - System.currentTimeMillis(), POLL_INTERVAL_MS);
+                future.get(Math.max(waitMs, 1), TimeUnit.MILLISECONDS);
                 return future;
-            } catch (TimeoutException e) {
-                // not yet done; loop to check cancellation and deadline
-            } catch (ExecutionException | InterruptedException e) {
+            } catch (TimeoutException | CancellationException e) {
+                // not yet done, or cancelled by the indicator; loop to check cancellation and deadline
+            } catch (ExecutionException e) {
+                // the caller will see the failure when they call get()
+                return future;
+            } catch (InterruptedException e) {
+                future.cancel(true);
                 Thread.currentThread().interrupt();
                 return future;
             }
         }
-        return future;
+    }
+
+    private static void checkCanceled(@NotNull final Future<?> future) {
+        try {
+            ProgressManager.checkCanceled();
+        } catch (ProcessCanceledException e) {
+            future.cancel(true);
+            throw e;
+        }
     }
 }
@@ -5,18 +5,39 @@ import java.io.InputStream;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A child-first URL class loader, taken from <a href="https://stackoverflow.com/a/6424879">...</a>
+ * <p>
+ * The packages on the classpath are indexed on creation, so lookups for classes or resources in packages we don't
+ * hold go straight to the parent rather than probing every URL. Where the classpath holds only JARs and directories
+ * which do not change, such as the plugin's own classes, names which missed locally are remembered as well; any
+ * other directory may gain classes later, so while there is one, misses are not.
  */
 public class ChildFirstURLClassLoader extends URLClassLoader {
 
     private final ClassLoader system;
+    private final ClasspathPackageIndex localPackages;
+    private final Set<String> localClassMisses = ConcurrentHashMap.newKeySet();
+    private final Set<String> localResourceMisses = ConcurrentHashMap.newKeySet();
 
     public ChildFirstURLClassLoader(final URL[] classpath,
                                     final ClassLoader parent) {
+        this(classpath, parent, Set.of());
+    }
+
+    /**
+     * @param classpath        the classpath.
+     * @param parent           the parent class loader.
+     * @param fixedDirectories the directories of the classpath whose contents do not change while it is loaded.
+     */
+    public ChildFirstURLClassLoader(final URL[] classpath,
+                                    final ClassLoader parent,
+                                    final Set<URL> fixedDirectories) {
         super(classpath, parent);
         system = getSystemClassLoader();
+        localPackages = ClasspathPackageIndex.of(classpath, fixedDirectories);
     }
 
     @Override
@@ -32,11 +53,10 @@ public class ChildFirstURLClassLoader extends URLClassLoader {
                 }
             }
             if (loadedClass == null) {
-                try {
-                    loadedClass = findClass(name);
-                } catch (ClassNotFoundException e) {
-                    loadedClass = super.loadClass(name, resolve);
-                }
+                loadedClass = findLocalClass(name);
+            }
+            if (loadedClass == null) {
+                loadedClass = loadFromParent(name);
             }
         }
         if (resolve) {
@@ -52,9 +72,9 @@ public class ChildFirstURLClassLoader extends URLClassLoader {
             url = system.getResource(name);
         }
         if (url == null) {
-            url = findResource(name);
-            if (url == null) {
-                url = super.getResource(name);
+            url = findLocalResource(name);
+            if (url == null && getParent() != null) {
+                url = getParent().getResource(name);
             }
         }
         return url;
@@ -66,7 +86,10 @@ public class ChildFirstURLClassLoader extends URLClassLoader {
         if (system != null) {
             systemUrls = system.getResources(name);
         }
-        Enumeration<URL> localUrls = findResources(name);
+        Enumeration<URL> localUrls = null;
+        if (mayBeLocal(ClasspathPackageIndex.packageOfResource(name))) {
+            localUrls = findResources(name);
+        }
         Enumeration<URL> parentUrls = null;
         if (getParent() != null) {
             parentUrls = getParent().getResources(name);
@@ -100,6 +123,50 @@ public class ChildFirstURLClassLoader extends URLClassLoader {
         };
     }
 
+    /**
+     * The system class loader and our own URLs have been tried by now, so unlike {@link URLClassLoader#loadClass} we
+     * don't probe the URLs again.
+     */
+    private Class<?> loadFromParent(final String name) throws ClassNotFoundException {
+        if (getParent() == null) {
+            throw new ClassNotFoundException(name);
+        }
+        return getParent().loadClass(name);
+    }
+
+    private Class<?> findLocalClass(final String name) {
+        if (!mayBeLocal(ClasspathPackageIndex.packageOfClass(name)) || localClassMisses.contains(name)) {
+            return null;
+        }
+        try {
+            return findClass(name);
+        } catch (ClassNotFoundException e) {
+            if (missesAreFinal()) {
+                localClassMisses.add(name);
+            }
+            return null;
+        }
+    }
+
+    private URL findLocalResource(final String name) {
+        if (!mayBeLocal(ClasspathPackageIndex.packageOfResource(name)) || localResourceMisses.contains(name)) {
+            return null;
+        }
+        final URL url = findResource(name);
+        if (url == null && missesAreFinal()) {
+            localResourceMisses.add(name);
+        }
+        return url;
+    }
+
+    private boolean mayBeLocal(final String packagePath) {
+        return localPackages == null || localPackages.mayContain(packagePath);
+    }
+
+    private boolean missesAreFinal() {
+        return localPackages != null && localPackages.isImmutable();
+    }
+
     @Override
     public InputStream getResourceAsStream(final String name) {
         URL url = getResource(name);
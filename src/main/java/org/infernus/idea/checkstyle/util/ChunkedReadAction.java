@@ -0,0 +1,72 @@
+package org.infernus.idea.checkstyle.util;
+
+import com.intellij.openapi.application.Application;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.progress.ProgressManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs work over a list as a series of short, non-blocking read actions rather than one long one.
+ * <p>
+ * A pending write action cancels the chunk in progress, which is restarted once the write has completed; chunks
+ * already finished are kept. Long scans therefore no longer hold the read lock for their whole duration, and the
+ * editor stays responsive while they run.
+ */
+public final class ChunkedReadAction {
+
+    /**
+     * A reasonable number of items to process in one read action, for per-file work.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 20;
+
+    private ChunkedReadAction() {
+    }
+
+    /**
+     * Process the items in chunks, each in its own read action.
+     * <p>
+     * The read action may be cancelled and restarted part way through a chunk, so it must not have side effects
+     * beyond its result (or must undo them when a {@link com.intellij.openapi.progress.ProcessCanceledException}
+     * passes through it). It should call {@link ProgressManager#checkCanceled()} for each item, so that it yields
+     * promptly.
+     * <p>
+     * If the caller already holds read access, or there is no application (as in unit tests), the chunks are run
+     * directly, as there is then nothing to yield to.
+     *
+     * @param items          the items to process.
+     * @param chunkSize      the maximum number of items per read action.
+     * @param readAction     the action to apply to each chunk, under read access.
+     * @param resultConsumer receives the result of each chunk, outside of the read action.
+     * @param <T>            the type of the items.
+     * @param <R>            the type of a chunk's result.
+     */
+    public static <T, R> void forEachChunk(@NotNull final List<T> items,
+                                           final int chunkSize,
+                                           @NotNull final Function<List<T>, R> readAction,
+                                           @NotNull final Consumer<R> resultConsumer) {
+        final Application application = ApplicationManager.getApplication();
+        for (int start = 0; start < items.size(); start += chunkSize) {
+            final List<T> chunk = items.subList(start, Math.min(start + chunkSize, items.size()));
+            resultConsumer.accept(compute(application, chunk, readAction));
+        }
+    }
+
+    private static <T, R> R compute(@Nullable final Application application,
+                                    @NotNull final List<T> chunk,
+                                    @NotNull final Function<List<T>, R> readAction) {
+        if (application == null) {  // can be null in unit tests
+            return readAction.apply(chunk);
+        }
+        if (application.isReadAccessAllowed() || application.isDispatchThread()) {
+            ProgressManager.checkCanceled();
+            return ReadAction.compute(() -> readAction.apply(chunk));
+        }
+        return ReadAction.nonBlocking(() -> readAction.apply(chunk)).executeSynchronously();
+    }
+}
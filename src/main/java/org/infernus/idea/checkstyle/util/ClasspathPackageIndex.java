@@ -0,0 +1,182 @@
+package org.infernus.idea.checkstyle.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.stream.Stream;
+
+
+/**
+ * The set of packages (as {@code /}-separated paths) present on a classpath.
+ * <p>
+ * The packages of JARs are indexed once, as a JAR on the classpath does not change while it is loaded, as are those
+ * of directories known to be fixed, such as the plugin's own classes. Other directories, such as the compiled output
+ * of a module holding custom checks, may gain packages at any time, as may entries which do not exist yet, so these
+ * are looked up on disk each time they are asked about.
+ * <p>
+ * If any entry cannot be indexed reliably (non-file URLs, unreadable files, or JARs which extend the classpath via a
+ * manifest {@code Class-Path}) no index is built, and callers must fall back to probing every URL.
+ */
+final class ClasspathPackageIndex {
+
+    private static final String VERSIONED_PREFIX = "META-INF/versions/";
+
+    private final Set<String> packages;
+    private final List<Path> directories;
+
+    private ClasspathPackageIndex(@NotNull final Set<String> packages,
+                                  @NotNull final List<Path> directories) {
+        this.packages = packages;
+        this.directories = directories;
+    }
+
+    /**
+     * Build an index for the given classpath.
+     *
+     * @param classpath the classpath to index.
+     * @return the index, or null if the classpath cannot be indexed.
+     */
+    @Nullable
+    static ClasspathPackageIndex of(@NotNull final URL[] classpath) {
+        return of(classpath, Set.of());
+    }
+
+    /**
+     * Build an index for the given classpath.
+     *
+     * @param classpath        the classpath to index.
+     * @param fixedDirectories the directories of the classpath whose contents do not change while it is loaded.
+     * @return the index, or null if the classpath cannot be indexed.
+     */
+    @Nullable
+    static ClasspathPackageIndex of(@NotNull final URL[] classpath,
+                                    @NotNull final Set<URL> fixedDirectories) {
+        final Set<String> packages = new HashSet<>();
+        final List<Path> directories = new ArrayList<>();
+        try {
+            for (final URL url : classpath) {
+                if (!indexInto(packages, directories, url, fixedDirectories.contains(url))) {
+                    return null;
+                }
+            }
+        } catch (IOException | UncheckedIOException | URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+        return new ClasspathPackageIndex(packages, List.copyOf(directories));
+    }
+
+    boolean mayContain(@NotNull final String packagePath) {
+        if (packages.contains(packagePath)) {
+            return true;
+        }
+        for (final Path directory : directories) {
+            if (Files.isDirectory(directory.resolve(packagePath))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the classpath holds only JARs and fixed directories, so that what is not on it now will never be.
+     */
+    boolean isImmutable() {
+        return directories.isEmpty();
+    }
+
+    @NotNull
+    static String packageOfClass(@NotNull final String className) {
+        final int lastDot = className.lastIndexOf('.');
+        return lastDot < 0 ? "" : className.substring(0, lastDot).replace('.', '/');
+    }
+
+    @NotNull
+    static String packageOfResource(@NotNull final String resourceName) {
+        final String name = resourceName.startsWith("/") ? resourceName.substring(1) : resourceName;
+        final int lastSlash = name.lastIndexOf('/');
+        return lastSlash < 0 ? "" : name.substring(0, lastSlash);
+    }
+
+    private static boolean indexInto(@NotNull final Set<String> packages,
+                                     @NotNull final List<Path> directories,
+                                     @NotNull final URL url,
+                                     final boolean fixed) throws IOException, URISyntaxException {
+        if (!"file".equals(url.getProtocol())) {
+            return false;
+        }
+
+        final Path path = Paths.get(url.toURI());
+        if (Files.isRegularFile(path)) {
+            return indexJar(packages, path);
+        }
+        if (fixed && Files.isDirectory(path)) {
+            indexDirectory(packages, path);
+            return true;
+        }
+        directories.add(path); // or missing, which URLClassLoader ignores until it appears
+        return true;
+    }
+
+    private static boolean indexJar(@NotNull final Set<String> packages,
+                                    @NotNull final Path jar) throws IOException {
+        try (JarFile jarFile = new JarFile(jar.toFile())) {
+            final Manifest manifest = jarFile.getManifest();
+            if (manifest != null && manifest.getMainAttributes().getValue(Attributes.Name.CLASS_PATH) != null) {
+                return false;
+            }
+
+            final Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                final String entryName = entries.nextElement().getName();
+                final String packagePath = packageOfResource(entryName);
+                addWithAncestors(packages, packagePath);
+                if (packagePath.startsWith(VERSIONED_PREFIX)) {
+                    addWithAncestors(packages, unversioned(packagePath));
+                }
+            }
+        }
+        return true;
+    }
+
+    private static void indexDirectory(@NotNull final Set<String> packages,
+                                       @NotNull final Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.filter(Files::isDirectory)
+                    .map(packageDirectory -> directory.relativize(packageDirectory).toString()
+                            .replace(packageDirectory.getFileSystem().getSeparator(), "/"))
+                    .forEach(packages::add);
+        }
+    }
+
+    /**
+     * JARs need not contain directory entries, so lookups of a parent directory must still be routed to the JAR.
+     */
+    private static void addWithAncestors(@NotNull final Set<String> packages, @NotNull final String packagePath) {
+        String current = packagePath;
+        while (packages.add(current) && !current.isEmpty()) {
+            current = packageOfResource(current);
+        }
+    }
+
+    @NotNull
+    private static String unversioned(@NotNull final String versionedPackage) {
+        final int endOfVersion = versionedPackage.indexOf('/', VERSIONED_PREFIX.length());
+        return endOfVersion < 0 ? "" : versionedPackage.substring(endOfVersion + 1);
+    }
+}
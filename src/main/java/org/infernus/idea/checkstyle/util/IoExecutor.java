@@ -0,0 +1,188 @@
+package org.infernus.idea.checkstyle.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs blocking I/O on virtual threads, so that waiting on the disk or the network ties up neither the IDE's pooled
+ * threads nor a pool of our own.
+ * <p>
+ * As virtual threads are cheap, the number of threads no longer bounds the I/O in flight; each resource has a limit of
+ * its own instead. Concurrent disk writes are limited by the {@code checkstyle.io.disk-limit} system property, and
+ * concurrent requests to a single host by {@code checkstyle.io.host-limit}.
+ */
+public final class IoExecutor {
+
+    static final int DISK_LIMIT = Integer.getInteger("checkstyle.io.disk-limit", 8);
+    static final int HOST_LIMIT = Integer.getInteger("checkstyle.io.host-limit", 4);
+
+    private static final ExecutorService EXECUTOR = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("Checkstyle I/O ", 0).factory());
+
+    private static final Semaphore DISK_PERMITS = new Semaphore(DISK_LIMIT);
+    private static final ConcurrentMap<String, Semaphore> HOST_PERMITS = new ConcurrentHashMap<>();
+
+    /**
+     * A task which may fail with an {@link IOException}.
+     *
+     * @param <T> the type of the task's result.
+     */
+    @FunctionalInterface
+    public interface IoTask<T> {
+        T run() throws IOException;
+    }
+
+    private IoExecutor() {
+    }
+
+    /**
+     * Run a task on a virtual thread.
+     * <p>
+     * Cancelling the returned future interrupts the task, so that it may stop early.
+     *
+     * @param callable the task to run.
+     * @param <T>      the type of the task's result.
+     * @return the future result of the task.
+     */
+    @NotNull
+    public static <T> CompletableFuture<T> supply(@NotNull final Callable<T> callable) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final Future<?> task = EXECUTOR.submit(() -> {
+            try {
+                result.complete(callable.call());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Run a task which uses the local disk on a virtual thread, once a disk permit is available.
+     *
+     * @param task the task to run.
+     * @param <T>  the type of the task's result.
+     * @return the future result of the task.
+     */
+    @NotNull
+    public static <T> CompletableFuture<T> supplyOnDisk(@NotNull final IoTask<T> task) {
+        return supply(() -> onDisk(task));
+    }
+
+    /**
+     * Run a task which talks to a remote host on a virtual thread, once a permit for the host is available.
+     *
+     * @param host the host the task will talk to.
+     * @param task the task to run.
+     * @param <T>  the type of the task's result.
+     * @return the future result of the task.
+     */
+    @NotNull
+    public static <T> CompletableFuture<T> supplyFromHost(@Nullable final String host,
+                                                          @NotNull final IoTask<T> task) {
+        return supply(() -> fromHost(host, task));
+    }
+
+    /**
+     * Run a task which uses the local disk on the current thread, once a disk permit is available.
+     *
+     * @param task the task to run.
+     * @param <T>  the type of the task's result.
+     * @return the result of the task.
+     * @throws IOException if the task fails, or the thread is interrupted while waiting for a permit.
+     */
+    public static <T> T onDisk(@NotNull final IoTask<T> task) throws IOException {
+        return withPermit(DISK_PERMITS, task);
+    }
+
+    /**
+     * Run a task which talks to a remote host on the current thread, once a permit for the host is available.
+     * <p>
+     * The task must not itself wait for a permit for the same host, or it may wait forever.
+     *
+     * @param host the host the task will talk to.
+     * @param task the task to run.
+     * @param <T>  the type of the task's result.
+     * @return the result of the task.
+     * @throws IOException if the task fails, or the thread is interrupted while waiting for a permit.
+     */
+    public static <T> T fromHost(@Nullable final String host,
+                                 @NotNull final IoTask<T> task) throws IOException {
+        final String hostKey = host != null ? host.toLowerCase(Locale.ROOT) : "";
+        return withPermit(HOST_PERMITS.computeIfAbsent(hostKey, key -> new Semaphore(HOST_LIMIT)), task);
+    }
+
+    /**
+     * Wait for the result of a task, rethrowing its failure as it was thrown.
+     * <p>
+     * If the current thread is interrupted, the task is cancelled.
+     *
+     * @param future the future result of the task.
+     * @param <T>    the type of the task's result.
+     * @return the result of the task.
+     * @throws IOException if the task fails, or is cancelled.
+     */
+    public static <T> T await(@NotNull final Future<T> future) throws IOException {
+        try {
+            return future.get();
+
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw interrupted(e);
+        } catch (CancellationException e) {
+            throw interrupted(e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            } else if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            } else if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static <T> T withPermit(@NotNull final Semaphore permits,
+                                    @NotNull final IoTask<T> task) throws IOException {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw interrupted(e);
+        }
+        try {
+            return task.run();
+        } finally {
+            permits.release();
+        }
+    }
+
+    @NotNull
+    private static InterruptedIOException interrupted(@NotNull final Exception cause) {
+        final InterruptedIOException interrupted = new InterruptedIOException("I/O task was interrupted");
+        interrupted.initCause(cause);
+        return interrupted;
+    }
+}
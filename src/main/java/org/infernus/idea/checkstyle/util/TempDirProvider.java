@@ -1,13 +1,17 @@
 package org.infernus.idea.checkstyle.util;
 
+import com.intellij.openapi.application.PathManager;
 import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.module.Module;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.project.ProjectUtil;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiFile;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.infernus.idea.checkstyle.CheckStylePlugin;
+import org.infernus.idea.checkstyle.model.ConfigurationLocation;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -107,6 +111,106 @@ public class TempDirProvider {
         return result;
     }
 
+    /**
+     * Locate the directory of the JAR store shared by all projects, from which copied libraries are linked. The
+     * directory will be created if it does not exist, and persists after IDEA is closed.
+     *
+     * @return the existing directory, or an empty Optional if such could not be made available
+     */
+    public Optional<File> forSharedJarStore() {
+        Optional<File> result = Optional.empty();
+        try {
+            final File storeDir = determineSharedJarStoreDir();
+            if (storeDir.isDirectory() || storeDir.mkdirs()) {
+                result = Optional.of(storeDir);
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("Unable to create shared JAR store directory.", e);
+        }
+        return result;
+    }
+
+    @NotNull
+    private File determineSharedJarStoreDir() {
+        try {
+            return new File(PathManager.getSystemPath(), "checkstyle-idea" + File.separator + "jar-store");
+        } catch (RuntimeException e) {
+            // PathManager is not initialised in unit tests
+            return new File(System.getProperty("java.io.tmpdir"), "csi-jar-store");
+        }
+    }
+
+    /**
+     * Locate the Checkstyle cache file for a configuration, which Checkstyle uses to skip files which are unchanged
+     * and had no violations when last scanned. The parent directory will be created if it does not exist.
+     *
+     * @param pProject  the current project
+     * @param pModule   the module the configuration is resolved for, if any
+     * @param pLocation the configuration location
+     * @return the cache file, or an empty Optional if no cache should be used
+     */
+    public Optional<Path> forCheckstyleCacheFile(@NotNull final Project pProject,
+                                                 @Nullable final Module pModule,
+                                                 @NotNull final ConfigurationLocation pLocation) {
+        Optional<Path> result = Optional.empty();
+        try {
+            final Path cacheDir = determineCheckstyleCachesDir(pProject).toPath();
+            Files.createDirectories(cacheDir);
+
+            result = Optional.of(cacheDir.resolve(checkstyleCacheFileName(pModule, pLocation)));
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Unable to prepare Checkstyle cache file. Unchanged files will be scanned again.", e);
+        }
+        return result;
+    }
+
+    /**
+     * Delete the Checkstyle cache file for a configuration, so that all files are scanned again.
+     *
+     * @param pProject  the current project
+     * @param pModule   the module the configuration is resolved for, if any
+     * @param pLocation the configuration location
+     */
+    public void deleteCheckstyleCacheFile(@NotNull final Project pProject,
+                                          @Nullable final Module pModule,
+                                          @NotNull final ConfigurationLocation pLocation) {
+        try {
+            Files.deleteIfExists(determineCheckstyleCachesDir(pProject).toPath()
+                    .resolve(checkstyleCacheFileName(pModule, pLocation)));
+        } catch (IOException | RuntimeException e) {
+            LOG.debug("Unable to delete Checkstyle cache file", e);
+        }
+    }
+
+    @NotNull
+    private String checkstyleCacheFileName(@Nullable final Module pModule,
+                                           @NotNull final ConfigurationLocation pLocation) {
+        final String moduleName = pModule != null ? pModule.getName() : "";
+        return DigestUtils.sha1Hex(pLocation.getId() + File.pathSeparator + moduleName) + ".properties";
+    }
+
+    public void deleteCheckstyleCacheFiles(@NotNull final Project pProject) {
+        try {
+            final File dir = determineCheckstyleCachesDir(pProject);
+            if (dir.isDirectory()) {
+                FileUtils.deleteQuietly(dir);
+            }
+        } catch (RuntimeException e) {
+            // ignore
+        }
+    }
+
+    @NotNull
+    private File determineCheckstyleCachesDir(@NotNull final Project pProject) {
+        try {
+            return new File(PathManager.getSystemPath(), "checkstyle-idea" + File.separator + "caches"
+                    + File.separator + projectUnique(pProject));
+        } catch (RuntimeException e) {
+            // PathManager is not initialised in unit tests
+            return new File(System.getProperty("java.io.tmpdir"), "csi-" + projectUnique(pProject) + "-caches");
+        }
+    }
+
     @NotNull
     private File determineCopiedLibrariesDir(@NotNull final Project pProject) {
         return getIdeaFolder(pProject).map(pVirtualFile -> new File(pVirtualFile.getPath(), "checkstyleidea-libs"))
@@ -0,0 +1,78 @@
+package org.infernus.idea.checkstyle;
+
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.Project;
+import org.infernus.idea.checkstyle.config.ConfigurationLocationSource;
+import org.infernus.idea.checkstyle.model.ConfigurationLocation;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CheckStyleGlobalInspectionTest {
+
+    @Test
+    public void batchesOfDifferentGroupsAreInterleaved() {
+        final Map<String, List<String>> groups = new LinkedHashMap<>();
+        groups.put("a", List.of("a1", "a2", "a3", "a4", "a5"));
+        groups.put("b", List.of("b1", "b2"));
+
+        assertThat(CheckStyleGlobalInspection.interleavedBatches(groups, 2), equalTo(List.of(
+                List.of("a1", "a2"),
+                List.of("b1", "b2"),
+                List.of("a3", "a4"),
+                List.of("a5"))));
+    }
+
+    @Test
+    public void groupsSmallerThanTheBatchSizeFormASingleBatch() {
+        final Map<String, List<String>> groups = Map.of("a", List.of("a1", "a2"));
+
+        assertThat(CheckStyleGlobalInspection.interleavedBatches(groups, 500),
+                equalTo(List.of(List.of("a1", "a2"))));
+    }
+
+    @Test
+    public void noGroupsGiveNoBatches() {
+        assertThat(CheckStyleGlobalInspection.interleavedBatches(Map.of(), 500), empty());
+    }
+
+    @Test
+    public void filesAreGroupedByTheActiveLocationsOfTheirModule() {
+        final Project project = mock(Project.class);
+        final Module module = mock(Module.class);
+        final ConfigurationLocation active = new StringConfigurationLocation("<module name=\"Checker\"/>", project);
+        final ConfigurationLocation blocked = new StringConfigurationLocation("<module name=\"Checker\"/>", project);
+        blocked.block();
+        final ConfigurationLocationSource locationSource = locationSourceWith(module, active, blocked);
+
+        assertThat(CheckStyleGlobalInspection.checkerGroupOf(module, locationSource),
+                equalTo(Optional.of(new CheckStyleGlobalInspection.CheckerGroup(module, Set.of(active)))));
+    }
+
+    @Test
+    public void modulesWithoutActiveLocationsHaveNoGroup() {
+        final Module module = mock(Module.class);
+        final ConfigurationLocationSource locationSource = locationSourceWith(module);
+
+        assertThat(CheckStyleGlobalInspection.checkerGroupOf(module, locationSource).isPresent(), is(false));
+    }
+
+    private static ConfigurationLocationSource locationSourceWith(final Module module,
+                                                                  final ConfigurationLocation... locations) {
+        final ConfigurationLocationSource locationSource = mock(ConfigurationLocationSource.class);
+        when(locationSource.getConfigurationLocations(module, null)).thenReturn(new TreeSet<>(List.of(locations)));
+        return locationSource;
+    }
+}
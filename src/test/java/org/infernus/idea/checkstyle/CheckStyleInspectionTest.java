@@ -13,6 +13,7 @@ import org.infernus.idea.checkstyle.config.ConfigurationLocationSource;
 import org.infernus.idea.checkstyle.config.PluginConfiguration;
 import org.infernus.idea.checkstyle.config.PluginConfigurationBuilder;
 import org.infernus.idea.checkstyle.config.PluginConfigurationManager;
+import org.infernus.idea.checkstyle.csapi.CheckTier;
 import org.infernus.idea.checkstyle.csapi.SeverityLevel;
 import org.infernus.idea.checkstyle.model.ConfigurationLocation;
 import org.infernus.idea.checkstyle.model.ScanScope;
@@ -25,7 +26,10 @@ import java.util.TreeSet;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -164,7 +168,8 @@ public class CheckStyleInspectionTest extends BasePlatformTestCase {
         registerConfigurationLocationSource(locationSource);
 
         CheckerFactory checkerFactory = mock(CheckerFactory.class);
-        when(checkerFactory.checker(any(), any())).thenReturn(Optional.empty());
+        when(checkerFactory.mayProcess(any(), any(), any(), any())).thenReturn(true);
+        when(checkerFactory.checker(any(), any(), any())).thenReturn(Optional.empty());
         registerCheckerFactory(checkerFactory);
 
         PsiFile psiFile = myFixture.configureByText("Foo.java", "class Foo {}");
@@ -199,10 +204,12 @@ public class CheckStyleInspectionTest extends BasePlatformTestCase {
                 false);
 
         CheckStyleChecker checker = mock(CheckStyleChecker.class);
+        when(checker.processes(psiFile)).thenReturn(true);
         when(checker.scan(any(), anyBoolean())).thenReturn(Map.of(psiFile, List.of(problem)));
 
         CheckerFactory checkerFactory = mock(CheckerFactory.class);
-        when(checkerFactory.checker(any(), any())).thenReturn(Optional.of(checker));
+        when(checkerFactory.mayProcess(any(), any(), any(), any())).thenReturn(true);
+        when(checkerFactory.checker(any(), any(), any())).thenReturn(Optional.of(checker));
         registerCheckerFactory(checkerFactory);
 
         InspectionManager manager = InspectionManager.getInstance(getProject());
@@ -213,6 +220,56 @@ public class CheckStyleInspectionTest extends BasePlatformTestCase {
         assertEquals(1, result.length);
     }
 
+    public void testCheckFileIsSkippedWhenNoLoadedCheckerProcessesTheFile() {
+        ConfigurationLocation location = inMemoryLocation();
+        registerPluginConfigurationManager(everythingScopeConfigurationWith(location));
+
+        TreeSet<ConfigurationLocation> locations = new TreeSet<>();
+        locations.add(location);
+
+        ConfigurationLocationSource locationSource = mock(ConfigurationLocationSource.class);
+        when(locationSource.getConfigurationLocations(any(), any())).thenReturn(locations);
+        registerConfigurationLocationSource(locationSource);
+
+        CheckerFactory checkerFactory = mock(CheckerFactory.class);
+        when(checkerFactory.mayProcess(any(), any(), any(), any())).thenReturn(false);
+        registerCheckerFactory(checkerFactory);
+
+        PsiFile psiFile = myFixture.addFileToProject("messages.properties", "key=value");
+        InspectionManager manager = InspectionManager.getInstance(getProject());
+
+        ProblemDescriptor[] result = underTest.checkFile(psiFile, manager, false);
+
+        assertEquals(0, result.length);
+        verify(checkerFactory, never()).checker(any(), any(), any());
+    }
+
+    public void testCheckFileOnTheFlyUsesTheFastTierWhenEnabled() {
+        ConfigurationLocation location = inMemoryLocation();
+        registerPluginConfigurationManager(PluginConfigurationBuilder.from(everythingScopeConfigurationWith(location))
+                .withFastChecksWhileEditing(true)
+                .build());
+
+        TreeSet<ConfigurationLocation> locations = new TreeSet<>();
+        locations.add(location);
+
+        ConfigurationLocationSource locationSource = mock(ConfigurationLocationSource.class);
+        when(locationSource.getConfigurationLocations(any(), any())).thenReturn(locations);
+        registerConfigurationLocationSource(locationSource);
+
+        CheckerFactory checkerFactory = mock(CheckerFactory.class);
+        when(checkerFactory.mayProcess(any(), any(), any(), any())).thenReturn(true);
+        when(checkerFactory.checker(any(), any(), any())).thenReturn(Optional.empty());
+        registerCheckerFactory(checkerFactory);
+
+        PsiFile psiFile = myFixture.addFileToProject("Foo.java", "class Foo {}");
+        InspectionManager manager = InspectionManager.getInstance(getProject());
+
+        underTest.checkFile(psiFile, manager, true);
+
+        verify(checkerFactory).checker(any(), eq(location), eq(CheckTier.FAST));
+    }
+
     private Problem problem(final PsiElement element, final SeverityLevel severityLevel) {
         return new Problem(element, "message", severityLevel, 1, 1, "SourceCheck", false, false);
     }
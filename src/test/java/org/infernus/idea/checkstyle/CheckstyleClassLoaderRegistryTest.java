@@ -0,0 +1,148 @@
+package org.infernus.idea.checkstyle;
+
+import com.intellij.openapi.util.Disposer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class CheckstyleClassLoaderRegistryTest {
+
+    private static final String VERSION = "10.0";
+
+    @TempDir
+    Path tempDir;
+
+    private CheckstyleClassLoaderRegistry underTest;
+    private AtomicInteger loadersCreated;
+    private Supplier<ClassLoader> factory;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new CheckstyleClassLoaderRegistry();
+        loadersCreated = new AtomicInteger();
+        factory = () -> {
+            loadersCreated.incrementAndGet();
+            return new URLClassLoader(new URL[0], getClass().getClassLoader());
+        };
+    }
+
+    @Test
+    void matchingKeysShareOneClassLoader() throws Exception {
+        List<URL> classpath = List.of(jar("a.jar"));
+
+        var first = underTest.acquire(new Object(), VERSION, classpath, factory);
+        var second = underTest.acquire(new Object(), VERSION, List.of(jar("./a.jar")), factory);
+
+        assertSame(first.getClassLoader(), second.getClassLoader());
+        assertEquals(1, loadersCreated.get());
+    }
+
+    @Test
+    void differentVersionsDoNotShare() throws Exception {
+        List<URL> classpath = List.of(jar("a.jar"));
+
+        var first = underTest.acquire(new Object(), VERSION, classpath, factory);
+        var second = underTest.acquire(new Object(), "10.1", classpath, factory);
+
+        assertNotSame(first.getClassLoader(), second.getClassLoader());
+        assertEquals(2, underTest.activeClassLoaderCount());
+    }
+
+    @Test
+    void differentThirdPartyClasspathsDoNotShare() throws Exception {
+        var first = underTest.acquire(new Object(), VERSION, List.of(jar("a.jar")), factory);
+        var second = underTest.acquire(new Object(), VERSION, List.of(jar("b.jar")), factory);
+
+        assertNotSame(first.getClassLoader(), second.getClassLoader());
+    }
+
+    @Test
+    void modifiedThirdPartyJarIsNotServedFromExistingLoader() throws Exception {
+        URL jarUrl = jar("a.jar");
+        var first = underTest.acquire(new Object(), VERSION, List.of(jarUrl), factory);
+
+        Path jarPath = Path.of(jarUrl.toURI());
+        Files.write(jarPath, new byte[]{1, 2, 3, 4});
+        Files.setLastModifiedTime(jarPath, FileTime.fromMillis(Files.getLastModifiedTime(jarPath).toMillis() + 5000));
+        var second = underTest.acquire(new Object(), VERSION, List.of(jarUrl), factory);
+
+        assertNotSame(first.getClassLoader(), second.getClassLoader());
+    }
+
+    @Test
+    void loaderIsDroppedWhenLastLeaseIsReleased() throws Exception {
+        List<URL> classpath = List.of(jar("a.jar"));
+        var first = underTest.acquire(new Object(), VERSION, classpath, factory);
+        var second = underTest.acquire(new Object(), VERSION, classpath, factory);
+
+        first.release();
+        assertEquals(1, underTest.activeClassLoaderCount());
+
+        second.release();
+        assertEquals(0, underTest.activeClassLoaderCount());
+
+        var third = underTest.acquire(new Object(), VERSION, classpath, factory);
+        assertNotSame(first.getClassLoader(), third.getClassLoader());
+        assertEquals(2, loadersCreated.get());
+    }
+
+    @Test
+    void repeatedReleaseOfALeaseOnlyCountsOnce() throws Exception {
+        List<URL> classpath = List.of(jar("a.jar"));
+        var first = underTest.acquire(new Object(), VERSION, classpath, factory);
+        underTest.acquire(new Object(), VERSION, classpath, factory);
+
+        first.release();
+        first.release();
+
+        assertEquals(1, underTest.activeClassLoaderCount());
+    }
+
+    @Test
+    void whatWasStartedFromALoaderIsStoppedWhenTheLoaderIsDropped() throws Exception {
+        List<URL> classpath = List.of(jar("a.jar"));
+        var first = underTest.acquire(new Object(), VERSION, classpath, factory);
+        var second = underTest.acquire(new Object(), VERSION, classpath, factory);
+        AtomicBoolean stopped = new AtomicBoolean();
+        Disposer.register(underTest.disposableFor(first.getClassLoader()), () -> stopped.set(true));
+
+        first.release();
+        assertFalse(stopped.get());
+
+        second.release();
+        assertTrue(stopped.get());
+    }
+
+    @Test
+    void whatWasStartedFromALoaderIsStoppedWhenTheRegistryIsDisposed() throws Exception {
+        var lease = underTest.acquire(new Object(), VERSION, List.of(jar("a.jar")), factory);
+        AtomicBoolean stopped = new AtomicBoolean();
+        Disposer.register(underTest.disposableFor(lease.getClassLoader()), () -> stopped.set(true));
+
+        Disposer.dispose(underTest);
+
+        assertTrue(stopped.get());
+        assertEquals(0, underTest.activeClassLoaderCount());
+    }
+
+    private URL jar(final String name) throws Exception {
+        Path jar = tempDir.resolve(name).normalize();
+        if (!Files.exists(jar)) {
+            Files.write(jar, new byte[]{1, 2, 3});
+        }
+        return tempDir.resolve(name).toUri().toURL();
+    }
+}
@@ -66,6 +66,13 @@ public class CheckstyleProjectServiceTest {
                 is(not(nullValue())));
     }
 
+    @Test
+    public void servicesWithMatchingVersionAndClasspathShareAClassLoader() {
+        CheckstyleProjectService otherProjectService = new CheckstyleProjectService(project);
+
+        assertThat(otherProjectService.underlyingClassLoader(), is(sameInstance(underTest.underlyingClassLoader())));
+    }
+
     @Test
     public void nonBundledVersion_usesDownloadedPaths(@TempDir Path tempDir) throws Exception {
         Path fakeJar = tempDir.resolve("checkstyle-10.4.jar");
@@ -151,7 +158,8 @@ public class CheckstyleProjectServiceTest {
 
     @Test
     public void copyLibsEnabled_stabilizesThirdPartyJarsFromProjectDir(@TempDir Path projectDir,
-                                                                        @TempDir Path copyDir) throws Exception {
+                                                                        @TempDir Path copyDir,
+                                                                        @TempDir Path jarStoreDir) throws Exception {
         Path thirdPartyJar = projectDir.resolve("ext.jar");
         thirdPartyJar.toFile().createNewFile();
 
@@ -168,6 +176,11 @@ public class CheckstyleProjectServiceTest {
             public Optional<File> forCopiedLibraries(@NotNull final Project p) {
                 return Optional.of(copyDir.toFile());
             }
+
+            @Override
+            public Optional<File> forSharedJarStore() {
+                return Optional.of(jarStoreDir.toFile());
+            }
         };
 
         underTest = new CheckstyleProjectService(project, tempDirProvider);
@@ -10,6 +10,10 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -63,10 +67,70 @@ public class HttpJarDownloaderTest {
         assertFalse(Files.exists(target));
     }
 
+    @Test
+    void returnsSha256OfDownloadedContent() throws Exception {
+        byte[] content = {1, 2, 3};
+        server.createContext("/jar", exchange -> {
+            exchange.sendResponseHeaders(200, content.length);
+            exchange.getResponseBody().write(content);
+            exchange.getResponseBody().close();
+        });
+
+        String hash = downloader.download(baseUrl + "/jar", tempDir.resolve("checkstyle.jar"));
+
+        assertEquals(sha256Of(content), hash);
+    }
+
+    @Test
+    void resumesPartialDownloadWithRangeRequest() throws Exception {
+        byte[] content = {1, 2, 3, 4, 5, 6};
+        AtomicReference<String> requestedRange = new AtomicReference<>();
+        server.createContext("/jar", exchange -> {
+            requestedRange.set(exchange.getRequestHeaders().getFirst("Range"));
+            byte[] remainder = Arrays.copyOfRange(content, 4, content.length);
+            exchange.getResponseHeaders().add("Content-Range", "bytes 4-5/6");
+            exchange.sendResponseHeaders(206, remainder.length);
+            exchange.getResponseBody().write(remainder);
+            exchange.getResponseBody().close();
+        });
+
+        Path target = tempDir.resolve("checkstyle.jar");
+        Files.write(HttpJarDownloader.partialFileFor(target), Arrays.copyOf(content, 4));
+
+        String hash = downloader.download(baseUrl + "/jar", target);
+
+        assertEquals("bytes=4-", requestedRange.get());
+        assertArrayEquals(content, Files.readAllBytes(target));
+        assertEquals(sha256Of(content), hash);
+        assertFalse(Files.exists(HttpJarDownloader.partialFileFor(target)));
+    }
+
+    @Test
+    void restartsWhenServerIgnoresRangeRequest() throws Exception {
+        byte[] content = {1, 2, 3};
+        server.createContext("/jar", exchange -> {
+            exchange.sendResponseHeaders(200, content.length);
+            exchange.getResponseBody().write(content);
+            exchange.getResponseBody().close();
+        });
+
+        Path target = tempDir.resolve("checkstyle.jar");
+        Files.write(HttpJarDownloader.partialFileFor(target), new byte[]{9, 9});
+
+        String hash = downloader.download(baseUrl + "/jar", target);
+
+        assertArrayEquals(content, Files.readAllBytes(target));
+        assertEquals(sha256Of(content), hash);
+    }
+
     @Test
     void throwsIllegalArgumentExceptionOnMalformedUrl() {
         Path target = tempDir.resolve("checkstyle.jar");
         assertThrows(IllegalArgumentException.class,
                 () -> downloader.download("not a valid url :// @@", target));
     }
+
+    private static String sha256Of(final byte[] data) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+    }
 }
@@ -11,6 +11,8 @@ import java.nio.file.Path;
 import java.security.MessageDigest;
 import java.util.HexFormat;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -96,6 +98,56 @@ public class ManifestBasedArtifactResolverTest {
         assertFalse(Files.exists(jarPath));
     }
 
+    @Test
+    void trustsHashReportedByDownloader() throws Exception {
+        Path jarPath = expectedJarPath(VERSION);
+
+        doAnswer(inv -> {
+            Files.createDirectories(jarPath.getParent());
+            Files.write(jarPath, new byte[]{9, 9, 9});
+            return SHA256;
+        }).when(mockDownloader).download(anyString(), eq(jarPath));
+
+        List<Path> result = resolver.resolveTransitively("com.puppycrawl.tools", "checkstyle", VERSION);
+
+        assertEquals(List.of(jarPath), result);
+    }
+
+    @Test
+    void downloadsAllEntriesConcurrentlyPreservingManifestOrder() throws Exception {
+        manifest = DownloadManifest.fromString(VERSION + " = "
+                + "com.puppycrawl.tools:checkstyle:" + VERSION + "::" + SHA256 + ", "
+                + "info.picocli:picocli:4.7.6::" + SHA256 + ", "
+                + "org.antlr:antlr4-runtime:4.13.2::" + SHA256 + "\n");
+        resolver = new ManifestBasedArtifactResolver(manifest, m2Root, mockDownloader);
+
+        CountDownLatch allStarted = new CountDownLatch(3);
+        doAnswer(inv -> {
+            allStarted.countDown();
+            if (!allStarted.await(10, TimeUnit.SECONDS)) {
+                throw new IOException("downloads were not run concurrently");
+            }
+            Path target = inv.getArgument(1);
+            Files.write(target, new byte[]{1, 2, 3});
+            return null;
+        }).when(mockDownloader).download(anyString(), any(Path.class));
+
+        List<Path> result = resolver.resolveTransitively("com.puppycrawl.tools", "checkstyle", VERSION);
+
+        assertEquals(List.of(
+                expectedJarPath(VERSION),
+                m2Root.resolve("info/picocli/picocli/4.7.6/picocli-4.7.6.jar"),
+                m2Root.resolve("org/antlr/antlr4-runtime/4.13.2/antlr4-runtime-4.13.2.jar")), result);
+    }
+
+    @Test
+    void propagatesDownloadFailure() throws Exception {
+        doThrow(new IOException("connection reset")).when(mockDownloader).download(anyString(), any(Path.class));
+
+        assertThrows(IOException.class,
+                () -> resolver.resolveTransitively("com.puppycrawl.tools", "checkstyle", VERSION));
+    }
+
     @Test
     void throwsForVersionNotInManifest() {
         assertThrows(CheckstyleDownloadException.class,
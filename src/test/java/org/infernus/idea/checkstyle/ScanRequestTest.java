@@ -0,0 +1,90 @@
+package org.infernus.idea.checkstyle;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import org.infernus.idea.checkstyle.model.ConfigurationLocation;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+
+public class ScanRequestTest {
+
+    private final VirtualFile projectRoot = file(null);
+    private final VirtualFile moduleRoot = file(projectRoot);
+    private final VirtualFile firstFile = file(moduleRoot);
+    private final VirtualFile secondFile = file(moduleRoot);
+    private final VirtualFile otherModuleFile = file(file(projectRoot));
+
+    private long nextSequence;
+
+    @Test
+    public void aRequestForADirectoryCanReplaceARequestForFilesWithinIt() {
+        assertThat(request(ScanPriority.MODULE, moduleRoot).canReplace(request(ScanPriority.CURRENT_FILE, firstFile, secondFile)), is(true));
+    }
+
+    @Test
+    public void aRequestForADirectoryCannotReplaceARequestForFilesOutsideIt() {
+        assertThat(request(ScanPriority.MODULE, moduleRoot).canReplace(request(ScanPriority.CHANGELIST, firstFile, otherModuleFile)), is(false));
+    }
+
+    @Test
+    public void aRequestForAFileCannotReplaceARequestForItsDirectory() {
+        assertThat(request(ScanPriority.CURRENT_FILE, firstFile).canReplace(request(ScanPriority.MODULE, moduleRoot)), is(false));
+    }
+
+    @Test
+    public void requestsWithDifferentConfigurationsCannotReplaceEachOther() {
+        final ScanRequest overridden = new ScanRequest(List.of(projectRoot), mock(ConfigurationLocation.class),
+                ScanPriority.PROJECT, true, nextSequence++, List.of());
+
+        assertThat(overridden.canReplace(request(ScanPriority.CURRENT_FILE, firstFile)), is(false));
+        assertThat(request(ScanPriority.PROJECT, projectRoot).canReplace(overridden), is(false));
+    }
+
+    @Test
+    public void requestsWhichAreNotReplaceableCannotReplaceOrBeReplaced() {
+        final ScanRequest checkin = new ScanRequest(List.of(firstFile), null,
+                ScanPriority.CHANGELIST, false, nextSequence++, List.of());
+
+        assertThat(request(ScanPriority.PROJECT, projectRoot).canReplace(checkin), is(false));
+        assertThat(checkin.canReplace(request(ScanPriority.CURRENT_FILE, firstFile)), is(false));
+    }
+
+    @Test
+    public void requestsAreOrderedByPriorityAndThenByTheOrderTheyWereMade() {
+        final ScanRequest firstProject = request(ScanPriority.PROJECT, projectRoot);
+        final ScanRequest module = request(ScanPriority.MODULE, moduleRoot);
+        final ScanRequest secondProject = request(ScanPriority.PROJECT, projectRoot);
+        final ScanRequest currentFile = request(ScanPriority.CURRENT_FILE, firstFile);
+
+        final List<ScanRequest> requests = new ArrayList<>(List.of(secondProject, firstProject, module, currentFile));
+        requests.sort(ScanRequest.BY_PRIORITY);
+
+        assertThat(requests, contains(currentFile, module, firstProject, secondProject));
+    }
+
+    @Test
+    public void higherPrioritiesAreThoseNearerTheCurrentFile() {
+        assertThat(ScanPriority.CURRENT_FILE.isHigherThan(ScanPriority.CHANGELIST), is(true));
+        assertThat(ScanPriority.MODULE.isHigherThan(ScanPriority.PROJECT), is(true));
+        assertThat(ScanPriority.PROJECT.isHigherThan(ScanPriority.MODULE), is(false));
+        assertThat(ScanPriority.MODULE.isHigherThan(ScanPriority.MODULE), is(false));
+    }
+
+    private ScanRequest request(final ScanPriority priority, final VirtualFile... files) {
+        return new ScanRequest(List.of(files), null, priority, true, nextSequence++, List.of());
+    }
+
+    private static VirtualFile file(final VirtualFile parent) {
+        final VirtualFile file = mock(VirtualFile.class);
+        when(file.getParent()).thenReturn(parent);
+        return file;
+    }
+}
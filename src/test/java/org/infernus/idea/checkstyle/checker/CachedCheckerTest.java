@@ -6,6 +6,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.lang.reflect.Field;
+import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
@@ -60,6 +61,24 @@ class CachedCheckerTest {
         verify(checkStyleChecker).destroy();
     }
 
+    @Test
+    void aCheckerIsAffectedByChangesToItsDependencies() {
+        CachedChecker underTest = new CachedChecker(checkStyleChecker);
+
+        underTest.dependsOn(List.of("/rules/checkstyle.xml", "/rules/suppressions.xml"));
+
+        assertThat(underTest.isAffectedBy("/rules/suppressions.xml"), is(true));
+        assertThat(underTest.isAffectedBy("/rules/../rules/other.xml"), is(false));
+        assertThat(underTest.isAffectedBy("/src/Main.java"), is(false));
+    }
+
+    @Test
+    void aCheckerWithNoRecordedDependenciesIsNotAffectedByChanges() {
+        CachedChecker underTest = new CachedChecker(checkStyleChecker);
+
+        assertThat(underTest.isAffectedBy("/rules/suppressions.xml"), is(false));
+    }
+
     private void backdateTimestamp(final CachedChecker cachedChecker, final long millisInThePast) throws Exception {
         Field field = CachedChecker.class.getDeclaredField("timeStamp");
         field.setAccessible(true);
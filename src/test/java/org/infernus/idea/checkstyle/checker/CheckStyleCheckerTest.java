@@ -20,6 +20,7 @@ import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -143,6 +144,55 @@ public class CheckStyleCheckerTest extends BasePlatformTestCase {
                 checkerWithConfig, List.of(includedScannable), false, 4, Optional.empty());
     }
 
+    public void testScanWithCombinesTheCheckersOnceAndReusesTheCombination() {
+        CheckstyleInternalObject otherCheckerWithConfig = mock(CheckstyleInternalObject.class);
+        CheckStyleChecker other = new CheckStyleChecker(
+                otherCheckerWithConfig, 4, Optional.empty(), csServiceInstance, Optional.empty());
+        CheckstyleInternalObject combined = mock(CheckstyleInternalObject.class);
+        when(csServiceInstance.combineCheckers(List.of(checkerWithConfig, otherCheckerWithConfig))).thenReturn(combined);
+        List<ScannableFile> files = List.of(mock(ScannableFile.class));
+        List<Map<PsiFile, List<Problem>>> expected = List.of(Map.of(), Map.of());
+        when(csServiceInstance.scanCombined(combined, files, true, 4, Optional.empty())).thenReturn(expected);
+
+        assertEquals(Optional.of(expected), underTest.scanWith(List.of(other), files, true));
+        assertEquals(Optional.of(expected), underTest.scanWith(List.of(other), files, true));
+
+        verify(csServiceInstance, times(1)).combineCheckers(any());
+    }
+
+    public void testScanWithIsEmptyWhenTheCheckersCannotBeCombined() {
+        CheckStyleChecker other = new CheckStyleChecker(
+                mock(CheckstyleInternalObject.class), 4, Optional.empty(), csServiceInstance, Optional.empty());
+
+        assertEquals(Optional.empty(), underTest.scanWith(List.of(other), List.of(mock(ScannableFile.class)), false));
+        verify(csServiceInstance, never()).scanCombined(any(), any(), anyBoolean(), anyInt(), any());
+    }
+
+    public void testCombinationsAreDestroyedWithEitherChecker() {
+        CheckStyleChecker other = new CheckStyleChecker(
+                mock(CheckstyleInternalObject.class), 4, Optional.empty(), csServiceInstance, Optional.empty());
+        CheckstyleInternalObject combined = mock(CheckstyleInternalObject.class);
+        when(csServiceInstance.combineCheckers(any())).thenReturn(combined);
+        underTest.scanWith(List.of(other), List.of(mock(ScannableFile.class)), false);
+
+        other.destroy();
+        assertEquals(Optional.empty(), underTest.scanWith(List.of(other), List.of(mock(ScannableFile.class)), false));
+        underTest.destroy();
+
+        verify(csServiceInstance).destroyChecker(combined);
+    }
+
+    public void testADestroyedCheckerIsNotCombined() {
+        CheckStyleChecker other = new CheckStyleChecker(
+                mock(CheckstyleInternalObject.class), 4, Optional.empty(), csServiceInstance, Optional.empty());
+        when(csServiceInstance.combineCheckers(any())).thenReturn(mock(CheckstyleInternalObject.class));
+
+        underTest.destroy();
+
+        assertEquals(Optional.empty(), underTest.scanWith(List.of(other), List.of(mock(ScannableFile.class)), false));
+        verify(csServiceInstance, never()).combineCheckers(any());
+    }
+
     /**
      * Creates a minimal {@link PackageSet} whose {@code contains()} delegates to {@code predicate}.
      */
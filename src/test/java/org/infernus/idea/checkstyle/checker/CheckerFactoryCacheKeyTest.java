@@ -2,6 +2,7 @@ package org.infernus.idea.checkstyle.checker;
 
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.project.Project;
+import org.infernus.idea.checkstyle.csapi.CheckTier;
 import org.infernus.idea.checkstyle.model.ConfigurationLocation;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -48,6 +49,14 @@ class CheckerFactoryCacheKeyTest {
         assertThat(key1, is(not(equalTo(key2))));
     }
 
+    @Test
+    void twoKeysWithDifferentTiersAreNotEqual() {
+        CheckerFactoryCacheKey key1 = new CheckerFactoryCacheKey(locationA, null, CheckTier.FULL);
+        CheckerFactoryCacheKey key2 = new CheckerFactoryCacheKey(locationA, null, CheckTier.FAST);
+
+        assertThat(key1, is(not(equalTo(key2))));
+    }
+
     @Test
     void twoKeysWithSameLocationAndSameModuleAreEqual() {
         when(moduleA.getName()).thenReturn("myModule");
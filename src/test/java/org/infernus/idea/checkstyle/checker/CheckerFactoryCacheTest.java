@@ -5,6 +5,7 @@ import org.infernus.idea.checkstyle.StringConfigurationLocation;
 import org.infernus.idea.checkstyle.model.ConfigurationLocation;
 
 import java.lang.reflect.Field;
+import java.util.List;
 import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -94,6 +95,30 @@ public class CheckerFactoryCacheTest extends LightPlatformTestCase {
         assertThat(underTest.get(location, null), is(Optional.empty()));
     }
 
+    public void testInvalidateDependentsOfDiscardsOnlyTheAffectedCheckers() {
+        CheckStyleChecker otherCheckStyleChecker = mock(CheckStyleChecker.class);
+        ConfigurationLocation otherLocation = new StringConfigurationLocation("<other/>", getProject());
+        CachedChecker affectedChecker = new CachedChecker(checkStyleChecker);
+        affectedChecker.dependsOn(List.of("/rules/suppressions.xml"));
+        CachedChecker unaffectedChecker = new CachedChecker(otherCheckStyleChecker);
+        unaffectedChecker.dependsOn(List.of("/rules/import-control.xml"));
+        underTest.put(location, null, affectedChecker);
+        underTest.put(otherLocation, null, unaffectedChecker);
+
+        boolean invalidated = underTest.invalidateDependentsOf(List.of("/rules/suppressions.xml"));
+
+        assertThat(invalidated, is(true));
+        assertThat(underTest.get(location, null), is(Optional.empty()));
+        assertThat(underTest.get(otherLocation, null), is(Optional.of(unaffectedChecker)));
+        verify(checkStyleChecker).destroy();
+    }
+
+    public void testInvalidateDependentsOfReportsWhenNothingWasAffected() {
+        underTest.put(location, null, new CachedChecker(checkStyleChecker));
+
+        assertThat(underTest.invalidateDependentsOf(List.of("/src/Main.java")), is(false));
+    }
+
     private void backdateTimestamp(final CachedChecker cachedChecker, final long millisInThePast) throws Exception {
         Field field = CachedChecker.class.getDeclaredField("timeStamp");
         field.setAccessible(true);
@@ -1,6 +1,7 @@
 package org.infernus.idea.checkstyle.checker;
 
 import org.infernus.idea.checkstyle.CheckstyleProjectService;
+import org.infernus.idea.checkstyle.csapi.CheckTier;
 import org.infernus.idea.checkstyle.csapi.CheckstyleActions;
 import org.infernus.idea.checkstyle.model.ConfigurationLocation;
 import org.junit.jupiter.api.Test;
@@ -14,6 +15,7 @@ import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -33,7 +35,7 @@ class CheckerFactoryWorkerTest {
     void callDelegatesToCheckstyleInstanceAndWrapsResult() throws Exception {
         CheckStyleChecker mockChecker = mock(CheckStyleChecker.class);
         when(checkstyleProjectService.getCheckstyleInstance()).thenReturn(checkstyleActions);
-        when(checkstyleActions.createChecker(any(), eq(location), any(Map.class))).thenReturn(mockChecker);
+        when(checkstyleActions.createChecker(any(), eq(location), any(Map.class), isNull(), eq(CheckTier.FULL))).thenReturn(mockChecker);
 
         CheckerFactoryWorker worker = new CheckerFactoryWorker(location, Map.of(), null, checkstyleProjectService);
         CachedChecker result = worker.call();
@@ -47,11 +49,25 @@ class CheckerFactoryWorkerTest {
         CheckStyleChecker mockChecker = mock(CheckStyleChecker.class);
         Map<String, String> props = Map.of("prop1", "val1");
         when(checkstyleProjectService.getCheckstyleInstance()).thenReturn(checkstyleActions);
-        when(checkstyleActions.createChecker(eq(null), eq(location), eq(props))).thenReturn(mockChecker);
+        when(checkstyleActions.createChecker(isNull(), eq(location), eq(props), isNull(), eq(CheckTier.FULL))).thenReturn(mockChecker);
 
         CheckerFactoryWorker worker = new CheckerFactoryWorker(location, props, null, checkstyleProjectService);
         CachedChecker result = worker.call();
 
         assertThat(result, notNullValue());
     }
+
+    @Test
+    void callCreatesACheckerForTheRequestedTier() throws Exception {
+        CheckStyleChecker mockChecker = mock(CheckStyleChecker.class);
+        when(checkstyleProjectService.getCheckstyleInstance()).thenReturn(checkstyleActions);
+        when(checkstyleActions.createChecker(isNull(), eq(location), any(Map.class), isNull(), eq(CheckTier.FAST)))
+                .thenReturn(mockChecker);
+
+        CheckerFactoryWorker worker = new CheckerFactoryWorker(location, Map.of(), null, CheckTier.FAST,
+                checkstyleProjectService);
+        CachedChecker result = worker.call();
+
+        assertThat(result.getCheckStyleChecker(), notNullValue());
+    }
 }
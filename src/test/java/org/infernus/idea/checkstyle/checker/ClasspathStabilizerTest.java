@@ -3,6 +3,7 @@ package org.infernus.idea.checkstyle.checker;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
@@ -19,6 +20,7 @@ import org.mockito.Mockito;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 /**
@@ -30,6 +32,9 @@ public class ClasspathStabilizerTest {
     @TempDir
     Path targetFolder;
 
+    @TempDir
+    Path jarStoreFolder;
+
 
     @BeforeAll
     public static void setup() {
@@ -57,7 +62,7 @@ public class ClasspathStabilizerTest {
     @Test
     public void testStabilizer() throws IOException {
         final List<URL> inputClasspath = buildInputClasspath();
-        final ClasspathStabilizer underTest = new ClasspathStabilizer(PROJECT, targetFolder);
+        final ClasspathStabilizer underTest = new ClasspathStabilizer(PROJECT, targetFolder, jarStoreFolder);
 
         final URL[] result = underTest.stabilize(inputClasspath);
 
@@ -84,7 +89,7 @@ public class ClasspathStabilizerTest {
         final String baseDir = PROJECT.getBasePath();
         final List<URL> inputClasspath = new ArrayList<>();
         inputClasspath.add(new java.io.File(baseDir, "lib1.jar").toURI().toURL());
-        final ClasspathStabilizer underTest = new ClasspathStabilizer(PROJECT, targetFolder);
+        final ClasspathStabilizer underTest = new ClasspathStabilizer(PROJECT, targetFolder, jarStoreFolder);
 
         URL[] result = underTest.stabilize(inputClasspath);
         final URL[] expected = new URL[]{targetFolder.resolve("lib1.jar").toUri().toURL()};
@@ -95,4 +100,16 @@ public class ClasspathStabilizerTest {
         result = underTest.stabilize(inputClasspath);
         assertArrayEquals(expected, result);
     }
+
+
+    @Test
+    public void projectsUsingTheSameLibraryShareOneStoredCopy(@TempDir final Path otherTargetFolder)
+            throws IOException {
+        final List<URL> inputClasspath = List.of(new java.io.File(PROJECT.getBasePath(), "lib1.jar").toURI().toURL());
+
+        new ClasspathStabilizer(PROJECT, targetFolder, jarStoreFolder).stabilize(inputClasspath);
+        new ClasspathStabilizer(PROJECT, otherTargetFolder, jarStoreFolder).stabilize(inputClasspath);
+
+        assertTrue(Files.isSameFile(targetFolder.resolve("lib1.jar"), otherTargetFolder.resolve("lib1.jar")));
+    }
 }
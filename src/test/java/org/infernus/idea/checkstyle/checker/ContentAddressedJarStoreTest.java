@@ -0,0 +1,108 @@
+package org.infernus.idea.checkstyle.checker;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ContentAddressedJarStoreTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    @TempDir
+    Path sourceDir;
+
+    @TempDir
+    Path storeDir;
+
+    @Test
+    public void identicalContentFromDifferentSourcesIsStoredOnce() throws IOException {
+        final ContentAddressedJarStore underTest = storeAt(NOW);
+
+        final Path first = underTest.store(sourceFile("a/lib.jar", "content"));
+        final Path second = underTest.store(sourceFile("b/lib.jar", "content"));
+
+        assertThat(second, equalTo(first));
+    }
+
+    @Test
+    public void changedSourcesAreStoredAgain() throws IOException {
+        final ContentAddressedJarStore underTest = storeAt(NOW);
+        final Path source = sourceFile("lib.jar", "content");
+        final Path first = underTest.store(source);
+
+        Files.writeString(source, "new content");
+        Files.setLastModifiedTime(source, FileTime.from(NOW.plusSeconds(60)));
+        final Path second = underTest.store(source);
+
+        assertThat(second, not(equalTo(first)));
+        assertThat(Files.readString(second), equalTo("new content"));
+    }
+
+    @Test
+    public void unchangedSourcesAreNotReadAgainAfterARestart() throws IOException {
+        final Path source = sourceFile("lib.jar", "content");
+        final FileTime modified = Files.getLastModifiedTime(source);
+        final ContentAddressedJarStore firstSession = storeAt(NOW);
+        final Path stored = firstSession.store(source);
+        firstSession.persist();
+
+        // same size and modification time: the index is trusted, so the stored file is not replaced
+        Files.writeString(source, "CONTENT");
+        Files.setLastModifiedTime(source, modified);
+
+        assertThat(storeAt(NOW).store(source), equalTo(stored));
+        assertThat(Files.readString(stored), equalTo("content"));
+    }
+
+    @Test
+    public void materialisedFilesShareTheStoredContent(@TempDir final Path targetDir) throws IOException {
+        final ContentAddressedJarStore underTest = storeAt(NOW);
+        final Path stored = underTest.store(sourceFile("lib.jar", "content"));
+        final Path target = targetDir.resolve("libs/lib.jar");
+
+        underTest.materialise(stored, target);
+
+        assertThat(Files.readString(target), equalTo("content"));
+        assertTrue(Files.isSameFile(stored, target));
+    }
+
+    @Test
+    public void entriesUnusedForTheRetentionPeriodAreCollected() throws IOException {
+        final ContentAddressedJarStore firstSession = storeAt(NOW);
+        final Path unused = firstSession.store(sourceFile("unused.jar", "unused"));
+        firstSession.persist();
+
+        final Instant later = NOW.plus(ContentAddressedJarStore.RETENTION).plus(Duration.ofDays(1));
+        final ContentAddressedJarStore secondSession = storeAt(later);
+        final Path used = secondSession.store(sourceFile("used.jar", "used"));
+        secondSession.persist();
+
+        assertFalse(Files.exists(unused.getParent()));
+        assertTrue(Files.exists(used));
+    }
+
+    private ContentAddressedJarStore storeAt(final Instant instant) {
+        return new ContentAddressedJarStore(storeDir, Clock.fixed(instant, ZoneOffset.UTC));
+    }
+
+    private Path sourceFile(final String relativePath, final String content) throws IOException {
+        final Path file = sourceDir.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+        return file;
+    }
+}
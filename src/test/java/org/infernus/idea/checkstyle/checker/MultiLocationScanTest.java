@@ -0,0 +1,111 @@
+package org.infernus.idea.checkstyle.checker;
+
+import com.intellij.psi.PsiFile;
+import org.infernus.idea.checkstyle.model.ConfigurationLocation;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MultiLocationScanTest {
+
+    private final PsiFile psiFile = mock(PsiFile.class);
+    private final ScannableFile scannableFile = scannableFileFor(psiFile);
+    private final ConfigurationLocation projectRules = mock(ConfigurationLocation.class);
+    private final ConfigurationLocation teamRules = mock(ConfigurationLocation.class);
+    private final CheckStyleChecker projectChecker = checkerScanning(psiFile);
+    private final CheckStyleChecker teamChecker = checkerScanning(psiFile);
+
+    @Test
+    void aSingleCheckerScansItsFilesAlone() {
+        final Map<PsiFile, List<Problem>> problems = Map.of(psiFile, List.of());
+        when(projectChecker.scan(List.of(scannableFile), false)).thenReturn(problems);
+
+        final Map<ConfigurationLocation, Map<PsiFile, List<Problem>>> results =
+                MultiLocationScan.scan(Map.of(projectRules, projectChecker), List.of(scannableFile), false);
+
+        assertThat(results, is(equalTo(Map.of(projectRules, problems))));
+        verify(projectChecker, never()).scanWith(any(), any(), anyBoolean());
+    }
+
+    @Test
+    void checkersWhichScanTheSameFilesScanThemAtOnce() {
+        final Map<PsiFile, List<Problem>> projectProblems = Map.of(psiFile, List.of());
+        final Map<PsiFile, List<Problem>> teamProblems = Map.of();
+        when(projectChecker.scanWith(List.of(teamChecker), List.of(scannableFile), true))
+                .thenReturn(Optional.of(List.of(projectProblems, teamProblems)));
+
+        final Map<ConfigurationLocation, Map<PsiFile, List<Problem>>> results =
+                MultiLocationScan.scan(checkers(), List.of(scannableFile), true);
+
+        assertThat(results.keySet(), contains(projectRules, teamRules));
+        assertThat(results.get(projectRules), is(equalTo(projectProblems)));
+        assertThat(results.get(teamRules), is(equalTo(teamProblems)));
+        verify(projectChecker, never()).scan(any(), anyBoolean());
+        verify(teamChecker, never()).scan(any(), anyBoolean());
+    }
+
+    @Test
+    void checkersWhichCannotBeCombinedScanSeparately() {
+        final Map<PsiFile, List<Problem>> projectProblems = Map.of(psiFile, List.of());
+        when(projectChecker.scanWith(any(), any(), anyBoolean())).thenReturn(Optional.empty());
+        when(projectChecker.scan(List.of(scannableFile), false)).thenReturn(projectProblems);
+        when(teamChecker.scan(List.of(scannableFile), false)).thenReturn(Map.of());
+
+        final Map<ConfigurationLocation, Map<PsiFile, List<Problem>>> results =
+                MultiLocationScan.scan(checkers(), List.of(scannableFile), false);
+
+        assertThat(results.get(projectRules), is(equalTo(projectProblems)));
+        assertThat(results.get(teamRules), is(equalTo(Map.of())));
+    }
+
+    @Test
+    void checkersWhichScanDifferentFilesScanSeparately() {
+        final PsiFile propertiesFile = mock(PsiFile.class);
+        final ScannableFile scannablePropertiesFile = scannableFileFor(propertiesFile);
+        when(projectChecker.processes(propertiesFile)).thenReturn(true);
+        when(projectChecker.isInScope(propertiesFile)).thenReturn(true);
+        when(projectChecker.scan(List.of(scannableFile, scannablePropertiesFile), false)).thenReturn(Map.of());
+        when(teamChecker.scan(List.of(scannableFile), false)).thenReturn(Map.of());
+
+        final Map<ConfigurationLocation, Map<PsiFile, List<Problem>>> results =
+                MultiLocationScan.scan(checkers(), List.of(scannableFile, scannablePropertiesFile), false);
+
+        assertThat(results.keySet(), contains(projectRules, teamRules));
+        verify(projectChecker, never()).scanWith(any(), any(), anyBoolean());
+        verify(teamChecker).scan(List.of(scannableFile), false);
+    }
+
+    private Map<ConfigurationLocation, CheckStyleChecker> checkers() {
+        final Map<ConfigurationLocation, CheckStyleChecker> checkers = new LinkedHashMap<>();
+        checkers.put(projectRules, projectChecker);
+        checkers.put(teamRules, teamChecker);
+        return checkers;
+    }
+
+    private static CheckStyleChecker checkerScanning(final PsiFile psiFile) {
+        final CheckStyleChecker checker = mock(CheckStyleChecker.class);
+        when(checker.processes(psiFile)).thenReturn(true);
+        when(checker.isInScope(psiFile)).thenReturn(true);
+        return checker;
+    }
+
+    private static ScannableFile scannableFileFor(final PsiFile psiFile) {
+        final ScannableFile scannableFile = mock(ScannableFile.class);
+        when(scannableFile.getPsiFile()).thenReturn(psiFile);
+        return scannableFile;
+    }
+}
@@ -0,0 +1,124 @@
+package org.infernus.idea.checkstyle.checker;
+
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import org.infernus.idea.checkstyle.csapi.SeverityLevel;
+import org.infernus.idea.checkstyle.model.ScanResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProblemIndexTest {
+
+    private final Module module = mock(Module.class);
+    private final VirtualFile directory = virtualFile(null, true);
+    private final VirtualFile firstFile = virtualFile(directory, false);
+    private final VirtualFile secondFile = virtualFile(directory, false);
+    private final VirtualFile otherFile = virtualFile(null, false);
+    private final PsiFile firstPsiFile = psiFile(firstFile);
+    private final PsiFile secondPsiFile = psiFile(secondFile);
+    private final PsiFile otherPsiFile = psiFile(otherFile);
+    private final Map<VirtualFile, PsiFile> psiFiles = new HashMap<>(Map.of(
+            firstFile, firstPsiFile, secondFile, secondPsiFile, otherFile, otherPsiFile));
+
+    private final ProblemIndex underTest = new ProblemIndex();
+
+    @Test
+    void anEmptyIndexHasNoResults() {
+        assertThat(underTest.results(psiFiles::get), is(empty()));
+        assertThat(underTest.problemCount(), is(0));
+    }
+
+    @Test
+    void resultsAreSplitByFile() {
+        final Problem firstProblem = problem();
+        final Problem secondProblem = problem();
+
+        underTest.update(List.of(firstFile, secondFile), List.of(new ScanResult(null, module,
+                Map.of(firstPsiFile, List.of(firstProblem), secondPsiFile, List.of(secondProblem)))));
+
+        assertThat(underTest.results(psiFiles::get), containsInAnyOrder(
+                new ScanResult(null, module, Map.of(firstPsiFile, List.of(targeting(firstPsiFile, firstProblem)))),
+                new ScanResult(null, module, Map.of(secondPsiFile, List.of(targeting(secondPsiFile, secondProblem))))));
+        assertThat(underTest.problemCount(), is(2));
+    }
+
+    @Test
+    void rescanningAFileReplacesOnlyItsOwnProblems() {
+        final Problem otherProblem = problem();
+        underTest.update(List.of(firstFile, otherFile), List.of(new ScanResult(null, module,
+                Map.of(firstPsiFile, List.of(problem()), otherPsiFile, List.of(otherProblem)))));
+
+        underTest.update(List.of(firstFile), List.of(new ScanResult(null, module, Map.of())));
+
+        assertThat(underTest.results(psiFiles::get), contains(
+                new ScanResult(null, module, Map.of(otherPsiFile, List.of(targeting(otherPsiFile, otherProblem))))));
+    }
+
+    @Test
+    void removingADirectoryRemovesTheProblemsOfItsFiles() {
+        final Problem otherProblem = problem();
+        underTest.update(List.of(firstFile, secondFile, otherFile), List.of(new ScanResult(null, module,
+                Map.of(firstPsiFile, List.of(problem()), secondPsiFile, List.of(problem()), otherPsiFile, List.of(otherProblem)))));
+
+        underTest.remove(directory);
+
+        assertThat(underTest.results(psiFiles::get), contains(
+                new ScanResult(null, module, Map.of(otherPsiFile, List.of(targeting(otherPsiFile, otherProblem))))));
+    }
+
+    @Test
+    void clearingTheIndexRemovesAllProblems() {
+        underTest.update(List.of(firstFile), List.of(new ScanResult(null, module, Map.of(firstPsiFile, List.of(problem())))));
+
+        underTest.clear();
+
+        assertThat(underTest.results(psiFiles::get), is(empty()));
+    }
+
+    @Test
+    void theProblemsOfAFileWithoutAPsiFileAreNotReturned() {
+        underTest.update(List.of(firstFile, otherFile), List.of(new ScanResult(null, module,
+                Map.of(firstPsiFile, List.of(problem()), otherPsiFile, List.of(problem())))));
+
+        psiFiles.remove(firstFile);
+
+        assertThat(underTest.results(psiFiles::get), contains(
+                new ScanResult(null, module, Map.of(otherPsiFile, List.of(targeting(otherPsiFile, problem()))))));
+        assertThat(underTest.problemCount(), is(2));
+    }
+
+    private static Problem targeting(final PsiFile psiFile, final Problem problem) {
+        return new Problem(psiFile, problem.message(), problem.severityLevel(), problem.line(), problem.column(),
+                problem.sourceName(), problem.afterEndOfLine(), problem.suppressErrors());
+    }
+
+    private Problem problem() {
+        return new Problem(mock(PsiElement.class), "msg", SeverityLevel.Warning, 1, 0, "com.example.FooCheck", false, false);
+    }
+
+    private static VirtualFile virtualFile(final VirtualFile parent, final boolean directory) {
+        final VirtualFile file = mock(VirtualFile.class);
+        when(file.getParent()).thenReturn(parent);
+        when(file.isDirectory()).thenReturn(directory);
+        return file;
+    }
+
+    private static PsiFile psiFile(final VirtualFile file) {
+        final PsiFile psiFile = mock(PsiFile.class);
+        when(psiFile.getVirtualFile()).thenReturn(file);
+        return psiFile;
+    }
+}
@@ -0,0 +1,101 @@
+package org.infernus.idea.checkstyle.checker;
+
+import org.infernus.idea.checkstyle.csapi.CheckstyleActions;
+import org.infernus.idea.checkstyle.csapi.CheckstyleInternalObject;
+import org.infernus.idea.checkstyle.csapi.ConfigVisitor;
+import org.infernus.idea.checkstyle.csapi.ConfigurationModule;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class ProcessedFileExtensionsTest {
+
+    private static final CheckstyleInternalObject CONFIG = new CheckstyleInternalObject() {
+    };
+
+    @Test
+    void aTreeWalkerProcessesJavaFilesByDefault() {
+        final ProcessedFileExtensions underTest = extensionsOf(
+                checker(Map.of()),
+                module("TreeWalker", Map.of(), "Checker"),
+                module("LineLength", Map.of(), "TreeWalker"));
+
+        assertThat(underTest.accepts("Example.java"), is(true));
+        assertThat(underTest.accepts("messages.properties"), is(false));
+    }
+
+    @Test
+    void configuredExtensionsReplaceTheDefaults() {
+        final ProcessedFileExtensions underTest = extensionsOf(
+                checker(Map.of()),
+                module("com.puppycrawl.tools.checkstyle.TreeWalker", Map.of("fileExtensions", "java, .groovy"), "Checker"),
+                module("UniquePropertiesCheck", Map.of(), "Checker"));
+
+        assertThat(underTest.accepts("Example.groovy"), is(true));
+        assertThat(underTest.accepts("messages.properties"), is(true));
+        assertThat(underTest.accepts("pom.xml"), is(false));
+    }
+
+    @Test
+    void checksWithoutExtensionsProcessEveryFile() {
+        final ProcessedFileExtensions underTest = extensionsOf(
+                checker(Map.of()),
+                module("TreeWalker", Map.of(), "Checker"),
+                module("NewlineAtEndOfFile", Map.of(), "Checker"));
+
+        assertThat(underTest.accepts("pom.xml"), is(true));
+    }
+
+    @Test
+    void filtersDoNotProcessFiles() {
+        final ProcessedFileExtensions underTest = extensionsOf(
+                checker(Map.of()),
+                module("SuppressionFilter", Map.of("file", "suppressions.xml"), "Checker"),
+                module("TreeWalker", Map.of(), "Checker"));
+
+        assertThat(underTest.accepts("pom.xml"), is(false));
+    }
+
+    @Test
+    void theExtensionsOfTheCheckerLimitThoseOfItsChecks() {
+        final ProcessedFileExtensions underTest = extensionsOf(
+                checker(Map.of("fileExtensions", "java")),
+                module("NewlineAtEndOfFile", Map.of(), "Checker"));
+
+        assertThat(underTest.accepts("Example.java"), is(true));
+        assertThat(underTest.accepts("pom.xml"), is(false));
+    }
+
+    @Test
+    void aConfigurationWhichCannotBeReadProcessesEveryFile() {
+        assertThat(extensionsOf().accepts("pom.xml"), is(true));
+    }
+
+    private static ConfigurationModule checker(final Map<String, String> properties) {
+        return module("Checker", properties, null);
+    }
+
+    private static ConfigurationModule module(final String name,
+                                              final Map<String, String> properties,
+                                              final String parentName) {
+        return new ConfigurationModule(name, properties, null, parentName);
+    }
+
+    private static ProcessedFileExtensions extensionsOf(final ConfigurationModule... modules) {
+        final CheckstyleActions checkstyleActions = mock(CheckstyleActions.class);
+        doAnswer(invocation -> {
+            final ConfigVisitor visitor = invocation.getArgument(1);
+            for (final ConfigurationModule module : modules) {
+                visitor.visit(module);
+            }
+            return null;
+        }).when(checkstyleActions).peruseConfiguration(any(), any());
+        return ProcessedFileExtensions.of(checkstyleActions, CONFIG);
+    }
+}
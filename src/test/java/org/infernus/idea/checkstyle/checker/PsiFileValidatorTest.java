@@ -1,15 +1,22 @@
 package org.infernus.idea.checkstyle.checker;
 
+import com.intellij.openapi.fileTypes.FileType;
 import com.intellij.openapi.module.Module;
 import com.intellij.psi.PsiFile;
 import org.infernus.idea.checkstyle.config.PluginConfiguration;
 import org.infernus.idea.checkstyle.config.PluginConfigurationBuilder;
+import org.infernus.idea.checkstyle.model.ScanScope;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -33,6 +40,15 @@ class PsiFileValidatorTest {
     @Mock
     private PsiFile psiFile;
 
+    @Mock
+    private PsiFile otherPsiFile;
+
+    @Mock
+    private ScanContext scanContext;
+
+    @Mock
+    private FileType nonJavaFileType;
+
     private final PluginConfiguration config = PluginConfigurationBuilder.testInstance("10.0.0").build();
 
     @Test
@@ -52,4 +68,17 @@ class PsiFileValidatorTest {
         when(psiFile.isPhysical()).thenReturn(false);
         assertFalse(PsiFileValidator.isScannable(psiFile, module, config, null));
     }
+
+    @Test
+    void filesFailingTheCheapChecksAreDroppedWithoutConsultingTheIndices() {
+        when(psiFile.isValid()).thenReturn(false);
+        when(otherPsiFile.isValid()).thenReturn(true);
+        when(otherPsiFile.isPhysical()).thenReturn(true);
+        when(otherPsiFile.getFileType()).thenReturn(nonJavaFileType);
+        when(scanContext.scanScope()).thenReturn(ScanScope.JavaOnly);
+
+        assertTrue(PsiFileValidator.scannableFilesOf(List.of(psiFile, otherPsiFile), scanContext).isEmpty());
+        verify(scanContext, never()).projectFileIndex();
+        verify(scanContext, never()).psiDocumentManager();
+    }
 }
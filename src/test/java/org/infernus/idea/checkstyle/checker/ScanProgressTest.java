@@ -0,0 +1,80 @@
+package org.infernus.idea.checkstyle.checker;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import org.infernus.idea.checkstyle.model.ScanResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ScanProgressTest {
+
+    private final PsiFile first = psiFile();
+    private final PsiFile second = psiFile();
+    private final PsiFile third = psiFile();
+
+    private final ScanProgress underTest = new ScanProgress();
+
+    @Test
+    void aNewScanHasEverythingToScan() {
+        assertThat(underTest.remaining(List.of(first, second)), contains(first, second));
+        assertThat(underTest.results(), empty());
+    }
+
+    @Test
+    void aPreEmptedScanCarriesOnWithTheFilesItHadNotFinished() {
+        final ScanResult firstPart = resultFor(first);
+        underTest.scanned(List.of(first), List.of(firstPart));
+
+        assertThat(underTest.remaining(List.of(first, second, third)), contains(second, third));
+
+        final ScanResult secondPart = resultFor(second, third);
+        underTest.scanned(List.of(second, third), List.of(secondPart));
+
+        assertThat(underTest.remaining(List.of(first, second, third)), empty());
+        assertThat(underTest.results(), contains(firstPart, secondPart));
+    }
+
+    @Test
+    void filesAreRecognisedByTheirVirtualFile() {
+        underTest.scanned(List.of(first), List.of(resultFor(first)));
+
+        final VirtualFile firstVirtualFile = first.getVirtualFile();
+        final PsiFile recreatedFirst = mock(PsiFile.class);
+        when(recreatedFirst.getVirtualFile()).thenReturn(firstVirtualFile);
+
+        assertThat(underTest.remaining(List.of(recreatedFirst, second)), contains(second));
+    }
+
+    @Test
+    void aPartFinishedAgainByAStoppedRunIsIgnored() {
+        final ScanResult firstRun = resultFor(first);
+        underTest.scanned(List.of(first), List.of(firstRun));
+
+        underTest.scanned(List.of(first), List.of(resultFor(first)));
+
+        assertThat(underTest.results(), contains(firstRun));
+    }
+
+    private static ScanResult resultFor(final PsiFile... files) {
+        final Map<PsiFile, List<Problem>> problems = new HashMap<>();
+        for (PsiFile file : files) {
+            problems.put(file, List.of());
+        }
+        return new ScanResult(null, null, problems);
+    }
+
+    private static PsiFile psiFile() {
+        final PsiFile psiFile = mock(PsiFile.class);
+        when(psiFile.getVirtualFile()).thenReturn(mock(VirtualFile.class));
+        return psiFile;
+    }
+}
@@ -0,0 +1,71 @@
+package org.infernus.idea.checkstyle.checker;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class TempFileWriterTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void lineEndingsAreReplacedWithTheGivenSeparator() throws IOException {
+        final File outFile = tempDir.resolve("Example.java").toFile();
+
+        TempFileWriter.write("class Example {\n}\n", "\r\n", StandardCharsets.UTF_8, outFile);
+
+        assertThat(Files.readString(outFile.toPath()), is("class Example {\r\n}\r\n"));
+    }
+
+    @Test
+    void textIsEncodedWithTheGivenCharset() throws IOException {
+        final File outFile = tempDir.resolve("Example.java").toFile();
+
+        TempFileWriter.write("// été\n", "\n", StandardCharsets.ISO_8859_1, outFile);
+
+        assertThat(Files.readAllBytes(outFile.toPath()), is(new byte[]{'/', '/', ' ', (byte) 0xe9, 't', (byte) 0xe9, '\n'}));
+    }
+
+    @Test
+    void unmappableCharactersAreReplaced() throws IOException {
+        final File outFile = tempDir.resolve("Example.java").toFile();
+
+        TempFileWriter.write("// ☃\n", "\r\n", StandardCharsets.US_ASCII, outFile);
+
+        assertThat(Files.readString(outFile.toPath(), StandardCharsets.US_ASCII), is("// ?\r\n"));
+    }
+
+    @Test
+    void contentLargerThanTheBufferIsWrittenInFull() throws IOException {
+        final File outFile = tempDir.resolve("Example.java").toFile();
+        final StringBuilder text = new StringBuilder();
+        final StringBuilder expected = new StringBuilder();
+        while (text.length() < TempFileWriter.BUFFER_SIZE * 3) {
+            text.append("    // é a line of text\n");
+            expected.append("    // é a line of text\r\n");
+        }
+
+        TempFileWriter.write(text.toString(), "\r\n", StandardCharsets.UTF_8, outFile);
+
+        assertThat(Files.readString(outFile.toPath()), is(expected.toString()));
+    }
+
+    @Test
+    void existingContentIsReplaced() throws IOException {
+        final File outFile = tempDir.resolve("Example.java").toFile();
+        Files.writeString(outFile.toPath(), "a much longer piece of existing content");
+
+        TempFileWriter.write("short", "\n", StandardCharsets.UTF_8, outFile);
+
+        assertThat(Files.readString(outFile.toPath()), is("short"));
+    }
+}
@@ -0,0 +1,59 @@
+package org.infernus.idea.checkstyle.checks;
+
+import org.infernus.idea.checkstyle.CheckstyleProjectService;
+import org.infernus.idea.checkstyle.csapi.CheckstyleActions;
+import org.infernus.idea.checkstyle.csapi.CheckstyleInternalObject;
+import org.infernus.idea.checkstyle.csapi.ConfigVisitor;
+import org.infernus.idea.checkstyle.csapi.ConfigurationModule;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CheckFactoryTest {
+
+    private static final CheckstyleInternalObject CONFIG = new CheckstyleInternalObject() {
+    };
+
+    @Test
+    public void checksAreOnlyCreatedForConfiguredModules() {
+        final List<Check> checks = CheckFactory.getChecks(serviceWithModules("JavadocPackage", "LeftCurly"), CONFIG);
+
+        assertThat(checks.stream().map(Check::getShortName).toList(), contains("JavadocPackage"));
+    }
+
+    @Test
+    public void modulesMayBeConfiguredByFullyQualifiedName() {
+        final List<Check> checks = CheckFactory.getChecks(
+                serviceWithModules("com.puppycrawl.tools.checkstyle.checks.javadoc.PackageHtmlCheck"), CONFIG);
+
+        assertThat(checks.stream().map(Check::getShortName).toList(), contains("PackageHtml"));
+    }
+
+    @Test
+    public void noChecksAreCreatedForAConfigurationWithoutMatchingModules() {
+        assertThat(CheckFactory.getChecks(serviceWithModules("Checker", "TreeWalker"), CONFIG), empty());
+    }
+
+    private CheckstyleProjectService serviceWithModules(final String... moduleNames) {
+        final CheckstyleActions checkstyleActions = mock(CheckstyleActions.class);
+        doAnswer(invocation -> {
+            final ConfigVisitor visitor = invocation.getArgument(1);
+            for (final String moduleName : moduleNames) {
+                visitor.visit(new ConfigurationModule(moduleName, null, null));
+            }
+            return null;
+        }).when(checkstyleActions).peruseConfiguration(any(), any());
+
+        final CheckstyleProjectService checkstyleProjectService = mock(CheckstyleProjectService.class);
+        when(checkstyleProjectService.getCheckstyleInstance()).thenReturn(checkstyleActions);
+        return checkstyleProjectService;
+    }
+}
@@ -0,0 +1,88 @@
+package org.infernus.idea.checkstyle.checks;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiDirectory;
+import com.intellij.psi.PsiFile;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link PackageDocumentationIndex}.
+ *
+ * <p>Uses the headless IDEA application (via {@link BasePlatformTestCase}) for a real VFS, whose structure
+ * modifications invalidate the index.</p>
+ */
+public class PackageDocumentationIndexTest extends BasePlatformTestCase {
+
+    private final PackageDocumentationIndex underTest = new PackageDocumentationIndex();
+
+    public void testPackageInfoBesideAFileIsFound() {
+        myFixture.addFileToProject("com/example/package-info.java", "package com.example;");
+        PsiFile file = myFixture.addFileToProject("com/example/Foo.java", "package com.example; class Foo {}");
+
+        assertTrue(underTest.hasPackageInfo(file));
+        assertFalse(underTest.hasPackageHtml(file));
+    }
+
+    public void testPackageHtmlBesideAFileIsFound() {
+        myFixture.addFileToProject("com/example/package.html", "<html></html>");
+        PsiFile file = myFixture.addFileToProject("com/example/Foo.java", "package com.example; class Foo {}");
+
+        assertTrue(underTest.hasPackageHtml(file));
+        assertFalse(underTest.hasPackageInfo(file));
+    }
+
+    public void testDocumentationInOtherDirectoriesIsNotFound() {
+        myFixture.addFileToProject("com/other/package-info.java", "package com.other;");
+        myFixture.addFileToProject("com/package.html", "<html></html>");
+        PsiFile file = myFixture.addFileToProject("com/example/Foo.java", "package com.example; class Foo {}");
+
+        assertFalse(underTest.hasPackageInfo(file));
+        assertFalse(underTest.hasPackageHtml(file));
+    }
+
+    public void testDocumentationAddedLaterIsFound() {
+        PsiFile file = myFixture.addFileToProject("com/example/Foo.java", "package com.example; class Foo {}");
+        assertFalse(underTest.hasPackageInfo(file));
+
+        myFixture.addFileToProject("com/example/package-info.java", "package com.example;");
+
+        assertTrue(underTest.hasPackageInfo(file));
+    }
+
+    public void testEachDirectoryIsReadOnce() {
+        VirtualFile packageInfo = mock(VirtualFile.class);
+        when(packageInfo.getName()).thenReturn(PackageDocumentationIndex.PACKAGE_INFO_FILE);
+        VirtualFile directory = mock(VirtualFile.class);
+        when(directory.getChildren()).thenReturn(new VirtualFile[]{packageInfo});
+        PsiFile first = fileIn(directory, "First.java");
+        PsiFile second = fileIn(directory, "Second.java");
+
+        assertTrue(underTest.hasPackageInfo(first));
+        assertTrue(underTest.hasPackageInfo(second));
+        assertFalse(underTest.hasPackageHtml(second));
+
+        verify(directory, times(1)).getChildren();
+    }
+
+    public void testAFileWithoutADirectoryOnlySeesItself() {
+        PsiFile packageInfo = mock(PsiFile.class);
+        when(packageInfo.getName()).thenReturn(PackageDocumentationIndex.PACKAGE_INFO_FILE);
+
+        assertTrue(underTest.hasPackageInfo(packageInfo));
+        assertFalse(underTest.hasPackageHtml(packageInfo));
+    }
+
+    private static PsiFile fileIn(final VirtualFile directory, final String name) {
+        PsiDirectory psiDirectory = mock(PsiDirectory.class);
+        when(psiDirectory.getVirtualFile()).thenReturn(directory);
+        PsiFile file = mock(PsiFile.class);
+        when(file.getName()).thenReturn(name);
+        when(file.getContainingDirectory()).thenReturn(psiDirectory);
+        return file;
+    }
+}
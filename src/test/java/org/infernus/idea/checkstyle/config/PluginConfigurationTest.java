@@ -103,6 +103,20 @@ class PluginConfigurationTest {
         assertThat(config.getThirdPartyClasspath(), is(List.of("/some/path")));
     }
 
+    @Test
+    void expensiveChecksDefaultToTheKnownExpensiveChecks() {
+        PluginConfiguration config = PluginConfigurationBuilder.testInstance("10.0.0").build();
+        assertThat(config.getExpensiveChecks(), is(PluginConfigurationBuilder.DEFAULT_EXPENSIVE_CHECKS));
+    }
+
+    @Test
+    void withExpensiveChecksChangesChecks() {
+        PluginConfiguration config = PluginConfigurationBuilder.testInstance("10.0.0")
+                .withExpensiveChecks(new TreeSet<>(List.of("IllegalType")))
+                .build();
+        assertThat(config.getExpensiveChecks(), is(new TreeSet<>(List.of("IllegalType"))));
+    }
+
     // --- Builder.from() ---
 
     @Test
@@ -121,6 +135,7 @@ class PluginConfigurationTest {
                 .withLocations(locs)
                 .withActiveLocationIds(activeIds)
                 .withThirdPartyClassPath(List.of("/lib"))
+                .withExpensiveChecks(new TreeSet<>(List.of("IllegalType")))
                 .build();
 
         PluginConfiguration copy = PluginConfigurationBuilder.from(original).build();
@@ -0,0 +1,107 @@
+package org.infernus.idea.checkstyle.model;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.scope.packageSet.NamedScope;
+import com.intellij.psi.search.scope.packageSet.PackageSet;
+import org.infernus.idea.checkstyle.model.NamedScopeMembershipCache.Granularity;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NamedScopeMembershipCacheTest {
+
+    private final AtomicInteger matches = new AtomicInteger();
+    private final NamedScopeMembershipCache underTest = new NamedScopeMembershipCache((psiFile, scope) -> {
+        matches.incrementAndGet();
+        return psiFile.getName().startsWith("In");
+    });
+
+    private final VirtualFile mainDir = directory("/project/src/main/java/com/example");
+    private final VirtualFile testDir = directory("/project/src/test/java/com/example");
+
+    @Test
+    void patternsMatchingAnyNameInADirectoryAreDirectoryGranular() {
+        assertThat(NamedScopeMembershipCache.granularityOf("file:src/main//*"), is(Granularity.DIRECTORY));
+        assertThat(NamedScopeMembershipCache.granularityOf("src:com.example..*"), is(Granularity.DIRECTORY));
+        assertThat(NamedScopeMembershipCache.granularityOf("file[core]:src/main//*&&!test:*..*"), is(Granularity.DIRECTORY));
+    }
+
+    @Test
+    void patternsNamingFilesAreFileGranular() {
+        assertThat(NamedScopeMembershipCache.granularityOf("file:*.java"), is(Granularity.FILE));
+        assertThat(NamedScopeMembershipCache.granularityOf("src:com.example..*||src:com.other.*Test"), is(Granularity.FILE));
+    }
+
+    @Test
+    void patternsWhichAreNotPurelyPathBasedAreNotCached() {
+        assertThat(NamedScopeMembershipCache.granularityOf("problem:*..*"), is(Granularity.NONE));
+        assertThat(NamedScopeMembershipCache.granularityOf("$Production"), is(Granularity.NONE));
+        assertThat(NamedScopeMembershipCache.granularityOf(""), is(Granularity.NONE));
+    }
+
+    @Test
+    void aDirectoryGranularScopeIsMatchedOncePerDirectory() {
+        final NamedScope scope = scope("file:src/main//*");
+
+        assertThat(underTest.isFileInScope(file(mainDir, "InScope.java"), scope), is(true));
+        assertThat(underTest.isFileInScope(file(mainDir, "Other.java"), scope), is(true));
+        assertThat(underTest.isFileInScope(file(testDir, "Other.java"), scope), is(false));
+
+        assertThat(matches.get(), is(2));
+    }
+
+    @Test
+    void aFileGranularScopeIsMatchedOncePerFile() {
+        final NamedScope scope = scope("file:*.java");
+        final PsiFile inScope = file(mainDir, "InScope.java");
+
+        assertThat(underTest.isFileInScope(inScope, scope), is(true));
+        assertThat(underTest.isFileInScope(inScope, scope), is(true));
+        assertThat(underTest.isFileInScope(file(mainDir, "Other.java"), scope), is(false));
+
+        assertThat(matches.get(), is(2));
+    }
+
+    @Test
+    void invalidatingTheCacheMatchesFilesAgain() {
+        final NamedScope scope = scope("file:src/main//*");
+        final PsiFile inScope = file(mainDir, "InScope.java");
+
+        underTest.isFileInScope(inScope, scope);
+        underTest.invalidate();
+        underTest.isFileInScope(inScope, scope);
+
+        assertThat(matches.get(), is(2));
+    }
+
+    private NamedScope scope(final String text) {
+        final PackageSet packageSet = mock(PackageSet.class);
+        when(packageSet.getText()).thenReturn(text);
+        final NamedScope scope = mock(NamedScope.class);
+        when(scope.getValue()).thenReturn(packageSet);
+        return scope;
+    }
+
+    private static VirtualFile directory(final String path) {
+        final VirtualFile directory = mock(VirtualFile.class);
+        when(directory.getPath()).thenReturn(path);
+        return directory;
+    }
+
+    private static PsiFile file(final VirtualFile directory, final String name) {
+        final String path = directory.getPath() + "/" + name;
+        final VirtualFile virtualFile = mock(VirtualFile.class);
+        when(virtualFile.getParent()).thenReturn(directory);
+        when(virtualFile.getPath()).thenReturn(path);
+        final PsiFile psiFile = mock(PsiFile.class);
+        when(psiFile.getName()).thenReturn(name);
+        when(psiFile.getVirtualFile()).thenReturn(virtualFile);
+        return psiFile;
+    }
+}
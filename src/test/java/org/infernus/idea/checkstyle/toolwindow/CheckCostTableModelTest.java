@@ -0,0 +1,66 @@
+package org.infernus.idea.checkstyle.toolwindow;
+
+import org.infernus.idea.checkstyle.csapi.CheckCost;
+import org.infernus.idea.checkstyle.model.ConfigurationLocation;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CheckCostTableModelTest {
+
+    private final CheckCostTableModel underTest = new CheckCostTableModel();
+
+    @Test
+    void eachCostOfEachRulesFileIsARow() {
+        final Map<ConfigurationLocation, List<CheckCost>> costs = new LinkedHashMap<>();
+        costs.put(location("Project rules"), List.of(
+                new CheckCost("JavadocMethod", "TreeWalker", 2, 3, 4_000_000, 3_000_000, "Slow.java"),
+                new CheckCost("TreeWalker", "Checker", 2, 0, 1_000_000, 600_000, "Slow.java")));
+        costs.put(location("Team rules"), List.of(
+                new CheckCost("NewlineAtEndOfFile", "Checker", 2, 1, 20_000, 15_000, "Fast.java")));
+
+        underTest.setCosts(costs);
+
+        assertThat(underTest.getRowCount(), is(3));
+        assertThat(underTest.getValueAt(0, CheckCostTableModel.COLUMN_CHECK), is(equalTo("JavadocMethod")));
+        assertThat(underTest.getValueAt(0, CheckCostTableModel.COLUMN_PARENT), is(equalTo("TreeWalker")));
+        assertThat(underTest.getValueAt(2, CheckCostTableModel.COLUMN_RULES_FILE), is(equalTo("Team rules")));
+        assertThat(underTest.getValueAt(0, CheckCostTableModel.COLUMN_FILES), is(equalTo(2)));
+        assertThat(underTest.getValueAt(0, CheckCostTableModel.COLUMN_ISSUES), is(equalTo(3)));
+        assertThat(underTest.getValueAt(0, CheckCostTableModel.COLUMN_SLOWEST_FILE), is(equalTo("Slow.java")));
+    }
+
+    @Test
+    void timesAreShownInMillisecondsSoThatTheySortNumerically() {
+        underTest.setCosts(Map.of(location("Project rules"), List.of(
+                new CheckCost("JavadocMethod", "TreeWalker", 2, 3, 4_000_000, 3_000_000, "Slow.java"))));
+
+        assertThat(underTest.getColumnClass(CheckCostTableModel.COLUMN_TOTAL_MILLIS), is(equalTo(Double.class)));
+        assertThat(underTest.getValueAt(0, CheckCostTableModel.COLUMN_TOTAL_MILLIS), is(equalTo(4.0)));
+        assertThat(underTest.getValueAt(0, CheckCostTableModel.COLUMN_AVERAGE_MILLIS), is(equalTo(2.0)));
+        assertThat(underTest.getValueAt(0, CheckCostTableModel.COLUMN_SLOWEST_MILLIS), is(equalTo(3.0)));
+    }
+
+    @Test
+    void newCostsReplaceThoseDisplayed() {
+        underTest.setCosts(Map.of(location("Project rules"), List.of(
+                new CheckCost("JavadocMethod", "TreeWalker", 2, 3, 4_000_000, 3_000_000, "Slow.java"))));
+        underTest.setCosts(Map.of());
+
+        assertThat(underTest.getRowCount(), is(0));
+    }
+
+    private static ConfigurationLocation location(final String description) {
+        final ConfigurationLocation location = mock(ConfigurationLocation.class);
+        when(location.getDescription()).thenReturn(description);
+        return location;
+    }
+}
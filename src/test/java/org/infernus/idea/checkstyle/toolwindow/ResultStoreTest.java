@@ -0,0 +1,122 @@
+package org.infernus.idea.checkstyle.toolwindow;
+
+import com.intellij.openapi.module.Module;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import org.infernus.idea.checkstyle.checker.ConfigurationLocationResult;
+import org.infernus.idea.checkstyle.checker.ConfigurationLocationStatus;
+import org.infernus.idea.checkstyle.checker.Problem;
+import org.infernus.idea.checkstyle.csapi.SeverityLevel;
+import org.infernus.idea.checkstyle.model.ConfigurationLocation;
+import org.infernus.idea.checkstyle.model.ScanResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+
+class ResultStoreTest {
+
+    private final Module module = mock(Module.class);
+    private final PsiFile firstFile = mock(PsiFile.class);
+    private final PsiFile secondFile = mock(PsiFile.class);
+    private final ConfigurationLocationResult locationResult =
+            ConfigurationLocationResult.of(mock(ConfigurationLocation.class), ConfigurationLocationStatus.PRESENT);
+
+    @Test
+    void rowsHoldEveryFieldOfAProblem() {
+        try (ResultStore underTest = new ResultStore()) {
+            underTest.add(new ScanResult(locationResult, module, Map.of(firstFile, List.of(
+                    new Problem(mock(PsiElement.class), "a message", SeverityLevel.Error, 12, 4, "com.example.FooCheck", true, false)))));
+
+            assertThat(underTest.size(), is(1));
+            assertThat(underTest.file(0), is(firstFile));
+            assertThat(underTest.line(0), is(12));
+            assertThat(underTest.column(0), is(4));
+            assertThat(underTest.severityLevel(0), is(SeverityLevel.Error));
+            assertThat(underTest.message(0), is("a message"));
+            assertThat(underTest.sourceName(0), is("com.example.FooCheck"));
+            assertThat(underTest.sourceCheck(0), is("Foo"));
+            assertThat(underTest.configurationLocationResult(0), is(locationResult));
+            assertThat(underTest.module(0), is(module));
+            assertThat(underTest.afterEndOfLine(0), is(true));
+            assertThat(underTest.suppressErrors(0), is(false));
+        }
+    }
+
+    @Test
+    void repeatedMessagesAndChecksAreStoredOnce() {
+        try (ResultStore underTest = new ResultStore()) {
+            underTest.add(new ScanResult(locationResult, module, Map.of(
+                    firstFile, List.of(problem(1), problem(2)),
+                    secondFile, List.of(problem(3)))));
+
+            assertThat(underTest.message(0), is(sameInstance(underTest.message(2))));
+            assertThat(underTest.sourceName(1), is(sameInstance(underTest.sourceName(2))));
+        }
+    }
+
+    @Test
+    void rowsAreGroupedByFile() {
+        try (ResultStore underTest = new ResultStore()) {
+            underTest.add(new ScanResult(locationResult, module, Map.of(firstFile, List.of(problem(1)))));
+            underTest.add(new ScanResult(locationResult, module, Map.of(secondFile, List.of(problem(2)))));
+            underTest.add(new ScanResult(locationResult, module, Map.of(firstFile, List.of(problem(3)))));
+
+            final Map<PsiFile, int[]> rowsByFile = underTest.rowsByFile();
+
+            assertThat(underTest.fileCount(), is(2));
+            assertThat(rowsByFile.get(firstFile), is(new int[]{0, 2}));
+            assertThat(rowsByFile.get(secondFile), is(new int[]{1}));
+        }
+    }
+
+    @Test
+    void problemsAddedAfterGroupingAreGroupedAgain() {
+        try (ResultStore underTest = new ResultStore()) {
+            underTest.add(new ScanResult(locationResult, module, Map.of(firstFile, List.of(problem(1)))));
+            assertThat(underTest.finish().rowsByFile().get(firstFile), is(new int[]{0}));
+
+            underTest.add(new ScanResult(locationResult, module, Map.of(firstFile, List.of(problem(2)))));
+
+            assertThat(underTest.rowsByFile().get(firstFile), is(new int[]{0, 1}));
+        }
+    }
+
+    @Test
+    void rowsBeyondTheThresholdAreMovedToDisk() {
+        final List<Problem> problems = new ArrayList<>();
+        for (int line = 1; line <= 100_000; ++line) {
+            problems.add(problem(line));
+        }
+
+        try (ResultStore underTest = new ResultStore(10)) {
+            underTest.add(new ScanResult(locationResult, module, Map.of(firstFile, problems)));
+
+            assertThat(underTest.isSpilled(), is(true));
+            assertThat(underTest.size(), is(100_000));
+            assertThat(underTest.line(0), is(1));
+            assertThat(underTest.line(65_536), is(65_537));
+            assertThat(underTest.line(99_999), is(100_000));
+            assertThat(underTest.message(99_999), is("a message"));
+        }
+    }
+
+    @Test
+    void rowsWithinTheThresholdStayOnTheHeap() {
+        try (ResultStore underTest = new ResultStore(10)) {
+            underTest.add(new ScanResult(locationResult, module, Map.of(firstFile, List.of(problem(1), problem(2)))));
+
+            assertThat(underTest.isSpilled(), is(false));
+        }
+    }
+
+    private Problem problem(final int line) {
+        return new Problem(mock(PsiElement.class), "a message", SeverityLevel.Warning, line, 0, "com.example.FooCheck", false, false);
+    }
+}
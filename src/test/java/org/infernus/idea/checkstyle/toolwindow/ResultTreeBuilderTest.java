@@ -3,7 +3,6 @@ package org.infernus.idea.checkstyle.toolwindow;
 import org.infernus.idea.checkstyle.csapi.SeverityLevel;
 import org.infernus.idea.checkstyle.exception.CheckStylePluginParseException;
 import org.infernus.idea.checkstyle.exception.CheckstyleToolException;
-import org.infernus.idea.checkstyle.model.ScanResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,7 +10,6 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Collections;
-import java.util.List;
 import java.util.Set;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -138,7 +136,7 @@ class ResultTreeBuilderTest {
 
     @Test
     void displayResultsDelegatesToModelAndNavigator() {
-        List<ScanResult> results = Collections.emptyList();
+        ResultStore results = ResultStore.of(Collections.emptyList());
 
         underTest.displayResults(results, null);
 
@@ -149,7 +147,7 @@ class ResultTreeBuilderTest {
 
     @Test
     void displayResultsWithWarningMessageSetsProgressText() {
-        List<ScanResult> results = Collections.emptyList();
+        ResultStore results = ResultStore.of(Collections.emptyList());
 
         underTest.displayResults(results, "a warning");
 
@@ -158,7 +156,7 @@ class ResultTreeBuilderTest {
 
     @Test
     void displayResultsWithNullWarningMessageDoesNotSetProgressText() {
-        List<ScanResult> results = Collections.emptyList();
+        ResultStore results = ResultStore.of(Collections.emptyList());
 
         underTest.displayResults(results, null);
 
@@ -67,6 +67,71 @@ public class AsyncWhenFinishedTest {
         assertThat("Future should NOT be cancelled when NO_TIMEOUT is used", future.isCancelled(), is(false));
     }
 
+    @Test
+    public void whenFinishedReturnsAFailedFutureWithoutInterruptingTheCaller() {
+        final CompletableFuture<String> future = CompletableFuture.failedFuture(new IllegalStateException("failed"));
+
+        final Future<String> returned = Async.whenFinished(future, 1_000);
+
+        assertThat(returned.isDone(), is(true));
+        assertThat(Thread.currentThread().isInterrupted(), is(false));
+    }
+
+    @Test
+    public void whenFinishedReturnsACancelledFuture() {
+        final CompletableFuture<String> future = new CompletableFuture<>();
+        future.cancel(true);
+
+        final Future<String> returned = Async.whenFinished(future, Async.NO_TIMEOUT);
+
+        assertThat(returned.isCancelled(), is(true));
+    }
+
+    @Test
+    public void whenFinishedCancelsTheFutureIfTheCallerIsInterrupted() {
+        final CompletableFuture<String> future = new CompletableFuture<>();
+        Thread.currentThread().interrupt();
+
+        try {
+            final Future<String> returned = Async.whenFinished(future, Async.NO_TIMEOUT);
+
+            assertThat(returned.isCancelled(), is(true));
+            assertThat(Thread.currentThread().isInterrupted(), is(true));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    public void aWaitWhichTheIndicatorCancelsEndsWhenTheFutureIsCancelled() {
+        final CompletableFuture<String> future = new CompletableFuture<>();
+
+        // as the indicator's state delegate would
+        Thread cancellerThread = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+            future.cancel(true);
+        });
+        cancellerThread.setDaemon(true);
+        cancellerThread.start();
+
+        final Future<String> returned = Async.waitUntilFinished(future, Async.NO_TIMEOUT, true);
+
+        assertThat(returned.isCancelled(), is(true));
+    }
+
+    @Test
+    public void aWaitWhichTheIndicatorCancelsStillEndsAtTheDeadline() {
+        final CompletableFuture<String> future = new CompletableFuture<>();
+
+        assertThrows(ProcessCanceledException.class, () -> Async.waitUntilFinished(future, 100, true));
+
+        assertThat(future.isCancelled(), is(true));
+    }
+
     @Test
     public void noTimeoutSentinelIsNegativeOne() {
         // Regression guard: the old sentinel was 0L which caused instant cancellation
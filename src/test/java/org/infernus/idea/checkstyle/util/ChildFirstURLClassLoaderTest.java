@@ -14,9 +14,16 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class ChildFirstURLClassLoaderTest {
 
@@ -162,6 +169,88 @@ class ChildFirstURLClassLoaderTest {
         assertThat(resource.toString(), containsString("priority-test.txt"));
     }
 
+    @Test
+    void getResourceFindsResourceInLocalJar() throws IOException {
+        Path jar = jarWith("com/example/messages.properties");
+        underTest = new ChildFirstURLClassLoader(new URL[]{jar.toUri().toURL()}, null);
+
+        URL resource = underTest.getResource("com/example/messages.properties");
+
+        assertThat(resource, is(notNullValue()));
+        assertThat(resource.toString(), startsWith("jar:"));
+    }
+
+    @Test
+    void resourceInPackageNotHeldLocallyIsResolvedByParent() throws IOException {
+        Path parentDir = Files.createDirectories(tempDir.resolve("parent/org/other"));
+        Files.writeString(parentDir.resolve("messages.properties"), "key=parent");
+        ChildFirstURLClassLoader parentLoader = new ChildFirstURLClassLoader(
+                new URL[]{tempDir.resolve("parent").toUri().toURL()}, null);
+
+        Path jar = jarWith("com/example/messages.properties");
+        underTest = new ChildFirstURLClassLoader(new URL[]{jar.toUri().toURL()}, parentLoader);
+
+        URL resource = underTest.getResource("org/other/messages.properties");
+        assertThat(resource, is(parentLoader.getResource("org/other/messages.properties")));
+
+        parentLoader.close();
+    }
+
+    @Test
+    void repeatedMissesAreStillDelegatedToParent() throws ClassNotFoundException, IOException {
+        underTest = new ChildFirstURLClassLoader(new URL[]{tempDir.toUri().toURL()},
+                Thread.currentThread().getContextClassLoader());
+
+        Class<?> first = underTest.loadClass(ChildFirstURLClassLoaderTest.class.getName());
+        Class<?> second = underTest.loadClass(ChildFirstURLClassLoaderTest.class.getName());
+
+        assertThat(first, is(sameInstance(ChildFirstURLClassLoaderTest.class)));
+        assertThat(second, is(sameInstance(first)));
+    }
+
+    @Test
+    void classesAddedToADirectoryAfterAMissAreFound() throws IOException, ClassNotFoundException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assumeTrue(compiler != null, "a compiler is required to create the class");
+        Path classesDir = Files.createDirectories(tempDir.resolve("classes"));
+        underTest = new ChildFirstURLClassLoader(new URL[]{classesDir.toUri().toURL()}, null);
+
+        assertThrows(ClassNotFoundException.class, () -> underTest.loadClass("org.example.custom.CustomCheck"));
+
+        Path source = Files.createDirectories(tempDir.resolve("src/org/example/custom")).resolve("CustomCheck.java");
+        Files.writeString(source, "package org.example.custom; public class CustomCheck {}");
+        assertThat(compiler.run(null, null, null, "-d", classesDir.toString(), source.toString()), is(0));
+
+        assertThat(underTest.loadClass("org.example.custom.CustomCheck").getName(),
+                is("org.example.custom.CustomCheck"));
+    }
+
+    @Test
+    void resourcesAddedToADirectoryAfterAMissAreFound() throws IOException {
+        underTest = new ChildFirstURLClassLoader(new URL[]{tempDir.toUri().toURL()}, null);
+        assertThat(underTest.getResource("org/example/custom/messages.properties"), is(nullValue()));
+
+        Path resourceDir = Files.createDirectories(tempDir.resolve("org/example/custom"));
+        Files.writeString(resourceDir.resolve("messages.properties"), "key=value");
+
+        assertThat(underTest.getResource("org/example/custom/messages.properties"), is(notNullValue()));
+    }
+
+    @Test
+    void repeatedMissesInAFixedDirectoryAreNotProbedAgain() throws IOException {
+        Path resourceDir = Files.createDirectories(tempDir.resolve("classes/org/example"));
+        Files.writeString(resourceDir.resolve("present.properties"), "key=value");
+        URL classes = tempDir.resolve("classes").toUri().toURL();
+        underTest = new ChildFirstURLClassLoader(new URL[]{classes}, null, Set.of(classes));
+
+        assertThat(underTest.getResource("org/example/present.properties"), is(notNullValue()));
+        assertThat(underTest.getResource("org/example/absent.properties"), is(nullValue()));
+
+        // only a probe of the directory would find it
+        Files.writeString(resourceDir.resolve("absent.properties"), "key=value");
+        assertThat(underTest.getResource("org/example/absent.properties"), is(nullValue()));
+    }
+
     @Test
     void getResourcesOrdersSystemThenLocalThenParent() throws IOException {
         // Write a local resource
@@ -187,4 +276,16 @@ class ChildFirstURLClassLoaderTest {
         deleteRecursively(parentDir.toFile());
         ((ChildFirstURLClassLoader) parentLoader).close();
     }
+
+    private Path jarWith(final String... entries) throws IOException {
+        Path jar = Files.createTempFile(tempDir, "cfl-", ".jar");
+        try (JarOutputStream jarOut = new JarOutputStream(Files.newOutputStream(jar))) {
+            for (String entry : entries) {
+                jarOut.putNextEntry(new JarEntry(entry));
+                jarOut.write(new byte[]{1});
+                jarOut.closeEntry();
+            }
+        }
+        return jar;
+    }
 }
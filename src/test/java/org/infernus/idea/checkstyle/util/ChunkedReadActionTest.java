@@ -0,0 +1,41 @@
+package org.infernus.idea.checkstyle.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+public class ChunkedReadActionTest {
+
+    @Test
+    public void itemsAreProcessedInChunksOfTheGivenSize() {
+        final List<List<Integer>> chunks = new ArrayList<>();
+
+        ChunkedReadAction.forEachChunk(List.of(1, 2, 3, 4, 5), 2, List::copyOf, chunks::add);
+
+        assertThat(chunks, equalTo(List.of(List.of(1, 2), List.of(3, 4), List.of(5))));
+    }
+
+    @Test
+    public void theResultOfEachChunkIsPassedToTheConsumer() {
+        final List<Integer> sums = new ArrayList<>();
+
+        ChunkedReadAction.forEachChunk(List.of(1, 2, 3, 4, 5), 3,
+                chunk -> chunk.stream().mapToInt(Integer::intValue).sum(), sums::add);
+
+        assertThat(sums, equalTo(List.of(6, 9)));
+    }
+
+    @Test
+    public void noItemsMeansNoChunks() {
+        final List<List<Integer>> chunks = new ArrayList<>();
+
+        ChunkedReadAction.forEachChunk(List.<Integer>of(), 2, List::copyOf, chunks::add);
+
+        assertThat(chunks, empty());
+    }
+}
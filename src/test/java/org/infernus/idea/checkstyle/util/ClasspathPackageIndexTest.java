@@ -0,0 +1,161 @@
+package org.infernus.idea.checkstyle.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class ClasspathPackageIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void indexesPackagesOfJarEntries() throws IOException {
+        Path jar = jarWith(null, "com/example/Foo.class", "messages.properties");
+
+        ClasspathPackageIndex index = ClasspathPackageIndex.of(new URL[]{jar.toUri().toURL()});
+
+        assertThat(index, is(notNullValue()));
+        assertThat(index.mayContain("com/example"), is(true));
+        assertThat(index.mayContain(""), is(true));
+        assertThat(index.mayContain("org/example"), is(false));
+    }
+
+    @Test
+    void indexesParentPackagesOfJarEntries() throws IOException {
+        Path jar = jarWith(null, "com/example/deep/Foo.class");
+
+        ClasspathPackageIndex index = ClasspathPackageIndex.of(new URL[]{jar.toUri().toURL()});
+
+        assertThat(index, is(notNullValue()));
+        assertThat(index.mayContain("com/example"), is(true));
+        assertThat(index.mayContain("com"), is(true));
+    }
+
+    @Test
+    void indexesUnversionedPackagesOfMultiReleaseEntries() throws IOException {
+        Path jar = jarWith(null, "META-INF/versions/17/com/example/Foo.class");
+
+        ClasspathPackageIndex index = ClasspathPackageIndex.of(new URL[]{jar.toUri().toURL()});
+
+        assertThat(index, is(notNullValue()));
+        assertThat(index.mayContain("com/example"), is(true));
+    }
+
+    @Test
+    void indexesDirectories() throws IOException {
+        Files.createDirectories(tempDir.resolve("dir/org/example"));
+
+        ClasspathPackageIndex index = ClasspathPackageIndex.of(new URL[]{tempDir.resolve("dir").toUri().toURL()});
+
+        assertThat(index, is(notNullValue()));
+        assertThat(index.mayContain("org/example"), is(true));
+        assertThat(index.mayContain("com/example"), is(false));
+    }
+
+    @Test
+    void missingEntriesContributeNothing() throws IOException {
+        ClasspathPackageIndex index = ClasspathPackageIndex.of(new URL[]{tempDir.resolve("absent.jar").toUri().toURL()});
+
+        assertThat(index, is(notNullValue()));
+        assertThat(index.mayContain("com/example"), is(false));
+    }
+
+    @Test
+    void packagesAddedToDirectoriesLaterAreSeen() throws IOException {
+        Files.createDirectories(tempDir.resolve("dir"));
+        ClasspathPackageIndex index = ClasspathPackageIndex.of(new URL[]{tempDir.resolve("dir").toUri().toURL()});
+
+        Files.createDirectories(tempDir.resolve("dir/org/example"));
+
+        assertThat(index.mayContain("org/example"), is(true));
+    }
+
+    @Test
+    void entriesWhichAppearLaterAreSeen() throws IOException {
+        ClasspathPackageIndex index = ClasspathPackageIndex.of(new URL[]{tempDir.resolve("classes").toUri().toURL()});
+
+        Files.createDirectories(tempDir.resolve("classes/org/example"));
+
+        assertThat(index.mayContain("org/example"), is(true));
+    }
+
+    @Test
+    void onlyClasspathsOfJarsAreImmutable() throws IOException {
+        Path jar = jarWith(null, "com/example/Foo.class");
+        Files.createDirectories(tempDir.resolve("dir"));
+
+        assertThat(ClasspathPackageIndex.of(new URL[]{jar.toUri().toURL()}).isImmutable(), is(true));
+        assertThat(ClasspathPackageIndex.of(new URL[]{jar.toUri().toURL(), tempDir.resolve("dir").toUri().toURL()})
+                .isImmutable(), is(false));
+    }
+
+    @Test
+    void fixedDirectoriesAreIndexedOnce() throws IOException {
+        Files.createDirectories(tempDir.resolve("classes/org/example"));
+        URL classes = tempDir.resolve("classes").toUri().toURL();
+
+        ClasspathPackageIndex index = ClasspathPackageIndex.of(new URL[]{classes}, Set.of(classes));
+        Files.createDirectories(tempDir.resolve("classes/com/example"));
+
+        assertThat(index, is(notNullValue()));
+        assertThat(index.isImmutable(), is(true));
+        assertThat(index.mayContain("org/example"), is(true));
+        assertThat(index.mayContain("org"), is(true));
+        assertThat(index.mayContain("com/example"), is(false));
+    }
+
+    @Test
+    void jarsWithManifestClassPathCannotBeIndexed() throws IOException {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().put(Attributes.Name.CLASS_PATH, "other.jar");
+        Path jar = jarWith(manifest, "com/example/Foo.class");
+
+        assertThat(ClasspathPackageIndex.of(new URL[]{jar.toUri().toURL()}), is(nullValue()));
+    }
+
+    @Test
+    void nonFileUrlsCannotBeIndexed() throws IOException {
+        assertThat(ClasspathPackageIndex.of(new URL[]{URI.create("http://localhost/lib.jar").toURL()}), is(nullValue()));
+    }
+
+    @Test
+    void packageOfClassUsesSlashSeparators() {
+        assertThat(ClasspathPackageIndex.packageOfClass("com.example.Foo"), is("com/example"));
+        assertThat(ClasspathPackageIndex.packageOfClass("Foo"), is(""));
+    }
+
+    @Test
+    void packageOfResourceIgnoresLeadingSlash() {
+        assertThat(ClasspathPackageIndex.packageOfResource("/com/example/messages.properties"), is("com/example"));
+        assertThat(ClasspathPackageIndex.packageOfResource("messages.properties"), is(""));
+    }
+
+    private Path jarWith(final Manifest manifest, final String... entries) throws IOException {
+        Path jar = Files.createTempFile(tempDir, "index-", ".jar");
+        try (OutputStream out = Files.newOutputStream(jar);
+             JarOutputStream jarOut = manifest != null ? new JarOutputStream(out, manifest) : new JarOutputStream(out)) {
+            for (String entry : entries) {
+                jarOut.putNextEntry(new JarEntry(entry));
+                jarOut.write(new byte[]{1});
+                jarOut.closeEntry();
+            }
+        }
+        return jar;
+    }
+}
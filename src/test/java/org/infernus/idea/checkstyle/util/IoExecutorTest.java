@@ -0,0 +1,93 @@
+package org.infernus.idea.checkstyle.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class IoExecutorTest {
+
+    private static final int TASK_COUNT = 32;
+
+    @Test
+    public void tasksRunOnVirtualThreads() throws IOException {
+        assertThat(IoExecutor.await(IoExecutor.supply(() -> Thread.currentThread().isVirtual())), is(true));
+    }
+
+    @Test
+    public void requestsToASingleHostAreLimited() throws IOException {
+        final ConcurrencyProbe probe = new ConcurrencyProbe();
+        final List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < TASK_COUNT; ++i) {
+            tasks.add(IoExecutor.supplyFromHost("limited.example.com", probe::visit));
+        }
+        awaitAll(tasks);
+
+        assertThat(probe.maximum.get(), is(lessThanOrEqualTo(IoExecutor.HOST_LIMIT)));
+    }
+
+    @Test
+    public void hostsAreLimitedIndependently() throws IOException {
+        final ConcurrencyProbe probe = new ConcurrencyProbe();
+        final List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < TASK_COUNT; ++i) {
+            tasks.add(IoExecutor.supplyFromHost("host" + i + ".example.com", probe::visit));
+        }
+        awaitAll(tasks);
+
+        assertThat(probe.maximum.get(), is(greaterThan(IoExecutor.HOST_LIMIT)));
+    }
+
+    @Test
+    public void diskWritesAreLimited() throws IOException {
+        final ConcurrencyProbe probe = new ConcurrencyProbe();
+        final List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < TASK_COUNT; ++i) {
+            tasks.add(IoExecutor.supplyOnDisk(probe::visit));
+        }
+        awaitAll(tasks);
+
+        assertThat(probe.maximum.get(), is(lessThanOrEqualTo(IoExecutor.DISK_LIMIT)));
+    }
+
+    @Test
+    public void aFailedTaskRethrowsItsOriginalException() {
+        assertThrows(FileNotFoundException.class, () -> IoExecutor.await(IoExecutor.supplyOnDisk(() -> {
+            throw new FileNotFoundException("missing");
+        })));
+    }
+
+    private void awaitAll(final List<CompletableFuture<Void>> tasks) throws IOException {
+        for (final CompletableFuture<Void> task : tasks) {
+            IoExecutor.await(task);
+        }
+    }
+
+    private static final class ConcurrencyProbe {
+        private final AtomicInteger current = new AtomicInteger();
+        private final AtomicInteger maximum = new AtomicInteger();
+
+        Void visit() throws IOException {
+            maximum.accumulateAndGet(current.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            } finally {
+                current.decrementAndGet();
+            }
+            return null;
+        }
+    }
+}
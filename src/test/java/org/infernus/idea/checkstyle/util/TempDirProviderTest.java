@@ -1,6 +1,7 @@
 package org.infernus.idea.checkstyle.util;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Optional;
@@ -8,6 +9,7 @@ import java.util.Optional;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import org.apache.commons.io.FileUtils;
+import org.infernus.idea.checkstyle.model.ConfigurationLocation;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -15,6 +17,8 @@ import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
@@ -101,6 +105,43 @@ public class TempDirProviderTest {
     }
 
 
+    @Test
+    public void testCheckstyleCacheFilesAreDistinctPerLocation() {
+        TempDirProvider underTest = new TempDirProvider4Test(false, targetFolder);
+        try {
+            Optional<Path> first = underTest.forCheckstyleCacheFile(PROJECT, null, locationWithId("first"));
+            Optional<Path> firstAgain = underTest.forCheckstyleCacheFile(PROJECT, null, locationWithId("first"));
+            Optional<Path> second = underTest.forCheckstyleCacheFile(PROJECT, null, locationWithId("second"));
+
+            assertTrue(first.isPresent() && second.isPresent());
+            assertEquals(first, firstAgain);
+            assertNotEquals(first, second);
+            assertTrue(Files.isDirectory(first.get().getParent()));
+        } finally {
+            underTest.deleteCheckstyleCacheFiles(PROJECT);
+        }
+    }
+
+
+    @Test
+    public void testCheckstyleCacheFilesAreDeleted() throws IOException {
+        TempDirProvider underTest = new TempDirProvider4Test(false, targetFolder);
+        Path cacheFile = underTest.forCheckstyleCacheFile(PROJECT, null, locationWithId("id")).orElseThrow();
+        Files.writeString(cacheFile, "cached");
+
+        underTest.deleteCheckstyleCacheFiles(PROJECT);
+
+        assertFalse(Files.exists(cacheFile));
+    }
+
+
+    private ConfigurationLocation locationWithId(final String id) {
+        final ConfigurationLocation location = Mockito.mock(ConfigurationLocation.class);
+        Mockito.when(location.getId()).thenReturn(id);
+        return location;
+    }
+
+
     @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
     private void deleteTempDir(@NotNull final Optional<File> pTempDir) {
         pTempDir.ifPresent(FileUtils::deleteQuietly);